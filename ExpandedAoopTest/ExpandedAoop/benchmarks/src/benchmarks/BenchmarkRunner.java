@@ -0,0 +1,36 @@
+package benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.time.LocalDate;
+
+/**
+ * Runs the benchmark suites and writes JMH results as JSON so runs can be compared between releases.
+ * Usage: java -jar target/benchmarks.jar [include regex] [result file]
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "benchmarks\\..*Benchmark";
+        String resultFile = args.length > 1 ? args[1] : "target/jmh-results-" + LocalDate.now() + ".json";
+
+        File parent = new File(resultFile).getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IllegalStateException("Could not create result directory: " + parent);
+        }
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(options).run();
+
+        System.out.println("Benchmark results written to " + resultFile);
+    }
+}
@@ -0,0 +1,50 @@
+package benchmarks;
+
+import model.ContributionSchedule;
+import model.GovernmentContribution;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Government contribution lookups across the salary spectrum, from below the first SSS bracket to above every cap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContributionBenchmark {
+
+    @Param({"3000", "15750", "24999.99", "60000", "120000"})
+    private double salary;
+
+    @Benchmark
+    public GovernmentContribution sss() {
+        return GovernmentContribution.createSSS(10001, salary);
+    }
+
+    @Benchmark
+    public GovernmentContribution philHealth() {
+        return GovernmentContribution.createPhilHealth(10001, salary);
+    }
+
+    @Benchmark
+    public GovernmentContribution pagIbig() {
+        return GovernmentContribution.createPagIBIG(10001, salary);
+    }
+
+    @Benchmark
+    public void allThree(Blackhole blackhole) {
+        blackhole.consume(GovernmentContribution.createSSS(10001, salary));
+        blackhole.consume(GovernmentContribution.createPhilHealth(10001, salary));
+        blackhole.consume(GovernmentContribution.createPagIBIG(10001, salary));
+    }
+
+    @Benchmark
+    public double employeeShare() {
+        return ContributionSchedule.getDefault().employeeShare(salary);
+    }
+}
@@ -0,0 +1,137 @@
+package benchmarks;
+
+import dao.EmployeeDAO;
+import model.Employee;
+import org.openjdk.jmh.annotations.*;
+import util.ConnectionPool;
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * EmployeeDAO queries and row mapping against an in-memory H2 database in MySQL mode,
+ * so the numbers reflect driver and mapping cost rather than network latency.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeMappingBenchmark {
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE positions (" +
+                    "position_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "position_title VARCHAR(100) NOT NULL UNIQUE, " +
+                    "basic_salary DECIMAL(10,2) NOT NULL, " +
+                    "rice_subsidy DECIMAL(8,2) NOT NULL, " +
+                    "phone_allowance DECIMAL(8,2) NOT NULL, " +
+                    "clothing_allowance DECIMAL(8,2) NOT NULL, " +
+                    "gross_semi_monthly_rate DECIMAL(10,2) NOT NULL, " +
+                    "hourly_rate DECIMAL(8,2) NOT NULL)",
+            "CREATE TABLE employees (" +
+                    "employee_id INT PRIMARY KEY, " +
+                    "last_name VARCHAR(50) NOT NULL, " +
+                    "first_name VARCHAR(50) NOT NULL, " +
+                    "birthday DATE, " +
+                    "address VARCHAR(255), " +
+                    "phone_number VARCHAR(20), " +
+                    "sss_number VARCHAR(20), " +
+                    "philhealth_number VARCHAR(20), " +
+                    "tin_number VARCHAR(20), " +
+                    "pagibig_number VARCHAR(20), " +
+                    "status ENUM('Regular', 'Probationary') NOT NULL, " +
+                    "position_id INT NOT NULL, " +
+                    "supervisor_id INT, " +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "FOREIGN KEY (position_id) REFERENCES positions(position_id), " +
+                    "FOREIGN KEY (supervisor_id) REFERENCES employees(employee_id))"
+    };
+
+    @Param({"100", "1000", "10000"})
+    private int employeeCount;
+
+    private Connection keepAlive;
+    private EmployeeDAO employeeDAO;
+    private List<Integer> pageOfIds;
+
+    @Setup
+    public void setUp() throws SQLException {
+        Logger.getLogger("").setLevel(Level.WARNING);
+
+        String url = "jdbc:h2:mem:motorph_bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        keepAlive = DriverManager.getConnection(url, "sa", "");
+        try (Statement stmt = keepAlive.createStatement()) {
+            for (String ddl : SCHEMA) {
+                stmt.execute(ddl);
+            }
+            stmt.execute("INSERT INTO positions VALUES (1, 'Chief Executive Officer', 90000, 1500, 2000, 1000, 45000, 535.71)");
+            stmt.execute("INSERT INTO positions VALUES (2, 'Account Rank and File', 22500, 1500, 500, 500, 11250, 133.93)");
+        }
+
+        try (PreparedStatement stmt = keepAlive.prepareStatement(
+                "INSERT INTO employees (employee_id, last_name, first_name, birthday, address, phone_number, " +
+                        "sss_number, philhealth_number, tin_number, pagibig_number, status, position_id, supervisor_id) " +
+                        "VALUES (?, ?, ?, DATE '1990-01-15', 'Makati City', '0917-000-0000', " +
+                        "'34-0000000-0', '000000000000', '000-000-000-000', '000000000000', ?, ?, ?)")) {
+            for (int i = 1; i <= employeeCount; i++) {
+                stmt.setInt(1, 10000 + i);
+                stmt.setString(2, "Employee" + i);
+                stmt.setString(3, "Test");
+                stmt.setString(4, i % 5 == 0 ? "Probationary" : "Regular");
+                stmt.setInt(5, i == 1 ? 1 : 2);
+                if (i == 1) {
+                    stmt.setNull(6, java.sql.Types.INTEGER);
+                } else {
+                    stmt.setInt(6, 10001);
+                }
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+
+        DBConnection.useConnectionFactory(() -> DriverManager.getConnection(url, "sa", ""),
+                new ConnectionPool.PoolConfig().setMinSize(1).setMaxSize(4).setLeakThresholdMillis(0));
+
+        employeeDAO = new EmployeeDAO();
+        pageOfIds = new ArrayList<>();
+        for (int i = 1; i <= Math.min(100, employeeCount); i++) {
+            pageOfIds.add(10000 + i * (employeeCount / Math.min(100, employeeCount)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        DBConnection.shutdownPool();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        }
+        keepAlive.close();
+    }
+
+    @Benchmark
+    public List<Employee> getAllEmployees() {
+        return employeeDAO.getAllEmployees();
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesByIds() {
+        return employeeDAO.getEmployeesByIds(pageOfIds);
+    }
+
+    @Benchmark
+    public Employee getEmployeeById() {
+        return employeeDAO.getEmployeeById(10000 + employeeCount / 2);
+    }
+}
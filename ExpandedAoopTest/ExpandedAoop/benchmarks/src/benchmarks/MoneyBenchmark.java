@@ -0,0 +1,70 @@
+package benchmarks;
+
+import model.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summing a pay run's net pay and applying a rate, as double, BigDecimal and long centavos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+
+    @Param({"1000", "10000"})
+    private int employeeCount;
+
+    private double[] doubles;
+    private BigDecimal[] decimals;
+    private long[] centavos;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        doubles = new double[employeeCount];
+        decimals = new BigDecimal[employeeCount];
+        centavos = new long[employeeCount];
+        for (int i = 0; i < employeeCount; i++) {
+            long amount = 1_500_000 + random.nextInt(8_000_000);
+            centavos[i] = amount;
+            doubles[i] = amount / 100.0;
+            decimals[i] = BigDecimal.valueOf(amount, 2);
+        }
+    }
+
+    @Benchmark
+    public double sumDouble() {
+        double total = 0;
+        for (int i = 0; i < doubles.length; i++) {
+            total += doubles[i] - doubles[i] * 0.02;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        BigDecimal rate = new BigDecimal("0.02");
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : decimals) {
+            total = total.add(amount.subtract(amount.multiply(rate).setScale(2, RoundingMode.HALF_UP)));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long sumCentavos() {
+        long total = 0;
+        for (long amount : centavos) {
+            total += amount - Money.multiply(amount, 2, 100, Money.DEFAULT_ROUNDING);
+        }
+        return total;
+    }
+}
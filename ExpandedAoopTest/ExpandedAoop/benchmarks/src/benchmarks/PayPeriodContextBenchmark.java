@@ -0,0 +1,105 @@
+package benchmarks;
+
+import model.Attendance;
+import model.LeaveRequest;
+import model.Position;
+import model.StatutorySchedule;
+import org.openjdk.jmh.annotations.*;
+import service.PayPeriodContext;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attendance aggregation for one employee-period: the single pass done by PayPeriodContext
+ * against the three separate loops (days and hours, late, undertime) it replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayPeriodContextBenchmark {
+
+    private static final LocalDate PERIOD_START = LocalDate.of(2024, 6, 1);
+    private static final LocalTime STANDARD_LOGIN_TIME = LocalTime.of(8, 0);
+    private static final LocalTime LATE_THRESHOLD_TIME = LocalTime.of(8, 15);
+    private static final LocalTime STANDARD_LOGOUT_TIME = LocalTime.of(17, 0);
+
+    @Param({"11", "22", "260"})
+    private int days;
+
+    private Position position;
+    private List<Attendance> attendance;
+    private List<LeaveRequest> leaves;
+
+    @Setup
+    public void setUp() {
+        position = new Position(1, "Account Rank and File", 22500);
+
+        Random random = new Random(42);
+        attendance = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            LocalTime logIn = LocalTime.of(8, 0).plusMinutes(random.nextInt(45));
+            LocalTime logOut = LocalTime.of(17, 0).minusMinutes(random.nextInt(60));
+            attendance.add(new Attendance(10001, Date.valueOf(PERIOD_START.plusDays(i)),
+                    Time.valueOf(logIn), Time.valueOf(logOut)));
+        }
+        leaves = List.of(new LeaveRequest(10001, Date.valueOf(LocalDate.of(2024, 6, 10)),
+                Date.valueOf(LocalDate.of(2024, 6, 12)), "Unpaid"));
+    }
+
+    @Benchmark
+    public PayPeriodContext singlePass() {
+        return new PayPeriodContext(10001, position, PERIOD_START, PERIOD_START.plusDays(days), attendance, leaves,
+                StatutorySchedule.builtIn());
+    }
+
+    @Benchmark
+    public double threePasses() {
+        int validDays = 0;
+        double totalHours = 0.0;
+        for (Attendance record : attendance) {
+            if (record.getLogIn() != null) {
+                validDays++;
+                totalHours += record.getWorkHours();
+            }
+        }
+
+        double lateHours = 0.0;
+        for (Attendance record : attendance) {
+            if (record.getLogIn() != null) {
+                LocalTime loginTime = record.getLogIn().toLocalTime();
+                if (loginTime.isAfter(LATE_THRESHOLD_TIME)) {
+                    lateHours += ChronoUnit.MINUTES.between(STANDARD_LOGIN_TIME, loginTime) / 60.0;
+                }
+            }
+        }
+
+        double undertimeHours = 0.0;
+        for (Attendance record : attendance) {
+            if (record.getLogOut() != null) {
+                LocalTime logoutTime = record.getLogOut().toLocalTime();
+                if (logoutTime.isBefore(STANDARD_LOGOUT_TIME)) {
+                    undertimeHours += ChronoUnit.MINUTES.between(logoutTime, STANDARD_LOGOUT_TIME) / 60.0;
+                }
+            }
+        }
+
+        long unpaidLeaveDays = 0;
+        for (LeaveRequest leave : leaves) {
+            if ("Unpaid".equalsIgnoreCase(leave.getLeaveType())) {
+                unpaidLeaveDays += leave.getLeaveDays();
+            }
+        }
+        return validDays + totalHours + lateHours + undertimeHours + unpaidLeaveDays;
+    }
+}
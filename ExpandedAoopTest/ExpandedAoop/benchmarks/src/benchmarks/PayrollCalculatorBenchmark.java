@@ -0,0 +1,166 @@
+package benchmarks;
+
+import dao.AttendanceDAO;
+import dao.EmployeeDAO;
+import dao.LeaveRequestDAO;
+import dao.PositionDAO;
+import model.Attendance;
+import model.Employee;
+import model.LeaveRequest;
+import model.Position;
+import model.RegularEmployee;
+import org.openjdk.jmh.annotations.*;
+import service.LeaveIntervalIndex;
+import service.PayrollCalculator;
+import service.PayrollCalculator.PayrollData;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Payroll deduction math over synthetic attendance, with the DAOs replaced by in-memory data
+ * so only the calculation itself is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayrollCalculatorBenchmark {
+
+    private static final LocalDate PERIOD_START = LocalDate.of(2024, 6, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2024, 6, 30);
+
+    @Param({"1", "100", "1000"})
+    private int employeeCount;
+
+    private PayrollCalculator calculator;
+
+    @Setup
+    public void setUp() {
+        Logger.getLogger("").setLevel(Level.WARNING);
+
+        Random random = new Random(42);
+        Position position = new Position(1, "Account Rank and File", 22500);
+        position.setRiceSubsidy(1500);
+        position.setPhoneAllowance(500);
+        position.setClothingAllowance(500);
+        position.setGrossSemiMonthlyRate(11250);
+        position.setHourlyRate(133.93);
+
+        List<Employee> employees = new ArrayList<>();
+        Map<Integer, List<Attendance>> attendance = new HashMap<>();
+        Map<Integer, List<LeaveRequest>> leaves = new HashMap<>();
+        for (int i = 1; i <= employeeCount; i++) {
+            int employeeId = 10000 + i;
+            Employee employee = new RegularEmployee(employeeId, "Test", "Employee" + i, position.getPositionName(), 22500);
+            employee.setPositionId(1);
+            employees.add(employee);
+
+            List<Attendance> days = new ArrayList<>();
+            for (LocalDate date = PERIOD_START; !date.isAfter(PERIOD_END); date = date.plusDays(1)) {
+                if (date.getDayOfWeek().getValue() >= 6) {
+                    continue;
+                }
+                // A mix of on-time, late and undertime days
+                LocalTime logIn = LocalTime.of(8, 0).plusMinutes(random.nextInt(45));
+                LocalTime logOut = LocalTime.of(17, 0).minusMinutes(random.nextInt(60));
+                days.add(new Attendance(employeeId, Date.valueOf(date), Time.valueOf(logIn), Time.valueOf(logOut)));
+            }
+            attendance.put(employeeId, days);
+
+            if (i % 10 == 0) {
+                LeaveRequest leave = new LeaveRequest(employeeId, Date.valueOf(LocalDate.of(2024, 6, 10)),
+                        Date.valueOf(LocalDate.of(2024, 6, 12)), "Unpaid");
+                leave.setStatus("Approved");
+                leaves.put(employeeId, List.of(leave));
+            }
+        }
+
+        calculator = new PayrollCalculator(new InMemoryEmployeeDAO(employees), new InMemoryAttendanceDAO(attendance),
+                new LeaveIntervalIndex(new InMemoryLeaveRequestDAO(leaves)), new InMemoryPositionDAO(position));
+    }
+
+    @Benchmark
+    public Map<Integer, PayrollData> calculatePeriod() throws PayrollCalculator.PayrollCalculationException {
+        return calculator.calculatePayrollForPeriod(PERIOD_START, PERIOD_END);
+    }
+
+    private static class InMemoryEmployeeDAO extends EmployeeDAO {
+        private final List<Employee> employees;
+
+        InMemoryEmployeeDAO(List<Employee> employees) {
+            this.employees = employees;
+        }
+
+        @Override
+        public List<Employee> getAllEmployees() {
+            return employees;
+        }
+
+        @Override
+        public List<Employee> getEmployeesByIds(Collection<Integer> employeeIds) {
+            List<Employee> matches = new ArrayList<>();
+            for (Employee employee : employees) {
+                if (employeeIds.contains(employee.getEmployeeId())) {
+                    matches.add(employee);
+                }
+            }
+            return matches;
+        }
+    }
+
+    private static class InMemoryAttendanceDAO extends AttendanceDAO {
+        private final Map<Integer, List<Attendance>> attendance;
+
+        InMemoryAttendanceDAO(Map<Integer, List<Attendance>> attendance) {
+            this.attendance = attendance;
+        }
+
+        @Override
+        public Map<Integer, List<Attendance>> getAttendanceByEmployeeIdsBetweenDates(Collection<Integer> employeeIds,
+                                                                                    LocalDate startDate, LocalDate endDate) {
+            return attendance;
+        }
+    }
+
+    private static class InMemoryLeaveRequestDAO extends LeaveRequestDAO {
+        private final Map<Integer, List<LeaveRequest>> leaves;
+
+        InMemoryLeaveRequestDAO(Map<Integer, List<LeaveRequest>> leaves) {
+            this.leaves = leaves;
+        }
+
+        @Override
+        public List<LeaveRequest> getLeaveRequestsByStatuses(String... statuses) {
+            List<LeaveRequest> all = new ArrayList<>();
+            leaves.values().forEach(all::addAll);
+            return all;
+        }
+    }
+
+    private static class InMemoryPositionDAO extends PositionDAO {
+        private final Position position;
+
+        InMemoryPositionDAO(Position position) {
+            this.position = position;
+        }
+
+        @Override
+        public List<Position> getAllPositions() {
+            return List.of(position);
+        }
+    }
+}
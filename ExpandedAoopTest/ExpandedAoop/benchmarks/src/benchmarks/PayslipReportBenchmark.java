@@ -0,0 +1,100 @@
+package benchmarks;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperExportManager;
+import net.sf.jasperreports.engine.JasperFillManager;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
+import org.openjdk.jmh.annotations.*;
+import reports.CompiledReportCache;
+import service.JasperPayslipService.PayslipData;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fill and PDF export of motorph_payslip.jrxml with the template already compiled,
+ * plus a cold template load (the precompiled .jasper when the build produced one) for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayslipReportBenchmark {
+
+    private static final String PAYSLIP_TEMPLATE = "/motorph_payslip.jrxml";
+
+    private JasperReport report;
+    private PayslipData payslip;
+    private JasperPrint filled;
+
+    @Setup
+    public void setUp() throws JRException {
+        Logger.getLogger("").setLevel(Level.WARNING);
+
+        report = CompiledReportCache.get(PAYSLIP_TEMPLATE);
+
+        payslip = new PayslipData();
+        payslip.setEmployeeId(10001);
+        payslip.setEmployeeName("Manuel Garcia III");
+        payslip.setPosition("Chief Executive Officer");
+        payslip.setDepartment("Executive");
+        payslip.setPayslipNo("PS-10001-2024-06");
+        payslip.setPeriodStart(Date.valueOf(LocalDate.of(2024, 6, 1)));
+        payslip.setPeriodEnd(Date.valueOf(LocalDate.of(2024, 6, 30)));
+        payslip.setMonthlyRate(new BigDecimal("90000.00"));
+        payslip.setDailyRate(new BigDecimal("4090.91"));
+        payslip.setDaysWorked(20);
+        payslip.setRiceSubsidy(new BigDecimal("1500.00"));
+        payslip.setPhoneAllowance(new BigDecimal("2000.00"));
+        payslip.setClothingAllowance(new BigDecimal("1000.00"));
+        payslip.setTotalBenefits(new BigDecimal("4500.00"));
+        payslip.setSss(new BigDecimal("1125.00"));
+        payslip.setPhilhealth(new BigDecimal("1800.00"));
+        payslip.setPagibig(new BigDecimal("100.00"));
+        payslip.setTax(new BigDecimal("14395.83"));
+        payslip.setTotalDeductions(new BigDecimal("17420.83"));
+        payslip.setGrossPay(new BigDecimal("86318.20"));
+        payslip.setNetPay(new BigDecimal("68897.37"));
+
+        filled = fill();
+    }
+
+    @Benchmark
+    public JasperPrint fill() throws JRException {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("REPORT_TITLE", "EMPLOYEE PAYSLIP");
+        parameters.put("GENERATED_BY", "MotorPH Payroll System");
+        return JasperFillManager.fillReport(report, parameters,
+                new JRBeanCollectionDataSource(Collections.singletonList(payslip)));
+    }
+
+    @Benchmark
+    public byte[] exportPdf() throws JRException {
+        return JasperExportManager.exportReportToPdf(filled);
+    }
+
+    @Benchmark
+    public byte[] fillAndExportPdf() throws JRException {
+        return JasperExportManager.exportReportToPdf(fill());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 5)
+    public JasperReport loadTemplateCold() throws JRException {
+        CompiledReportCache.clear();
+        return CompiledReportCache.get(PAYSLIP_TEMPLATE);
+    }
+}
@@ -0,0 +1,156 @@
+package benchmarks;
+
+import dao.AttendanceDAO;
+import model.Attendance;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import util.ConnectionPool;
+import util.DBConnection;
+import util.Metrics;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cost of mapping 100k attendance rows from an in-memory H2 database in MySQL mode: walking the
+ * result set without mapping, mapping by column name from SELECT * (the previous mapper, including
+ * its per-row exception handling), and AttendanceDAO's positional mapper. The difference from the
+ * walk is the mapping cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RowMappingBenchmark {
+    private static final int ROWS = 100_000;
+    private static final int EMPLOYEES = 100;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final LocalDate LAST_DAY = FIRST_DAY.plusDays(ROWS / EMPLOYEES - 1);
+
+    private static final String PROJECTED_QUERY = "SELECT id, employee_id, attendance_date, log_in, log_out, " +
+            "created_at, updated_at FROM attendance WHERE attendance_date >= ? AND attendance_date <= ? " +
+            "ORDER BY employee_id, attendance_date DESC";
+    private static final String SELECT_ALL_QUERY = "SELECT * FROM attendance " +
+            "WHERE attendance_date >= ? AND attendance_date <= ? ORDER BY employee_id, attendance_date DESC";
+
+    private Connection keepAlive;
+    private AttendanceDAO attendanceDAO;
+
+    @Setup
+    public void setUp() throws SQLException {
+        Logger.getLogger("").setLevel(Level.WARNING);
+
+        String url = "jdbc:h2:mem:motorph_rows;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        keepAlive = DriverManager.getConnection(url, "sa", "");
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("CREATE TABLE attendance (" +
+                    "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "employee_id INT NOT NULL, " +
+                    "attendance_date DATE NOT NULL, " +
+                    "log_in TIME, " +
+                    "log_out TIME, " +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "CONSTRAINT uq_employee_date UNIQUE (employee_id, attendance_date))");
+            stmt.execute("INSERT INTO attendance (employee_id, attendance_date, log_in, log_out) " +
+                    "SELECT 10001 + MOD(\"X\", " + EMPLOYEES + "), DATEADD('DAY', \"X\" / " + EMPLOYEES + ", DATE '" +
+                    FIRST_DAY + "'), TIME '08:00:00', TIME '17:00:00' FROM SYSTEM_RANGE(0, " + (ROWS - 1) + ")");
+        }
+
+        DBConnection.useConnectionFactory(() -> DriverManager.getConnection(url, "sa", ""),
+                new ConnectionPool.PoolConfig().setMinSize(1).setMaxSize(4).setLeakThresholdMillis(0));
+
+        // Time the mapping, not the instrumentation around each connection
+        Metrics.setEnabled(false);
+        attendanceDAO = new AttendanceDAO();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        Metrics.setEnabled(true);
+        DBConnection.shutdownPool();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        }
+        keepAlive.close();
+    }
+
+    @Benchmark
+    public int walkResultSet() throws SQLException {
+        int rows = 0;
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = prepare(conn, PROJECTED_QUERY);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                rows++;
+            }
+        }
+        return checkRows(rows);
+    }
+
+    @Benchmark
+    public int selectAllMappedByName(Blackhole blackhole) throws SQLException {
+        int rows = 0;
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = prepare(conn, SELECT_ALL_QUERY);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                Attendance attendance = new Attendance();
+                attendance.setId(rs.getInt("id"));
+                attendance.setEmployeeId(rs.getInt("employee_id"));
+                attendance.setDate(rs.getDate("attendance_date"));
+                attendance.setLogIn(rs.getTime("log_in"));
+                attendance.setLogOut(rs.getTime("log_out"));
+                try {
+                    Timestamp created = rs.getTimestamp("created_at");
+                    if (created != null) {
+                        attendance.setCreatedAt(created.toLocalDateTime());
+                    }
+                } catch (SQLException e) {
+                    // created_at column might not exist in all queries
+                }
+                try {
+                    Timestamp updated = rs.getTimestamp("updated_at");
+                    if (updated != null) {
+                        attendance.setUpdatedAt(updated.toLocalDateTime());
+                    }
+                } catch (SQLException e) {
+                    // updated_at column might not exist in all queries
+                }
+                blackhole.consume(attendance);
+                rows++;
+            }
+        }
+        return checkRows(rows);
+    }
+
+    @Benchmark
+    public int attendanceDAOPositional(Blackhole blackhole) {
+        return checkRows(attendanceDAO.forEachAttendanceBetweenDates(FIRST_DAY, LAST_DAY, blackhole::consume));
+    }
+
+    private static PreparedStatement prepare(Connection conn, String query) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setDate(1, java.sql.Date.valueOf(FIRST_DAY));
+        stmt.setDate(2, java.sql.Date.valueOf(LAST_DAY));
+        return stmt;
+    }
+
+    private static int checkRows(int rows) {
+        if (rows != ROWS) {
+            throw new IllegalStateException("Expected " + ROWS + " rows, got " + rows);
+        }
+        return rows;
+    }
+}
@@ -6,19 +6,66 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 public class AttendanceDAO {
     private static final Logger logger = Logger.getLogger(AttendanceDAO.class.getName());
 
+    // Rows fetched per round trip when streaming a date range
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Insert-or-replace keyed on the unique (employee_id, attendance_date),
+     * so importing the same timeclock export twice does not fail or duplicate records
+     */
+    private static final String UPSERT_ATTENDANCE = "INSERT INTO attendance (employee_id, attendance_date, log_in, log_out) " +
+            "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE log_in = VALUES(log_in), log_out = VALUES(log_out)";
+
+    /** Columns read by mapResultSetToAttendance, in the order it reads them */
+    private static final String SELECT_ATTENDANCE = "SELECT id, employee_id, attendance_date, log_in, log_out, " +
+            "created_at, updated_at FROM attendance ";
+
+    /** Rows per executeBatch and per transaction; also fits one IN (...) chunk of employee IDs */
+    public static final int BATCH_SIZE = SqlInClause.MAX_PARAMETERS;
+
+    /**
+     * One employee's attendance totals over a period
+     */
+    public static final class AttendanceSummary {
+        private final int employeeId;
+        private final int days;
+        private final long totalMinutes;
+        private final int lateCount;
+        private final int undertimeCount;
+
+        public AttendanceSummary(int employeeId, int days, long totalMinutes, int lateCount, int undertimeCount) {
+            this.employeeId = employeeId;
+            this.days = days;
+            this.totalMinutes = totalMinutes;
+            this.lateCount = lateCount;
+            this.undertimeCount = undertimeCount;
+        }
+
+        public int getEmployeeId() { return employeeId; }
+        public int getDays() { return days; }
+        public long getTotalMinutes() { return totalMinutes; }
+        public int getLateCount() { return lateCount; }
+        public int getUndertimeCount() { return undertimeCount; }
+
+        public double getTotalHours() {
+            return totalMinutes / 60.0;
+        }
+    }
+
     public List<Attendance> getAttendanceByEmployeeId(int empId) {
         if (empId <= 0) {
             throw new IllegalArgumentException("Employee ID must be positive");
         }
 
         List<Attendance> list = new ArrayList<>();
-        String query = "SELECT * FROM attendance WHERE employee_id = ? ORDER BY attendance_date DESC";
+        String query = SELECT_ATTENDANCE + "WHERE employee_id = ? ORDER BY attendance_date DESC";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -51,7 +98,7 @@ public class AttendanceDAO {
         }
 
         List<Attendance> list = new ArrayList<>();
-        String query = "SELECT * FROM attendance WHERE employee_id = ? AND attendance_date >= ? AND attendance_date <= ? ORDER BY attendance_date DESC";
+        String query = SELECT_ATTENDANCE + "WHERE employee_id = ? AND attendance_date >= ? AND attendance_date <= ? ORDER BY attendance_date DESC";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -76,6 +123,259 @@ public class AttendanceDAO {
         return list;
     }
 
+    /**
+     * Load attendance for many employees over one period, grouped by employee ID.
+     * Each employee's records keep the same order as getAttendanceByEmployeeIdBetweenDates.
+     */
+    public Map<Integer, List<Attendance>> getAttendanceByEmployeeIdsBetweenDates(Collection<Integer> employeeIds,
+                                                                               LocalDate periodStart, LocalDate periodEnd) {
+        if (employeeIds == null) {
+            throw new IllegalArgumentException("Employee IDs cannot be null");
+        }
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period start and end dates cannot be null");
+        }
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start date cannot be after end date");
+        }
+
+        Map<Integer, List<Attendance>> attendanceByEmployee = new HashMap<>();
+
+        for (List<Integer> chunk : SqlInClause.partition(employeeIds)) {
+            String query = SELECT_ATTENDANCE + "WHERE employee_id IN (" + SqlInClause.placeholders(chunk.size()) +
+                    ") AND attendance_date >= ? AND attendance_date <= ? ORDER BY employee_id, attendance_date DESC";
+
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(query)) {
+
+                int index = 1;
+                for (Integer employeeId : chunk) {
+                    stmt.setInt(index++, employeeId);
+                }
+                stmt.setDate(index++, java.sql.Date.valueOf(periodStart));
+                stmt.setDate(index, java.sql.Date.valueOf(periodEnd));
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Attendance a = mapResultSetToAttendance(rs);
+                        attendanceByEmployee.computeIfAbsent(a.getEmployeeId(), id -> new ArrayList<>()).add(a);
+                    }
+                }
+
+            } catch (SQLException ex) {
+                logger.log(Level.SEVERE, "Error retrieving attendance for " + chunk.size() + " employees" +
+                        " between dates: " + periodStart + " and " + periodEnd, ex);
+                throw new RuntimeException("Failed to retrieve attendance records", ex);
+            }
+        }
+
+        return attendanceByEmployee;
+    }
+
+    /**
+     * Stream every employee's attendance over one period to a consumer, in a single query.
+     * Rows are read forward-only through a server-side cursor, so memory use does not grow
+     * with the size of the window. Records come grouped by employee ID, most recent first.
+     *
+     * @return the number of records passed to the consumer
+     */
+    public int forEachAttendanceBetweenDates(LocalDate periodStart, LocalDate periodEnd,
+                                             Consumer<? super Attendance> consumer) {
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period start and end dates cannot be null");
+        }
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start date cannot be after end date");
+        }
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+
+        String query = SELECT_ATTENDANCE + "WHERE attendance_date >= ? AND attendance_date <= ? " +
+                "ORDER BY employee_id, attendance_date DESC";
+        int count = 0;
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+            stmt.setDate(1, java.sql.Date.valueOf(periodStart));
+            stmt.setDate(2, java.sql.Date.valueOf(periodEnd));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(mapResultSetToAttendance(rs));
+                    count++;
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error streaming attendance between dates: " + periodStart + " and " + periodEnd, ex);
+            throw new RuntimeException("Failed to retrieve attendance records", ex);
+        }
+
+        return count;
+    }
+
+    /**
+     * Per-employee attendance totals over one period, aggregated by the database in a single query.
+     * Employees without attendance in the period are absent from the result.
+     * Work minutes, lates and undertimes follow {@link Attendance#getWorkHours()},
+     * {@link Attendance#isLate()} and {@link Attendance#hasUndertime()}.
+     */
+    public Map<Integer, AttendanceSummary> getAttendanceSummariesBetweenDates(LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period start and end dates cannot be null");
+        }
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start date cannot be after end date");
+        }
+
+        // Whole minutes per record, truncated like Duration.toMinutes(); records missing a log time count zero
+        String query = "SELECT employee_id, COUNT(*) AS days, " +
+                "SUM(CASE WHEN log_in IS NOT NULL AND log_out IS NOT NULL " +
+                "THEN FLOOR((" + secondsOfDay("log_out") + " - " + secondsOfDay("log_in") + ") / 60) ELSE 0 END) AS total_minutes, " +
+                "SUM(CASE WHEN log_in > ? THEN 1 ELSE 0 END) AS late_count, " +
+                "SUM(CASE WHEN log_out < ? THEN 1 ELSE 0 END) AS undertime_count " +
+                "FROM attendance WHERE attendance_date >= ? AND attendance_date <= ? " +
+                "GROUP BY employee_id";
+
+        Map<Integer, AttendanceSummary> summaries = new LinkedHashMap<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setTime(1, Time.valueOf(Attendance.WORK_START));
+            stmt.setTime(2, Time.valueOf(Attendance.WORK_END));
+            stmt.setDate(3, java.sql.Date.valueOf(periodStart));
+            stmt.setDate(4, java.sql.Date.valueOf(periodEnd));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    AttendanceSummary summary = new AttendanceSummary(rs.getInt(1), rs.getInt(2),
+                            rs.getLong(3), rs.getInt(4), rs.getInt(5));
+                    summaries.put(summary.getEmployeeId(), summary);
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error summarizing attendance between dates: " + periodStart + " and " + periodEnd, ex);
+            throw new RuntimeException("Failed to summarize attendance records", ex);
+        }
+
+        return summaries;
+    }
+
+    private static String secondsOfDay(String column) {
+        return "(HOUR(" + column + ") * 3600 + MINUTE(" + column + ") * 60 + SECOND(" + column + "))";
+    }
+
+    /**
+     * Dates that already have attendance, for each of the given employees within a period.
+     * A batch of at most BATCH_SIZE employees is checked with a single query.
+     */
+    public Map<Integer, Set<LocalDate>> getAttendanceDates(Collection<Integer> employeeIds,
+                                                          LocalDate periodStart, LocalDate periodEnd) {
+        if (employeeIds == null) {
+            throw new IllegalArgumentException("Employee IDs cannot be null");
+        }
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period start and end dates cannot be null");
+        }
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start date cannot be after end date");
+        }
+
+        Map<Integer, Set<LocalDate>> datesByEmployee = new HashMap<>();
+
+        for (List<Integer> chunk : SqlInClause.partition(employeeIds)) {
+            String query = "SELECT employee_id, attendance_date FROM attendance WHERE employee_id IN (" +
+                    SqlInClause.placeholders(chunk.size()) + ") AND attendance_date >= ? AND attendance_date <= ?";
+
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(query)) {
+
+                int index = 1;
+                for (Integer employeeId : chunk) {
+                    stmt.setInt(index++, employeeId);
+                }
+                stmt.setDate(index++, java.sql.Date.valueOf(periodStart));
+                stmt.setDate(index, java.sql.Date.valueOf(periodEnd));
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        datesByEmployee.computeIfAbsent(rs.getInt(1), id -> new HashSet<>())
+                                .add(rs.getDate(2).toLocalDate());
+                    }
+                }
+
+            } catch (SQLException ex) {
+                logger.log(Level.SEVERE, "Error retrieving attendance dates for " + chunk.size() + " employees" +
+                        " between dates: " + periodStart + " and " + periodEnd, ex);
+                throw new RuntimeException("Failed to retrieve attendance records", ex);
+            }
+        }
+
+        return datesByEmployee;
+    }
+
+    /**
+     * Save many attendance records with batched upserts, skipping the per-record checks of insertAttendance.
+     * Rows are sent BATCH_SIZE at a time on one connection, each chunk in its own transaction.
+     * A record for an employee and date that already has one replaces its log times.
+     * Callers are expected to have validated employee IDs, dates and log times.
+     * Generated IDs are not populated on the saved objects.
+     *
+     * @return number of attendance records written
+     */
+    public int saveAttendanceBatch(List<Attendance> records) {
+        if (records == null) {
+            throw new IllegalArgumentException("Attendance list cannot be null");
+        }
+        for (Attendance attendance : records) {
+            if (attendance == null || !attendance.isValid()) {
+                throw new IllegalArgumentException("Attendance list cannot contain null or invalid entries");
+            }
+        }
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        int saved = 0;
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_ATTENDANCE)) {
+
+            conn.setAutoCommit(false);
+            for (int from = 0; from < records.size(); from += BATCH_SIZE) {
+                List<Attendance> chunk = records.subList(from, Math.min(from + BATCH_SIZE, records.size()));
+                try {
+                    for (Attendance attendance : chunk) {
+                        stmt.setInt(1, attendance.getEmployeeId());
+                        stmt.setDate(2, attendance.getDate());
+                        stmt.setTime(3, attendance.getLogIn());
+                        stmt.setTime(4, attendance.getLogOut());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    conn.commit();
+                    saved += chunk.size();
+                    publishChunk(chunk);
+                } catch (SQLException ex) {
+                    conn.rollback();
+                    throw ex;
+                }
+            }
+
+            logger.info("Saved " + saved + " attendance records in batches of " + BATCH_SIZE);
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error saving attendance batch after " + saved + " of " + records.size() + " records", ex);
+            throw new RuntimeException("Failed to save attendance records: " + ex.getMessage(), ex);
+        }
+
+        return saved;
+    }
+
     public int insertAttendance(Attendance attendance) {
         if (attendance == null) {
             throw new IllegalArgumentException("Attendance cannot be null");
@@ -154,7 +454,7 @@ public class AttendanceDAO {
             stmt.setTime(3, attendance.getLogIn());
             stmt.setTime(4, attendance.getLogOut());
 
-            logger.info(String.format("Inserting attendance record for employee %d on %s: Log in: %s, Log out: %s",
+            logger.fine(() -> String.format("Inserting attendance record for employee %d on %s: Log in: %s, Log out: %s",
                     attendance.getEmployeeId(), attendance.getDate(),
                     attendance.getLogIn(), attendance.getLogOut()));
 
@@ -168,9 +468,10 @@ public class AttendanceDAO {
                     int generatedId = generatedKeys.getInt(1);
                     attendance.setId(generatedId);
 
-                    logger.info(String.format("Successfully inserted attendance record with ID: %d for employee %d",
+                    logger.info(() -> String.format("Successfully inserted attendance record with ID: %d for employee %d",
                             generatedId, attendance.getEmployeeId()));
 
+                    publishChange(attendance.getEmployeeId(), attendanceDate);
                     return generatedId;
                 } else {
                     throw new SQLException("Creating attendance failed, no ID obtained.");
@@ -193,6 +494,9 @@ public class AttendanceDAO {
 
         String query = "UPDATE attendance SET employee_id = ?, attendance_date = ?, log_in = ?, log_out = ? WHERE id = ?";
 
+        // The record may move to another employee or date; both old and new periods change
+        Attendance previous = getAttendanceById(attendance.getId());
+
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
 
@@ -203,6 +507,12 @@ public class AttendanceDAO {
             stmt.setInt(5, attendance.getId());
 
             int affectedRows = stmt.executeUpdate();
+            if (affectedRows > 0) {
+                if (previous != null) {
+                    publishChange(previous.getEmployeeId(), previous.getDate().toLocalDate());
+                }
+                publishChange(attendance.getEmployeeId(), attendance.getDate() != null ? attendance.getDate().toLocalDate() : null);
+            }
             return affectedRows > 0;
 
         } catch (SQLException ex) {
@@ -218,11 +528,16 @@ public class AttendanceDAO {
 
         String query = "DELETE FROM attendance WHERE id = ?";
 
+        Attendance previous = getAttendanceById(attendanceId);
+
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
 
             stmt.setInt(1, attendanceId);
             int affectedRows = stmt.executeUpdate();
+            if (affectedRows > 0 && previous != null) {
+                publishChange(previous.getEmployeeId(), previous.getDate().toLocalDate());
+            }
             return affectedRows > 0;
 
         } catch (SQLException ex) {
@@ -236,7 +551,7 @@ public class AttendanceDAO {
             throw new IllegalArgumentException("Attendance ID must be positive");
         }
 
-        String query = "SELECT * FROM attendance WHERE id = ?";
+        String query = SELECT_ATTENDANCE + "WHERE id = ?";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -329,7 +644,7 @@ public class AttendanceDAO {
             throw new IllegalArgumentException("Attendance date cannot be null");
         }
 
-        String query = "SELECT * FROM attendance WHERE employee_id = ? AND attendance_date = ?";
+        String query = SELECT_ATTENDANCE + "WHERE employee_id = ? AND attendance_date = ?";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -351,33 +666,43 @@ public class AttendanceDAO {
         return null;
     }
 
+    private void publishChange(int employeeId, LocalDate date) {
+        DataChangeBus.publish(DataChangeBus.Entity.ATTENDANCE, employeeId, date, date);
+    }
+
+    /**
+     * One change covering the dates of a committed chunk rather than one per record
+     */
+    private void publishChunk(List<Attendance> chunk) {
+        LocalDate from = null;
+        LocalDate to = null;
+        for (Attendance attendance : chunk) {
+            LocalDate date = attendance.getDate().toLocalDate();
+            from = from == null || date.isBefore(from) ? date : from;
+            to = to == null || date.isAfter(to) ? date : to;
+        }
+        DataChangeBus.publish(DataChangeBus.Entity.ATTENDANCE, null, from, to);
+    }
+
+    /**
+     * Map a row of SELECT_ATTENDANCE; columns are read by position, in projection order
+     */
     private Attendance mapResultSetToAttendance(ResultSet rs) throws SQLException {
         Attendance attendance = new Attendance();
-        attendance.setId(rs.getInt("id"));
-        attendance.setEmployeeId(rs.getInt("employee_id"));
-        attendance.setDate(rs.getDate("attendance_date"));
-        attendance.setLogIn(rs.getTime("log_in"));
-        attendance.setLogOut(rs.getTime("log_out"));
-
-        // Handle timestamps if they exist
-        try {
-            Timestamp created = rs.getTimestamp("created_at");
-            if (created != null) {
-                attendance.setCreatedAt(created.toLocalDateTime());
-            }
-        } catch (SQLException e) {
-            // created_at column might not exist in all queries
-        }
+        attendance.setId(rs.getInt(1));
+        attendance.setEmployeeId(rs.getInt(2));
+        attendance.setDate(rs.getDate(3));
+        attendance.setLogIn(rs.getTime(4));
+        attendance.setLogOut(rs.getTime(5));
 
-        try {
-            Timestamp updated = rs.getTimestamp("updated_at");
-            if (updated != null) {
-                attendance.setUpdatedAt(updated.toLocalDateTime());
-            }
-        } catch (SQLException e) {
-            // updated_at column might not exist in all queries
+        Timestamp created = rs.getTimestamp(6);
+        if (created != null) {
+            attendance.setCreatedAt(created.toLocalDateTime());
+        }
+        Timestamp updated = rs.getTimestamp(7);
+        if (updated != null) {
+            attendance.setUpdatedAt(updated.toLocalDateTime());
         }
-
         return attendance;
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package dao;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-process notifications of writes made through the DAOs.
+ * Caches subscribe here to drop entries derived from data that has changed.
+ * Events are delivered synchronously on the writing thread after the write succeeds.
+ */
+public final class DataChangeBus {
+    private static final Logger LOGGER = Logger.getLogger(DataChangeBus.class.getName());
+
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Tables whose changes are published, plus the contribution and tax schedules
+     */
+    public enum Entity {
+        EMPLOYEE,
+        POSITION,
+        ATTENDANCE,
+        LEAVE_REQUEST,
+        PAYROLL,
+        SCHEDULE
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void onChange(DataChange change);
+    }
+
+    private DataChangeBus() {
+    }
+
+    public static void addListener(Listener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(Listener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * Publish a change; a listener that throws is logged and does not affect the writer or other listeners
+     */
+    public static void publish(DataChange change) {
+        for (Listener listener : LISTENERS) {
+            try {
+                listener.onChange(change);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Data change listener failed for " + change, e);
+            }
+        }
+    }
+
+    static void publish(Entity entity, Integer employeeId, LocalDate from, LocalDate to) {
+        publish(new DataChange(entity, employeeId, from, to));
+    }
+
+    /**
+     * A write to one table, optionally narrowed to an employee and a date range
+     */
+    public static final class DataChange {
+        private final Entity entity;
+        private final Integer employeeId;
+        private final LocalDate from;
+        private final LocalDate to;
+
+        /**
+         * @param employeeId affected employee, or null when every employee may be affected
+         * @param from       first affected date, or null when all dates may be affected
+         * @param to         last affected date, or null when all dates may be affected
+         */
+        public DataChange(Entity entity, Integer employeeId, LocalDate from, LocalDate to) {
+            if (entity == null) {
+                throw new IllegalArgumentException("Entity cannot be null");
+            }
+            this.entity = entity;
+            this.employeeId = employeeId;
+            this.from = from;
+            this.to = to;
+        }
+
+        public Entity getEntity() { return entity; }
+        public Integer getEmployeeId() { return employeeId; }
+        public LocalDate getFrom() { return from; }
+        public LocalDate getTo() { return to; }
+
+        public boolean affectsAllEmployees() {
+            return employeeId == null;
+        }
+
+        /**
+         * Whether this change may affect data for the given employee and period
+         */
+        public boolean affects(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+            if (this.employeeId != null && this.employeeId != employeeId) {
+                return false;
+            }
+            if (from == null || to == null) {
+                return true;
+            }
+            return !from.isAfter(periodEnd) && !to.isBefore(periodStart);
+        }
+
+        @Override
+        public String toString() {
+            return "DataChange{" + entity +
+                    ", employeeId=" + (employeeId != null ? employeeId : "all") +
+                    ", dates=" + (from != null ? from + ".." + to : "all") + '}';
+        }
+    }
+}
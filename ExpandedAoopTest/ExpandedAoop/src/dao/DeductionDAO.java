@@ -17,6 +17,10 @@ import java.util.logging.Level;
 public class DeductionDAO {
     private static final Logger LOGGER = Logger.getLogger(DeductionDAO.class.getName());
 
+    /** Columns read by mapResultSetToDeduction, in the order it reads them */
+    private static final String SELECT_DEDUCTION =
+            "SELECT deduction_id, employee_id, type, amount, description, deduction_date FROM deductions ";
+
     /**
      * Check if deductions table exists
      */
@@ -116,30 +120,17 @@ public class DeductionDAO {
             return new ArrayList<>(); // Return empty list if table doesn't exist
         }
 
-        String sql = "SELECT * FROM deductions WHERE employee_id = ? ORDER BY deduction_date DESC";
+        String sql = SELECT_DEDUCTION + "WHERE employee_id = ? ORDER BY deduction_date DESC";
         List<Deduction> deductions = new ArrayList<>();
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, employeeId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                ConcreteDeduction d = new ConcreteDeduction(
-                        rs.getInt("employee_id"),
-                        rs.getString("type"),
-                        rs.getDouble("amount"),
-                        rs.getString("description")
-                );
-                d.setDeductionId(rs.getInt("deduction_id"));
-
-                Date deductionDate = rs.getDate("deduction_date");
-                if (deductionDate != null) {
-                    d.setDeductionDate(deductionDate);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    deductions.add(mapResultSetToDeduction(rs));
                 }
-
-                deductions.add(d);
             }
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error retrieving deductions for employee ID: " + employeeId, e);
@@ -230,29 +221,16 @@ public class DeductionDAO {
             return null;
         }
 
-        String sql = "SELECT * FROM deductions WHERE deduction_id = ?";
+        String sql = SELECT_DEDUCTION + "WHERE deduction_id = ?";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, deductionId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                ConcreteDeduction deduction = new ConcreteDeduction(
-                        rs.getInt("employee_id"),
-                        rs.getString("type"),
-                        rs.getDouble("amount"),
-                        rs.getString("description")
-                );
-                deduction.setDeductionId(rs.getInt("deduction_id"));
-
-                Date deductionDate = rs.getDate("deduction_date");
-                if (deductionDate != null) {
-                    deduction.setDeductionDate(deductionDate);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToDeduction(rs);
                 }
-
-                return deduction;
             }
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error retrieving deduction by ID: " + deductionId, e);
@@ -320,6 +298,20 @@ public class DeductionDAO {
         return types;
     }
 
+    /**
+     * Map a row of SELECT_DEDUCTION; columns are read by position, in projection order
+     */
+    private Deduction mapResultSetToDeduction(ResultSet rs) throws SQLException {
+        ConcreteDeduction deduction = new ConcreteDeduction(rs.getInt(2), rs.getString(3), rs.getDouble(4), rs.getString(5));
+        deduction.setDeductionId(rs.getInt(1));
+
+        Date deductionDate = rs.getDate(6);
+        if (deductionDate != null) {
+            deduction.setDeductionDate(deductionDate);
+        }
+        return deduction;
+    }
+
     /**
      * Concrete implementation of the abstract Deduction class
      */
@@ -12,79 +12,114 @@ import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class EmployeeDAO {
     private static final Logger LOGGER = Logger.getLogger(EmployeeDAO.class.getName());
 
+    /**
+     * Single joined projection used by every read: employee row, its position and
+     * the supervisor's display name, so mapping a row never needs another query.
+     * mapResultSetToEmployee reads these columns by position; keep the COL_ indexes in step.
+     */
+    private static final String SELECT_EMPLOYEE_DETAILS =
+            "SELECT e.employee_id, e.last_name, e.first_name, e.birthday, e.address, e.phone_number, " +
+            "e.sss_number, e.philhealth_number, e.tin_number, e.pagibig_number, e.status, " +
+            "e.position_id, e.supervisor_id, e.created_at, e.updated_at, " +
+            "p.position_title, p.basic_salary, p.rice_subsidy, p.phone_allowance, p.clothing_allowance, " +
+            "p.gross_semi_monthly_rate, p.hourly_rate, " +
+            "CONCAT(sup.last_name, ', ', sup.first_name) AS supervisor_name " +
+            "FROM employees e " +
+            "LEFT JOIN positions p ON e.position_id = p.position_id " +
+            "LEFT JOIN employees sup ON e.supervisor_id = sup.employee_id ";
+
+    private static final int COL_EMPLOYEE_ID = 1;
+    private static final int COL_LAST_NAME = 2;
+    private static final int COL_FIRST_NAME = 3;
+    private static final int COL_BIRTHDAY = 4;
+    private static final int COL_ADDRESS = 5;
+    private static final int COL_PHONE_NUMBER = 6;
+    private static final int COL_SSS_NUMBER = 7;
+    private static final int COL_PHILHEALTH_NUMBER = 8;
+    private static final int COL_TIN_NUMBER = 9;
+    private static final int COL_PAGIBIG_NUMBER = 10;
+    private static final int COL_STATUS = 11;
+    private static final int COL_POSITION_ID = 12;
+    private static final int COL_SUPERVISOR_ID = 13;
+    private static final int COL_CREATED_AT = 14;
+    private static final int COL_UPDATED_AT = 15;
+    private static final int COL_POSITION_TITLE = 16;
+    private static final int COL_BASIC_SALARY = 17;
+    private static final int COL_RICE_SUBSIDY = 18;
+    private static final int COL_PHONE_ALLOWANCE = 19;
+    private static final int COL_CLOTHING_ALLOWANCE = 20;
+    private static final int COL_GROSS_SEMI_MONTHLY_RATE = 21;
+    private static final int COL_HOURLY_RATE = 22;
+    private static final int COL_SUPERVISOR_NAME = 23;
+
+    private static final String ORDER_BY_NAME = " ORDER BY e.last_name, e.first_name";
+
+    // Rows fetched per round trip when streaming the roster
+    private static final int STREAM_FETCH_SIZE = 500;
+
     public List<Employee> getAllEmployees() {
-        List<Employee> employees = new ArrayList<>();
-        String query = "SELECT * FROM employees ORDER BY last_name, first_name";
+        return queryEmployees(SELECT_EMPLOYEE_DETAILS + ORDER_BY_NAME, stmt -> { },
+                "Error fetching all employees", "Failed to fetch employees");
+    }
+
+    /**
+     * Stream every employee, ordered by name, to a consumer without building a list.
+     * Rows are read forward-only through a server-side cursor, so memory use does not
+     * grow with the size of the roster.
+     *
+     * @return the number of employees passed to the consumer
+     */
+    public int forEachEmployee(Consumer<? super Employee> consumer) {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+
+        String query = SELECT_EMPLOYEE_DETAILS + ORDER_BY_NAME;
+        int count = 0;
 
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
+             PreparedStatement stmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
 
-            while (rs.next()) {
-                Employee e = mapResultSetToEmployee(rs);
-                employees.add(e);
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(mapResultSetToEmployee(rs));
+                    count++;
+                }
             }
 
         } catch (SQLException ex) {
-            LOGGER.log(Level.SEVERE, "Error fetching all employees", ex);
+            LOGGER.log(Level.SEVERE, "Error streaming all employees", ex);
             throw new RuntimeException("Failed to fetch employees", ex);
         }
 
-        return employees;
+        return count;
     }
 
     public Employee getEmployeeById(int employeeId) {
-        String query = "SELECT * FROM employees WHERE employee_id = ?";
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-
-            stmt.setInt(1, employeeId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return mapResultSetToEmployee(rs);
-            }
-
-        } catch (SQLException ex) {
-            LOGGER.log(Level.SEVERE, "Error fetching employee with ID: " + employeeId, ex);
-            throw new RuntimeException("Failed to fetch employee", ex);
-        }
-
-        return null;
+        return querySingleEmployee(SELECT_EMPLOYEE_DETAILS + "WHERE e.employee_id = ?", employeeId,
+                "Error fetching employee with ID: " + employeeId, "Failed to fetch employee");
     }
 
     /**
-     * Get employee with position details using the view
+     * Get employee with position details (salary, allowances, supervisor name)
 	 * @param employeeId
 	 * @return 
      */
     public Employee getEmployeeWithPositionDetails(int employeeId) {
-        String query = "SELECT * FROM v_employee_details WHERE employee_id = ?";
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-
-            stmt.setInt(1, employeeId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return mapViewResultSetToEmployee(rs);
-            }
-
-        } catch (SQLException ex) {
-            LOGGER.log(Level.SEVERE, "Error fetching employee details with ID: " + employeeId, ex);
-            throw new RuntimeException("Failed to fetch employee details", ex);
-        }
-
-        return null;
+        return querySingleEmployee(SELECT_EMPLOYEE_DETAILS + "WHERE e.employee_id = ?", employeeId,
+                "Error fetching employee details with ID: " + employeeId, "Failed to fetch employee details");
     }
 
     /**
@@ -162,6 +197,7 @@ public class EmployeeDAO {
 
             if (result > 0) {
                 LOGGER.info("Successfully inserted employee: " + e.getId() + " - " + e.getFullName());
+                DataChangeBus.publish(DataChangeBus.Entity.EMPLOYEE, e.getId(), null, null);
                 return true;
             } else {
                 LOGGER.warning("No rows affected when inserting employee: " + e.getId());
@@ -207,6 +243,7 @@ public class EmployeeDAO {
 
             if (result > 0) {
                 LOGGER.info("Successfully updated employee: " + e.getId() + " - " + e.getFullName());
+                DataChangeBus.publish(DataChangeBus.Entity.EMPLOYEE, e.getId(), null, null);
                 return true;
             } else {
                 LOGGER.warning("No employee found with ID: " + e.getId() + " for update");
@@ -234,6 +271,7 @@ public class EmployeeDAO {
 
             if (result > 0) {
                 LOGGER.info("Successfully deleted employee with ID: " + employeeId);
+                DataChangeBus.publish(DataChangeBus.Entity.EMPLOYEE, employeeId, null, null);
                 return true;
             } else {
                 LOGGER.warning("No employee found with ID: " + employeeId + " for deletion");
@@ -251,143 +289,320 @@ public class EmployeeDAO {
             throw new IllegalArgumentException("Status cannot be null or empty");
         }
 
+        return queryEmployees(SELECT_EMPLOYEE_DETAILS + "WHERE e.status = ?" + ORDER_BY_NAME,
+                stmt -> stmt.setString(1, status.trim()),
+                "Error fetching employees by status: " + status, "Failed to fetch employees by status");
+    }
+
+    public List<Employee> getEmployeesByPositionId(int positionId) {
+        return queryEmployees(SELECT_EMPLOYEE_DETAILS + "WHERE e.position_id = ?" + ORDER_BY_NAME,
+                stmt -> stmt.setInt(1, positionId),
+                "Error fetching employees by position ID: " + positionId, "Failed to fetch employees by position");
+    }
+
+    public List<Employee> getEmployeesBySupervisor(int supervisorId) {
+        return queryEmployees(SELECT_EMPLOYEE_DETAILS + "WHERE e.supervisor_id = ?" + ORDER_BY_NAME,
+                stmt -> stmt.setInt(1, supervisorId),
+                "Error fetching employees by supervisor ID: " + supervisorId, "Failed to fetch employees by supervisor");
+    }
+
+    public List<Employee> searchEmployees(String searchTerm) {
+        String query = SELECT_EMPLOYEE_DETAILS + "WHERE " +
+                "CONCAT(e.first_name, ' ', e.last_name) LIKE ? OR " +
+                "e.employee_id LIKE ? OR " +
+                "p.position_title LIKE ?" +
+                ORDER_BY_NAME;
+
+        String searchPattern = "%" + searchTerm + "%";
+        return queryEmployees(query, stmt -> {
+                    stmt.setString(1, searchPattern);
+                    stmt.setString(2, searchPattern);
+                    stmt.setString(3, searchPattern);
+                },
+                "Error searching employees with term: " + searchTerm, "Failed to search employees");
+    }
+
+    /**
+     * Get the given employees with position details, one query per chunk of ids.
+     * Ids that do not exist are simply absent from the result.
+     */
+    public List<Employee> getEmployeesByIds(Collection<Integer> employeeIds) {
+        if (employeeIds == null) {
+            throw new IllegalArgumentException("Employee IDs cannot be null");
+        }
+
         List<Employee> employees = new ArrayList<>();
-        String query = "SELECT * FROM employees WHERE status = ? ORDER BY last_name, first_name";
+        for (List<Integer> chunk : SqlInClause.partition(employeeIds)) {
+            String query = SELECT_EMPLOYEE_DETAILS + "WHERE e.employee_id IN (" +
+                    SqlInClause.placeholders(chunk.size()) + ")" + ORDER_BY_NAME;
+            employees.addAll(queryEmployees(query, stmt -> {
+                        for (int i = 0; i < chunk.size(); i++) {
+                            stmt.setInt(i + 1, chunk.get(i));
+                        }
+                    },
+                    "Error fetching " + chunk.size() + " employees by ID", "Failed to fetch employees"));
+        }
+        return employees;
+    }
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+    /**
+     * Orders the employee list can be paged in. Each ends with employee_id so that
+     * every row has a distinct key.
+     */
+    public enum SortKey {
+        ID("e.employee_id"),
+        NAME("e.last_name", "e.first_name", "e.employee_id"),
+        POSITION("COALESCE(p.position_title, '')", "e.last_name", "e.first_name", "e.employee_id");
 
-            stmt.setString(1, status.trim());
-            ResultSet rs = stmt.executeQuery();
+        private final String[] columns;
 
-            while (rs.next()) {
-                Employee e = mapResultSetToEmployee(rs);
-                employees.add(e);
+        SortKey(String... columns) {
+            this.columns = columns;
+        }
+    }
+
+    /**
+     * Sort values of the last row of a page; the next page starts after it
+     */
+    public static final class PageKey {
+        private final int employeeId;
+        private final String lastName;
+        private final String firstName;
+        private final String positionTitle;
+
+        private PageKey(int employeeId, String lastName, String firstName, String positionTitle) {
+            this.employeeId = employeeId;
+            this.lastName = lastName;
+            this.firstName = firstName;
+            this.positionTitle = positionTitle;
+        }
+
+        private Object[] values(SortKey sortKey) {
+            switch (sortKey) {
+                case ID:
+                    return new Object[]{employeeId};
+                case POSITION:
+                    return new Object[]{positionTitle, lastName, firstName, employeeId};
+                default:
+                    return new Object[]{lastName, firstName, employeeId};
             }
+        }
+    }
 
-        } catch (SQLException ex) {
-            LOGGER.log(Level.SEVERE, "Error fetching employees by status: " + status, ex);
-            throw new RuntimeException("Failed to fetch employees by status", ex);
+    /**
+     * One page of employees and the key to pass for the page after it
+     */
+    public static final class EmployeePage {
+        private final List<Employee> employees;
+        private final PageKey nextKey;
+
+        private EmployeePage(List<Employee> employees, PageKey nextKey) {
+            this.employees = employees;
+            this.nextKey = nextKey;
         }
 
-        return employees;
+        public List<Employee> getEmployees() { return employees; }
+
+        /**
+         * Key of this page's last row, or null when no rows follow it
+         */
+        public PageKey getNextKey() { return nextKey; }
+
+        public boolean hasMore() { return nextKey != null; }
     }
 
-    public List<Employee> getEmployeesByPositionId(int positionId) {
-        List<Employee> employees = new ArrayList<>();
-        String query = "SELECT * FROM employees WHERE position_id = ? ORDER BY last_name, first_name";
+    /**
+     * Get the page of employees that follows {@code after} in the given order, optionally
+     * filtered like {@link #searchEmployees}. Seeks on the sort columns instead of using an
+     * OFFSET, so late pages cost the same as the first.
+     *
+     * @param searchTerm filter, or null/blank for every employee
+     * @param after key from the previous page, or null for the first page
+     */
+    public EmployeePage getEmployeePage(String searchTerm, SortKey sortKey, boolean ascending,
+                                        PageKey after, int limit) {
+        if (sortKey == null) {
+            throw new IllegalArgumentException("Sort key cannot be null");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder query = new StringBuilder(SELECT_EMPLOYEE_DETAILS).append("WHERE 1 = 1");
+        appendSearchCondition(query, parameters, searchTerm);
+        if (after != null) {
+            Object[] keyValues = after.values(sortKey);
+            query.append(" AND (").append(String.join(", ", sortKey.columns)).append(ascending ? ") > (" : ") < (")
+                    .append(SqlInClause.placeholders(keyValues.length)).append(")");
+            parameters.addAll(List.of(keyValues));
+        }
+        query.append(" ORDER BY ");
+        for (int i = 0; i < sortKey.columns.length; i++) {
+            query.append(i == 0 ? "" : ", ").append(sortKey.columns[i]).append(ascending ? " ASC" : " DESC");
+        }
+        // One extra row tells whether another page follows
+        query.append(" LIMIT ?");
+        parameters.add(limit + 1);
 
-            stmt.setInt(1, positionId);
-            ResultSet rs = stmt.executeQuery();
+        List<Employee> employees = new ArrayList<>(limit);
+        PageKey lastKey = null;
+        boolean hasMore = false;
 
-            while (rs.next()) {
-                Employee e = mapResultSetToEmployee(rs);
-                employees.add(e);
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query.toString())) {
+
+            for (int i = 0; i < parameters.size(); i++) {
+                stmt.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (employees.size() == limit) {
+                        hasMore = true;
+                        break;
+                    }
+                    Employee employee = mapResultSetToEmployee(rs);
+                    employees.add(employee);
+                    String positionTitle = rs.getString(COL_POSITION_TITLE);
+                    lastKey = new PageKey(employee.getEmployeeId(), employee.getLastName(), employee.getFirstName(),
+                            positionTitle != null ? positionTitle : "");
+                }
             }
 
         } catch (SQLException ex) {
-            LOGGER.log(Level.SEVERE, "Error fetching employees by position ID: " + positionId, ex);
-            throw new RuntimeException("Failed to fetch employees by position", ex);
+            LOGGER.log(Level.SEVERE, "Error fetching employee page ordered by " + sortKey, ex);
+            throw new RuntimeException("Failed to fetch employees", ex);
         }
 
-        return employees;
+        return new EmployeePage(employees, hasMore ? lastKey : null);
     }
 
-    public List<Employee> getEmployeesBySupervisor(int supervisorId) {
-        List<Employee> employees = new ArrayList<>();
-        String query = "SELECT * FROM employees WHERE supervisor_id = ? ORDER BY last_name, first_name";
+    /**
+     * Count the employees a paged listing with the same filter would return
+     */
+    public int countEmployees(String searchTerm) {
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder query = new StringBuilder("SELECT COUNT(*) FROM employees e " +
+                "LEFT JOIN positions p ON e.position_id = p.position_id WHERE 1 = 1");
+        appendSearchCondition(query, parameters, searchTerm);
 
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(query.toString())) {
 
-            stmt.setInt(1, supervisorId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                Employee e = mapResultSetToEmployee(rs);
-                employees.add(e);
+            for (int i = 0; i < parameters.size(); i++) {
+                stmt.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
             }
 
         } catch (SQLException ex) {
-            LOGGER.log(Level.SEVERE, "Error fetching employees by supervisor ID: " + supervisorId, ex);
-            throw new RuntimeException("Failed to fetch employees by supervisor", ex);
+            LOGGER.log(Level.SEVERE, "Error counting employees", ex);
+            throw new RuntimeException("Failed to count employees", ex);
         }
+    }
 
-        return employees;
+    private static void appendSearchCondition(StringBuilder query, List<Object> parameters, String searchTerm) {
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            return;
+        }
+        String searchPattern = "%" + searchTerm.trim() + "%";
+        query.append(" AND (CONCAT(e.first_name, ' ', e.last_name) LIKE ? OR e.employee_id LIKE ? OR p.position_title LIKE ?)");
+        parameters.add(searchPattern);
+        parameters.add(searchPattern);
+        parameters.add(searchPattern);
     }
 
-    public List<Employee> searchEmployees(String searchTerm) {
+    /**
+     * Binds the parameters of a prepared query
+     */
+    @FunctionalInterface
+    private interface ParameterBinder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    /**
+     * Run a joined employee query and map every row with the shared mapper
+     */
+    private List<Employee> queryEmployees(String query, ParameterBinder binder,
+                                          String logMessage, String errorMessage) {
         List<Employee> employees = new ArrayList<>();
-        String query = "SELECT * FROM employees WHERE " +
-                "CONCAT(first_name, ' ', last_name) LIKE ? OR " +
-                "employee_id LIKE ? OR " +
-                "position LIKE ? " +
-                "ORDER BY last_name, first_name";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
 
-            String searchPattern = "%" + searchTerm + "%";
-            stmt.setString(1, searchPattern);
-            stmt.setString(2, searchPattern);
-            stmt.setString(3, searchPattern);
-
+            binder.bind(stmt);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Employee e = mapResultSetToEmployee(rs);
-                    employees.add(e);
+                    employees.add(mapResultSetToEmployee(rs));
                 }
             }
 
         } catch (SQLException ex) {
-            LOGGER.log(Level.SEVERE, "Error searching employees with term: " + searchTerm, ex);
-            throw new RuntimeException("Failed to search employees", ex);
+            LOGGER.log(Level.SEVERE, logMessage, ex);
+            throw new RuntimeException(errorMessage, ex);
         }
 
         return employees;
     }
 
+    private Employee querySingleEmployee(String query, int employeeId, String logMessage, String errorMessage) {
+        List<Employee> employees = queryEmployees(query, stmt -> stmt.setInt(1, employeeId), logMessage, errorMessage);
+        return employees.isEmpty() ? null : employees.get(0);
+    }
+
     /**
-     * Enhanced mapResultSetToEmployee matching actual database schema
+     * Map a row of the joined employee projection by column position; performs no additional queries
      */
     private Employee mapResultSetToEmployee(ResultSet rs) throws SQLException {
         Employee e = createEmployeeInstance();
-        e.setId(rs.getInt("employee_id"));
-        e.setLastName(rs.getString("last_name"));
-        e.setFirstName(rs.getString("first_name"));
+        int employeeId = rs.getInt(COL_EMPLOYEE_ID);
+        e.setId(employeeId);
+        e.setEmployeeId(employeeId);
+        e.setLastName(rs.getString(COL_LAST_NAME));
+        e.setFirstName(rs.getString(COL_FIRST_NAME));
 
-        java.sql.Date birthday = rs.getDate("birthday");
+        java.sql.Date birthday = rs.getDate(COL_BIRTHDAY);
         if (birthday != null) {
             e.setBirthday(birthday.toLocalDate());
         }
 
-        e.setAddress(rs.getString("address"));
-        e.setPhoneNumber(rs.getString("phone_number"));
-        e.setSssNumber(rs.getString("sss_number"));
-        e.setPhilhealthNumber(rs.getString("philhealth_number"));
-        e.setTinNumber(rs.getString("tin_number"));
-        e.setPagibigNumber(rs.getString("pagibig_number"));
-        e.setStatus(rs.getString("status"));
-
-        // Get position name from position_id
-        int positionId = rs.getInt("position_id");
-        e.setPosition(getPositionName(positionId));
-
-        // Get supervisor name from supervisor_id
-        Integer supervisorId = rs.getObject("supervisor_id", Integer.class);
+        e.setAddress(rs.getString(COL_ADDRESS));
+        e.setPhoneNumber(rs.getString(COL_PHONE_NUMBER));
+        e.setSssNumber(rs.getString(COL_SSS_NUMBER));
+        e.setPhilhealthNumber(rs.getString(COL_PHILHEALTH_NUMBER));
+        e.setTinNumber(rs.getString(COL_TIN_NUMBER));
+        e.setPagibigNumber(rs.getString(COL_PAGIBIG_NUMBER));
+        e.setStatus(rs.getString(COL_STATUS));
+
+        // Position details come from the joined positions row
+        e.setPositionId(rs.getInt(COL_POSITION_ID));
+        String positionTitle = rs.getString(COL_POSITION_TITLE);
+        if (positionTitle != null) {
+            e.setPosition(positionTitle);
+            e.setBasicSalary(rs.getDouble(COL_BASIC_SALARY));
+            e.setRiceSubsidy(rs.getDouble(COL_RICE_SUBSIDY));
+            e.setPhoneAllowance(rs.getDouble(COL_PHONE_ALLOWANCE));
+            e.setClothingAllowance(rs.getDouble(COL_CLOTHING_ALLOWANCE));
+            e.setGrossSemiMonthlyRate(rs.getDouble(COL_GROSS_SEMI_MONTHLY_RATE));
+            e.setHourlyRate(rs.getDouble(COL_HOURLY_RATE));
+        } else {
+            e.setPosition("Unknown Position");
+        }
+
+        // Supervisor name comes from the self-join
+        Integer supervisorId = rs.getObject(COL_SUPERVISOR_ID, Integer.class);
         if (supervisorId != null) {
-            e.setImmediateSupervisor(getSupervisorName(supervisorId));
+            String supervisorName = rs.getString(COL_SUPERVISOR_NAME);
+            e.setImmediateSupervisor(supervisorName != null ? supervisorName : "Unknown Supervisor");
         }
 
         // Handle timestamps
-        Timestamp created = rs.getTimestamp("created_at");
+        Timestamp created = rs.getTimestamp(COL_CREATED_AT);
         if (created != null) {
             e.setCreatedAt(created.toLocalDateTime());
         }
-        Timestamp updated = rs.getTimestamp("updated_at");
+        Timestamp updated = rs.getTimestamp(COL_UPDATED_AT);
         if (updated != null) {
             e.setUpdatedAt(updated.toLocalDateTime());
         }
@@ -395,35 +610,6 @@ public class EmployeeDAO {
         return e;
     }
 
-    /**
-     * Map view result set to Employee with position details
-     */
-    private Employee mapViewResultSetToEmployee(ResultSet rs) throws SQLException {
-        Employee e = createEmployeeInstance();
-        e.setLastName(rs.getString("last_name"));
-        e.setFirstName(rs.getString("first_name"));
-
-        java.sql.Date birthday = rs.getDate("birthday");
-        if (birthday != null) {
-            e.setBirthday(birthday.toLocalDate());
-        }
-
-        e.setAddress(rs.getString("address"));
-        e.setPhoneNumber(rs.getString("phone_number"));
-        e.setSssNumber(rs.getString("sss_number"));
-        e.setPhilhealthNumber(rs.getString("philhealth_number"));
-        e.setTinNumber(rs.getString("tin_number"));
-        e.setPagibigNumber(rs.getString("pagibig_number"));
-        e.setStatus(rs.getString("status"));
-        e.setPosition(rs.getString("position_title"));
-        e.setImmediateSupervisor(rs.getString("supervisor_name"));
-
-        // Set basic salary from position
-        e.setBasicSalary(rs.getDouble("basic_salary"));
-
-        return e;
-    }
-
     // Helper methods to convert between position names and IDs
     private int getPositionId(String positionName) {
         if (positionName == null) return 1; // Default position
@@ -446,25 +632,6 @@ public class EmployeeDAO {
         return 1; // Default position ID if not found
     }
 
-    private String getPositionName(int positionId) {
-        String query = "SELECT position_title FROM positions WHERE position_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-
-            stmt.setInt(1, positionId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return rs.getString("position_title");
-            }
-
-        } catch (SQLException ex) {
-            LOGGER.log(Level.WARNING, "Error getting position name for ID: " + positionId, ex);
-        }
-
-        return "Unknown Position";
-    }
-
     private Integer getSupervisorId(String supervisorName) {
         if (supervisorName == null || supervisorName.trim().isEmpty()) {
             return null;
@@ -488,30 +655,14 @@ public class EmployeeDAO {
         return null;
     }
 
-    private String getSupervisorName(int supervisorId) {
-        String query = "SELECT CONCAT(last_name, ', ', first_name) as full_name FROM employees WHERE employee_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-
-            stmt.setInt(1, supervisorId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return rs.getString("full_name");
-            }
-
-        } catch (SQLException ex) {
-            LOGGER.log(Level.WARNING, "Error getting supervisor name for ID: " + supervisorId, ex);
-        }
-
-        return "Unknown Supervisor";
-    }
     
     /**
      * Helper method to create employee instance
      */
     private Employee createEmployeeInstance() {
         // Create anonymous Employee implementation for database operations
+        return new Employee() {
+            @Override
             public double calculateGrossPay(int daysWorked, double overtimeHours) {
                 double dailyRate = getBasicSalary() / 22;
                 return dailyRate * daysWorked;
@@ -565,6 +716,80 @@ public class EmployeeDAO {
         }
     }
 
+    /**
+     * IDs of every employee, for validating many references without a query each
+     */
+    public Set<Integer> getAllEmployeeIds() {
+        String query = "SELECT employee_id FROM employees";
+        Set<Integer> ids = new HashSet<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error retrieving employee IDs", ex);
+            throw new RuntimeException("Failed to retrieve employee IDs", ex);
+        }
+
+        return ids;
+    }
+
+    /**
+     * Employees whose updated_at is at or after the given time, ordered by name.
+     * Rows updated within the same second as {@code since} are returned again.
+     */
+    public List<Employee> getEmployeesUpdatedSince(LocalDateTime since) {
+        if (since == null) {
+            throw new IllegalArgumentException("Since cannot be null");
+        }
+        return queryEmployees(SELECT_EMPLOYEE_DETAILS + "WHERE e.updated_at >= ?" + ORDER_BY_NAME,
+                stmt -> stmt.setTimestamp(1, Timestamp.valueOf(since)),
+                "Error fetching employees updated since: " + since, "Failed to fetch employees");
+    }
+
+    /**
+     * Row count and latest updated_at of the employees table, for detecting changes without reading rows
+     */
+    public RosterVersion getRosterVersion() {
+        String query = "SELECT COUNT(*), MAX(updated_at) FROM employees";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            if (rs.next()) {
+                Timestamp lastUpdated = rs.getTimestamp(2);
+                return new RosterVersion(rs.getInt(1), lastUpdated != null ? lastUpdated.toLocalDateTime() : null);
+            }
+            return new RosterVersion(0, null);
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error reading employee roster version", ex);
+            throw new RuntimeException("Failed to read employee roster version", ex);
+        }
+    }
+
+    /**
+     * Size of the employees table and its latest updated_at; null when the table is empty
+     */
+    public static final class RosterVersion {
+        private final int employeeCount;
+        private final LocalDateTime lastUpdated;
+
+        public RosterVersion(int employeeCount, LocalDateTime lastUpdated) {
+            this.employeeCount = employeeCount;
+            this.lastUpdated = lastUpdated;
+        }
+
+        public int getEmployeeCount() { return employeeCount; }
+        public LocalDateTime getLastUpdated() { return lastUpdated; }
+    }
+
     /**
      * Get employee count by status
      */
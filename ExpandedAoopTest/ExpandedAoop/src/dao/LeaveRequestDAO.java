@@ -12,14 +12,17 @@ public class LeaveRequestDAO {
     private static final Logger logger = Logger.getLogger(LeaveRequestDAO.class.getName());
 
     // SQL Queries matching actual database schema
+    /** Columns read by mapResultSetToLeaveRequest, in the order it reads them */
+    private static final String SELECT_LEAVE_REQUEST =
+            "SELECT id, employee_id, leave_type, start_date, end_date, status, created_at, updated_at FROM leave_requests ";
+
     private static final String SELECT_BY_EMPLOYEE_ID =
-            "SELECT * FROM leave_requests WHERE employee_id = ? ORDER BY start_date DESC";
+            SELECT_LEAVE_REQUEST + "WHERE employee_id = ? ORDER BY start_date DESC";
 
     private static final String SELECT_APPROVED_BY_EMPLOYEE_ID =
-            "SELECT * FROM leave_requests WHERE employee_id = ? AND status = ? ORDER BY start_date DESC";
+            SELECT_LEAVE_REQUEST + "WHERE employee_id = ? AND status = ? ORDER BY start_date DESC";
 
-    private static final String SELECT_APPROVED_BY_EMPLOYEE_AND_DATE_RANGE = """
-        SELECT * FROM leave_requests 
+    private static final String SELECT_APPROVED_BY_EMPLOYEE_AND_DATE_RANGE = SELECT_LEAVE_REQUEST + """
         WHERE employee_id = ? AND status = ? 
         AND ((start_date >= ? AND start_date <= ?) 
              OR (end_date >= ? AND end_date <= ?)
@@ -27,8 +30,19 @@ public class LeaveRequestDAO {
         ORDER BY start_date DESC
         """;
 
+    private static final String SELECT_APPROVED_BY_EMPLOYEES_AND_DATE_RANGE = SELECT_LEAVE_REQUEST + """
+        WHERE employee_id IN (%s) AND status = ?
+        AND ((start_date >= ? AND start_date <= ?)
+             OR (end_date >= ? AND end_date <= ?)
+             OR (start_date <= ? AND end_date >= ?))
+        ORDER BY employee_id, start_date DESC
+        """;
+
     private static final String SELECT_BY_STATUS =
-            "SELECT * FROM leave_requests WHERE status = ? ORDER BY start_date DESC";
+            SELECT_LEAVE_REQUEST + "WHERE status = ? ORDER BY start_date DESC";
+
+    private static final String SELECT_BY_STATUSES =
+            SELECT_LEAVE_REQUEST + "WHERE status IN (%s) ORDER BY start_date DESC";
 
     private static final String INSERT_LEAVE_REQUEST =
             "INSERT INTO leave_requests (employee_id, leave_type, start_date, end_date, status) VALUES (?, ?, ?, ?, ?)";
@@ -43,7 +57,7 @@ public class LeaveRequestDAO {
             "DELETE FROM leave_requests WHERE id = ?";
 
     private static final String SELECT_BY_ID =
-            "SELECT * FROM leave_requests WHERE id = ?";
+            SELECT_LEAVE_REQUEST + "WHERE id = ?";
 
     private static final String CHECK_OVERLAPPING_LEAVE = """
         SELECT COUNT(*) FROM leave_requests 
@@ -153,6 +167,56 @@ public class LeaveRequestDAO {
         return approvedLeaves;
     }
 
+    /**
+     * Retrieves approved leaves overlapping a date range for many employees, grouped by employee ID
+     */
+    public Map<Integer, List<LeaveRequest>> getApprovedLeavesByEmployeeIdsAndDateRange(Collection<Integer> employeeIds,
+                                                                                      LocalDate periodStart, LocalDate periodEnd) {
+        if (employeeIds == null) {
+            throw new IllegalArgumentException("Employee IDs cannot be null");
+        }
+        validateDateRange(periodStart, periodEnd);
+
+        Map<Integer, List<LeaveRequest>> leavesByEmployee = new HashMap<>();
+        java.sql.Date sqlStartDate = java.sql.Date.valueOf(periodStart);
+        java.sql.Date sqlEndDate = java.sql.Date.valueOf(periodEnd);
+
+        for (List<Integer> chunk : SqlInClause.partition(employeeIds)) {
+            String query = String.format(SELECT_APPROVED_BY_EMPLOYEES_AND_DATE_RANGE, SqlInClause.placeholders(chunk.size()));
+
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(query)) {
+
+                int index = 1;
+                for (Integer employeeId : chunk) {
+                    stmt.setInt(index++, employeeId);
+                }
+                stmt.setString(index++, STATUS_APPROVED);
+                stmt.setDate(index++, sqlStartDate);
+                stmt.setDate(index++, sqlEndDate);
+                stmt.setDate(index++, sqlStartDate);
+                stmt.setDate(index++, sqlEndDate);
+                stmt.setDate(index++, sqlStartDate);
+                stmt.setDate(index, sqlEndDate);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        LeaveRequest leave = mapResultSetToLeaveRequest(rs);
+                        leavesByEmployee.computeIfAbsent(leave.getEmployeeId(), id -> new ArrayList<>()).add(leave);
+                    }
+                }
+
+            } catch (SQLException ex) {
+                logger.log(Level.SEVERE, String.format(
+                        "Error retrieving approved leaves for %d employees between dates: %s and %s",
+                        chunk.size(), periodStart, periodEnd), ex);
+                throw new RuntimeException("Failed to retrieve approved leave requests for date range", ex);
+            }
+        }
+
+        return leavesByEmployee;
+    }
+
     /**
      * Retrieves leave requests by status
      */
@@ -180,6 +244,42 @@ public class LeaveRequestDAO {
         return leaveRequests;
     }
 
+    /**
+     * Retrieves leave requests in any of the given statuses with one query
+     */
+    public List<LeaveRequest> getLeaveRequestsByStatuses(String... statuses) {
+        if (statuses == null || statuses.length == 0) {
+            throw new IllegalArgumentException("At least one status is required");
+        }
+        for (String status : statuses) {
+            validateStatus(status);
+        }
+
+        List<LeaveRequest> leaveRequests = new ArrayList<>();
+        String query = String.format(SELECT_BY_STATUSES, SqlInClause.placeholders(statuses.length));
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            for (int i = 0; i < statuses.length; i++) {
+                stmt.setString(i + 1, statuses[i].trim());
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    leaveRequests.add(mapResultSetToLeaveRequest(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, String.format("Error retrieving leave requests by statuses: %s",
+                    Arrays.toString(statuses)), ex);
+            throw new RuntimeException("Failed to retrieve leave requests by statuses: " + Arrays.toString(statuses), ex);
+        }
+
+        return leaveRequests;
+    }
+
     /**
      * Inserts a new leave request
      */
@@ -195,7 +295,7 @@ public class LeaveRequestDAO {
             stmt.setDate(4, leaveRequest.getEndDate());
             stmt.setString(5, leaveRequest.getStatus() != null ? leaveRequest.getStatus() : STATUS_PENDING);
 
-            logger.info(String.format("Attempting to insert leave request for employee %d: %s from %s to %s",
+            logger.fine(() -> String.format("Attempting to insert leave request for employee %d: %s from %s to %s",
                     leaveRequest.getEmployeeId(), leaveRequest.getLeaveType(),
                     leaveRequest.getStartDate(), leaveRequest.getEndDate()));
 
@@ -208,8 +308,9 @@ public class LeaveRequestDAO {
                 if (generatedKeys.next()) {
                     int generatedId = generatedKeys.getInt(1);
                     leaveRequest.setLeaveId(generatedId);
-                    logger.info(String.format("Successfully inserted leave request with ID: %d for employee %d",
+                    logger.info(() -> String.format("Successfully inserted leave request with ID: %d for employee %d",
                             generatedId, leaveRequest.getEmployeeId()));
+                    publishChange(leaveRequest);
                     return generatedId;
                 } else {
                     throw new SQLException("Creating leave request failed, no ID obtained.");
@@ -239,7 +340,8 @@ public class LeaveRequestDAO {
             boolean updated = affectedRows > 0;
 
             if (updated) {
-                logger.info(String.format("Successfully updated leave request %d status to %s", leaveId, status));
+                logger.info(() -> String.format("Successfully updated leave request %d status to %s", leaveId, status));
+                getLeaveRequestById(leaveId).ifPresent(this::publishChange);
             } else {
                 logger.warning(String.format("No leave request found with ID: %d", leaveId));
             }
@@ -258,6 +360,9 @@ public class LeaveRequestDAO {
     public boolean updateLeaveRequest(LeaveRequest leaveRequest) {
         validateLeaveRequestForUpdate(leaveRequest);
 
+        // The request may move to another employee or dates; both old and new ranges change
+        Optional<LeaveRequest> previous = getLeaveRequestById(leaveRequest.getLeaveId());
+
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(UPDATE_LEAVE_REQUEST)) {
 
@@ -272,7 +377,9 @@ public class LeaveRequestDAO {
             boolean updated = affectedRows > 0;
 
             if (updated) {
-                logger.info(String.format("Successfully updated leave request with ID: %d", leaveRequest.getLeaveId()));
+                logger.info(() -> String.format("Successfully updated leave request with ID: %d", leaveRequest.getLeaveId()));
+                previous.ifPresent(this::publishChange);
+                publishChange(leaveRequest);
             } else {
                 logger.warning(String.format("No leave request found with ID: %d", leaveRequest.getLeaveId()));
             }
@@ -291,6 +398,8 @@ public class LeaveRequestDAO {
     public boolean deleteLeaveRequest(int leaveId) {
         validateLeaveId(leaveId);
 
+        Optional<LeaveRequest> previous = getLeaveRequestById(leaveId);
+
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(DELETE_LEAVE_REQUEST)) {
 
@@ -299,7 +408,8 @@ public class LeaveRequestDAO {
             boolean deleted = affectedRows > 0;
 
             if (deleted) {
-                logger.info(String.format("Successfully deleted leave request with ID: %d", leaveId));
+                logger.info(() -> String.format("Successfully deleted leave request with ID: %d", leaveId));
+                previous.ifPresent(this::publishChange);
             } else {
                 logger.warning(String.format("No leave request found with ID: %d", leaveId));
             }
@@ -380,37 +490,32 @@ public class LeaveRequestDAO {
         return false;
     }
 
+    private void publishChange(LeaveRequest leaveRequest) {
+        DataChangeBus.publish(DataChangeBus.Entity.LEAVE_REQUEST, leaveRequest.getEmployeeId(),
+                leaveRequest.getStartDate() != null ? leaveRequest.getStartDate().toLocalDate() : null,
+                leaveRequest.getEndDate() != null ? leaveRequest.getEndDate().toLocalDate() : null);
+    }
+
     /**
-     * Maps ResultSet to LeaveRequest object matching actual database schema
+     * Maps a row of SELECT_LEAVE_REQUEST to a LeaveRequest; columns are read by position, in projection order
      */
     private LeaveRequest mapResultSetToLeaveRequest(ResultSet rs) throws SQLException {
         LeaveRequest lr = new LeaveRequest();
-        lr.setLeaveId(rs.getInt("id"));
-        lr.setEmployeeId(rs.getInt("employee_id"));
-        lr.setLeaveType(rs.getString("leave_type"));
-        lr.setStartDate(rs.getDate("start_date"));
-        lr.setEndDate(rs.getDate("end_date"));
-        lr.setStatus(rs.getString("status"));
-
-        // Handle timestamps if they exist
-        try {
-            Timestamp created = rs.getTimestamp("created_at");
-            if (created != null) {
-                lr.setCreatedAt(created.toLocalDateTime());
-            }
-        } catch (SQLException e) {
-            // created_at column might not exist in all queries
+        lr.setLeaveId(rs.getInt(1));
+        lr.setEmployeeId(rs.getInt(2));
+        lr.setLeaveType(rs.getString(3));
+        lr.setStartDate(rs.getDate(4));
+        lr.setEndDate(rs.getDate(5));
+        lr.setStatus(rs.getString(6));
+
+        Timestamp created = rs.getTimestamp(7);
+        if (created != null) {
+            lr.setCreatedAt(created.toLocalDateTime());
         }
-
-        try {
-            Timestamp updated = rs.getTimestamp("updated_at");
-            if (updated != null) {
-                lr.setUpdatedAt(updated.toLocalDateTime());
-            }
-        } catch (SQLException e) {
-            // updated_at column might not exist in all queries
+        Timestamp updated = rs.getTimestamp(8);
+        if (updated != null) {
+            lr.setUpdatedAt(updated.toLocalDateTime());
         }
-
         return lr;
     }
 
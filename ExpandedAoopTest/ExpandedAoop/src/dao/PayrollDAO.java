@@ -54,6 +54,35 @@ public class PayrollDAO {
         return payslipData;
     }
 
+    private static final String PAYROLL_COLUMNS = "employee_id, period_start, period_end, " +
+            "monthly_rate, days_worked, overtime_hours, gross_pay, total_deductions, net_pay, " +
+            "rice_subsidy, phone_allowance, clothing_allowance, sss, philhealth, pagibig, tax, " +
+            "late_deduction, undertime_deduction, unpaid_leave_deduction, basic_pay";
+
+    /** Columns read by mapResultSetToPayroll: the id, PAYROLL_COLUMNS in order, then the audit timestamps */
+    private static final String SELECT_PAYROLL = "SELECT id, " + PAYROLL_COLUMNS + ", created_at, updated_at " +
+            "FROM payroll_records ";
+
+    private static final String INSERT_PAYROLL = "INSERT INTO payroll_records (" + PAYROLL_COLUMNS + ") " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Insert-or-replace keyed on the unique (employee_id, period_start, period_end),
+     * so re-saving a pay run overwrites the earlier figures instead of duplicating them
+     */
+    private static final String UPSERT_PAYROLL = INSERT_PAYROLL + " ON DUPLICATE KEY UPDATE " +
+            "monthly_rate = VALUES(monthly_rate), days_worked = VALUES(days_worked), " +
+            "overtime_hours = VALUES(overtime_hours), gross_pay = VALUES(gross_pay), " +
+            "total_deductions = VALUES(total_deductions), net_pay = VALUES(net_pay), " +
+            "rice_subsidy = VALUES(rice_subsidy), phone_allowance = VALUES(phone_allowance), " +
+            "clothing_allowance = VALUES(clothing_allowance), sss = VALUES(sss), " +
+            "philhealth = VALUES(philhealth), pagibig = VALUES(pagibig), tax = VALUES(tax), " +
+            "late_deduction = VALUES(late_deduction), undertime_deduction = VALUES(undertime_deduction), " +
+            "unpaid_leave_deduction = VALUES(unpaid_leave_deduction), basic_pay = VALUES(basic_pay)";
+
+    /** Rows per executeBatch and per transaction */
+    public static final int BATCH_SIZE = 500;
+
     /**
      * Save payroll record
      */
@@ -62,30 +91,10 @@ public class PayrollDAO {
             throw new IllegalArgumentException("Payroll cannot be null");
         }
 
-        String sql = "INSERT INTO payroll_records (employee_id, period_start, period_end, " +
-                "monthly_rate, days_worked, overtime_hours, gross_pay, total_deductions, net_pay, " +
-                "rice_subsidy, phone_allowance, clothing_allowance, sss, philhealth, pagibig, tax) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            stmt.setInt(1, payroll.getEmployeeId());
-            stmt.setDate(2, payroll.getPeriodStart());
-            stmt.setDate(3, payroll.getPeriodEnd());
-            stmt.setDouble(4, payroll.getMonthlyRate());
-            stmt.setInt(5, payroll.getDaysWorked());
-            stmt.setDouble(6, payroll.getOvertimeHours());
-            stmt.setDouble(7, payroll.getGrossPay());
-            stmt.setDouble(8, payroll.getTotalDeductions());
-            stmt.setDouble(9, payroll.getNetPay());
-            stmt.setDouble(10, payroll.getRiceSubsidy());
-            stmt.setDouble(11, payroll.getPhoneAllowance());
-            stmt.setDouble(12, payroll.getClothingAllowance());
-            stmt.setDouble(13, payroll.getSss());
-            stmt.setDouble(14, payroll.getPhilhealth());
-            stmt.setDouble(15, payroll.getPagibig());
-            stmt.setDouble(16, payroll.getTax());
+             PreparedStatement stmt = conn.prepareStatement(INSERT_PAYROLL, Statement.RETURN_GENERATED_KEYS)) {
+
+            bindPayroll(stmt, payroll);
 
             int affectedRows = stmt.executeUpdate();
             if (affectedRows > 0) {
@@ -94,6 +103,7 @@ public class PayrollDAO {
                         payroll.setPayrollId(generatedKeys.getInt(1));
                     }
                 }
+                publishChange(payroll.getEmployeeId(), payroll);
                 return true;
             }
 
@@ -105,12 +115,88 @@ public class PayrollDAO {
         return false;
     }
 
+    /**
+     * Save many payroll records with batched upserts.
+     * Rows are sent BATCH_SIZE at a time on one connection, each chunk in its own transaction;
+     * with rewriteBatchedStatements the driver sends each chunk as a multi-row statement.
+     * Existing records for the same employee and period are overwritten, so a pay run can be saved again safely.
+     * Generated IDs are not populated on the saved objects.
+     *
+     * @return number of payroll records written
+     */
+    public int savePayrollBatch(List<Payroll> payrolls) {
+        if (payrolls == null) {
+            throw new IllegalArgumentException("Payroll list cannot be null");
+        }
+        for (Payroll payroll : payrolls) {
+            if (payroll == null) {
+                throw new IllegalArgumentException("Payroll list cannot contain null entries");
+            }
+            if (payroll.getPeriodStart() == null || payroll.getPeriodEnd() == null) {
+                throw new IllegalArgumentException("Payroll period is required for employee " + payroll.getEmployeeId());
+            }
+        }
+        if (payrolls.isEmpty()) {
+            return 0;
+        }
+
+        int saved = 0;
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_PAYROLL)) {
+
+            conn.setAutoCommit(false);
+            for (int from = 0; from < payrolls.size(); from += BATCH_SIZE) {
+                List<Payroll> chunk = payrolls.subList(from, Math.min(from + BATCH_SIZE, payrolls.size()));
+                try {
+                    for (Payroll payroll : chunk) {
+                        bindPayroll(stmt, payroll);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    conn.commit();
+                    saved += chunk.size();
+                    publishPeriods(chunk);
+                } catch (SQLException ex) {
+                    conn.rollback();
+                    throw ex;
+                }
+            }
+
+            LOGGER.info("Saved " + saved + " payroll records in batches of " + BATCH_SIZE);
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error saving payroll batch after " + saved + " of " + payrolls.size() + " records", ex);
+            throw new RuntimeException("Failed to save payroll records: " + ex.getMessage(), ex);
+        }
+
+        return saved;
+    }
+
+    private void publishChange(Integer employeeId, Payroll payroll) {
+        DataChangeBus.publish(DataChangeBus.Entity.PAYROLL, employeeId,
+                payroll.getPeriodStart() != null ? payroll.getPeriodStart().toLocalDate() : null,
+                payroll.getPeriodEnd() != null ? payroll.getPeriodEnd().toLocalDate() : null);
+    }
+
+    /**
+     * One change per distinct period in a committed chunk rather than one per record
+     */
+    private void publishPeriods(List<Payroll> chunk) {
+        Map<String, Payroll> periods = new LinkedHashMap<>();
+        for (Payroll payroll : chunk) {
+            periods.putIfAbsent(payroll.getPeriodStart() + "/" + payroll.getPeriodEnd(), payroll);
+        }
+        for (Payroll payroll : periods.values()) {
+            publishChange(null, payroll);
+        }
+    }
+
     /**
      * Get payroll records for employee
      */
     public List<Payroll> getPayrollByEmployee(int employeeId) {
         List<Payroll> payrolls = new ArrayList<>();
-        String sql = "SELECT * FROM payroll_records WHERE employee_id = ? ORDER BY period_end DESC";
+        String sql = SELECT_PAYROLL + "WHERE employee_id = ? ORDER BY period_end DESC";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -131,25 +217,134 @@ public class PayrollDAO {
         return payrolls;
     }
 
+    /**
+     * Get the saved payroll of one employee for an exact period, or null if it was never saved
+     */
+    public Payroll getPayrollByEmployeeAndPeriod(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+        validatePeriod(periodStart, periodEnd);
+
+        String sql = SELECT_PAYROLL + "WHERE employee_id = ? AND period_start = ? AND period_end = ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, employeeId);
+            stmt.setDate(2, java.sql.Date.valueOf(periodStart));
+            stmt.setDate(3, java.sql.Date.valueOf(periodEnd));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToPayroll(rs);
+                }
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error retrieving payroll for employee " + employeeId +
+                    " for period " + periodStart + " to " + periodEnd, ex);
+            throw new RuntimeException("Failed to retrieve payroll record", ex);
+        }
+
+        return null;
+    }
+
+    /**
+     * Get every saved payroll record for an exact period, keyed by employee ID
+     */
+    public Map<Integer, Payroll> getPayrollForPeriod(LocalDate periodStart, LocalDate periodEnd) {
+        validatePeriod(periodStart, periodEnd);
+
+        Map<Integer, Payroll> payrolls = new LinkedHashMap<>();
+        String sql = SELECT_PAYROLL + "WHERE period_start = ? AND period_end = ? ORDER BY employee_id";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, java.sql.Date.valueOf(periodStart));
+            stmt.setDate(2, java.sql.Date.valueOf(periodEnd));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Payroll payroll = mapResultSetToPayroll(rs);
+                    payrolls.put(payroll.getEmployeeId(), payroll);
+                }
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error retrieving payroll for period " + periodStart + " to " + periodEnd, ex);
+            throw new RuntimeException("Failed to retrieve payroll records for period", ex);
+        }
+
+        return payrolls;
+    }
+
+    private void bindPayroll(PreparedStatement stmt, Payroll payroll) throws SQLException {
+        stmt.setInt(1, payroll.getEmployeeId());
+        stmt.setDate(2, payroll.getPeriodStart());
+        stmt.setDate(3, payroll.getPeriodEnd());
+        stmt.setDouble(4, payroll.getMonthlyRate());
+        stmt.setInt(5, payroll.getDaysWorked());
+        stmt.setDouble(6, payroll.getOvertimeHours());
+        stmt.setDouble(7, payroll.getGrossPay());
+        stmt.setDouble(8, payroll.getTotalDeductions());
+        stmt.setDouble(9, payroll.getNetPay());
+        stmt.setDouble(10, payroll.getRiceSubsidy());
+        stmt.setDouble(11, payroll.getPhoneAllowance());
+        stmt.setDouble(12, payroll.getClothingAllowance());
+        stmt.setDouble(13, payroll.getSss());
+        stmt.setDouble(14, payroll.getPhilhealth());
+        stmt.setDouble(15, payroll.getPagibig());
+        stmt.setDouble(16, payroll.getTax());
+        stmt.setDouble(17, payroll.getLateDeduction());
+        stmt.setDouble(18, payroll.getUndertimeDeduction());
+        stmt.setDouble(19, payroll.getUnpaidLeaveDeduction());
+        stmt.setDouble(20, payroll.getGrossEarnings());
+    }
+
+    private void validatePeriod(LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period start and end dates cannot be null");
+        }
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start date cannot be after end date");
+        }
+    }
+
+    /**
+     * Map a row of SELECT_PAYROLL; columns are read by position, matching bindPayroll shifted by the id
+     */
     private Payroll mapResultSetToPayroll(ResultSet rs) throws SQLException {
         Payroll payroll = new Payroll();
-        payroll.setPayrollId(rs.getInt("id"));
-        payroll.setEmployeeId(rs.getInt("employee_id"));
-        payroll.setPeriodStart(rs.getDate("period_start"));
-        payroll.setPeriodEnd(rs.getDate("period_end"));
-        payroll.setMonthlyRate(rs.getDouble("monthly_rate"));
-        payroll.setDaysWorked(rs.getInt("days_worked"));
-        payroll.setOvertimeHours(rs.getDouble("overtime_hours"));
-        payroll.setGrossPay(rs.getDouble("gross_pay"));
-        payroll.setTotalDeductions(rs.getDouble("total_deductions"));
-        payroll.setNetPay(rs.getDouble("net_pay"));
-        payroll.setRiceSubsidy(rs.getDouble("rice_subsidy"));
-        payroll.setPhoneAllowance(rs.getDouble("phone_allowance"));
-        payroll.setClothingAllowance(rs.getDouble("clothing_allowance"));
-        payroll.setSss(rs.getDouble("sss"));
-        payroll.setPhilhealth(rs.getDouble("philhealth"));
-        payroll.setPagibig(rs.getDouble("pagibig"));
-        payroll.setTax(rs.getDouble("tax"));
+        payroll.setPayrollId(rs.getInt(1));
+        payroll.setEmployeeId(rs.getInt(2));
+        payroll.setPeriodStart(rs.getDate(3));
+        payroll.setPeriodEnd(rs.getDate(4));
+        payroll.setMonthlyRate(rs.getDouble(5));
+        payroll.setDaysWorked(rs.getInt(6));
+        payroll.setOvertimeHours(rs.getDouble(7));
+        payroll.setGrossPay(rs.getDouble(8));
+        payroll.setTotalDeductions(rs.getDouble(9));
+        payroll.setNetPay(rs.getDouble(10));
+        payroll.setRiceSubsidy(rs.getDouble(11));
+        payroll.setPhoneAllowance(rs.getDouble(12));
+        payroll.setClothingAllowance(rs.getDouble(13));
+        payroll.setSss(rs.getDouble(14));
+        payroll.setPhilhealth(rs.getDouble(15));
+        payroll.setPagibig(rs.getDouble(16));
+        payroll.setTax(rs.getDouble(17));
+        payroll.setLateDeduction(rs.getDouble(18));
+        payroll.setUndertimeDeduction(rs.getDouble(19));
+        payroll.setUnpaidLeaveDeduction(rs.getDouble(20));
+        payroll.setGrossEarnings(rs.getDouble(21));
+
+        Timestamp created = rs.getTimestamp(22);
+        if (created != null) {
+            payroll.setCreatedAt(created.toLocalDateTime());
+        }
+        Timestamp updated = rs.getTimestamp(23);
+        if (updated != null) {
+            payroll.setUpdatedAt(updated.toLocalDateTime());
+        }
         return payroll;
     }
 }
\ No newline at end of file
@@ -13,12 +13,16 @@ import java.util.logging.Level;
 public class PositionDAO {
     private static final Logger LOGGER = Logger.getLogger(PositionDAO.class.getName());
 
+    /** Columns read by mapResultSetToPosition, in the order it reads them */
+    private static final String SELECT_POSITION = "SELECT position_id, position_title, basic_salary, rice_subsidy, " +
+            "phone_allowance, clothing_allowance, gross_semi_monthly_rate, hourly_rate FROM positions ";
+
     /**
      * Get all positions
      */
     public List<Position> getAllPositions() {
         List<Position> positions = new ArrayList<>();
-        String query = "SELECT * FROM positions ORDER BY position_title";
+        String query = SELECT_POSITION + "ORDER BY position_title";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
@@ -45,7 +49,7 @@ public class PositionDAO {
             throw new IllegalArgumentException("Position ID must be positive");
         }
 
-        String query = "SELECT * FROM positions WHERE position_id = ?";
+        String query = SELECT_POSITION + "WHERE position_id = ?";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -73,7 +77,7 @@ public class PositionDAO {
             throw new IllegalArgumentException("Position title cannot be null or empty");
         }
 
-        String query = "SELECT * FROM positions WHERE position_title = ?";
+        String query = SELECT_POSITION + "WHERE position_title = ?";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -180,6 +184,7 @@ public class PositionDAO {
 
             if (updated) {
                 LOGGER.info("Successfully updated position: " + position.getPositionName());
+                DataChangeBus.publish(DataChangeBus.Entity.POSITION, null, null, null);
             } else {
                 LOGGER.warning("No position found with ID: " + position.getPositionId());
             }
@@ -216,6 +221,7 @@ public class PositionDAO {
 
             if (deleted) {
                 LOGGER.info("Successfully deleted position with ID: " + positionId);
+                DataChangeBus.publish(DataChangeBus.Entity.POSITION, null, null, null);
             } else {
                 LOGGER.warning("No position found with ID: " + positionId);
             }
@@ -288,18 +294,18 @@ public class PositionDAO {
         }
 
         List<Position> positions = new ArrayList<>();
-        String query = "SELECT * FROM positions WHERE basic_salary >= ? AND basic_salary <= ? ORDER BY basic_salary";
+        String query = SELECT_POSITION + "WHERE basic_salary >= ? AND basic_salary <= ? ORDER BY basic_salary";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
 
             stmt.setDouble(1, minSalary);
             stmt.setDouble(2, maxSalary);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                Position position = mapResultSetToPosition(rs);
-                positions.add(position);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Position position = mapResultSetToPosition(rs);
+                    positions.add(position);
+                }
             }
 
         } catch (SQLException ex) {
@@ -315,18 +321,16 @@ public class PositionDAO {
      */
     public Map<Integer, Integer> getEmployeeCountByPosition() {
         Map<Integer, Integer> employeeCounts = new HashMap<>();
-        String query = "SELECT p.position_id, p.position_title, COUNT(e.employee_id) as employee_count " +
+        String query = "SELECT p.position_id, COUNT(e.employee_id) as employee_count " +
                 "FROM positions p LEFT JOIN employees e ON p.position_id = e.position_id " +
-                "GROUP BY p.position_id, p.position_title";
+                "GROUP BY p.position_id";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                int positionId = rs.getInt("position_id");
-                int count = rs.getInt("employee_count");
-                employeeCounts.put(positionId, count);
+                employeeCounts.put(rs.getInt(1), rs.getInt(2));
             }
 
         } catch (SQLException ex) {
@@ -338,20 +342,20 @@ public class PositionDAO {
     }
 
     /**
-     * Map ResultSet to Position object
+     * Map a row of SELECT_POSITION; columns are read by position, in projection order
      */
     private Position mapResultSetToPosition(ResultSet rs) throws SQLException {
         Position position = new Position();
-        position.setPositionId(rs.getInt("position_id"));
-        position.setPositionName(rs.getString("position_title"));
-        position.setMonthlySalary(rs.getDouble("basic_salary"));
+        position.setPositionId(rs.getInt(1));
+        position.setPositionName(rs.getString(2));
+        position.setMonthlySalary(rs.getDouble(3));
 
         // Additional fields from the database schema
-        position.setRiceSubsidy(rs.getDouble("rice_subsidy"));
-        position.setPhoneAllowance(rs.getDouble("phone_allowance"));
-        position.setClothingAllowance(rs.getDouble("clothing_allowance"));
-        position.setGrossSemiMonthlyRate(rs.getDouble("gross_semi_monthly_rate"));
-        position.setHourlyRate(rs.getDouble("hourly_rate"));
+        position.setRiceSubsidy(rs.getDouble(4));
+        position.setPhoneAllowance(rs.getDouble(5));
+        position.setClothingAllowance(rs.getDouble(6));
+        position.setGrossSemiMonthlyRate(rs.getDouble(7));
+        position.setHourlyRate(rs.getDouble(8));
 
         return position;
     }
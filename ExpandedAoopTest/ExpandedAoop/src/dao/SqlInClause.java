@@ -0,0 +1,38 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Helpers for binding a list of ids into an IN (...) clause.
+ * Large id lists are split into chunks so a single statement never exceeds the driver's placeholder limits.
+ */
+final class SqlInClause {
+
+    static final int MAX_PARAMETERS = 500;
+
+    private SqlInClause() {
+    }
+
+    /**
+     * Split ids into de-duplicated chunks of at most MAX_PARAMETERS, preserving order
+     */
+    static List<List<Integer>> partition(Collection<Integer> ids) {
+        List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += MAX_PARAMETERS) {
+            chunks.add(distinct.subList(from, Math.min(from + MAX_PARAMETERS, distinct.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Build "?, ?, ?" with the given number of placeholders
+     */
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -6,6 +6,11 @@ import java.time.Duration;
 import java.time.LocalTime;
 
 public class Attendance extends BaseEntity {
+    /** Log in after this time is late */
+    public static final LocalTime WORK_START = LocalTime.of(8, 0);
+    /** Log out before this time is undertime */
+    public static final LocalTime WORK_END = LocalTime.of(17, 0);
+
     private int employeeId;
     private Date date;
     private Time logIn;
@@ -56,12 +61,16 @@ public class Attendance extends BaseEntity {
 
     public boolean isLate() {
         if (logIn == null) return false;
-        return logIn.toLocalTime().isAfter(LocalTime.of(8, 0));
+        return logIn.toLocalTime().isAfter(WORK_START);
     }
 
     public boolean hasUndertime() {
         if (logOut == null) return false;
-        return logOut.toLocalTime().isBefore(LocalTime.of(17, 0));
+        return logOut.toLocalTime().isBefore(WORK_END);
+    }
+
+    public boolean isFullDay() {
+        return logIn != null && logOut != null && !isLate() && !hasUndertime();
     }
 
     @Override
@@ -0,0 +1,244 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, precomputed SSS, PhilHealth and Pag-IBIG contribution schedule.
+ * Lookups do not allocate: SSS brackets of uniform width are found by index arithmetic
+ * (binary search otherwise), PhilHealth tiers and Pag-IBIG rates by direct comparison.
+ * A salary belongs to the bracket with the greatest lower bound not above it; salaries
+ * below the first bracket use the first bracket.
+ */
+public final class ContributionSchedule {
+
+    // SSS brackets, ordered by lower bound
+    private final double[] sssLowerBounds;
+    private final double[] sssSalaryCredits;
+    private final double[] sssEmployeeShares;
+    private final double[] sssEmployerShares;
+    // Uniform width between consecutive lower bounds from bracket 1 on, otherwise 0
+    private final double sssBracketWidth;
+
+    // PhilHealth tiers, ordered by lower bound
+    private final double[] philHealthLowerBounds;
+    private final double[] philHealthPremiums;
+    private final double[] philHealthEmployeeShares;
+    private final double[] philHealthEmployerShares;
+
+    // Pag-IBIG: lower rate up to the threshold, higher rate above it, on salary capped at the maximum
+    private final double pagIbigLowRateCeiling;
+    private final double pagIbigLowEmployeeRate;
+    private final double pagIbigEmployeeRate;
+    private final double pagIbigEmployerRate;
+    private final double pagIbigMaxContributorySalary;
+
+    private static final ContributionSchedule DEFAULT = new ContributionSchedule(
+            defaultSssTable(),
+            new double[][]{
+                    // {minSalary, monthlyPremium, employeeShare, employerShare}
+                    {0.00, 500.00, 250.00, 250.00},
+                    {10000.01, 2500.00, 1250.00, 1250.00},
+                    {100000.00, 5000.00, 2500.00, 2500.00}
+            },
+            1500.00, 0.01, 0.02, 0.02, 5000.00);
+
+    /**
+     * @param sssTable        rows of {minSalary, salaryCredit, employeeShare, employerShare}, ordered by minSalary
+     * @param philHealthTable rows of {minSalary, monthlyPremium, employeeShare, employerShare}, ordered by minSalary
+     */
+    public ContributionSchedule(double[][] sssTable, double[][] philHealthTable,
+                                double pagIbigLowRateCeiling, double pagIbigLowEmployeeRate,
+                                double pagIbigEmployeeRate, double pagIbigEmployerRate,
+                                double pagIbigMaxContributorySalary) {
+        validateTable("SSS", sssTable);
+        validateTable("PhilHealth", philHealthTable);
+        if (pagIbigMaxContributorySalary <= 0) {
+            throw new IllegalArgumentException("Pag-IBIG maximum contributory salary must be positive");
+        }
+
+        this.sssLowerBounds = column(sssTable, 0);
+        this.sssSalaryCredits = column(sssTable, 1);
+        this.sssEmployeeShares = column(sssTable, 2);
+        this.sssEmployerShares = column(sssTable, 3);
+        this.sssBracketWidth = uniformWidth(sssLowerBounds);
+
+        this.philHealthLowerBounds = column(philHealthTable, 0);
+        this.philHealthPremiums = column(philHealthTable, 1);
+        this.philHealthEmployeeShares = column(philHealthTable, 2);
+        this.philHealthEmployerShares = column(philHealthTable, 3);
+
+        this.pagIbigLowRateCeiling = pagIbigLowRateCeiling;
+        this.pagIbigLowEmployeeRate = pagIbigLowEmployeeRate;
+        this.pagIbigEmployeeRate = pagIbigEmployeeRate;
+        this.pagIbigEmployerRate = pagIbigEmployerRate;
+        this.pagIbigMaxContributorySalary = pagIbigMaxContributorySalary;
+    }
+
+    /**
+     * Schedule compiled into the application, used when no schedule file covers a date
+     */
+    public static ContributionSchedule getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Total employee share of SSS, PhilHealth and Pag-IBIG for a monthly salary
+     */
+    public double employeeShare(double salary) {
+        return sssEmployeeShare(salary) + philHealthEmployeeShare(salary) + pagIbigEmployeeShare(salary);
+    }
+
+    // SSS
+
+    public double sssEmployeeShare(double salary) {
+        return sssEmployeeShares[sssIndex(salary)];
+    }
+
+    public double sssEmployerShare(double salary) {
+        return sssEmployerShares[sssIndex(salary)];
+    }
+
+    public double sssSalaryCredit(double salary) {
+        return sssSalaryCredits[sssIndex(salary)];
+    }
+
+    /**
+     * Bracket index for a salary: arithmetic on the bracket width when the table is regular
+     */
+    int sssIndex(double salary) {
+        int last = sssLowerBounds.length - 1;
+        if (!(salary >= sssLowerBounds[1])) {
+            return 0;
+        }
+        if (sssBracketWidth > 0) {
+            double offset = (salary - sssLowerBounds[1]) / sssBracketWidth;
+            int index = offset >= last - 1 ? last : 1 + (int) offset;
+            // Guard against rounding in the division right at a bracket boundary
+            if (salary < sssLowerBounds[index]) {
+                index--;
+            } else if (index < last && salary >= sssLowerBounds[index + 1]) {
+                index++;
+            }
+            return index;
+        }
+        return floorIndex(sssLowerBounds, salary);
+    }
+
+    // PhilHealth
+
+    public double philHealthEmployeeShare(double salary) {
+        return philHealthEmployeeShares[philHealthIndex(salary)];
+    }
+
+    public double philHealthEmployerShare(double salary) {
+        return philHealthEmployerShares[philHealthIndex(salary)];
+    }
+
+    public double philHealthMonthlyPremium(double salary) {
+        return philHealthPremiums[philHealthIndex(salary)];
+    }
+
+    private int philHealthIndex(double salary) {
+        // A handful of tiers: compare from the top
+        for (int i = philHealthLowerBounds.length - 1; i > 0; i--) {
+            if (salary >= philHealthLowerBounds[i]) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    // Pag-IBIG
+
+    public double pagIbigContributorySalary(double salary) {
+        return Math.min(salary, pagIbigMaxContributorySalary);
+    }
+
+    public double pagIbigEmployeeRate(double salary) {
+        return pagIbigContributorySalary(salary) <= pagIbigLowRateCeiling ? pagIbigLowEmployeeRate : pagIbigEmployeeRate;
+    }
+
+    public double pagIbigEmployerRate(double salary) {
+        return pagIbigEmployerRate;
+    }
+
+    public double pagIbigEmployeeShare(double salary) {
+        return pagIbigContributorySalary(salary) * pagIbigEmployeeRate(salary);
+    }
+
+    public double pagIbigEmployerShare(double salary) {
+        return pagIbigContributorySalary(salary) * pagIbigEmployerRate;
+    }
+
+    public double getPagIbigMaxContributorySalary() {
+        return pagIbigMaxContributorySalary;
+    }
+
+    public int getSssBracketCount() {
+        return sssLowerBounds.length;
+    }
+
+    /**
+     * Whether SSS lookups use index arithmetic rather than binary search
+     */
+    public boolean isSssTableRegular() {
+        return sssBracketWidth > 0;
+    }
+
+    private static int floorIndex(double[] lowerBounds, double salary) {
+        int index = Arrays.binarySearch(lowerBounds, salary);
+        return index >= 0 ? index : Math.max(0, -index - 2);
+    }
+
+    /**
+     * Width shared by every bracket between the first and the last, or 0 if they differ.
+     * The first and last brackets are open-ended and may be any size.
+     */
+    private static double uniformWidth(double[] lowerBounds) {
+        if (lowerBounds.length < 3) {
+            return 0;
+        }
+        double width = lowerBounds[2] - lowerBounds[1];
+        for (int i = 2; i < lowerBounds.length; i++) {
+            if (Math.abs((lowerBounds[i] - lowerBounds[i - 1]) - width) > 1e-9) {
+                return 0;
+            }
+        }
+        return width;
+    }
+
+    private static double[] column(double[][] table, int column) {
+        double[] values = new double[table.length];
+        for (int i = 0; i < table.length; i++) {
+            values[i] = table[i][column];
+        }
+        return values;
+    }
+
+    private static void validateTable(String name, double[][] table) {
+        if (table == null || table.length < 2) {
+            throw new IllegalArgumentException(name + " table needs at least two brackets");
+        }
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] == null || table[i].length != 4) {
+                throw new IllegalArgumentException(name + " bracket " + i + " must have four values");
+            }
+            if (i > 0 && !(table[i][0] > table[i - 1][0])) {
+                throw new IllegalArgumentException(name + " brackets must be in increasing salary order");
+            }
+        }
+    }
+
+    /**
+     * 2023 SSS table: 5,000 credit below 5,250, then 500-peso brackets up to 35,000 credit from 34,750
+     */
+    private static double[][] defaultSssTable() {
+        double[][] table = new double[61][];
+        table[0] = new double[]{0.00, 5000.00, 250.00, 500.00};
+        for (int i = 1; i < table.length; i++) {
+            double credit = 5000.00 + 500.00 * i;
+            table[i] = new double[]{credit - 250.00, credit, credit / 20, credit / 10};
+        }
+        return table;
+    }
+}
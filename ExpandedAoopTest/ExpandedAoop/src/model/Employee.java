@@ -4,7 +4,7 @@ import java.time.LocalDate;
 import java.time.Period;
 
 // Abstract base class demonstrating ABSTRACTION
-public abstract class Employee extends BaseEntity {
+public abstract class Employee extends BaseEntity implements Cloneable {
     // Protected fields for inheritance - ENCAPSULATION
     protected int employeeId;
     protected String firstName;
@@ -89,6 +89,17 @@ public abstract class Employee extends BaseEntity {
         return riceSubsidy + phoneAllowance + clothingAllowance;
     }
     
+    /**
+     * Independent copy of the same concrete type, for handing out a shared employee without sharing its state
+     */
+    public Employee copy() {
+        try {
+            return (Employee) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+    
     public String getDepartment() { 
         if (department != null) return department;
         // Derive department from position if not set
@@ -0,0 +1,209 @@
+package model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Peso amount held as a whole number of centavos.
+ * Sums are exact; multiplying by a rate or dividing rounds once, with an explicit rounding mode.
+ * <p>
+ * The static methods work on raw {@code long} centavos and do not allocate, for calculation loops;
+ * instances wrap the same arithmetic for code that prefers a value object. Convert to BigDecimal
+ * only when rendering.
+ */
+public final class Money implements Comparable<Money> {
+
+    /**
+     * Rounding used for payroll amounts unless a caller asks for another
+     */
+    public static final RoundingMode DEFAULT_ROUNDING = RoundingMode.HALF_UP;
+
+    public static final Money ZERO = new Money(0);
+
+    // A scaled double this close to a whole centavo or a half centavo is treated as exactly there
+    private static final double TOLERANCE = 1e-6;
+
+    // Returned by roundScaled when the value sits on a half centavo and must be rounded in decimal
+    private static final long NEEDS_EXACT = Long.MIN_VALUE;
+
+    private final long centavos;
+
+    private Money(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Money ofCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Money(centavos);
+    }
+
+    public static Money ofPesos(double pesos) {
+        return ofCentavos(centavos(pesos));
+    }
+
+    public static Money of(BigDecimal pesos) {
+        if (pesos == null) {
+            throw new IllegalArgumentException("Amount cannot be null");
+        }
+        return ofCentavos(pesos.setScale(2, DEFAULT_ROUNDING).unscaledValue().longValueExact());
+    }
+
+    public long getCentavos() { return centavos; }
+
+    public Money plus(Money other) {
+        return ofCentavos(Math.addExact(centavos, other.centavos));
+    }
+
+    public Money minus(Money other) {
+        return ofCentavos(Math.subtractExact(centavos, other.centavos));
+    }
+
+    public Money times(double rate, RoundingMode mode) {
+        return ofCentavos(multiply(centavos, rate, mode));
+    }
+
+    public Money negate() {
+        return ofCentavos(Math.negateExact(centavos));
+    }
+
+    public boolean isZero() { return centavos == 0; }
+    public boolean isNegative() { return centavos < 0; }
+
+    public BigDecimal toBigDecimal() {
+        return toBigDecimal(centavos);
+    }
+
+    public double toDouble() {
+        return toPesos(centavos);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(centavos, other.centavos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money && ((Money) o).centavos == centavos);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    // Arithmetic on raw centavos
+
+    /**
+     * Centavos in a peso amount, rounded half up
+     */
+    public static long centavos(double pesos) {
+        return centavos(pesos, DEFAULT_ROUNDING);
+    }
+
+    /**
+     * Centavos in a peso amount. The amount is rounded as the decimal it prints as,
+     * so 1.005 rounds half up to 1.01 even though the nearest double is slightly below it.
+     */
+    public static long centavos(double pesos, RoundingMode mode) {
+        long rounded = roundScaled(pesos * 100, mode);
+        if (rounded != NEEDS_EXACT) {
+            return rounded;
+        }
+        return BigDecimal.valueOf(pesos).setScale(2, mode).unscaledValue().longValueExact();
+    }
+
+    /**
+     * An amount times a rate, rounded to a centavo
+     */
+    public static long multiply(long centavos, double rate, RoundingMode mode) {
+        long rounded = roundScaled(centavos * rate, mode);
+        if (rounded != NEEDS_EXACT) {
+            return rounded;
+        }
+        return BigDecimal.valueOf(centavos).multiply(BigDecimal.valueOf(rate)).setScale(0, mode).longValueExact();
+    }
+
+    /**
+     * An amount times {@code numerator / denominator}, computed exactly in integers and rounded once
+     */
+    public static long multiply(long centavos, long numerator, long denominator, RoundingMode mode) {
+        if (denominator == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        long product = Math.multiplyExact(centavos, numerator);
+        long quotient = product / denominator;
+        long remainder = product % denominator;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int sign = (product < 0) == (denominator < 0) ? 1 : -1;
+        int half = Long.compare(Math.abs(remainder) * 2, Math.abs(denominator));
+        return quotient + adjustment(mode, sign, half, quotient);
+    }
+
+    public static double toPesos(long centavos) {
+        return centavos / 100.0;
+    }
+
+    public static BigDecimal toBigDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    private static long roundScaled(double scaled, RoundingMode mode) {
+        if (Double.isNaN(scaled) || Double.isInfinite(scaled) || Math.abs(scaled) >= 9.0e15) {
+            throw new ArithmeticException("Amount out of range: " + scaled);
+        }
+        long truncated = (long) scaled;
+        double fraction = Math.abs(scaled - truncated);
+        int sign = scaled < 0 ? -1 : 1;
+        if (fraction < TOLERANCE) {
+            return truncated;
+        }
+        if (fraction > 1 - TOLERANCE) {
+            return truncated + sign;
+        }
+        if (Math.abs(fraction - 0.5) < TOLERANCE) {
+            switch (mode) {
+                case HALF_UP:
+                case HALF_DOWN:
+                case HALF_EVEN:
+                    return NEEDS_EXACT;
+                default:
+                    break;
+            }
+        }
+        return truncated + adjustment(mode, sign, fraction > 0.5 ? 1 : -1, truncated);
+    }
+
+    /**
+     * Step away from the truncated quotient for an inexact result
+     *
+     * @param sign sign of the exact result
+     * @param half how the discarded fraction compares with one half
+     */
+    private static long adjustment(RoundingMode mode, int sign, int half, long truncated) {
+        switch (mode) {
+            case DOWN:
+                return 0;
+            case UP:
+                return sign;
+            case FLOOR:
+                return sign < 0 ? -1 : 0;
+            case CEILING:
+                return sign > 0 ? 1 : 0;
+            case HALF_UP:
+                return half >= 0 ? sign : 0;
+            case HALF_DOWN:
+                return half > 0 ? sign : 0;
+            case HALF_EVEN:
+                return half > 0 || (half == 0 && (truncated & 1) != 0) ? sign : 0;
+            default:
+                throw new ArithmeticException("Rounding necessary");
+        }
+    }
+}
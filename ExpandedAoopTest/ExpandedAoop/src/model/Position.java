@@ -5,7 +5,7 @@ import java.util.Objects;
 /**
  * Position model matching the actual database schema
  */
-public class Position {
+public class Position implements Cloneable {
     private int positionId;
     private String positionName;
     private double monthlySalary; // Maps to basic_salary in database
@@ -142,6 +142,17 @@ public class Position {
         this.hourlyRate = getCalculatedHourlyRate();
     }
 
+    /**
+     * Independent copy, for handing out a shared position without sharing its state
+     */
+    public Position copy() {
+        try {
+            return (Position) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -0,0 +1,64 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * One version of the government contribution and income tax tables, with the dates it is in force.
+ */
+public final class StatutorySchedule {
+
+    private static final StatutorySchedule BUILT_IN = new StatutorySchedule("built-in", LocalDate.MIN, null,
+            ContributionSchedule.getDefault(), TaxSchedule.getDefault());
+
+    private final String version;
+    private final LocalDate effectiveFrom;
+    private final LocalDate effectiveTo;
+    private final ContributionSchedule contributions;
+    private final TaxSchedule tax;
+
+    /**
+     * @param effectiveTo last day in force, or null until a later version takes over
+     */
+    public StatutorySchedule(String version, LocalDate effectiveFrom, LocalDate effectiveTo,
+                             ContributionSchedule contributions, TaxSchedule tax) {
+        if (version == null || version.trim().isEmpty()) {
+            throw new IllegalArgumentException("Schedule version cannot be empty");
+        }
+        if (effectiveFrom == null) {
+            throw new IllegalArgumentException("Effective-from date cannot be null");
+        }
+        if (effectiveTo != null && effectiveTo.isBefore(effectiveFrom)) {
+            throw new IllegalArgumentException("Schedule " + version + " ends before it starts");
+        }
+        if (contributions == null || tax == null) {
+            throw new IllegalArgumentException("Contribution and tax tables cannot be null");
+        }
+        this.version = version.trim();
+        this.effectiveFrom = effectiveFrom;
+        this.effectiveTo = effectiveTo;
+        this.contributions = contributions;
+        this.tax = tax;
+    }
+
+    /**
+     * Tables compiled into the application, in force whenever no schedule file applies
+     */
+    public static StatutorySchedule builtIn() {
+        return BUILT_IN;
+    }
+
+    public String getVersion() { return version; }
+    public LocalDate getEffectiveFrom() { return effectiveFrom; }
+    public LocalDate getEffectiveTo() { return effectiveTo; }
+    public ContributionSchedule getContributions() { return contributions; }
+    public TaxSchedule getTax() { return tax; }
+
+    public boolean isEffectiveOn(LocalDate date) {
+        return !date.isBefore(effectiveFrom) && (effectiveTo == null || !date.isAfter(effectiveTo));
+    }
+
+    @Override
+    public String toString() {
+        return "StatutorySchedule{" + version + ", " + effectiveFrom + ".." + (effectiveTo != null ? effectiveTo : "") + '}';
+    }
+}
@@ -0,0 +1,75 @@
+package model;
+
+/**
+ * Immutable graduated income tax table on annual income.
+ * Each bracket taxes the income over its threshold at its rate, on top of a fixed base tax.
+ */
+public final class TaxSchedule {
+
+    private final double[] thresholds;
+    private final double[] baseTaxes;
+    private final double[] rates;
+
+    private static final TaxSchedule DEFAULT = new TaxSchedule(new double[][]{
+            // {over, baseTax, rateOnExcess}
+            {0.00, 0.00, 0.00},
+            {250000.00, 0.00, 0.15},
+            {400000.00, 22500.00, 0.20},
+            {800000.00, 102500.00, 0.25},
+            {2000000.00, 402500.00, 0.30},
+            {8000000.00, 2202500.00, 0.35}
+    });
+
+    /**
+     * @param brackets rows of {over, baseTax, rateOnExcess}, ordered by threshold
+     */
+    public TaxSchedule(double[][] brackets) {
+        if (brackets == null || brackets.length == 0) {
+            throw new IllegalArgumentException("Tax table needs at least one bracket");
+        }
+        thresholds = new double[brackets.length];
+        baseTaxes = new double[brackets.length];
+        rates = new double[brackets.length];
+        for (int i = 0; i < brackets.length; i++) {
+            if (brackets[i] == null || brackets[i].length != 3) {
+                throw new IllegalArgumentException("Tax bracket " + i + " must have three values");
+            }
+            if (i > 0 && !(brackets[i][0] > brackets[i - 1][0])) {
+                throw new IllegalArgumentException("Tax brackets must be in increasing income order");
+            }
+            thresholds[i] = brackets[i][0];
+            baseTaxes[i] = brackets[i][1];
+            rates[i] = brackets[i][2];
+        }
+    }
+
+    /**
+     * Schedule compiled into the application, used when no schedule file covers a date
+     */
+    public static TaxSchedule getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Tax on a year's income; income at a threshold is taxed in the bracket below it
+     */
+    public double annualTax(double annualIncome) {
+        for (int i = thresholds.length - 1; i >= 0; i--) {
+            if (annualIncome > thresholds[i]) {
+                return baseTaxes[i] + (annualIncome - thresholds[i]) * rates[i];
+            }
+        }
+        return baseTaxes[0];
+    }
+
+    /**
+     * Monthly withholding for a monthly salary, annualized
+     */
+    public double monthlyTax(double monthlySalary) {
+        return annualTax(monthlySalary * 12) / 12;
+    }
+
+    public int getBracketCount() {
+        return thresholds.length;
+    }
+}
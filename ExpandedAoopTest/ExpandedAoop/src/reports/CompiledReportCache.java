@@ -0,0 +1,205 @@
+package reports;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.util.JRLoader;
+import util.Metrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide cache of compiled JasperReports templates.
+ * A template is compiled at most once per content hash of its JRXML resource. A precompiled
+ * .jasper produced by the build (see main) is preferred over compiling at runtime.
+ */
+public final class CompiledReportCache {
+    private static final Logger LOGGER = Logger.getLogger(CompiledReportCache.class.getName());
+
+    // Precompiled templates are written here by the build, e.g. /reports/motorph_payslip.jasper
+    public static final String COMPILED_DIRECTORY = "reports";
+    // Written next to each precompiled report: SHA-256 of the JRXML it was compiled from
+    private static final String HASH_SUFFIX = ".sha256";
+
+    private static final Map<String, CompletableFuture<JasperReport>> REPORTS = new ConcurrentHashMap<>();
+
+    private static final Metrics.Timer COMPILE_TIMER = Metrics.timer("report.compile");
+    private static final Metrics.Timer LOAD_TIMER = Metrics.timer("report.loadPrecompiled");
+
+    private CompiledReportCache() {
+    }
+
+    /**
+     * Compiled report for a JRXML classpath resource, compiling or loading it on first use
+     */
+    public static JasperReport get(String jrxmlResource) throws JRException {
+        byte[] template = readTemplate(jrxmlResource);
+        String templateHash = sha256(template);
+        String key = jrxmlResource + "#" + templateHash;
+
+        CompletableFuture<JasperReport> future = REPORTS.get(key);
+        if (future == null) {
+            CompletableFuture<JasperReport> created = new CompletableFuture<>();
+            future = REPORTS.putIfAbsent(key, created);
+            if (future == null) {
+                future = created;
+                try {
+                    created.complete(load(jrxmlResource, template, templateHash));
+                } catch (JRException | RuntimeException e) {
+                    REPORTS.remove(key, created);
+                    created.completeExceptionally(e);
+                }
+            }
+        }
+
+        try {
+            return future.join();
+        } catch (java.util.concurrent.CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof JRException) {
+                throw (JRException) cause;
+            }
+            throw new JRException("Failed to compile report " + jrxmlResource + ": " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Compile templates on a background daemon thread so the first report does not pay for it
+     */
+    public static CompletableFuture<Void> warmUp(String... jrxmlResources) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            for (String resource : jrxmlResources) {
+                try {
+                    get(resource);
+                } catch (JRException | RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Report warm-up failed for " + resource, e);
+                }
+            }
+            done.complete(null);
+        }, "report-warmup");
+        thread.setDaemon(true);
+        thread.start();
+        return done;
+    }
+
+    public static void clear() {
+        REPORTS.clear();
+    }
+
+    public static int size() {
+        return REPORTS.size();
+    }
+
+    /**
+     * Classpath location of the precompiled form of a template
+     */
+    public static String compiledResource(String jrxmlResource) {
+        return "/" + COMPILED_DIRECTORY + "/" + compiledName(jrxmlResource.substring(jrxmlResource.lastIndexOf('/') + 1));
+    }
+
+    private static String compiledName(String jrxmlName) {
+        String name = jrxmlName.endsWith(".jrxml") ? jrxmlName.substring(0, jrxmlName.length() - ".jrxml".length()) : jrxmlName;
+        return name + ".jasper";
+    }
+
+    /**
+     * Use the precompiled report only when it was built from this exact template content
+     */
+    private static JasperReport load(String jrxmlResource, byte[] template, String templateHash) throws JRException {
+        String compiledResource = compiledResource(jrxmlResource);
+        if (templateHash.equals(readCompiledHash(compiledResource))) {
+            try (InputStream compiledStream = CompiledReportCache.class.getResourceAsStream(compiledResource)) {
+                if (compiledStream != null) {
+                    LOGGER.info("Loading pre-compiled report: " + compiledResource);
+                    Metrics.Sample sample = LOAD_TIMER.start();
+                    try {
+                        return (JasperReport) JRLoader.loadObject(compiledStream);
+                    } finally {
+                        sample.close();
+                    }
+                }
+            } catch (JRException | IOException e) {
+                LOGGER.warning("Failed to load pre-compiled report, will compile from JRXML: " + e.getMessage());
+            }
+        } else {
+            LOGGER.info("No up-to-date pre-compiled report for " + jrxmlResource + ", compiling at runtime");
+        }
+
+        long start = System.nanoTime();
+        JasperReport report = JasperCompileManager.compileReport(new ByteArrayInputStream(template));
+        long elapsed = System.nanoTime() - start;
+        COMPILE_TIMER.record(elapsed);
+        LOGGER.info(String.format("Compiled JRXML template %s in %d ms", jrxmlResource, elapsed / 1_000_000));
+        return report;
+    }
+
+    private static String readCompiledHash(String compiledResource) {
+        try (InputStream hashStream = CompiledReportCache.class.getResourceAsStream(compiledResource + HASH_SUFFIX)) {
+            return hashStream != null ? new String(hashStream.readAllBytes(), StandardCharsets.US_ASCII).trim() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static byte[] readTemplate(String jrxmlResource) throws JRException {
+        try (InputStream jrxmlStream = CompiledReportCache.class.getResourceAsStream(jrxmlResource)) {
+            if (jrxmlStream == null) {
+                throw new JRException("Report template not found: " + jrxmlResource);
+            }
+            return jrxmlStream.readAllBytes();
+        } catch (IOException e) {
+            throw new JRException("Failed to read report template " + jrxmlResource + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Build step: compile every .jrxml in a directory into classesDir/reports/*.jasper, each with its template hash.
+     * Usage: CompiledReportCache &lt;template directory&gt; &lt;classes directory&gt;
+     */
+    public static void main(String[] args) throws JRException, IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompiledReportCache <template directory> <classes directory>");
+            System.exit(1);
+        }
+
+        File[] templates = new File(args[0]).listFiles((dir, name) -> name.endsWith(".jrxml"));
+        if (templates == null) {
+            throw new JRException("Template directory not found: " + args[0]);
+        }
+
+        File outputDir = new File(args[1], COMPILED_DIRECTORY);
+        if (!outputDir.exists() && !outputDir.mkdirs()) {
+            throw new JRException("Could not create output directory: " + outputDir);
+        }
+
+        for (File template : templates) {
+            File output = new File(outputDir, compiledName(template.getName()));
+            JasperCompileManager.compileReportToFile(template.getAbsolutePath(), output.getAbsolutePath());
+            Files.writeString(new File(outputDir, output.getName() + HASH_SUFFIX).toPath(),
+                    sha256(Files.readAllBytes(template.toPath())), StandardCharsets.US_ASCII);
+            System.out.println("Compiled " + template.getName() + " -> " + output);
+        }
+    }
+}
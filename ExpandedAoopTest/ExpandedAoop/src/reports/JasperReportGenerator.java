@@ -9,6 +9,8 @@ import net.sf.jasperreports.engine.*;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
 import net.sf.jasperreports.engine.design.JasperDesign;
 import net.sf.jasperreports.engine.xml.JRXmlLoader;
+import net.sf.jasperreports.view.JasperViewer;
+import util.Metrics;
 
 import javax.swing.*;
 import java.io.File;
@@ -19,6 +21,9 @@ import java.util.*;
 public class JasperReportGenerator {
     private static final String REPORTS_PATH = "/reports/templates/";
     private static final String OUTPUT_PATH = System.getProperty("user.home") + "/MotorPH_Reports/";
+
+    private static final Metrics.Timer FILL_TIMER = Metrics.timer("report.generator.fill");
+    private static final Metrics.Timer EXPORT_TIMER = Metrics.timer("report.generator.export");
     
     public JasperReportGenerator() {
         // Create output directory if it doesn't exist
@@ -31,14 +36,8 @@ public class JasperReportGenerator {
     public File generatePayrollReport(List<PayrollReportData> payrollData, String periodName) 
             throws JRException {
         try {
-            // Load MotorPH payroll template
-            InputStream reportTemplate = getClass().getResourceAsStream(REPORTS_PATH + "motorph_payroll_template.jrxml");
-            if (reportTemplate == null) {
-                throw new JRException("MotorPH payroll template not found. Please ensure motorph_payroll_template.jrxml exists in " + REPORTS_PATH);
-            }
-            
-            // Compile the report
-            JasperReport jasperReport = JasperCompileManager.compileReport(reportTemplate);
+            // Load the compiled MotorPH payroll template
+            JasperReport jasperReport = CompiledReportCache.get(REPORTS_PATH + "motorph_payroll_template.jrxml");
             
             // Create data source
             JRDataSource dataSource = new JRBeanCollectionDataSource(payrollData);
@@ -69,7 +68,7 @@ public class JasperReportGenerator {
             }
             
             // Fill the report
-            JasperPrint jasperPrint = JasperFillManager.fillReport(jasperReport, parameters, dataSource);
+            JasperPrint jasperPrint = fill(jasperReport, parameters, dataSource);
             
             // Generate output filename
             String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
@@ -79,7 +78,7 @@ public class JasperReportGenerator {
             File outputFile = new File(OUTPUT_PATH + fileName);
             
             // Export to PDF
-            JasperExportManager.exportReportToPdfFile(jasperPrint, outputFile.getAbsolutePath());
+            exportToPdf(jasperPrint, outputFile);
             
             return outputFile;
             
@@ -91,13 +90,8 @@ public class JasperReportGenerator {
     public File generateEmployeeReport(Employee employee, List<PayrollReportData> employeePayrollHistory) 
             throws JRException {
         try {
-            // Load MotorPH employee template
-            InputStream reportTemplate = getClass().getResourceAsStream(REPORTS_PATH + "motorph_employee_template.jrxml");
-            if (reportTemplate == null) {
-                throw new JRException("MotorPH employee template not found");
-            }
-            
-            JasperReport jasperReport = JasperCompileManager.compileReport(reportTemplate);
+            // Load the compiled MotorPH employee template
+            JasperReport jasperReport = CompiledReportCache.get(REPORTS_PATH + "motorph_employee_template.jrxml");
             JRDataSource dataSource = new JRBeanCollectionDataSource(employeePayrollHistory);
             
             // Set parameters
@@ -110,14 +104,14 @@ public class JasperReportGenerator {
             parameters.put("BASIC_SALARY", employee.getBasicSalary());
             parameters.put("GENERATED_DATE", new Date());
             
-            JasperPrint jasperPrint = JasperFillManager.fillReport(jasperReport, parameters, dataSource);
+            JasperPrint jasperPrint = fill(jasperReport, parameters, dataSource);
             
             String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
             String fileName = String.format("MotorPH_EmployeeReport_%d_%s.pdf", 
                                           employee.getEmployeeId(), timestamp);
             
             File outputFile = new File(OUTPUT_PATH + fileName);
-            JasperExportManager.exportReportToPdfFile(jasperPrint, outputFile.getAbsolutePath());
+            exportToPdf(jasperPrint, outputFile);
             
             return outputFile;
             
@@ -126,6 +120,25 @@ public class JasperReportGenerator {
         }
     }
     
+    private static JasperPrint fill(JasperReport report, Map<String, Object> parameters, JRDataSource dataSource)
+            throws JRException {
+        Metrics.Sample sample = FILL_TIMER.start();
+        try {
+            return JasperFillManager.fillReport(report, parameters, dataSource);
+        } finally {
+            sample.close();
+        }
+    }
+
+    private static void exportToPdf(JasperPrint jasperPrint, File outputFile) throws JRException {
+        Metrics.Sample sample = EXPORT_TIMER.start();
+        try {
+            JasperExportManager.exportReportToPdfFile(jasperPrint, outputFile.getAbsolutePath());
+        } finally {
+            sample.close();
+        }
+    }
+
     public void previewReport(JasperPrint jasperPrint) {
         // Show report in viewer window
         JasperViewer viewer = new JasperViewer(jasperPrint, false);
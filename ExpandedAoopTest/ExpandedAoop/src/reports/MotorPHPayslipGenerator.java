@@ -31,18 +31,10 @@ public class MotorPHPayslipGenerator {
                                Date periodStart, Date periodEnd) throws JRException {
         try {
             // Create payslip data
-            PayslipData payslipData = new PayslipData(employee, daysWorked, overtimeHours);
-            payslipData.setPeriodStartDate(periodStart);
-            payslipData.setPeriodEndDate(periodEnd);
+            PayslipData payslipData = createPayslipData(employee, daysWorked, overtimeHours, periodStart, periodEnd);
             
-            // Load template
-            InputStream templateStream = getClass().getResourceAsStream(PAYSLIP_TEMPLATE);
-            if (templateStream == null) {
-                throw new JRException("Payslip template not found: " + PAYSLIP_TEMPLATE);
-            }
-            
-            // Compile report
-            JasperReport jasperReport = JasperCompileManager.compileReport(templateStream);
+            // Load compiled template
+            JasperReport jasperReport = CompiledReportCache.get(PAYSLIP_TEMPLATE);
             
             // Create data source (single payslip)
             List<PayslipData> payslipList = Arrays.asList(payslipData);
@@ -81,13 +73,10 @@ public class MotorPHPayslipGenerator {
                               Date periodStart, Date periodEnd) throws JRException {
         try {
             // Create payslip data
-            PayslipData payslipData = new PayslipData(employee, daysWorked, overtimeHours);
-            payslipData.setPeriodStartDate(periodStart);
-            payslipData.setPeriodEndDate(periodEnd);
+            PayslipData payslipData = createPayslipData(employee, daysWorked, overtimeHours, periodStart, periodEnd);
             
-            // Load and compile template
-            InputStream templateStream = getClass().getResourceAsStream(PAYSLIP_TEMPLATE);
-            JasperReport jasperReport = JasperCompileManager.compileReport(templateStream);
+            // Load compiled template
+            JasperReport jasperReport = CompiledReportCache.get(PAYSLIP_TEMPLATE);
             
             // Create data source
             List<PayslipData> payslipList = Arrays.asList(payslipData);
@@ -111,6 +100,33 @@ public class MotorPHPayslipGenerator {
         }
     }
     
+    private static PayslipData createPayslipData(Employee employee, int daysWorked, double overtimeHours,
+                                                 Date periodStart, Date periodEnd) {
+        PayslipData payslipData = new PayslipData();
+        payslipData.setEmployeeId(employee.getEmployeeId());
+        payslipData.setEmployeeName(employee.getFullName());
+        payslipData.setPosition(employee.getPosition());
+        payslipData.setDepartment(employee.getDepartment());
+        payslipData.setPeriodStartDate(toLocalDate(periodStart));
+        payslipData.setPeriodEndDate(toLocalDate(periodEnd));
+        payslipData.setMonthlyRate(employee.getBasicSalary());
+        payslipData.setDailyRate(employee.getDailyRate());
+        payslipData.setDaysWorked(daysWorked);
+        payslipData.setOvertime(overtimeHours);
+        payslipData.setGrossIncome(employee.calculateGrossPay(daysWorked, overtimeHours));
+        payslipData.setRiceSubsidy(employee.getRiceSubsidy());
+        payslipData.setPhoneAllowance(employee.getPhoneAllowance());
+        payslipData.setClothingAllowance(employee.getClothingAllowance());
+        payslipData.setTotalBenefits(employee.calculateAllowances());
+        payslipData.setTotalDeductions(employee.calculateDeductions());
+        payslipData.setTakeHomePay(employee.calculateNetPay(daysWorked, overtimeHours));
+        return payslipData;
+    }
+    
+    private static java.time.LocalDate toLocalDate(Date date) {
+        return date != null ? new java.sql.Date(date.getTime()).toLocalDate() : null;
+    }
+    
     public List<File> generateBulkPayslips(List<Employee> employees, int daysWorked, 
                                           double overtimeHours, Date periodStart, Date periodEnd) throws JRException {
         List<File> generatedFiles = new ArrayList<>();
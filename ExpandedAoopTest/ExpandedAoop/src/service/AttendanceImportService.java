@@ -0,0 +1,402 @@
+package service;
+
+import dao.AttendanceDAO;
+import dao.EmployeeDAO;
+import model.Attendance;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.logging.Logger;
+
+/**
+ * Imports attendance from timeclock or spreadsheet CSV exports.
+ * <p>
+ * The file is read a line at a time, so its size does not matter. Employee IDs are checked
+ * against a set loaded once up front. Valid lines are collected into batches of
+ * {@link AttendanceDAO#BATCH_SIZE}. Each batch costs one query to find dates that are already
+ * recorded and one batched upsert in its own transaction. Lines that cannot be imported are
+ * reported with their line number and the reason.
+ * <p>
+ * The first line is a header naming the columns; the employee ID, date, log in and log out
+ * columns are found by name (e.g. "Employee #", "Date", "Log In", "Log Out") and any others
+ * are ignored. Without a recognisable header the columns are taken in that order.
+ * Dates may be yyyy-MM-dd or MM/dd/yyyy, times H:mm or H:mm:ss; the log out may be blank.
+ */
+public class AttendanceImportService {
+    private static final Logger LOGGER = Logger.getLogger(AttendanceImportService.class.getName());
+
+    /** Rejected lines kept for the report; the rest are only counted */
+    public static final int MAX_REPORTED_REJECTIONS = 1000;
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("[yyyy-MM-dd][M/d/yyyy]");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("[H:mm:ss][H:mm]");
+
+    private static final Set<String> EMPLOYEE_ID_HEADERS = Set.of("employee", "employeeid", "employeeno", "employeenumber", "empid", "id");
+    private static final Set<String> DATE_HEADERS = Set.of("date", "attendancedate", "workdate");
+    private static final Set<String> LOG_IN_HEADERS = Set.of("login", "timein", "in", "clockin");
+    private static final Set<String> LOG_OUT_HEADERS = Set.of("logout", "timeout", "out", "clockout");
+
+    /**
+     * What to do with a line for an employee and date that already has attendance
+     */
+    public enum DuplicatePolicy {
+        /** Reject the line and keep the recorded times */
+        SKIP,
+        /** Overwrite the recorded times with the imported ones */
+        REPLACE
+    }
+
+    private final AttendanceDAO attendanceDAO;
+    private final EmployeeDAO employeeDAO;
+
+    public AttendanceImportService() {
+        this(new AttendanceDAO(), new EmployeeDAO());
+    }
+
+    public AttendanceImportService(AttendanceDAO attendanceDAO, EmployeeDAO employeeDAO) {
+        if (attendanceDAO == null || employeeDAO == null) {
+            throw new IllegalArgumentException("DAOs cannot be null");
+        }
+        this.attendanceDAO = attendanceDAO;
+        this.employeeDAO = employeeDAO;
+    }
+
+    public ImportResult importFile(Path file, DuplicatePolicy policy, IntConsumer progress) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importCsv(reader, policy, progress);
+        }
+    }
+
+    /**
+     * Import every line of a CSV export
+     *
+     * @param progress receives the number of lines read after each saved batch; may be null
+     */
+    public ImportResult importCsv(Reader reader, DuplicatePolicy policy, IntConsumer progress) throws IOException {
+        if (reader == null) {
+            throw new IllegalArgumentException("Reader cannot be null");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Duplicate policy cannot be null");
+        }
+
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        Import run = new Import(employeeDAO.getAllEmployeeIds(), policy, progress);
+
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            if (run.columns == null) {
+                run.columns = Columns.fromHeader(line);
+                if (run.columns != null) {
+                    continue;
+                }
+                run.columns = Columns.DEFAULT;
+            }
+            run.accept(lineNumber, line);
+        }
+        run.flush(lineNumber);
+
+        LOGGER.info(String.format("Attendance import: %d imported, %d replaced, %d rejected",
+                run.result.imported, run.result.replaced, run.result.rejectedCount));
+        return run.result;
+    }
+
+    /**
+     * State of one import: the pending batch and every employee/date seen so far
+     */
+    private final class Import {
+        private final Set<Integer> employeeIds;
+        private final DuplicatePolicy policy;
+        private final IntConsumer progress;
+        private final ImportResult result = new ImportResult();
+        private final LocalDate today = LocalDate.now();
+
+        private Columns columns;
+        // Line of the first record for each employee and date, to reject repeats within the file
+        private final Map<Long, Integer> seen = new HashMap<>();
+        private final List<Attendance> batch = new ArrayList<>();
+        private final List<Integer> batchLines = new ArrayList<>();
+        private final List<String> batchText = new ArrayList<>();
+
+        Import(Set<Integer> employeeIds, DuplicatePolicy policy, IntConsumer progress) {
+            this.employeeIds = employeeIds;
+            this.policy = policy;
+            this.progress = progress;
+        }
+
+        void accept(int lineNumber, String line) {
+            List<String> fields = splitCsv(line, columns.delimiter);
+            if (fields.size() <= columns.maxIndex) {
+                result.reject(lineNumber, line, "Expected at least " + (columns.maxIndex + 1) + " columns");
+                return;
+            }
+
+            int employeeId;
+            try {
+                employeeId = Integer.parseInt(fields.get(columns.employeeId).trim());
+            } catch (NumberFormatException e) {
+                result.reject(lineNumber, line, "Invalid employee ID '" + fields.get(columns.employeeId).trim() + "'");
+                return;
+            }
+            if (!employeeIds.contains(employeeId)) {
+                result.reject(lineNumber, line, "Unknown employee ID " + employeeId);
+                return;
+            }
+
+            LocalDate date;
+            try {
+                date = LocalDate.parse(fields.get(columns.date).trim(), DATE_FORMAT);
+            } catch (DateTimeParseException e) {
+                result.reject(lineNumber, line, "Invalid date '" + fields.get(columns.date).trim() + "'");
+                return;
+            }
+            if (date.isAfter(today)) {
+                result.reject(lineNumber, line, "Date " + date + " is in the future");
+                return;
+            }
+
+            String logInText = fields.get(columns.logIn).trim();
+            String logOutText = fields.get(columns.logOut).trim();
+            if (logInText.isEmpty()) {
+                result.reject(lineNumber, line, "Missing log in time");
+                return;
+            }
+            LocalTime logIn;
+            LocalTime logOut;
+            try {
+                logIn = LocalTime.parse(logInText, TIME_FORMAT);
+                logOut = logOutText.isEmpty() ? null : LocalTime.parse(logOutText, TIME_FORMAT);
+            } catch (DateTimeParseException e) {
+                result.reject(lineNumber, line, "Invalid time '" + e.getParsedString() + "'");
+                return;
+            }
+            if (logOut != null && logOut.isBefore(logIn)) {
+                result.reject(lineNumber, line, "Log out " + logOut + " is before log in " + logIn);
+                return;
+            }
+
+            Integer firstLine = seen.putIfAbsent(((long) employeeId << 32) | date.toEpochDay(), lineNumber);
+            if (firstLine != null) {
+                result.reject(lineNumber, line, "Duplicate of line " + firstLine);
+                return;
+            }
+
+            batch.add(new Attendance(employeeId, Date.valueOf(date), Time.valueOf(logIn),
+                    logOut != null ? Time.valueOf(logOut) : null));
+            batchLines.add(lineNumber);
+            batchText.add(line);
+            if (batch.size() == AttendanceDAO.BATCH_SIZE) {
+                flush(lineNumber);
+            }
+        }
+
+        /**
+         * Save the pending batch: one query for dates already recorded, then one batched upsert
+         */
+        void flush(int linesRead) {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            Set<Integer> ids = new HashSet<>();
+            LocalDate from = null;
+            LocalDate to = null;
+            for (Attendance attendance : batch) {
+                ids.add(attendance.getEmployeeId());
+                LocalDate date = attendance.getDate().toLocalDate();
+                from = from == null || date.isBefore(from) ? date : from;
+                to = to == null || date.isAfter(to) ? date : to;
+            }
+            Map<Integer, Set<LocalDate>> recorded = attendanceDAO.getAttendanceDates(ids, from, to);
+
+            List<Attendance> toSave = new ArrayList<>(batch.size());
+            int replaced = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                Attendance attendance = batch.get(i);
+                LocalDate date = attendance.getDate().toLocalDate();
+                boolean exists = recorded.getOrDefault(attendance.getEmployeeId(), Collections.emptySet()).contains(date);
+                if (exists && policy == DuplicatePolicy.SKIP) {
+                    result.reject(batchLines.get(i), batchText.get(i), "Attendance already recorded for employee "
+                            + attendance.getEmployeeId() + " on " + date);
+                    continue;
+                }
+                if (exists) {
+                    replaced++;
+                }
+                toSave.add(attendance);
+            }
+
+            attendanceDAO.saveAttendanceBatch(toSave);
+            result.imported += toSave.size() - replaced;
+            result.replaced += replaced;
+
+            batch.clear();
+            batchLines.clear();
+            batchText.clear();
+            if (progress != null) {
+                progress.accept(linesRead);
+            }
+        }
+    }
+
+    /**
+     * Where the needed fields are in each line
+     */
+    private static final class Columns {
+        static final Columns DEFAULT = new Columns(',', 0, 1, 2, 3);
+
+        final char delimiter;
+        final int employeeId;
+        final int date;
+        final int logIn;
+        final int logOut;
+        final int maxIndex;
+
+        Columns(char delimiter, int employeeId, int date, int logIn, int logOut) {
+            this.delimiter = delimiter;
+            this.employeeId = employeeId;
+            this.date = date;
+            this.logIn = logIn;
+            this.logOut = logOut;
+            this.maxIndex = Math.max(Math.max(employeeId, date), Math.max(logIn, logOut));
+        }
+
+        /**
+         * Columns named by a header line, or null if the line is not a header
+         */
+        static Columns fromHeader(String line) {
+            char delimiter = line.indexOf(',') < 0 && line.indexOf('\t') >= 0 ? '\t' : ',';
+            List<String> names = splitCsv(line, delimiter);
+            int employeeId = -1, date = -1, logIn = -1, logOut = -1;
+            for (int i = 0; i < names.size(); i++) {
+                String name = names.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+                if (employeeId < 0 && EMPLOYEE_ID_HEADERS.contains(name)) {
+                    employeeId = i;
+                } else if (date < 0 && DATE_HEADERS.contains(name)) {
+                    date = i;
+                } else if (logIn < 0 && LOG_IN_HEADERS.contains(name)) {
+                    logIn = i;
+                } else if (logOut < 0 && LOG_OUT_HEADERS.contains(name)) {
+                    logOut = i;
+                }
+            }
+            if (employeeId < 0 || date < 0 || logIn < 0 || logOut < 0) {
+                return null;
+            }
+            return new Columns(delimiter, employeeId, date, logIn, logOut);
+        }
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields and doubled quotes inside them
+     */
+    static List<String> splitCsv(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * A line that was not imported
+     */
+    public static final class RejectedLine {
+        private final int lineNumber;
+        private final String text;
+        private final String reason;
+
+        RejectedLine(int lineNumber, String text, String reason) {
+            this.lineNumber = lineNumber;
+            this.text = text;
+            this.reason = reason;
+        }
+
+        public int getLineNumber() { return lineNumber; }
+        public String getText() { return text; }
+        public String getReason() { return reason; }
+
+        @Override
+        public String toString() {
+            return "Line " + lineNumber + ": " + reason;
+        }
+    }
+
+    /**
+     * Outcome of an import
+     */
+    public static final class ImportResult {
+        private int imported;
+        private int replaced;
+        private int rejectedCount;
+        private final List<RejectedLine> rejected = new ArrayList<>();
+
+        private void reject(int lineNumber, String text, String reason) {
+            rejectedCount++;
+            if (rejected.size() < MAX_REPORTED_REJECTIONS) {
+                rejected.add(new RejectedLine(lineNumber, text, reason));
+            }
+        }
+
+        /** New records added */
+        public int getImported() { return imported; }
+        /** Existing records overwritten under {@link DuplicatePolicy#REPLACE} */
+        public int getReplaced() { return replaced; }
+        public int getRejectedCount() { return rejectedCount; }
+
+        /**
+         * Rejected lines in the order they were found, up to MAX_REPORTED_REJECTIONS of them.
+         * Lines already recorded are found when their batch is saved, after the lines read before it.
+         */
+        public List<RejectedLine> getRejected() {
+            return Collections.unmodifiableList(rejected);
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package service;
+
+import dao.EmployeeDAO;
+import model.Employee;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.export.ExporterInputItem;
+import net.sf.jasperreports.export.SimpleExporterInput;
+import net.sf.jasperreports.export.SimpleExporterInputItem;
+import service.JasperPayslipService.ExportFormat;
+import service.JasperPayslipService.JasperReportException;
+import service.PayrollCalculator.PayrollCalculationException;
+import service.PayrollCalculator.PayrollData;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Generates payslips for many employees in three stages:
+ * payroll for the whole period is bulk-loaded once, payslips are filled (and for ZIP output exported)
+ * on a pool of workers, and results are streamed in employee order into a ZIP or one combined document.
+ * At most maxInFlight payslips are held in memory at a time: a new payslip is only started once the
+ * writer has taken a finished one, so a slow output stream throttles the workers.
+ */
+public class BulkPayslipPipeline {
+    private static final Logger LOGGER = Logger.getLogger(BulkPayslipPipeline.class.getName());
+
+    private final JasperPayslipService payslipService;
+    private final PayrollResultCache payrollCache;
+    private final EmployeeDAO employeeDAO;
+    private final int workers;
+    private final int maxInFlight;
+
+    public BulkPayslipPipeline(JasperPayslipService payslipService) {
+        this(payslipService, PayrollResultCache.getInstance(), new EmployeeDAO(),
+                Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * @param workers     threads filling and exporting payslips
+     * @param maxInFlight payslips submitted but not yet written; bounds memory use
+     */
+    public BulkPayslipPipeline(JasperPayslipService payslipService, PayrollResultCache payrollCache,
+                               EmployeeDAO employeeDAO, int workers, int maxInFlight) {
+        if (payslipService == null || payrollCache == null || employeeDAO == null) {
+            throw new IllegalArgumentException("Services cannot be null");
+        }
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Workers must be positive");
+        }
+        if (maxInFlight < workers) {
+            throw new IllegalArgumentException("Max in-flight payslips must be at least the number of workers");
+        }
+        this.payslipService = payslipService;
+        this.payrollCache = payrollCache;
+        this.employeeDAO = employeeDAO;
+        this.workers = workers;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Write one payslip file per employee into a ZIP archive on the given stream.
+     * The stream is finished but not closed.
+     *
+     * @param employeeIds employees to include, or null for all employees
+     */
+    public BulkResult writeZip(LocalDate periodStart, LocalDate periodEnd, Collection<Integer> employeeIds,
+                               ExportFormat format, OutputStream out) throws JasperReportException {
+        long startNanos = System.nanoTime();
+        BulkResult result = new BulkResult();
+        List<Job> jobs = loadJobs(periodStart, periodEnd, employeeIds, result);
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        CountingOutputStream counter = new CountingOutputStream(out);
+        try {
+            ZipOutputStream zip = new ZipOutputStream(counter);
+            Window<byte[]> window = new Window<>(executor, maxInFlight, jobs, job -> {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                payslipService.exportReport(SimpleExporterInput.getInstance(
+                        Collections.singletonList(payslipService.fillPayslip(job.employee, job.payrollData))), format, buffer);
+                return buffer.toByteArray();
+            });
+
+            while (window.hasNext()) {
+                Outcome<byte[]> outcome = window.next();
+                if (outcome.error != null) {
+                    result.addFailure(outcome.job.employeeId(), outcome.error);
+                    continue;
+                }
+                zip.putNextEntry(new ZipEntry(JasperPayslipService.payslipFileName(
+                        outcome.job.employee, outcome.job.employeeId(), periodStart, format)));
+                zip.write(outcome.value);
+                zip.closeEntry();
+                result.addSuccess();
+            }
+            zip.finish();
+            zip.flush();
+            result.setBytesWritten(counter.count);
+        } catch (IOException e) {
+            throw new JasperReportException("Failed to write payslip archive: " + e.getMessage(), e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return result.complete(startNanos);
+    }
+
+    /**
+     * Write all payslips as one multi-page document on the given stream, in employee order.
+     * Employees whose payslip fails are left out and reported in the result.
+     *
+     * @param employeeIds employees to include, or null for all employees
+     */
+    public BulkResult writeCombined(LocalDate periodStart, LocalDate periodEnd, Collection<Integer> employeeIds,
+                                    ExportFormat format, OutputStream out) throws JasperReportException {
+        long startNanos = System.nanoTime();
+        BulkResult result = new BulkResult();
+        List<Job> jobs = loadJobs(periodStart, periodEnd, employeeIds, result);
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            Window<JasperPrint> window = new Window<>(executor, maxInFlight, jobs,
+                    job -> payslipService.fillPayslip(job.employee, job.payrollData));
+            StreamingInputItems items = new StreamingInputItems(window, result);
+            if (items.isEmpty()) {
+                return result.complete(startNanos);
+            }
+            CountingOutputStream counter = new CountingOutputStream(out);
+            payslipService.exportReport(new SimpleExporterInput(items), format, counter);
+            counter.flush();
+            result.setBytesWritten(counter.count);
+        } catch (JRException | IOException e) {
+            throw new JasperReportException("Failed to export combined payslips: " + e.getMessage(), e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return result.complete(startNanos);
+    }
+
+    /**
+     * Stage 1: employees and payroll for the whole period in a fixed number of queries
+     */
+    private List<Job> loadJobs(LocalDate periodStart, LocalDate periodEnd, Collection<Integer> employeeIds,
+                               BulkResult result) throws JasperReportException {
+        List<Employee> employees = employeeIds == null
+                ? employeeDAO.getAllEmployees()
+                : employeeDAO.getEmployeesByIds(employeeIds);
+
+        List<Integer> ids = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            ids.add(employee.getEmployeeId());
+        }
+
+        Map<Integer, PayrollData> payroll;
+        try {
+            payroll = payrollCache.getAll(periodStart, periodEnd, ids);
+        } catch (PayrollCalculationException e) {
+            throw new JasperReportException("Failed to calculate payroll: " + e.getMessage(), e);
+        }
+
+        List<Job> jobs = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            PayrollData payrollData = payroll.get(employee.getEmployeeId());
+            if (payrollData == null) {
+                result.addFailure(employee.getEmployeeId(), new IllegalStateException("No payroll data"));
+            } else {
+                jobs.add(new Job(employee, payrollData));
+            }
+        }
+        return jobs;
+    }
+
+    private static final class Job {
+        private final Employee employee;
+        private final PayrollData payrollData;
+
+        Job(Employee employee, PayrollData payrollData) {
+            this.employee = employee;
+            this.payrollData = payrollData;
+        }
+
+        int employeeId() {
+            return employee.getEmployeeId();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Stage<T> {
+        T apply(Job job) throws Exception;
+    }
+
+    private static final class Outcome<T> {
+        private final Job job;
+        private final T value;
+        private final Exception error;
+
+        Outcome(Job job, T value, Exception error) {
+            this.job = job;
+            this.value = value;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Sliding window of submitted jobs, consumed in submission order.
+     * A new job is submitted only when one is taken, which provides the back-pressure.
+     */
+    private static final class Window<T> {
+        private final ExecutorService executor;
+        private final int maxInFlight;
+        private final Iterator<Job> remaining;
+        private final Stage<T> stage;
+        private final Deque<Map.Entry<Job, Future<T>>> pending = new ArrayDeque<>();
+
+        Window(ExecutorService executor, int maxInFlight, List<Job> jobs, Stage<T> stage) {
+            this.executor = executor;
+            this.maxInFlight = maxInFlight;
+            this.remaining = jobs.iterator();
+            this.stage = stage;
+            while (pending.size() < maxInFlight && remaining.hasNext()) {
+                submitNext();
+            }
+        }
+
+        boolean hasNext() {
+            return !pending.isEmpty();
+        }
+
+        Outcome<T> next() {
+            Map.Entry<Job, Future<T>> head = pending.poll();
+            if (remaining.hasNext()) {
+                submitNext();
+            }
+            try {
+                return new Outcome<>(head.getKey(), head.getValue().get(), null);
+            } catch (ExecutionException e) {
+                Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                return new Outcome<>(head.getKey(), null, cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new Outcome<>(head.getKey(), null, e);
+            }
+        }
+
+        private void submitNext() {
+            Job job = remaining.next();
+            pending.add(Map.entry(job, executor.submit(() -> stage.apply(job))));
+        }
+    }
+
+    /**
+     * Exporter input that pulls filled payslips from the window as the exporter reaches them,
+     * so the combined document never needs every JasperPrint in memory. Exporters read the items
+     * in order. One payslip is read ahead so that failed payslips can be skipped while the
+     * reported size stays exact.
+     */
+    private static final class StreamingInputItems extends AbstractList<ExporterInputItem> {
+        private final Window<JasperPrint> window;
+        private final BulkResult result;
+        private int currentIndex;
+        private ExporterInputItem current;
+        private ExporterInputItem lookahead;
+
+        StreamingInputItems(Window<JasperPrint> window, BulkResult result) {
+            this.window = window;
+            this.result = result;
+            this.current = fetchNext();
+            this.lookahead = current != null ? fetchNext() : null;
+        }
+
+        @Override
+        public ExporterInputItem get(int index) {
+            if (index == currentIndex + 1 && lookahead != null) {
+                current = lookahead;
+                currentIndex++;
+                lookahead = fetchNext();
+            }
+            if (index != currentIndex || current == null) {
+                throw new IllegalStateException("Payslips can only be read in order, requested " + index
+                        + " at " + currentIndex);
+            }
+            return current;
+        }
+
+        @Override
+        public int size() {
+            if (current == null) {
+                return 0;
+            }
+            return currentIndex + 1 + (lookahead != null ? 1 : 0);
+        }
+
+        private ExporterInputItem fetchNext() {
+            while (window.hasNext()) {
+                Outcome<JasperPrint> outcome = window.next();
+                if (outcome.error != null) {
+                    result.addFailure(outcome.job.employeeId(), outcome.error);
+                } else {
+                    result.addSuccess();
+                    return new SimpleExporterInputItem(outcome.value);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Counts bytes written to the caller's stream
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    /**
+     * Outcome of a bulk run: counts, failures and throughput
+     */
+    public static class BulkResult {
+        private int generatedCount;
+        private long bytesWritten;
+        private final Map<Integer, String> failures = new LinkedHashMap<>();
+        private long elapsedMillis;
+
+        private synchronized void addSuccess() {
+            generatedCount++;
+        }
+
+        private synchronized void setBytesWritten(long bytesWritten) {
+            this.bytesWritten = bytesWritten;
+        }
+
+        private synchronized void addFailure(int employeeId, Exception error) {
+            LOGGER.log(Level.WARNING, "Payslip failed for employee " + employeeId, error);
+            failures.put(employeeId, error.getMessage());
+        }
+
+        private BulkResult complete(long startNanos) {
+            elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            LOGGER.info(String.format("Generated %d payslips in %d ms (%.1f payslips/s, %d bytes), %d failed",
+                    generatedCount, elapsedMillis, getPayslipsPerSecond(), bytesWritten, failures.size()));
+            return this;
+        }
+
+        public synchronized int getGeneratedCount() { return generatedCount; }
+        public synchronized long getBytesWritten() { return bytesWritten; }
+        public synchronized Map<Integer, String> getFailures() { return new LinkedHashMap<>(failures); }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        public synchronized boolean hasFailures() {
+            return !failures.isEmpty();
+        }
+
+        public synchronized double getPayslipsPerSecond() {
+            return elapsedMillis == 0 ? generatedCount : generatedCount * 1000.0 / elapsedMillis;
+        }
+    }
+}
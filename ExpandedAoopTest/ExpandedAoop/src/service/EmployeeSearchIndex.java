@@ -0,0 +1,302 @@
+package service;
+
+import dao.DataChangeBus;
+import dao.EmployeeDAO;
+import model.Employee;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-memory substring index over the employee roster, for type-ahead search.
+ * <p>
+ * Matches what {@link EmployeeDAO#searchEmployees} matches: the term appearing anywhere in
+ * "first last", the employee ID or the position title, ignoring case. Every substring of up to
+ * {@link #GRAM_LENGTH} characters of those fields maps to the employees containing it, so a short
+ * term is a single lookup and a longer one is checked only against the employees sharing its
+ * rarest trigram.
+ * <p>
+ * Employee writes published on the DataChangeBus re-read that employee; position writes, and
+ * changes not tied to one employee, rebuild the index in the background. While the index is
+ * loading {@link #isReady()} is false and callers should search the database instead.
+ */
+public class EmployeeSearchIndex {
+    private static final Logger LOGGER = Logger.getLogger(EmployeeSearchIndex.class.getName());
+
+    public static final int GRAM_LENGTH = 3;
+
+    // A rebuild that races with this many writes in a row is installed anyway and fixed by the next change
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+
+    private static final Comparator<Employee> NAME_ORDER = Comparator
+            .comparing(Employee::getLastName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(Employee::getFirstName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparingInt(Employee::getEmployeeId);
+
+    private static EmployeeSearchIndex instance;
+
+    private final EmployeeDAO employeeDAO;
+    private final DataChangeBus.Listener listener = this::onDataChange;
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "employee-index-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Guarded by this
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+    // Bumped on every write so a rebuild that raced with one is redone
+    private long generation;
+    private boolean loading;
+
+    private volatile boolean ready;
+
+    public EmployeeSearchIndex(EmployeeDAO employeeDAO) {
+        if (employeeDAO == null) {
+            throw new IllegalArgumentException("EmployeeDAO cannot be null");
+        }
+        this.employeeDAO = employeeDAO;
+        DataChangeBus.addListener(listener);
+    }
+
+    /**
+     * Shared index used by the dashboards
+     */
+    public static synchronized EmployeeSearchIndex getInstance() {
+        if (instance == null) {
+            instance = new EmployeeSearchIndex(new EmployeeDAO());
+        }
+        return instance;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Start loading the roster in the background unless it is loaded or already loading
+     */
+    public void warmUp() {
+        synchronized (this) {
+            if (ready || loading) {
+                return;
+            }
+            loading = true;
+        }
+        loader.execute(this::rebuild);
+    }
+
+    /**
+     * Load the whole roster from the database and replace the index with it
+     */
+    public void rebuild() {
+        try {
+            for (int attempt = 1; ; attempt++) {
+                long loadGeneration;
+                synchronized (this) {
+                    loading = true;
+                    loadGeneration = generation;
+                }
+                List<Employee> roster = employeeDAO.getAllEmployees();
+                synchronized (this) {
+                    if (loadGeneration != generation && attempt < MAX_REBUILD_ATTEMPTS) {
+                        continue;
+                    }
+                    entries.clear();
+                    postings.clear();
+                    for (Employee employee : roster) {
+                        add(employee);
+                    }
+                    loading = false;
+                    ready = true;
+                }
+                LOGGER.info("Employee search index loaded with " + roster.size() + " employees");
+                return;
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                loading = false;
+            }
+            LOGGER.log(Level.WARNING, "Could not load employee search index", e);
+        }
+    }
+
+    /**
+     * Add an employee, replacing any earlier version of it
+     */
+    public synchronized void put(Employee employee) {
+        if (employee == null) {
+            throw new IllegalArgumentException("Employee cannot be null");
+        }
+        generation++;
+        remove(employee.getEmployeeId(), false);
+        add(employee);
+    }
+
+    public synchronized void remove(int employeeId) {
+        generation++;
+        remove(employeeId, true);
+    }
+
+    /**
+     * Employees whose name, ID or position title contains the term, ignoring case, in name order.
+     * A blank term returns everyone.
+     */
+    public synchronized List<Employee> search(String term) {
+        String needle = term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+        List<Employee> matches = new ArrayList<>();
+
+        if (needle.isEmpty()) {
+            for (Entry entry : entries.values()) {
+                matches.add(entry.employee);
+            }
+        } else if (needle.length() <= GRAM_LENGTH) {
+            // Every substring this short is a posting key, so the posting is the exact answer
+            for (Integer id : postings.getOrDefault(needle, Collections.emptySet())) {
+                matches.add(entries.get(id).employee);
+            }
+        } else {
+            Set<Integer> candidates = null;
+            for (int i = 0; i + GRAM_LENGTH <= needle.length(); i++) {
+                Set<Integer> posting = postings.get(needle.substring(i, i + GRAM_LENGTH));
+                if (posting == null) {
+                    return matches;
+                }
+                if (candidates == null || posting.size() < candidates.size()) {
+                    candidates = posting;
+                }
+            }
+            for (Integer id : candidates) {
+                Entry entry = entries.get(id);
+                if (entry.contains(needle)) {
+                    matches.add(entry.employee);
+                }
+            }
+        }
+
+        matches.sort(NAME_ORDER);
+        return matches;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Stop listening for data changes; for indexes that are no longer used
+     */
+    public void close() {
+        DataChangeBus.removeListener(listener);
+        loader.shutdownNow();
+    }
+
+    private void onDataChange(DataChangeBus.DataChange change) {
+        boolean rosterChanged = change.getEntity() == DataChangeBus.Entity.POSITION
+                || (change.getEntity() == DataChangeBus.Entity.EMPLOYEE && change.affectsAllEmployees());
+        if (rosterChanged) {
+            synchronized (this) {
+                generation++;
+                ready = false;
+                if (loading) {
+                    return; // The running rebuild sees the new generation and reloads
+                }
+                loading = true;
+            }
+            loader.execute(this::rebuild);
+        } else if (change.getEntity() == DataChangeBus.Entity.EMPLOYEE && ready) {
+            int employeeId = change.getEmployeeId();
+            Employee employee = employeeDAO.getEmployeeById(employeeId);
+            if (employee != null) {
+                put(employee);
+            } else {
+                remove(employeeId);
+            }
+        }
+    }
+
+    private void add(Employee employee) {
+        Entry entry = new Entry(employee);
+        entries.put(employee.getEmployeeId(), entry);
+        for (String field : entry.fields) {
+            for (String gram : grams(field)) {
+                postings.computeIfAbsent(gram, k -> new HashSet<>()).add(employee.getEmployeeId());
+            }
+        }
+    }
+
+    private void remove(int employeeId, boolean log) {
+        Entry entry = entries.remove(employeeId);
+        if (entry == null) {
+            if (log) {
+                LOGGER.fine("Employee " + employeeId + " was not in the search index");
+            }
+            return;
+        }
+        for (String field : entry.fields) {
+            for (String gram : grams(field)) {
+                Set<Integer> posting = postings.get(gram);
+                if (posting != null) {
+                    posting.remove(employeeId);
+                    if (posting.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Every distinct substring of a field up to GRAM_LENGTH characters long
+     */
+    private static Set<String> grams(String field) {
+        Set<String> grams = new HashSet<>();
+        for (int start = 0; start < field.length(); start++) {
+            for (int end = start + 1; end <= Math.min(start + GRAM_LENGTH, field.length()); end++) {
+                grams.add(field.substring(start, end));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * An indexed employee and its searchable fields, lower-cased
+     */
+    private static final class Entry {
+        private final Employee employee;
+        private final String[] fields;
+
+        Entry(Employee employee) {
+            this.employee = employee;
+            this.fields = new String[]{
+                    lower(employee.getFirstName() + " " + employee.getLastName()),
+                    String.valueOf(employee.getEmployeeId()),
+                    lower(employee.getPosition())
+            };
+        }
+
+        boolean contains(String needle) {
+            for (String field : fields) {
+                if (field.contains(needle)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String lower(String value) {
+            return value == null ? "" : value.toLowerCase(Locale.ROOT);
+        }
+    }
+}
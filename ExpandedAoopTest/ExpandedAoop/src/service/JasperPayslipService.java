@@ -2,12 +2,14 @@ package service;
 
 import dao.EmployeeDAO;
 import model.Employee;
+import model.Money;
+import reports.CompiledReportCache;
 import service.PayrollCalculator.PayrollData;
+import util.Metrics;
 import net.sf.jasperreports.engine.*;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
 import net.sf.jasperreports.engine.export.JRPdfExporter;
 import net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter;
-import net.sf.jasperreports.engine.util.JRLoader;
 import net.sf.jasperreports.export.SimpleExporterInput;
 import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
 import net.sf.jasperreports.export.SimplePdfExporterConfiguration;
@@ -30,9 +32,11 @@ public class JasperPayslipService {
 
     // Template paths
     private static final String PAYSLIP_TEMPLATE = "/motorph_payslip.jrxml";
-    private static final String COMPILED_PAYSLIP = "/reports/motorph_payslip.jasper";
     private static final String COMPANY_LOGO = "/images/motorph_logo.png";
 
+    private static final Metrics.Timer FILL_TIMER = Metrics.timer("report.payslip.fill");
+    private static final Metrics.Timer EXPORT_TIMER = Metrics.timer("report.payslip.export");
+
     // Services
     private final EmployeeDAO employeeDAO;
     private final PayrollCalculator payrollCalculator;
@@ -72,7 +76,7 @@ public class JasperPayslipService {
             throws JasperReportException {
 
         try {
-            LOGGER.info(String.format("Generating %s payslip for employee %d from %s to %s",
+            LOGGER.fine(() -> String.format("Generating %s payslip for employee %d from %s to %s",
                     format.name(), employeeId, periodStart, periodEnd));
 
             // Get employee information
@@ -84,20 +88,8 @@ public class JasperPayslipService {
             // Calculate payroll data
             PayrollData payrollData = payrollCalculator.calculatePayroll(employeeId, periodStart, periodEnd);
 
-            // Create JasperReports data source
-            PayslipData payslipData = createPayslipData(employee, payrollData);
-            List<PayslipData> dataList = Arrays.asList(payslipData);
-            JRBeanCollectionDataSource dataSource = new JRBeanCollectionDataSource(dataList);
-
-            // Prepare parameters
-            Map<String, Object> parameters = createReportParameters(employee, payrollData);
-
-            // Compile and fill report
-            JasperReport jasperReport = getCompiledReport();
-            JasperPrint jasperPrint = JasperFillManager.fillReport(jasperReport, parameters, dataSource);
-
-            // Export based on format
-            return exportReport(jasperPrint, format);
+            // Fill and export based on format
+            return exportReport(fillPayslip(employee, payrollData), format);
 
         } catch (PayrollCalculator.PayrollCalculationException e) {
             LOGGER.log(Level.SEVERE, "Payroll calculation failed", e);
@@ -120,14 +112,7 @@ public class JasperPayslipService {
 
             // Get employee for filename
             Employee employee = employeeDAO.getEmployeeById(employeeId);
-            String employeeName = employee != null ? employee.getLastName() : "Unknown";
-
-            // Create filename
-            String filename = String.format("Payslip_%s_%d_%s.%s",
-                    employeeName.replaceAll("\\s+", ""),
-                    employeeId,
-                    periodStart.format(DateTimeFormatter.ofPattern("yyyy_MM")),
-                    format.getExtension());
+            String filename = payslipFileName(employee, employeeId, periodStart, format);
 
             // Ensure output directory exists
             File outputDirectory = new File(outputDir);
@@ -144,7 +129,7 @@ public class JasperPayslipService {
                 fos.write(reportData);
             }
 
-            LOGGER.info(String.format("Payslip saved to: %s", outputFile.getAbsolutePath()));
+            LOGGER.info(() -> String.format("Payslip saved to: %s", outputFile.getAbsolutePath()));
             return outputFile;
 
         } catch (IOException e) {
@@ -152,6 +137,35 @@ public class JasperPayslipService {
         }
     }
 
+    /**
+     * Fill the payslip template for one employee. Safe to call from several threads at once.
+     */
+    JasperPrint fillPayslip(Employee employee, PayrollData payrollData) throws JRException {
+        PayslipData payslipData = createPayslipData(employee, payrollData);
+        JRBeanCollectionDataSource dataSource = new JRBeanCollectionDataSource(Arrays.asList(payslipData));
+        Map<String, Object> parameters = createReportParameters(employee, payrollData);
+        JasperReport report = getCompiledReport();
+        Metrics.Sample sample = FILL_TIMER.start();
+        try {
+            return JasperFillManager.fillReport(report, parameters, dataSource);
+        } finally {
+            sample.close();
+        }
+    }
+
+    /**
+     * File name for a payslip, e.g. Payslip_Garcia_10001_2024_06.pdf
+     */
+    static String payslipFileName(Employee employee, int employeeId, java.time.LocalDate periodStart,
+                                  ExportFormat format) {
+        String employeeName = employee != null ? employee.getLastName() : "Unknown";
+        return String.format("Payslip_%s_%d_%s.%s",
+                employeeName.replaceAll("\\s+", ""),
+                employeeId,
+                periodStart.format(DateTimeFormatter.ofPattern("yyyy_MM")),
+                format.getExtension());
+    }
+
     /**
      * Create payslip data object matching the JRXML template
      */
@@ -174,26 +188,26 @@ public class JasperPayslipService {
         data.setPeriodEnd(Date.valueOf(payrollData.getPeriodEnd()));
 
         // Salary information
-        data.setMonthlyRate(BigDecimal.valueOf(payrollData.getMonthlyRate()));
-        data.setDailyRate(BigDecimal.valueOf(payrollData.getDailyRate()));
+        data.setMonthlyRate(Money.toBigDecimal(payrollData.getMonthlyRateCentavos()));
+        data.setDailyRate(Money.toBigDecimal(payrollData.getDailyRateCentavos()));
         data.setDaysWorked(payrollData.getDaysWorked());
 
         // Benefits/Allowances
-        data.setRiceSubsidy(BigDecimal.valueOf(payrollData.getRiceSubsidy()));
-        data.setPhoneAllowance(BigDecimal.valueOf(payrollData.getPhoneAllowance()));
-        data.setClothingAllowance(BigDecimal.valueOf(payrollData.getClothingAllowance()));
-        data.setTotalBenefits(BigDecimal.valueOf(payrollData.getTotalAllowances()));
+        data.setRiceSubsidy(Money.toBigDecimal(payrollData.getRiceSubsidyCentavos()));
+        data.setPhoneAllowance(Money.toBigDecimal(payrollData.getPhoneAllowanceCentavos()));
+        data.setClothingAllowance(Money.toBigDecimal(payrollData.getClothingAllowanceCentavos()));
+        data.setTotalBenefits(Money.toBigDecimal(payrollData.getTotalAllowancesCentavos()));
 
         // Deductions
-        data.setSss(BigDecimal.valueOf(payrollData.getSss()));
-        data.setPhilhealth(BigDecimal.valueOf(payrollData.getPhilhealth()));
-        data.setPagibig(BigDecimal.valueOf(payrollData.getPagibig()));
-        data.setTax(BigDecimal.valueOf(payrollData.getTax()));
-        data.setTotalDeductions(BigDecimal.valueOf(payrollData.getTotalDeductions()));
+        data.setSss(Money.toBigDecimal(payrollData.getSssCentavos()));
+        data.setPhilhealth(Money.toBigDecimal(payrollData.getPhilhealthCentavos()));
+        data.setPagibig(Money.toBigDecimal(payrollData.getPagibigCentavos()));
+        data.setTax(Money.toBigDecimal(payrollData.getTaxCentavos()));
+        data.setTotalDeductions(Money.toBigDecimal(payrollData.getTotalDeductionsCentavos()));
 
         // Pay amounts
-        data.setGrossPay(BigDecimal.valueOf(payrollData.getGrossPay()));
-        data.setNetPay(BigDecimal.valueOf(payrollData.getNetPay()));
+        data.setGrossPay(Money.toBigDecimal(payrollData.getGrossPayCentavos()));
+        data.setNetPay(Money.toBigDecimal(payrollData.getNetPayCentavos()));
 
         return data;
     }
@@ -260,43 +274,17 @@ public class JasperPayslipService {
     }
 
     /**
-     * Get compiled JasperReport
+     * Get compiled JasperReport, compiled at most once per template version
      */
     private JasperReport getCompiledReport() throws JRException {
-        // Try to load pre-compiled report first
-        InputStream compiledStream = getClass().getResourceAsStream(COMPILED_PAYSLIP);
-
-        if (compiledStream != null) {
-            try {
-                LOGGER.info("Loading pre-compiled report: " + COMPILED_PAYSLIP);
-                return (JasperReport) JRLoader.loadObject(compiledStream);
-            } catch (JRException e) {
-                LOGGER.warning("Failed to load pre-compiled report, will compile from JRXML: " + e.getMessage());
-            } finally {
-                try {
-                    compiledStream.close();
-                } catch (IOException e) {
-                    LOGGER.warning("Failed to close compiled report stream: " + e.getMessage());
-                }
-            }
-        }
-
-        // Compile from JRXML
-        InputStream jrxmlStream = getClass().getResourceAsStream(PAYSLIP_TEMPLATE);
-        if (jrxmlStream == null) {
-            throw new JRException("Report template not found: " + PAYSLIP_TEMPLATE);
-        }
+        return CompiledReportCache.get(PAYSLIP_TEMPLATE);
+    }
 
-        try {
-            LOGGER.info("Compiling JRXML template: " + PAYSLIP_TEMPLATE);
-            return JasperCompileManager.compileReport(jrxmlStream);
-        } finally {
-            try {
-                jrxmlStream.close();
-            } catch (IOException e) {
-                LOGGER.warning("Failed to close JRXML stream: " + e.getMessage());
-            }
-        }
+    /**
+     * Start compiling the payslip template in the background, typically at application startup
+     */
+    public static void warmUp() {
+        CompiledReportCache.warmUp(PAYSLIP_TEMPLATE);
     }
 
     /**
@@ -304,11 +292,27 @@ public class JasperPayslipService {
      */
     private byte[] exportReport(JasperPrint jasperPrint, ExportFormat format) throws JRException {
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportReport(SimpleExporterInput.getInstance(Collections.singletonList(jasperPrint)), format, outputStream);
+        return outputStream.toByteArray();
+    }
 
+    /**
+     * Export one or more filled reports straight to a stream; several reports become one multi-page document
+     */
+    void exportReport(SimpleExporterInput input, ExportFormat format, OutputStream outputStream) throws JRException {
+        Metrics.Sample sample = EXPORT_TIMER.start();
+        try {
+            export(input, format, outputStream);
+        } finally {
+            sample.close();
+        }
+    }
+
+    private void export(SimpleExporterInput input, ExportFormat format, OutputStream outputStream) throws JRException {
         switch (format) {
             case PDF:
                 JRPdfExporter pdfExporter = new JRPdfExporter();
-                pdfExporter.setExporterInput(new SimpleExporterInput(jasperPrint));
+                pdfExporter.setExporterInput(input);
                 pdfExporter.setExporterOutput(new SimpleOutputStreamExporterOutput(outputStream));
 
                 SimplePdfExporterConfiguration pdfConfig = new SimplePdfExporterConfiguration();
@@ -322,7 +326,7 @@ public class JasperPayslipService {
 
             case EXCEL:
                 JRXlsxExporter xlsxExporter = new JRXlsxExporter();
-                xlsxExporter.setExporterInput(new SimpleExporterInput(jasperPrint));
+                xlsxExporter.setExporterInput(input);
                 xlsxExporter.setExporterOutput(new SimpleOutputStreamExporterOutput(outputStream));
 
                 SimpleXlsxReportConfiguration xlsxConfig = new SimpleXlsxReportConfiguration();
@@ -337,8 +341,6 @@ public class JasperPayslipService {
             default:
                 throw new JRException("Unsupported export format: " + format);
         }
-
-        return outputStream.toByteArray();
     }
 
     /**
@@ -0,0 +1,286 @@
+package service;
+
+import dao.DataChangeBus;
+import dao.LeaveRequestDAO;
+import model.LeaveRequest;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * In-memory index of approved and pending leave, per employee, for overlap checks and
+ * payroll leave lookups without a query each.
+ * <p>
+ * Each employee's leave is kept sorted by start date together with the latest end date seen so
+ * far, so the leave overlapping a period is found with a binary search on the period's end and
+ * a walk back that stops as soon as nothing earlier can reach the period's start: O(log n) plus
+ * the leave found.
+ * <p>
+ * The index loads every approved and pending request the first time it is used. Leave changes
+ * published on the DataChangeBus mark that employee stale, and the employee is reloaded with a
+ * single query the next time it is asked about; a change not tied to one employee drops the
+ * whole index until next use.
+ */
+public class LeaveIntervalIndex {
+    private static final Logger LOGGER = Logger.getLogger(LeaveIntervalIndex.class.getName());
+
+    private static final EmployeeLeaves NO_LEAVE = new EmployeeLeaves(Collections.emptyList());
+
+    private static LeaveIntervalIndex instance;
+
+    private final LeaveRequestDAO leaveDAO;
+    private final DataChangeBus.Listener listener = this::onDataChange;
+
+    // Guarded by this; null until loaded
+    private Map<Integer, EmployeeLeaves> byEmployee;
+    // Employees whose leave changed since it was loaded
+    private final Set<Integer> stale = new HashSet<>();
+    // Bumped on every change so a load that raced with one is not installed
+    private long generation;
+
+    public LeaveIntervalIndex(LeaveRequestDAO leaveDAO) {
+        if (leaveDAO == null) {
+            throw new IllegalArgumentException("LeaveRequestDAO cannot be null");
+        }
+        this.leaveDAO = leaveDAO;
+        DataChangeBus.addListener(listener);
+    }
+
+    /**
+     * Shared index used by leave screens and payroll
+     */
+    public static synchronized LeaveIntervalIndex getInstance() {
+        if (instance == null) {
+            instance = new LeaveIntervalIndex(new LeaveRequestDAO());
+        }
+        return instance;
+    }
+
+    /**
+     * Whether any approved or pending leave of the employee overlaps the dates, both inclusive
+     *
+     * @param excludeLeaveId a request to ignore, such as the one being edited; may be null
+     */
+    public boolean hasOverlappingLeave(int employeeId, LocalDate startDate, LocalDate endDate, Integer excludeLeaveId) {
+        validateDateRange(startDate, endDate);
+        return !leavesFor(employeeId).overlapping(startDate, endDate,
+                leave -> excludeLeaveId == null || leave.getLeaveId() != excludeLeaveId, true).isEmpty();
+    }
+
+    /**
+     * Approved leave of the employee overlapping the period, latest start first
+     */
+    public List<LeaveRequest> getApprovedLeaves(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+        validateDateRange(periodStart, periodEnd);
+        return leavesFor(employeeId).overlapping(periodStart, periodEnd, LeaveRequest::isApproved, false);
+    }
+
+    /**
+     * Approved leave overlapping the period for many employees; employees without any are absent
+     */
+    public Map<Integer, List<LeaveRequest>> getApprovedLeaves(Collection<Integer> employeeIds,
+                                                              LocalDate periodStart, LocalDate periodEnd) {
+        if (employeeIds == null) {
+            throw new IllegalArgumentException("Employee IDs cannot be null");
+        }
+        validateDateRange(periodStart, periodEnd);
+
+        Map<Integer, List<LeaveRequest>> leavesByEmployee = new HashMap<>();
+        for (Integer employeeId : employeeIds) {
+            List<LeaveRequest> leaves = getApprovedLeaves(employeeId, periodStart, periodEnd);
+            if (!leaves.isEmpty()) {
+                leavesByEmployee.put(employeeId, leaves);
+            }
+        }
+        return leavesByEmployee;
+    }
+
+    /**
+     * Days of approved leave falling inside the period, counting each date once even if
+     * requests overlap
+     */
+    public long getApprovedLeaveDaysWithin(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+        List<LeaveRequest> leaves = getApprovedLeaves(employeeId, periodStart, periodEnd);
+        Collections.reverse(leaves);
+
+        long days = 0;
+        LocalDate coveredUntil = periodStart.minusDays(1);
+        for (LeaveRequest leave : leaves) {
+            LocalDate from = max(leave.getStartDateAsLocalDate(), coveredUntil.plusDays(1));
+            LocalDate to = min(leave.getEndDateAsLocalDate(), periodEnd);
+            if (!from.isAfter(to)) {
+                days += ChronoUnit.DAYS.between(from, to) + 1;
+                coveredUntil = to;
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Stop listening for data changes; for indexes that are no longer used
+     */
+    public void close() {
+        DataChangeBus.removeListener(listener);
+    }
+
+    private EmployeeLeaves leavesFor(int employeeId) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive, got: " + employeeId);
+        }
+
+        long loadGeneration;
+        boolean loadAll;
+        synchronized (this) {
+            if (byEmployee != null && !stale.contains(employeeId)) {
+                return byEmployee.getOrDefault(employeeId, NO_LEAVE);
+            }
+            loadGeneration = generation;
+            loadAll = byEmployee == null;
+        }
+
+        if (loadAll) {
+            loadAll(loadGeneration);
+            synchronized (this) {
+                if (byEmployee != null && !stale.contains(employeeId)) {
+                    return byEmployee.getOrDefault(employeeId, NO_LEAVE);
+                }
+                loadGeneration = generation;
+            }
+        }
+
+        List<LeaveRequest> open = new ArrayList<>();
+        for (LeaveRequest leave : leaveDAO.getLeaveRequestsByEmployeeId(employeeId)) {
+            if (leave.isApproved() || leave.isPending()) {
+                open.add(leave);
+            }
+        }
+        EmployeeLeaves leaves = new EmployeeLeaves(open);
+        synchronized (this) {
+            if (loadGeneration == generation && byEmployee != null) {
+                byEmployee.put(employeeId, leaves);
+                stale.remove(employeeId);
+            }
+        }
+        return leaves;
+    }
+
+    private void loadAll(long loadGeneration) {
+        List<LeaveRequest> open = leaveDAO.getLeaveRequestsByStatuses(LeaveRequest.STATUS_APPROVED,
+                LeaveRequest.STATUS_PENDING);
+
+        Map<Integer, List<LeaveRequest>> grouped = new HashMap<>();
+        for (LeaveRequest leave : open) {
+            grouped.computeIfAbsent(leave.getEmployeeId(), id -> new ArrayList<>()).add(leave);
+        }
+        Map<Integer, EmployeeLeaves> loaded = new HashMap<>();
+        grouped.forEach((employeeId, leaves) -> loaded.put(employeeId, new EmployeeLeaves(leaves)));
+
+        synchronized (this) {
+            if (loadGeneration == generation && byEmployee == null) {
+                byEmployee = loaded;
+                stale.clear();
+                LOGGER.fine("Leave index loaded " + open.size() + " requests for " + loaded.size() + " employees");
+            }
+        }
+    }
+
+    private void onDataChange(DataChangeBus.DataChange change) {
+        DataChangeBus.Entity entity = change.getEntity();
+        if (entity != DataChangeBus.Entity.LEAVE_REQUEST && entity != DataChangeBus.Entity.EMPLOYEE) {
+            return;
+        }
+        synchronized (this) {
+            generation++;
+            if (change.affectsAllEmployees()) {
+                // Employee changes without an ID are roster-wide edits that do not touch leave
+                if (entity == DataChangeBus.Entity.LEAVE_REQUEST) {
+                    byEmployee = null;
+                    stale.clear();
+                }
+            } else {
+                // Deleting an employee cascades to their leave
+                stale.add(change.getEmployeeId());
+            }
+        }
+    }
+
+    private static void validateDateRange(LocalDate start, LocalDate end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start and end dates cannot be null");
+        }
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start date cannot be after end date: " + start + " > " + end);
+        }
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * One employee's leave sorted by start date, with the running maximum end date
+     */
+    private static final class EmployeeLeaves {
+        private final LeaveRequest[] leaves;
+        private final LocalDate[] starts;
+        private final LocalDate[] maxEnds;
+
+        EmployeeLeaves(List<LeaveRequest> requests) {
+            this.leaves = requests.toArray(new LeaveRequest[0]);
+            Arrays.sort(leaves, Comparator.comparing(LeaveRequest::getStartDateAsLocalDate));
+            this.starts = new LocalDate[leaves.length];
+            this.maxEnds = new LocalDate[leaves.length];
+            for (int i = 0; i < leaves.length; i++) {
+                starts[i] = leaves[i].getStartDateAsLocalDate();
+                LocalDate end = leaves[i].getEndDateAsLocalDate();
+                maxEnds[i] = i == 0 ? end : max(maxEnds[i - 1], end);
+            }
+        }
+
+        /**
+         * Leave overlapping [from, to] that matches the filter, latest start first
+         */
+        List<LeaveRequest> overlapping(LocalDate from, LocalDate to, Predicate<LeaveRequest> filter, boolean firstOnly) {
+            List<LeaveRequest> found = new ArrayList<>();
+            // Last leave starting on or before the period's end
+            int low = 0;
+            int high = starts.length - 1;
+            int last = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid].isAfter(to)) {
+                    high = mid - 1;
+                } else {
+                    last = mid;
+                    low = mid + 1;
+                }
+            }
+            // Nothing at or before i ends on or after the period's start once maxEnds[i] is earlier
+            for (int i = last; i >= 0 && !maxEnds[i].isBefore(from); i--) {
+                if (!leaves[i].getEndDateAsLocalDate().isBefore(from) && filter.test(leaves[i])) {
+                    found.add(leaves[i]);
+                    if (firstOnly) {
+                        break;
+                    }
+                }
+            }
+            return found;
+        }
+    }
+}
@@ -19,10 +19,12 @@ public class LeaveRequestService {
 
     private final LeaveRequestDAO leaveRequestDAO;
     private final EmployeeDAO employeeDAO;
+    private final LeaveIntervalIndex leaveIndex;
 
     public LeaveRequestService() {
         this.leaveRequestDAO = new LeaveRequestDAO();
         this.employeeDAO = new EmployeeDAO();
+        this.leaveIndex = LeaveIntervalIndex.getInstance();
     }
 
     /**
@@ -36,8 +38,8 @@ public class LeaveRequestService {
                 return false;
             }
 
-            // Check for overlapping leave requests
-            if (leaveRequestDAO.hasOverlappingLeave(employeeId, startDate, endDate, null)) {
+            // Check for overlapping approved or pending leave
+            if (leaveIndex.hasOverlappingLeave(employeeId, startDate, endDate, null)) {
                 LOGGER.warning("Overlapping leave request detected for employee: " + employeeId);
                 return false;
             }
@@ -155,7 +157,7 @@ public class LeaveRequestService {
             }
 
             // Check for overlapping leave requests (excluding current request)
-            if (leaveRequestDAO.hasOverlappingLeave(
+            if (leaveIndex.hasOverlappingLeave(
                     leaveRequest.getEmployeeId(),
                     leaveRequest.getStartDateAsLocalDate(),
                     leaveRequest.getEndDateAsLocalDate(),
@@ -0,0 +1,127 @@
+package service;
+
+import model.Attendance;
+import model.LeaveRequest;
+import model.Position;
+import model.StatutorySchedule;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything one employee's payroll for one period is calculated from: position, attendance,
+ * approved leave and the statutory schedule, loaded once. Days worked, hours, late and undertime
+ * minutes are totalled in a single pass over the attendance when the context is built, so every
+ * calculation stage reads the same figures without touching the database or the rows again.
+ */
+public final class PayPeriodContext {
+    private static final LocalTime STANDARD_LOGIN_TIME = LocalTime.of(8, 0);
+    private static final LocalTime LATE_THRESHOLD_TIME = LocalTime.of(8, 15);
+    private static final LocalTime STANDARD_LOGOUT_TIME = LocalTime.of(17, 0);
+
+    private static final int STANDARD_LOGIN_SECOND = STANDARD_LOGIN_TIME.toSecondOfDay();
+    private static final int LATE_THRESHOLD_SECOND = LATE_THRESHOLD_TIME.toSecondOfDay();
+    private static final int STANDARD_LOGOUT_SECOND = STANDARD_LOGOUT_TIME.toSecondOfDay();
+
+    private final int employeeId;
+    private final Position position;
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final List<Attendance> attendance;
+    private final List<LeaveRequest> approvedLeaves;
+    private final StatutorySchedule schedule;
+
+    private final int daysWorked;
+    private final long workedMinutes;
+    private final long lateMinutes;
+    private final long undertimeMinutes;
+    private final long unpaidLeaveDays;
+
+    public PayPeriodContext(int employeeId, Position position, LocalDate periodStart, LocalDate periodEnd,
+                            List<Attendance> attendance, List<LeaveRequest> approvedLeaves,
+                            StatutorySchedule schedule) {
+        if (position == null) {
+            throw new IllegalArgumentException("Position cannot be null");
+        }
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period dates cannot be null");
+        }
+        if (schedule == null) {
+            throw new IllegalArgumentException("Schedule cannot be null");
+        }
+        this.employeeId = employeeId;
+        this.position = position;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.attendance = attendance != null ? Collections.unmodifiableList(attendance) : Collections.emptyList();
+        this.approvedLeaves = approvedLeaves != null ? Collections.unmodifiableList(approvedLeaves) : Collections.emptyList();
+        this.schedule = schedule;
+
+        int days = 0;
+        long worked = 0;
+        long late = 0;
+        long undertime = 0;
+        for (Attendance record : this.attendance) {
+            int logIn = record.getLogIn() != null ? record.getLogIn().toLocalTime().toSecondOfDay() : -1;
+            int logOut = record.getLogOut() != null ? record.getLogOut().toLocalTime().toSecondOfDay() : -1;
+
+            if (logIn >= 0) {
+                days++;
+                if (logOut >= 0) {
+                    worked += (logOut - logIn) / 60;
+                }
+                // Late past the grace period is counted from the standard login time
+                if (logIn > LATE_THRESHOLD_SECOND) {
+                    late += (logIn - STANDARD_LOGIN_SECOND) / 60;
+                }
+            }
+            if (logOut >= 0 && logOut < STANDARD_LOGOUT_SECOND) {
+                undertime += (STANDARD_LOGOUT_SECOND - logOut) / 60;
+            }
+        }
+        this.daysWorked = days;
+        this.workedMinutes = worked;
+        this.lateMinutes = late;
+        this.undertimeMinutes = undertime;
+
+        long unpaid = 0;
+        for (LeaveRequest leave : this.approvedLeaves) {
+            if ("Unpaid".equalsIgnoreCase(leave.getLeaveType())) {
+                unpaid += leave.getLeaveDays();
+            }
+        }
+        this.unpaidLeaveDays = unpaid;
+    }
+
+    public int getEmployeeId() { return employeeId; }
+    public Position getPosition() { return position; }
+    public LocalDate getPeriodStart() { return periodStart; }
+    public LocalDate getPeriodEnd() { return periodEnd; }
+    public List<Attendance> getAttendance() { return attendance; }
+    public List<LeaveRequest> getApprovedLeaves() { return approvedLeaves; }
+    public StatutorySchedule getSchedule() { return schedule; }
+
+    /**
+     * Days with a login
+     */
+    public int getDaysWorked() { return daysWorked; }
+
+    /**
+     * Hours between login and logout, over days with both
+     */
+    public double getTotalHours() { return workedMinutes / 60.0; }
+
+    /**
+     * Minutes after the standard login time, over days logged in after the grace period
+     */
+    public long getLateMinutes() { return lateMinutes; }
+
+    /**
+     * Minutes before the standard logout time, over days with an early logout
+     */
+    public long getUndertimeMinutes() { return undertimeMinutes; }
+
+    public long getUnpaidLeaveDays() { return unpaidLeaveDays; }
+}
@@ -0,0 +1,451 @@
+package service;
+
+import dao.EmployeeDAO;
+import dao.PayrollDAO;
+import model.Employee;
+import model.Money;
+import model.Payroll;
+import service.PayrollCalculator.PayrollCalculationException;
+import service.PayrollCalculator.PayrollData;
+import util.DBConnection;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs payroll for many employees in parallel.
+ * Employees are split into chunks, each chunk is calculated with the set-based
+ * PayrollCalculator.calculatePayrollForPeriod, and chunks run concurrently on a
+ * fork-join pool or on virtual threads. Concurrency never exceeds the database
+ * connection pool, one employee's failure never aborts the run, and every
+ * employee produces a completion event for progress reporting.
+ */
+public class PayRunExecutor {
+    private static final Logger LOGGER = Logger.getLogger(PayRunExecutor.class.getName());
+
+    public static final int DEFAULT_CHUNK_SIZE = 25;
+
+    /**
+     * Thread model used to run chunks
+     */
+    public enum Mode {
+        FORK_JOIN,
+        VIRTUAL_THREADS
+    }
+
+    /**
+     * Receives one event per employee as soon as that employee's payroll is done.
+     * Called from worker threads; UI listeners must hand off to the event dispatch thread.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void employeeCompleted(int employeeId, boolean success, int completed, int total);
+    }
+
+    private final PayrollCalculator payrollCalculator;
+    private final EmployeeDAO employeeDAO;
+    private final Mode mode;
+    private final int concurrency;
+    private final int chunkSize;
+
+    /**
+     * Fork-join executor sized to leave one pooled connection free for the rest of the application
+     */
+    public PayRunExecutor() {
+        this(new PayrollCalculator(), new EmployeeDAO(), Mode.FORK_JOIN, 0, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param concurrency maximum chunks in flight, or 0 to derive it from the connection pool size;
+     *                    always capped at the pool size since each chunk holds one connection at a time
+     * @param chunkSize   employees calculated per batch query round
+     */
+    public PayRunExecutor(PayrollCalculator payrollCalculator, EmployeeDAO employeeDAO,
+                          Mode mode, int concurrency, int chunkSize) {
+        if (payrollCalculator == null || employeeDAO == null) {
+            throw new IllegalArgumentException("Payroll calculator and employee DAO cannot be null");
+        }
+        if (mode == null) {
+            throw new IllegalArgumentException("Mode cannot be null");
+        }
+        if (concurrency < 0) {
+            throw new IllegalArgumentException("Concurrency cannot be negative: " + concurrency);
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+
+        int connectionBudget = DBConnection.getPoolStats().getMaxSize();
+        int defaultConcurrency = Math.max(1, connectionBudget - 1);
+
+        this.payrollCalculator = payrollCalculator;
+        this.employeeDAO = employeeDAO;
+        this.mode = mode;
+        this.concurrency = concurrency == 0 ? defaultConcurrency : Math.min(concurrency, connectionBudget);
+        this.chunkSize = chunkSize;
+    }
+
+    public Mode getMode() { return mode; }
+    public int getConcurrency() { return concurrency; }
+    public int getChunkSize() { return chunkSize; }
+
+    /**
+     * Run payroll for every employee
+     */
+    public PayRunSummary run(LocalDate periodStart, LocalDate periodEnd, ProgressListener listener) {
+        List<Integer> employeeIds = new ArrayList<>();
+        for (Employee employee : employeeDAO.getAllEmployees()) {
+            employeeIds.add(employee.getEmployeeId());
+        }
+        return run(periodStart, periodEnd, employeeIds, listener);
+    }
+
+    /**
+     * Run payroll for the given employees; failures are collected in the summary, not thrown
+     */
+    public PayRunSummary run(LocalDate periodStart, LocalDate periodEnd, Collection<Integer> employeeIds,
+                             ProgressListener listener) {
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period dates cannot be null");
+        }
+        if (periodEnd.isBefore(periodStart)) {
+            throw new IllegalArgumentException("Period end cannot be before period start");
+        }
+        if (employeeIds == null) {
+            throw new IllegalArgumentException("Employee IDs cannot be null");
+        }
+
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(employeeIds));
+        RunState state = new RunState(ids.size(), listener);
+        long startNanos = System.nanoTime();
+
+        LOGGER.info(String.format("Starting pay run for %d employees (%s to %s) with %s, concurrency %d",
+                ids.size(), periodStart, periodEnd, mode, concurrency));
+
+        Semaphore connectionBudget = new Semaphore(concurrency);
+        ExecutorService executor = createExecutor();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                futures.add(executor.submit(() -> {
+                    connectionBudget.acquireUninterruptibly();
+                    try {
+                        calculateChunk(chunk, periodStart, periodEnd, state);
+                    } finally {
+                        connectionBudget.release();
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    // calculateChunk records its own failures; this is only reached on programming errors
+                    LOGGER.log(Level.SEVERE, "Pay run chunk terminated unexpectedly", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warning("Pay run interrupted; returning partial results");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        PayRunSummary summary = new PayRunSummary(periodStart, periodEnd, mode, concurrency, ids, state, elapsedMillis);
+
+        LOGGER.info(String.format("Pay run finished: %d succeeded, %d failed in %d ms",
+                summary.getSucceededCount(), summary.getFailedCount(), elapsedMillis));
+
+        return summary;
+    }
+
+    private ExecutorService createExecutor() {
+        if (mode == Mode.VIRTUAL_THREADS) {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+        return new ForkJoinPool(concurrency);
+    }
+
+    /**
+     * Calculate one chunk with the batch engine, isolating failures per employee when the batch fails
+     */
+    private void calculateChunk(List<Integer> chunk, LocalDate periodStart, LocalDate periodEnd, RunState state) {
+        Map<Integer, PayrollData> results;
+        try {
+            results = payrollCalculator.calculatePayrollForPeriod(periodStart, periodEnd, chunk);
+        } catch (PayrollCalculationException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Batch calculation failed for a chunk of " + chunk.size()
+                    + " employees; retrying individually", e);
+            calculateIndividually(chunk, periodStart, periodEnd, state);
+            return;
+        }
+
+        for (Integer employeeId : chunk) {
+            PayrollData payrollData = results.get(employeeId);
+            if (payrollData != null) {
+                state.succeeded(employeeId, payrollData);
+            } else {
+                state.failed(employeeId, "Employee not found or has no position");
+            }
+        }
+    }
+
+    private void calculateIndividually(List<Integer> chunk, LocalDate periodStart, LocalDate periodEnd, RunState state) {
+        for (Integer employeeId : chunk) {
+            try {
+                state.succeeded(employeeId, payrollCalculator.calculatePayroll(employeeId, periodStart, periodEnd));
+            } catch (PayrollCalculationException | RuntimeException e) {
+                state.failed(employeeId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Thread-safe accumulator shared by all chunks of one run
+     */
+    private static final class RunState {
+        private final int total;
+        private final ProgressListener listener;
+        private final AtomicInteger completed = new AtomicInteger();
+        private final Map<Integer, PayrollData> results = new ConcurrentHashMap<>();
+        private final Map<Integer, String> failures = new ConcurrentHashMap<>();
+
+        RunState(int total, ProgressListener listener) {
+            this.total = total;
+            this.listener = listener;
+        }
+
+        void succeeded(int employeeId, PayrollData payrollData) {
+            results.put(employeeId, payrollData);
+            notifyListener(employeeId, true);
+        }
+
+        void failed(int employeeId, String reason) {
+            failures.put(employeeId, reason != null ? reason : "Unknown error");
+            LOGGER.warning("Payroll failed for employee " + employeeId + ": " + reason);
+            notifyListener(employeeId, false);
+        }
+
+        private void notifyListener(int employeeId, boolean success) {
+            int done = completed.incrementAndGet();
+            if (listener != null) {
+                try {
+                    listener.employeeCompleted(employeeId, success, done, total);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Pay run progress listener failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Outcome of a pay run: per-employee results and failures, totals and timings
+     */
+    public static class PayRunSummary {
+        private final LocalDate periodStart;
+        private final LocalDate periodEnd;
+        private final Mode mode;
+        private final int concurrency;
+        private final int requestedCount;
+        private final Map<Integer, PayrollData> results;
+        private final Map<Integer, String> failures;
+        private final long elapsedMillis;
+        // Summed in centavos so run totals match the payslips exactly
+        private final long totalGrossPay;
+        private final long totalDeductions;
+        private final long totalNetPay;
+
+        private PayRunSummary(LocalDate periodStart, LocalDate periodEnd, Mode mode, int concurrency,
+                              List<Integer> requestedIds, RunState state, long elapsedMillis) {
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+            this.mode = mode;
+            this.concurrency = concurrency;
+            this.requestedCount = requestedIds.size();
+            this.elapsedMillis = elapsedMillis;
+
+            // Present results in the order employees were requested
+            Map<Integer, PayrollData> orderedResults = new LinkedHashMap<>();
+            Map<Integer, String> orderedFailures = new LinkedHashMap<>();
+            long gross = 0, deductions = 0, net = 0;
+            for (Integer employeeId : requestedIds) {
+                PayrollData payrollData = state.results.get(employeeId);
+                if (payrollData != null) {
+                    orderedResults.put(employeeId, payrollData);
+                    gross += payrollData.getGrossPayCentavos();
+                    deductions += payrollData.getTotalDeductionsCentavos();
+                    net += payrollData.getNetPayCentavos();
+                } else {
+                    orderedFailures.put(employeeId, state.failures.getOrDefault(employeeId, "Not processed"));
+                }
+            }
+            this.results = Collections.unmodifiableMap(orderedResults);
+            this.failures = Collections.unmodifiableMap(orderedFailures);
+            this.totalGrossPay = gross;
+            this.totalDeductions = deductions;
+            this.totalNetPay = net;
+        }
+
+        public LocalDate getPeriodStart() { return periodStart; }
+        public LocalDate getPeriodEnd() { return periodEnd; }
+        public Mode getMode() { return mode; }
+        public int getConcurrency() { return concurrency; }
+        public int getRequestedCount() { return requestedCount; }
+        public int getSucceededCount() { return results.size(); }
+        public int getFailedCount() { return failures.size(); }
+        public boolean hasFailures() { return !failures.isEmpty(); }
+        public Map<Integer, PayrollData> getResults() { return results; }
+        public Map<Integer, String> getFailures() { return failures; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public double getTotalGrossPay() { return Money.toPesos(totalGrossPay); }
+        public double getTotalDeductions() { return Money.toPesos(totalDeductions); }
+        public double getTotalNetPay() { return Money.toPesos(totalNetPay); }
+
+        /**
+         * Successful results as Payroll records, ready for PayrollDAO.savePayrollBatch
+         */
+        public List<Payroll> toPayrolls() {
+            List<Payroll> payrolls = new ArrayList<>(results.size());
+            for (PayrollData payrollData : results.values()) {
+                payrolls.add(payrollData.toPayroll());
+            }
+            return payrolls;
+        }
+
+        public double getEmployeesPerSecond() {
+            return elapsedMillis == 0 ? requestedCount * 1000.0 : requestedCount * 1000.0 / elapsedMillis;
+        }
+
+        /**
+         * Human-readable summary for dialogs and the command line
+         */
+        public String toReport() {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format("Pay run %s to %s (%s, concurrency %d)%n",
+                    periodStart, periodEnd, mode, concurrency));
+            report.append(String.format("Employees: %d requested, %d succeeded, %d failed%n",
+                    requestedCount, getSucceededCount(), getFailedCount()));
+            report.append(String.format("Totals: gross ₱%,.2f, deductions ₱%,.2f, net ₱%,.2f%n",
+                    Money.toBigDecimal(totalGrossPay), Money.toBigDecimal(totalDeductions),
+                    Money.toBigDecimal(totalNetPay)));
+            report.append(String.format("Elapsed: %d ms (%.1f employees/s)%n", elapsedMillis, getEmployeesPerSecond()));
+            for (Map.Entry<Integer, String> failure : failures.entrySet()) {
+                report.append(String.format("  FAILED %d: %s%n", failure.getKey(), failure.getValue()));
+            }
+            return report.toString();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("PayRunSummary{period=%s..%s, succeeded=%d, failed=%d, elapsedMs=%d}",
+                    periodStart, periodEnd, getSucceededCount(), getFailedCount(), elapsedMillis);
+        }
+    }
+
+    /**
+     * Headless pay run, e.g. from a scheduled month-end job:
+     * <pre>
+     * java -cp payroll-system.jar service.PayRunExecutor 2024-06 [--mode=virtual|forkjoin] [--concurrency=N] [--chunk=N] [--save]
+     * java -cp payroll-system.jar service.PayRunExecutor 2024-06-01 2024-06-15 [options]
+     * </pre>
+     * With --save the successful results are written to payroll_records.
+     * Exit code is 0 when every employee succeeded, 2 when some failed and 1 on invalid usage or a fatal error.
+     */
+    public static void main(String[] args) {
+        LocalDate periodStart = null;
+        LocalDate periodEnd = null;
+        Mode mode = Mode.FORK_JOIN;
+        int concurrency = 0;
+        int chunkSize = DEFAULT_CHUNK_SIZE;
+        boolean save = false;
+
+        try {
+            List<String> positional = new ArrayList<>();
+            for (String arg : args) {
+                if (arg.startsWith("--mode=")) {
+                    mode = parseMode(arg.substring("--mode=".length()));
+                } else if (arg.startsWith("--concurrency=")) {
+                    concurrency = Integer.parseInt(arg.substring("--concurrency=".length()));
+                } else if (arg.startsWith("--chunk=")) {
+                    chunkSize = Integer.parseInt(arg.substring("--chunk=".length()));
+                } else if ("--save".equals(arg)) {
+                    save = true;
+                } else {
+                    positional.add(arg);
+                }
+            }
+
+            if (positional.size() == 1) {
+                YearMonth month = YearMonth.parse(positional.get(0));
+                periodStart = month.atDay(1);
+                periodEnd = month.atEndOfMonth();
+            } else if (positional.size() == 2) {
+                periodStart = LocalDate.parse(positional.get(0));
+                periodEnd = LocalDate.parse(positional.get(1));
+            } else {
+                throw new IllegalArgumentException("Expected a month (yyyy-MM) or a start and end date (yyyy-MM-dd)");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Invalid arguments: " + e.getMessage());
+            System.err.println("Usage: PayRunExecutor <yyyy-MM | start end> [--mode=virtual|forkjoin] [--concurrency=N] [--chunk=N] [--save]");
+            System.exit(1);
+            return;
+        }
+
+        int exitCode;
+        try {
+            PayRunExecutor executor = new PayRunExecutor(new PayrollCalculator(), new EmployeeDAO(),
+                    mode, concurrency, chunkSize);
+            PayRunSummary summary = executor.run(periodStart, periodEnd, (employeeId, success, completed, total) -> {
+                if (completed == total || completed % 100 == 0) {
+                    System.out.printf("Progress: %d / %d%n", completed, total);
+                }
+            });
+            System.out.print(summary.toReport());
+            if (save) {
+                int saved = new PayrollDAO().savePayrollBatch(summary.toPayrolls());
+                System.out.printf("Saved %d payroll records%n", saved);
+            }
+            exitCode = summary.hasFailures() ? 2 : 0;
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Pay run failed", e);
+            System.err.println("Pay run failed: " + e.getMessage());
+            exitCode = 1;
+        } finally {
+            DBConnection.shutdownPool();
+        }
+        System.exit(exitCode);
+    }
+
+    private static Mode parseMode(String value) {
+        switch (value.toLowerCase().replace("-", "").replace("_", "")) {
+            case "virtual":
+            case "virtualthreads":
+                return Mode.VIRTUAL_THREADS;
+            case "forkjoin":
+                return Mode.FORK_JOIN;
+            default:
+                throw new IllegalArgumentException("Unknown mode: " + value);
+        }
+    }
+}
@@ -2,18 +2,26 @@ package service;
 
 import dao.AttendanceDAO;
 import dao.EmployeeDAO;
-import dao.LeaveRequestDAO;
 import dao.PositionDAO;
 import model.Attendance;
+import model.ContributionSchedule;
 import model.Employee;
 import model.LeaveRequest;
+import model.Money;
+import model.Payroll;
 import model.Position;
-import model.GovernmentContribution;
+import model.StatutorySchedule;
+import util.Metrics;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,21 +35,46 @@ public class PayrollCalculator {
     private static final int STANDARD_WORKING_DAYS_PER_MONTH = 22;
     private static final int STANDARD_WORKING_HOURS_PER_DAY = 8;
     private static final double OVERTIME_RATE_MULTIPLIER = 1.25;
-    private static final LocalTime STANDARD_LOGIN_TIME = LocalTime.of(8, 0);
-    private static final LocalTime LATE_THRESHOLD_TIME = LocalTime.of(8, 15);
-    private static final LocalTime STANDARD_LOGOUT_TIME = LocalTime.of(17, 0);
+
+    // Stage timings, see util.Metrics
+    private static final Metrics.Timer LOAD_CONTEXT_TIMER = Metrics.timer("payroll.loadContext");
+    private static final Metrics.Timer BULK_LOAD_TIMER = Metrics.timer("payroll.bulkLoad");
+    private static final Metrics.Timer CALCULATE_TIMER = Metrics.timer("payroll.calculate");
+    private static final Metrics.Timer CONTRIBUTIONS_TIMER = Metrics.timer("payroll.contributions");
 
     // DAO instances
     private final EmployeeDAO employeeDAO;
     private final AttendanceDAO attendanceDAO;
-    private final LeaveRequestDAO leaveDAO;
+    private final LeaveIntervalIndex leaveIndex;
     private final PositionDAO positionDAO;
+    // Positions for single-employee calculations, which would otherwise query the table each time
+    private final ReferenceDataCache referenceData;
+
+    // Contribution and tax tables by effective date
+    private final ScheduleRegistry schedules;
 
     public PayrollCalculator() {
-        this.employeeDAO = new EmployeeDAO();
-        this.attendanceDAO = new AttendanceDAO();
-        this.leaveDAO = new LeaveRequestDAO();
-        this.positionDAO = new PositionDAO();
+        this(new EmployeeDAO(), new AttendanceDAO(), LeaveIntervalIndex.getInstance(), new PositionDAO());
+    }
+
+    public PayrollCalculator(EmployeeDAO employeeDAO, AttendanceDAO attendanceDAO,
+                             LeaveIntervalIndex leaveIndex, PositionDAO positionDAO) {
+        this(employeeDAO, attendanceDAO, leaveIndex, positionDAO, ScheduleRegistry.getInstance());
+    }
+
+    public PayrollCalculator(EmployeeDAO employeeDAO, AttendanceDAO attendanceDAO,
+                             LeaveIntervalIndex leaveIndex, PositionDAO positionDAO, ScheduleRegistry schedules) {
+        this(employeeDAO, attendanceDAO, leaveIndex, positionDAO, schedules, ReferenceDataCache.getInstance());
+    }
+
+    public PayrollCalculator(EmployeeDAO employeeDAO, AttendanceDAO attendanceDAO, LeaveIntervalIndex leaveIndex,
+                             PositionDAO positionDAO, ScheduleRegistry schedules, ReferenceDataCache referenceData) {
+        this.employeeDAO = employeeDAO;
+        this.attendanceDAO = attendanceDAO;
+        this.leaveIndex = leaveIndex;
+        this.positionDAO = positionDAO;
+        this.schedules = schedules;
+        this.referenceData = referenceData;
     }
 
     /**
@@ -52,46 +85,9 @@ public class PayrollCalculator {
             throws PayrollCalculationException {
 
         try {
-            validateInputs(employeeId, periodStart, periodEnd);
-
-            // Get employee with position details
-            Employee employee = employeeDAO.getEmployeeWithPositionDetails(employeeId);
-            if (employee == null) {
-                throw new PayrollCalculationException("Employee not found with ID: " + employeeId);
-            }
-
-            // Get position details
-            Position position = positionDAO.getPositionById(employee.getPositionId());
-            if (position == null) {
-                throw new PayrollCalculationException("Position not found for employee: " + employeeId);
-            }
-
-            // Create payroll data object
-            PayrollData payrollData = new PayrollData();
-            payrollData.setEmployeeId(employeeId);
-            payrollData.setPeriodStart(periodStart);
-            payrollData.setPeriodEnd(periodEnd);
-            payrollData.setMonthlyRate(position.getMonthlySalary());
-            payrollData.setDailyRate(position.getDailyRate());
-
-            // Calculate attendance-based earnings
-            calculateAttendanceBasedEarnings(payrollData, employeeId, periodStart, periodEnd);
+            PayrollData payrollData = calculatePayroll(loadPeriodContext(employeeId, periodStart, periodEnd));
 
-            // Set allowances from position
-            payrollData.setRiceSubsidy(position.getRiceSubsidy());
-            payrollData.setPhoneAllowance(position.getPhoneAllowance());
-            payrollData.setClothingAllowance(position.getClothingAllowance());
-
-            // Calculate time-based deductions
-            calculateTimeBasedDeductions(payrollData, employeeId, periodStart, periodEnd);
-
-            // Calculate government contributions
-            calculateGovernmentContributions(payrollData, position.getMonthlySalary());
-
-            // Calculate totals
-            calculateTotals(payrollData);
-
-            LOGGER.info(String.format("Payroll calculated for employee %d: Net Pay = %.2f",
+            LOGGER.fine(() -> String.format("Payroll calculated for employee %d: Net Pay = %.2f",
                     employeeId, payrollData.getNetPay()));
 
             return payrollData;
@@ -103,182 +99,273 @@ public class PayrollCalculator {
     }
 
     /**
-     * Calculate attendance-based earnings
+     * Load everything one employee's payroll for a period needs: position, attendance, approved leave
+     * and the schedule in force. The context can be reused for repeated calculations.
      */
-    private void calculateAttendanceBasedEarnings(PayrollData payrollData, int employeeId,
-                                                  LocalDate periodStart, LocalDate periodEnd) {
+    public PayPeriodContext loadPeriodContext(int employeeId, LocalDate periodStart, LocalDate periodEnd)
+            throws PayrollCalculationException {
+        validateInputs(employeeId, periodStart, periodEnd);
+
+        Metrics.Sample sample = LOAD_CONTEXT_TIMER.start();
+        try {
+            return loadContext(employeeId, periodStart, periodEnd);
+        } finally {
+            sample.close();
+        }
+    }
+
+    private PayPeriodContext loadContext(int employeeId, LocalDate periodStart, LocalDate periodEnd)
+            throws PayrollCalculationException {
+        // Get employee with position details
+        Employee employee = employeeDAO.getEmployeeWithPositionDetails(employeeId);
+        if (employee == null) {
+            throw new PayrollCalculationException("Employee not found with ID: " + employeeId);
+        }
+
+        // Get position details
+        Position position = referenceData.getPosition(employee.getPositionId());
+        if (position == null) {
+            throw new PayrollCalculationException("Position not found for employee: " + employeeId);
+        }
 
         List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
                 employeeId, periodStart, periodEnd);
+        List<LeaveRequest> approvedLeaves = loadApprovedLeaves(employeeId, periodStart, periodEnd);
+
+        return new PayPeriodContext(employeeId, position, periodStart, periodEnd, attendanceList, approvedLeaves,
+                schedules.forPeriod(periodStart, periodEnd));
+    }
+
+    /**
+     * Calculate payroll for every employee in the system for one period
+     */
+    public Map<Integer, PayrollData> calculatePayrollForPeriod(LocalDate periodStart, LocalDate periodEnd)
+            throws PayrollCalculationException {
+        return calculatePayrollForPeriod(periodStart, periodEnd, null);
+    }
 
-        int validDays = 0;
-        double totalHours = 0.0;
+    /**
+     * Calculate payroll for many employees in one pass.
+     * Positions, attendance and approved leave for the whole period are bulk-loaded with a fixed
+     * number of range queries and grouped in memory, instead of several queries per employee.
+     * Results are identical to calling calculatePayroll for each employee. Employees that do not
+     * exist or have no position are logged and left out of the returned map.
+     *
+     * @param employeeIds employees to include, or null for all employees
+     * @return payroll keyed by employee ID, in employee-name order
+     */
+    public Map<Integer, PayrollData> calculatePayrollForPeriod(LocalDate periodStart, LocalDate periodEnd,
+                                                               Collection<Integer> employeeIds)
+            throws PayrollCalculationException {
 
-        for (Attendance attendance : attendanceList) {
-            if (attendance.getLogIn() != null) {
-                validDays++;
-                totalHours += attendance.getWorkHours();
+        validatePeriod(periodStart, periodEnd);
+        if (employeeIds != null) {
+            for (Integer employeeId : employeeIds) {
+                if (employeeId == null || employeeId <= 0) {
+                    throw new PayrollCalculationException("Invalid employee ID: " + employeeId);
+                }
             }
         }
 
-        payrollData.setDaysWorked(validDays);
-        payrollData.setBasicPay(validDays * payrollData.getDailyRate());
-        payrollData.setTotalHours(totalHours);
+        try {
+            List<Employee> employees;
+            Map<Integer, Position> positionsById = new HashMap<>();
+            Map<Integer, List<Attendance>> attendanceByEmployee;
+            Map<Integer, List<LeaveRequest>> leavesByEmployee;
+            Metrics.Sample sample = BULK_LOAD_TIMER.start();
+            try {
+                employees = employeeIds == null
+                        ? employeeDAO.getAllEmployees()
+                        : employeeDAO.getEmployeesByIds(employeeIds);
+
+                for (Position position : positionDAO.getAllPositions()) {
+                    positionsById.put(position.getPositionId(), position);
+                }
+
+                List<Integer> loadedIds = new ArrayList<>(employees.size());
+                for (Employee employee : employees) {
+                    loadedIds.add(employee.getEmployeeId());
+                }
+
+                attendanceByEmployee = attendanceDAO.getAttendanceByEmployeeIdsBetweenDates(loadedIds, periodStart, periodEnd);
+                leavesByEmployee = loadApprovedLeaves(loadedIds, periodStart, periodEnd);
+            } finally {
+                sample.close();
+            }
+
+            // Resolved once so a schedule reload mid-run cannot mix two versions in one period
+            StatutorySchedule schedule = schedules.forPeriod(periodStart, periodEnd);
+
+            Map<Integer, PayrollData> results = new LinkedHashMap<>();
+            for (Employee employee : employees) {
+                int employeeId = employee.getEmployeeId();
+                Position position = positionsById.get(employee.getPositionId());
+                if (position == null) {
+                    LOGGER.warning("Position not found for employee: " + employeeId);
+                    continue;
+                }
+
+                results.put(employeeId, calculatePayroll(new PayPeriodContext(employeeId, position,
+                        periodStart, periodEnd,
+                        attendanceByEmployee.getOrDefault(employeeId, Collections.emptyList()),
+                        leavesByEmployee.getOrDefault(employeeId, Collections.emptyList()),
+                        schedule)));
+            }
+
+            int requested = employeeIds == null ? employees.size() : new HashSet<>(employeeIds).size();
+            if (results.size() < requested) {
+                LOGGER.warning(String.format("Payroll skipped for %d of %d requested employees",
+                        requested - results.size(), requested));
+            }
+
+            LOGGER.info(() -> String.format("Payroll calculated for %d employees for period %s to %s",
+                    results.size(), periodStart, periodEnd));
 
-        LOGGER.info(String.format("Employee %d worked %d days, %.2f hours",
-                employeeId, validDays, totalHours));
+            return results;
+
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Failed to calculate payroll for period " + periodStart + " to " + periodEnd, e);
+            throw new PayrollCalculationException("Failed to calculate payroll for period: " + e.getMessage(), e);
+        }
     }
 
     /**
-     * Calculate time-based deductions (late, undertime, unpaid leave)
+     * Compute one employee's payroll from an already-loaded context; performs no database access
      */
-    private void calculateTimeBasedDeductions(PayrollData payrollData, int employeeId,
-                                              LocalDate periodStart, LocalDate periodEnd) {
+    public PayrollData calculatePayroll(PayPeriodContext context) {
+        Metrics.Sample sample = CALCULATE_TIMER.start();
+        try {
+            return calculate(context);
+        } finally {
+            sample.close();
+        }
+    }
 
-        List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
-                employeeId, periodStart, periodEnd);
+    private PayrollData calculate(PayPeriodContext context) {
+        Position position = context.getPosition();
+
+        // Create payroll data object
+        PayrollData payrollData = new PayrollData();
+        payrollData.setEmployeeId(context.getEmployeeId());
+        payrollData.setPeriodStart(context.getPeriodStart());
+        payrollData.setPeriodEnd(context.getPeriodEnd());
+        payrollData.setMonthlyRate(position.getMonthlySalary());
+        payrollData.dailyRate = Money.multiply(payrollData.monthlyRate, 1, STANDARD_WORKING_DAYS_PER_MONTH,
+                Money.DEFAULT_ROUNDING);
+
+        // Calculate attendance-based earnings
+        calculateAttendanceBasedEarnings(payrollData, context);
+
+        // Set allowances from position
+        payrollData.setRiceSubsidy(position.getRiceSubsidy());
+        payrollData.setPhoneAllowance(position.getPhoneAllowance());
+        payrollData.setClothingAllowance(position.getClothingAllowance());
+
+        // Calculate time-based deductions
+        calculateTimeBasedDeductions(payrollData, context);
+
+        // Calculate government contributions
+        calculateGovernmentContributions(payrollData, position.getMonthlySalary(), context.getSchedule());
 
-        double lateDeduction = calculateLateDeduction(attendanceList, payrollData.getDailyRate());
-        double undertimeDeduction = calculateUndertimeDeduction(attendanceList, payrollData.getDailyRate());
-        double unpaidLeaveDeduction = calculateUnpaidLeaveDeduction(employeeId, periodStart, periodEnd, payrollData.getDailyRate());
+        // Calculate totals
+        calculateTotals(payrollData);
 
-        payrollData.setLateDeduction(lateDeduction);
-        payrollData.setUndertimeDeduction(undertimeDeduction);
-        payrollData.setUnpaidLeaveDeduction(unpaidLeaveDeduction);
+        return payrollData;
     }
 
     /**
-     * Calculate government contributions using the model classes
+     * Calculate attendance-based earnings
      */
-    private void calculateGovernmentContributions(PayrollData payrollData, double monthlySalary) {
-        GovernmentContribution sss = GovernmentContribution.createSSS(payrollData.getEmployeeId(), monthlySalary);
-        GovernmentContribution philhealth = GovernmentContribution.createPhilHealth(payrollData.getEmployeeId(), monthlySalary);
-        GovernmentContribution pagibig = GovernmentContribution.createPagIBIG(payrollData.getEmployeeId(), monthlySalary);
-
-        payrollData.setSss(sss.getAmount());
-        payrollData.setPhilhealth(philhealth.getAmount());
-        payrollData.setPagibig(pagibig.getAmount());
-
-        // Simple tax calculation (should be more complex in real implementation)
-        double tax = calculateIncomeTax(monthlySalary);
-        payrollData.setTax(tax);
+    private void calculateAttendanceBasedEarnings(PayrollData payrollData, PayPeriodContext context) {
+        int validDays = context.getDaysWorked();
+        double totalHours = context.getTotalHours();
+
+        payrollData.setDaysWorked(validDays);
+        // From the monthly rate rather than the rounded daily rate, so only the result is rounded
+        payrollData.basicPay = Money.multiply(payrollData.monthlyRate, validDays, STANDARD_WORKING_DAYS_PER_MONTH,
+                Money.DEFAULT_ROUNDING);
+        payrollData.setTotalHours(totalHours);
+
+        LOGGER.fine(() -> String.format("Employee %d worked %d days, %.2f hours",
+                payrollData.getEmployeeId(), validDays, totalHours));
     }
 
     /**
-     * Calculate late deduction
+     * Calculate time-based deductions (late, undertime, unpaid leave)
      */
-    private double calculateLateDeduction(List<Attendance> attendanceList, double dailyRate) {
-        double totalLateDeduction = 0.0;
-        double hourlyRate = dailyRate / STANDARD_WORKING_HOURS_PER_DAY;
-
-        for (Attendance attendance : attendanceList) {
-            if (attendance.getLogIn() != null) {
-                LocalTime loginTime = attendance.getLogIn().toLocalTime();
-                if (loginTime.isAfter(LATE_THRESHOLD_TIME)) {
-                    long minutesLate = ChronoUnit.MINUTES.between(STANDARD_LOGIN_TIME, loginTime);
-                    double hoursLate = minutesLate / 60.0;
-                    totalLateDeduction += hoursLate * hourlyRate;
-                }
-            }
-        }
-
-        return totalLateDeduction;
+    private void calculateTimeBasedDeductions(PayrollData payrollData, PayPeriodContext context) {
+        long minutesPerMonth = (long) STANDARD_WORKING_DAYS_PER_MONTH * STANDARD_WORKING_HOURS_PER_DAY * 60;
+
+        payrollData.lateDeduction = Money.multiply(payrollData.monthlyRate, context.getLateMinutes(),
+                minutesPerMonth, Money.DEFAULT_ROUNDING);
+        payrollData.undertimeDeduction = Money.multiply(payrollData.monthlyRate, context.getUndertimeMinutes(),
+                minutesPerMonth, Money.DEFAULT_ROUNDING);
+        payrollData.unpaidLeaveDeduction = Money.multiply(payrollData.monthlyRate, context.getUnpaidLeaveDays(),
+                STANDARD_WORKING_DAYS_PER_MONTH, Money.DEFAULT_ROUNDING);
     }
 
     /**
-     * Calculate undertime deduction
+     * Calculate government contributions and withholding tax from the period's schedule
      */
-    private double calculateUndertimeDeduction(List<Attendance> attendanceList, double dailyRate) {
-        double totalUndertimeDeduction = 0.0;
-        double hourlyRate = dailyRate / STANDARD_WORKING_HOURS_PER_DAY;
-
-        for (Attendance attendance : attendanceList) {
-            if (attendance.getLogOut() != null) {
-                LocalTime logoutTime = attendance.getLogOut().toLocalTime();
-                if (logoutTime.isBefore(STANDARD_LOGOUT_TIME)) {
-                    long minutesShort = ChronoUnit.MINUTES.between(logoutTime, STANDARD_LOGOUT_TIME);
-                    double hoursShort = minutesShort / 60.0;
-                    totalUndertimeDeduction += hoursShort * hourlyRate;
-                }
-            }
+    private void calculateGovernmentContributions(PayrollData payrollData, double monthlySalary,
+                                                  StatutorySchedule schedule) {
+        Metrics.Sample sample = CONTRIBUTIONS_TIMER.start();
+        try {
+            ContributionSchedule contributions = schedule.getContributions();
+            payrollData.setSss(contributions.sssEmployeeShare(monthlySalary));
+            payrollData.setPhilhealth(contributions.philHealthEmployeeShare(monthlySalary));
+            payrollData.setPagibig(contributions.pagIbigEmployeeShare(monthlySalary));
+            payrollData.setTax(schedule.getTax().monthlyTax(monthlySalary));
+        } finally {
+            sample.close();
         }
-
-        return totalUndertimeDeduction;
     }
 
     /**
-     * Calculate unpaid leave deduction
+     * Load approved leaves for the unpaid leave deduction; a failed lookup counts as no leave
      */
-    private double calculateUnpaidLeaveDeduction(int employeeId, LocalDate periodStart, LocalDate periodEnd, double dailyRate) {
+    private List<LeaveRequest> loadApprovedLeaves(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
         try {
-            List<LeaveRequest> approvedLeaves = leaveDAO.getApprovedLeavesByEmployeeIdAndDateRange(
-                    employeeId, periodStart, periodEnd);
-
-            int unpaidLeaveDays = 0;
-            for (LeaveRequest leave : approvedLeaves) {
-                if ("Unpaid".equalsIgnoreCase(leave.getLeaveType())) {
-                    unpaidLeaveDays += leave.getLeaveDays();
-                }
-            }
-
-            return unpaidLeaveDays * dailyRate;
+            return leaveIndex.getApprovedLeaves(employeeId, periodStart, periodEnd);
         } catch (Exception e) {
             LOGGER.warning("Error calculating unpaid leave deduction: " + e.getMessage());
-            return 0.0;
+            return Collections.emptyList();
         }
     }
 
-    /**
-     * Simple income tax calculation
-     */
-    private double calculateIncomeTax(double monthlySalary) {
-        double annualSalary = monthlySalary * 12;
-        double annualTax = 0.0;
-
-        if (annualSalary <= 250000) {
-            annualTax = 0.0;
-        } else if (annualSalary <= 400000) {
-            annualTax = (annualSalary - 250000) * 0.15;
-        } else if (annualSalary <= 800000) {
-            annualTax = 22500 + (annualSalary - 400000) * 0.20;
-        } else if (annualSalary <= 2000000) {
-            annualTax = 102500 + (annualSalary - 800000) * 0.25;
-        } else if (annualSalary <= 8000000) {
-            annualTax = 402500 + (annualSalary - 2000000) * 0.30;
-        } else {
-            annualTax = 2202500 + (annualSalary - 8000000) * 0.35;
+    private Map<Integer, List<LeaveRequest>> loadApprovedLeaves(Collection<Integer> employeeIds,
+                                                                LocalDate periodStart, LocalDate periodEnd) {
+        try {
+            return leaveIndex.getApprovedLeaves(employeeIds, periodStart, periodEnd);
+        } catch (Exception e) {
+            LOGGER.warning("Error calculating unpaid leave deduction: " + e.getMessage());
+            return Collections.emptyMap();
         }
-
-        return annualTax / 12;
     }
 
     /**
      * Calculate final totals
      */
     private void calculateTotals(PayrollData payrollData) {
-        // Calculate total allowances
-        double totalAllowances = payrollData.getRiceSubsidy() +
-                payrollData.getPhoneAllowance() +
-                payrollData.getClothingAllowance();
-        payrollData.setTotalAllowances(totalAllowances);
+        // Every component is already whole centavos, so the totals are exact
+        payrollData.totalAllowances = payrollData.riceSubsidy +
+                payrollData.phoneAllowance +
+                payrollData.clothingAllowance;
 
         // Calculate gross pay
-        double grossPay = payrollData.getBasicPay() + totalAllowances;
-        payrollData.setGrossPay(grossPay);
+        payrollData.grossPay = payrollData.basicPay + payrollData.totalAllowances;
 
         // Calculate total deductions
-        double totalDeductions = payrollData.getLateDeduction() +
-                payrollData.getUndertimeDeduction() +
-                payrollData.getUnpaidLeaveDeduction() +
-                payrollData.getSss() +
-                payrollData.getPhilhealth() +
-                payrollData.getPagibig() +
-                payrollData.getTax();
-        payrollData.setTotalDeductions(totalDeductions);
+        payrollData.totalDeductions = payrollData.lateDeduction +
+                payrollData.undertimeDeduction +
+                payrollData.unpaidLeaveDeduction +
+                payrollData.sss +
+                payrollData.philhealth +
+                payrollData.pagibig +
+                payrollData.tax;
 
         // Calculate net pay
-        double netPay = grossPay - totalDeductions;
-        payrollData.setNetPay(netPay);
+        payrollData.netPay = payrollData.grossPay - payrollData.totalDeductions;
     }
 
     /**
@@ -289,6 +376,10 @@ public class PayrollCalculator {
         if (employeeId <= 0) {
             throw new PayrollCalculationException("Invalid employee ID: " + employeeId);
         }
+        validatePeriod(periodStart, periodEnd);
+    }
+
+    private void validatePeriod(LocalDate periodStart, LocalDate periodEnd) throws PayrollCalculationException {
         if (periodStart == null || periodEnd == null) {
             throw new PayrollCalculationException("Period dates cannot be null");
         }
@@ -298,31 +389,32 @@ public class PayrollCalculator {
     }
 
     /**
-     * PayrollData class to hold calculated payroll information
+     * PayrollData class to hold calculated payroll information.
+     * Amounts are kept as whole centavos; the double accessors convert, rounding half up on the way in.
      */
-    public static class PayrollData {
+    public static class PayrollData implements Cloneable {
         private int employeeId;
         private LocalDate periodStart;
         private LocalDate periodEnd;
-        private double monthlyRate;
-        private double dailyRate;
+        private long monthlyRate;
+        private long dailyRate;
         private int daysWorked;
         private double totalHours;
-        private double basicPay;
-        private double riceSubsidy;
-        private double phoneAllowance;
-        private double clothingAllowance;
-        private double totalAllowances;
-        private double grossPay;
-        private double lateDeduction;
-        private double undertimeDeduction;
-        private double unpaidLeaveDeduction;
-        private double sss;
-        private double philhealth;
-        private double pagibig;
-        private double tax;
-        private double totalDeductions;
-        private double netPay;
+        private long basicPay;
+        private long riceSubsidy;
+        private long phoneAllowance;
+        private long clothingAllowance;
+        private long totalAllowances;
+        private long grossPay;
+        private long lateDeduction;
+        private long undertimeDeduction;
+        private long unpaidLeaveDeduction;
+        private long sss;
+        private long philhealth;
+        private long pagibig;
+        private long tax;
+        private long totalDeductions;
+        private long netPay;
 
         // Getters and setters
         public int getEmployeeId() { return employeeId; }
@@ -334,11 +426,13 @@ public class PayrollCalculator {
         public LocalDate getPeriodEnd() { return periodEnd; }
         public void setPeriodEnd(LocalDate periodEnd) { this.periodEnd = periodEnd; }
 
-        public double getMonthlyRate() { return monthlyRate; }
-        public void setMonthlyRate(double monthlyRate) { this.monthlyRate = monthlyRate; }
+        public double getMonthlyRate() { return Money.toPesos(monthlyRate); }
+        public long getMonthlyRateCentavos() { return monthlyRate; }
+        public void setMonthlyRate(double monthlyRate) { this.monthlyRate = Money.centavos(monthlyRate); }
 
-        public double getDailyRate() { return dailyRate; }
-        public void setDailyRate(double dailyRate) { this.dailyRate = dailyRate; }
+        public double getDailyRate() { return Money.toPesos(dailyRate); }
+        public long getDailyRateCentavos() { return dailyRate; }
+        public void setDailyRate(double dailyRate) { this.dailyRate = Money.centavos(dailyRate); }
 
         public int getDaysWorked() { return daysWorked; }
         public void setDaysWorked(int daysWorked) { this.daysWorked = daysWorked; }
@@ -346,50 +440,130 @@ public class PayrollCalculator {
         public double getTotalHours() { return totalHours; }
         public void setTotalHours(double totalHours) { this.totalHours = totalHours; }
 
-        public double getBasicPay() { return basicPay; }
-        public void setBasicPay(double basicPay) { this.basicPay = basicPay; }
-
-        public double getRiceSubsidy() { return riceSubsidy; }
-        public void setRiceSubsidy(double riceSubsidy) { this.riceSubsidy = riceSubsidy; }
-
-        public double getPhoneAllowance() { return phoneAllowance; }
-        public void setPhoneAllowance(double phoneAllowance) { this.phoneAllowance = phoneAllowance; }
-
-        public double getClothingAllowance() { return clothingAllowance; }
-        public void setClothingAllowance(double clothingAllowance) { this.clothingAllowance = clothingAllowance; }
-
-        public double getTotalAllowances() { return totalAllowances; }
-        public void setTotalAllowances(double totalAllowances) { this.totalAllowances = totalAllowances; }
-
-        public double getGrossPay() { return grossPay; }
-        public void setGrossPay(double grossPay) { this.grossPay = grossPay; }
-
-        public double getLateDeduction() { return lateDeduction; }
-        public void setLateDeduction(double lateDeduction) { this.lateDeduction = lateDeduction; }
-
-        public double getUndertimeDeduction() { return undertimeDeduction; }
-        public void setUndertimeDeduction(double undertimeDeduction) { this.undertimeDeduction = undertimeDeduction; }
-
-        public double getUnpaidLeaveDeduction() { return unpaidLeaveDeduction; }
-        public void setUnpaidLeaveDeduction(double unpaidLeaveDeduction) { this.unpaidLeaveDeduction = unpaidLeaveDeduction; }
-
-        public double getSss() { return sss; }
-        public void setSss(double sss) { this.sss = sss; }
-
-        public double getPhilhealth() { return philhealth; }
-        public void setPhilhealth(double philhealth) { this.philhealth = philhealth; }
-
-        public double getPagibig() { return pagibig; }
-        public void setPagibig(double pagibig) { this.pagibig = pagibig; }
-
-        public double getTax() { return tax; }
-        public void setTax(double tax) { this.tax = tax; }
+        public double getBasicPay() { return Money.toPesos(basicPay); }
+        public long getBasicPayCentavos() { return basicPay; }
+        public void setBasicPay(double basicPay) { this.basicPay = Money.centavos(basicPay); }
+
+        public double getRiceSubsidy() { return Money.toPesos(riceSubsidy); }
+        public long getRiceSubsidyCentavos() { return riceSubsidy; }
+        public void setRiceSubsidy(double riceSubsidy) { this.riceSubsidy = Money.centavos(riceSubsidy); }
+
+        public double getPhoneAllowance() { return Money.toPesos(phoneAllowance); }
+        public long getPhoneAllowanceCentavos() { return phoneAllowance; }
+        public void setPhoneAllowance(double phoneAllowance) { this.phoneAllowance = Money.centavos(phoneAllowance); }
+
+        public double getClothingAllowance() { return Money.toPesos(clothingAllowance); }
+        public long getClothingAllowanceCentavos() { return clothingAllowance; }
+        public void setClothingAllowance(double clothingAllowance) { this.clothingAllowance = Money.centavos(clothingAllowance); }
+
+        public double getTotalAllowances() { return Money.toPesos(totalAllowances); }
+        public long getTotalAllowancesCentavos() { return totalAllowances; }
+        public void setTotalAllowances(double totalAllowances) { this.totalAllowances = Money.centavos(totalAllowances); }
+
+        public double getGrossPay() { return Money.toPesos(grossPay); }
+        public long getGrossPayCentavos() { return grossPay; }
+        public void setGrossPay(double grossPay) { this.grossPay = Money.centavos(grossPay); }
+
+        public double getLateDeduction() { return Money.toPesos(lateDeduction); }
+        public long getLateDeductionCentavos() { return lateDeduction; }
+        public void setLateDeduction(double lateDeduction) { this.lateDeduction = Money.centavos(lateDeduction); }
+
+        public double getUndertimeDeduction() { return Money.toPesos(undertimeDeduction); }
+        public long getUndertimeDeductionCentavos() { return undertimeDeduction; }
+        public void setUndertimeDeduction(double undertimeDeduction) { this.undertimeDeduction = Money.centavos(undertimeDeduction); }
+
+        public double getUnpaidLeaveDeduction() { return Money.toPesos(unpaidLeaveDeduction); }
+        public long getUnpaidLeaveDeductionCentavos() { return unpaidLeaveDeduction; }
+        public void setUnpaidLeaveDeduction(double unpaidLeaveDeduction) { this.unpaidLeaveDeduction = Money.centavos(unpaidLeaveDeduction); }
+
+        public double getSss() { return Money.toPesos(sss); }
+        public long getSssCentavos() { return sss; }
+        public void setSss(double sss) { this.sss = Money.centavos(sss); }
+
+        public double getPhilhealth() { return Money.toPesos(philhealth); }
+        public long getPhilhealthCentavos() { return philhealth; }
+        public void setPhilhealth(double philhealth) { this.philhealth = Money.centavos(philhealth); }
+
+        public double getPagibig() { return Money.toPesos(pagibig); }
+        public long getPagibigCentavos() { return pagibig; }
+        public void setPagibig(double pagibig) { this.pagibig = Money.centavos(pagibig); }
+
+        public double getTax() { return Money.toPesos(tax); }
+        public long getTaxCentavos() { return tax; }
+        public void setTax(double tax) { this.tax = Money.centavos(tax); }
+
+        public double getTotalDeductions() { return Money.toPesos(totalDeductions); }
+        public long getTotalDeductionsCentavos() { return totalDeductions; }
+        public void setTotalDeductions(double totalDeductions) { this.totalDeductions = Money.centavos(totalDeductions); }
+
+        public double getNetPay() { return Money.toPesos(netPay); }
+        public long getNetPayCentavos() { return netPay; }
+        public void setNetPay(double netPay) { this.netPay = Money.centavos(netPay); }
+
+        /**
+         * Independent copy, so callers can adjust results without changing a shared instance
+         */
+        public PayrollData copy() {
+            try {
+                return (PayrollData) super.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new AssertionError(e);
+            }
+        }
 
-        public double getTotalDeductions() { return totalDeductions; }
-        public void setTotalDeductions(double totalDeductions) { this.totalDeductions = totalDeductions; }
+        /**
+         * Convert to the persisted Payroll model for saving to payroll_records; amounts are stored in pesos
+         */
+        public Payroll toPayroll() {
+            Payroll payroll = new Payroll(employeeId, java.sql.Date.valueOf(periodStart), java.sql.Date.valueOf(periodEnd));
+            payroll.setMonthlyRate(getMonthlyRate());
+            payroll.setDaysWorked(daysWorked);
+            payroll.setGrossEarnings(getBasicPay());
+            payroll.setGrossPay(getGrossPay());
+            payroll.setRiceSubsidy(getRiceSubsidy());
+            payroll.setPhoneAllowance(getPhoneAllowance());
+            payroll.setClothingAllowance(getClothingAllowance());
+            payroll.setLateDeduction(getLateDeduction());
+            payroll.setUndertimeDeduction(getUndertimeDeduction());
+            payroll.setUnpaidLeaveDeduction(getUnpaidLeaveDeduction());
+            payroll.setSss(getSss());
+            payroll.setPhilhealth(getPhilhealth());
+            payroll.setPagibig(getPagibig());
+            payroll.setTax(getTax());
+            payroll.setTotalDeductions(getTotalDeductions());
+            payroll.setNetPay(getNetPay());
+            return payroll;
+        }
 
-        public double getNetPay() { return netPay; }
-        public void setNetPay(double netPay) { this.netPay = netPay; }
+        /**
+         * Rebuild calculation results from a saved payroll record.
+         * Total hours are not persisted and are reported as zero.
+         */
+        public static PayrollData fromPayroll(Payroll payroll) {
+            PayrollData data = new PayrollData();
+            data.setEmployeeId(payroll.getEmployeeId());
+            data.setPeriodStart(payroll.getStartDateAsLocalDate());
+            data.setPeriodEnd(payroll.getEndDateAsLocalDate());
+            data.setMonthlyRate(payroll.getMonthlyRate());
+            data.dailyRate = Money.multiply(data.monthlyRate, 1, STANDARD_WORKING_DAYS_PER_MONTH, Money.DEFAULT_ROUNDING);
+            data.setDaysWorked(payroll.getDaysWorked());
+            data.setBasicPay(payroll.getGrossEarnings());
+            data.setRiceSubsidy(payroll.getRiceSubsidy());
+            data.setPhoneAllowance(payroll.getPhoneAllowance());
+            data.setClothingAllowance(payroll.getClothingAllowance());
+            data.setTotalAllowances(payroll.getTotalAllowances());
+            data.setGrossPay(payroll.getGrossPay());
+            data.setLateDeduction(payroll.getLateDeduction());
+            data.setUndertimeDeduction(payroll.getUndertimeDeduction());
+            data.setUnpaidLeaveDeduction(payroll.getUnpaidLeaveDeduction());
+            data.setSss(payroll.getSss());
+            data.setPhilhealth(payroll.getPhilhealth());
+            data.setPagibig(payroll.getPagibig());
+            data.setTax(payroll.getTax());
+            data.setTotalDeductions(payroll.getTotalDeductions());
+            data.setNetPay(payroll.getNetPay());
+            return data;
+        }
     }
 
     /**
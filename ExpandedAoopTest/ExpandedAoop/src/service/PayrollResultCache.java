@@ -0,0 +1,342 @@
+package service;
+
+import dao.DataChangeBus;
+import dao.EmployeeDAO;
+import dao.PayrollDAO;
+import model.Employee;
+import model.Payroll;
+import service.PayrollCalculator.PayrollCalculationException;
+import service.PayrollCalculator.PayrollData;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded LRU cache of payroll results keyed by employee and pay period.
+ * Entries are dropped when attendance, leave, position, employee or payroll writes, or schedule
+ * reloads, are published on the DataChangeBus. Misses for closed periods (ending before today) are served from
+ * payroll_records when a saved record exists, and calculated otherwise. Callers always receive copies,
+ * so changes to a returned result never reach the cached entry.
+ */
+public class PayrollResultCache {
+    private static final Logger LOGGER = Logger.getLogger(PayrollResultCache.class.getName());
+
+    public static final int DEFAULT_MAX_ENTRIES = Integer.getInteger("motorph.payroll.cache.maxEntries", 5000);
+
+    private static PayrollResultCache instance;
+
+    private final PayrollCalculator calculator;
+    private final PayrollDAO payrollDAO;
+    private final EmployeeDAO employeeDAO;
+    private final int maxEntries;
+    private final LinkedHashMap<Key, PayrollData> entries;
+    private final DataChangeBus.Listener listener = this::onDataChange;
+
+    // Bumped on every invalidation so a load that raced with a write is not cached
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    private long recordLoads;
+    private long calculations;
+
+    public PayrollResultCache(PayrollCalculator calculator, PayrollDAO payrollDAO, EmployeeDAO employeeDAO,
+                              int maxEntries) {
+        if (calculator == null || payrollDAO == null || employeeDAO == null) {
+            throw new IllegalArgumentException("Calculator and DAOs cannot be null");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive");
+        }
+        this.calculator = calculator;
+        this.payrollDAO = payrollDAO;
+        this.employeeDAO = employeeDAO;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PayrollData> eldest) {
+                if (size() > PayrollResultCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        DataChangeBus.addListener(listener);
+    }
+
+    /**
+     * Shared cache used by the dashboards
+     */
+    public static synchronized PayrollResultCache getInstance() {
+        if (instance == null) {
+            instance = new PayrollResultCache(new PayrollCalculator(), new PayrollDAO(), new EmployeeDAO(),
+                    DEFAULT_MAX_ENTRIES);
+        }
+        return instance;
+    }
+
+    /**
+     * Payroll for one employee and period, from the cache when possible; the result is a copy
+     */
+    public PayrollData get(int employeeId, LocalDate periodStart, LocalDate periodEnd)
+            throws PayrollCalculationException {
+        Key key = new Key(employeeId, periodStart, periodEnd);
+        long loadGeneration;
+        synchronized (this) {
+            PayrollData cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached.copy();
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        PayrollData data = null;
+        if (isClosed(periodEnd)) {
+            data = loadSavedRecord(employeeId, periodStart, periodEnd);
+        }
+        if (data == null) {
+            data = calculator.calculatePayroll(employeeId, periodStart, periodEnd);
+            countCalculations(1);
+        }
+
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                entries.put(key, data);
+            }
+        }
+        return data.copy();
+    }
+
+    /**
+     * Payroll for many employees in one period. Cached entries are reused, saved records cover
+     * closed periods, and only the remaining employees are calculated, in a single batch.
+     *
+     * @param employeeIds employees to include, or null for all employees
+     * @return payroll keyed by employee ID; for all employees, in employee-name order
+     */
+    public Map<Integer, PayrollData> getAll(LocalDate periodStart, LocalDate periodEnd, Collection<Integer> employeeIds)
+            throws PayrollCalculationException {
+        Collection<Integer> requested = employeeIds != null ? new LinkedHashSet<>(employeeIds) : allEmployeeIds();
+
+        Map<Integer, PayrollData> found = new LinkedHashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        long loadGeneration;
+        synchronized (this) {
+            for (Integer employeeId : requested) {
+                PayrollData cached = employeeId != null ? entries.get(new Key(employeeId, periodStart, periodEnd)) : null;
+                if (cached != null) {
+                    hits++;
+                    found.put(employeeId, cached);
+                } else {
+                    misses++;
+                    missing.add(employeeId);
+                }
+            }
+            loadGeneration = generation;
+        }
+
+        Map<Integer, PayrollData> loaded = new LinkedHashMap<>();
+        if (!missing.isEmpty() && isClosed(periodEnd)) {
+            Map<Integer, Payroll> saved = loadSavedRecords(periodStart, periodEnd);
+            for (Iterator<Integer> it = missing.iterator(); it.hasNext(); ) {
+                Payroll payroll = saved.get(it.next());
+                if (payroll != null) {
+                    loaded.put(payroll.getEmployeeId(), PayrollData.fromPayroll(payroll));
+                    it.remove();
+                }
+            }
+            countRecordLoads(loaded.size());
+        }
+        if (!missing.isEmpty()) {
+            Map<Integer, PayrollData> calculated = calculator.calculatePayrollForPeriod(periodStart, periodEnd, missing);
+            loaded.putAll(calculated);
+            countCalculations(calculated.size());
+        }
+
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                for (PayrollData data : loaded.values()) {
+                    entries.put(new Key(data.getEmployeeId(), periodStart, periodEnd), data);
+                }
+            }
+        }
+
+        Map<Integer, PayrollData> results = new LinkedHashMap<>();
+        for (Integer employeeId : requested) {
+            PayrollData data = found.containsKey(employeeId) ? found.get(employeeId) : loaded.get(employeeId);
+            if (data != null) {
+                results.put(employeeId, data.copy());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Drop every entry that a data change may affect
+     */
+    public synchronized void invalidate(DataChangeBus.DataChange change) {
+        generation++;
+        for (Iterator<Key> it = entries.keySet().iterator(); it.hasNext(); ) {
+            Key key = it.next();
+            if (change.affects(key.employeeId, key.periodStart, key.periodEnd)) {
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    /**
+     * Stop listening for data changes; for caches that are no longer used
+     */
+    public void close() {
+        DataChangeBus.removeListener(listener);
+        clear();
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, evictions, invalidations, recordLoads, calculations, entries.size(), maxEntries);
+    }
+
+    private void onDataChange(DataChangeBus.DataChange change) {
+        invalidate(change);
+    }
+
+    private static boolean isClosed(LocalDate periodEnd) {
+        return periodEnd != null && periodEnd.isBefore(LocalDate.now());
+    }
+
+    private PayrollData loadSavedRecord(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+        try {
+            Payroll payroll = payrollDAO.getPayrollByEmployeeAndPeriod(employeeId, periodStart, periodEnd);
+            if (payroll != null) {
+                countRecordLoads(1);
+                return PayrollData.fromPayroll(payroll);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not read saved payroll for employee " + employeeId + ", recalculating", e);
+        }
+        return null;
+    }
+
+    private Map<Integer, Payroll> loadSavedRecords(LocalDate periodStart, LocalDate periodEnd) {
+        try {
+            return payrollDAO.getPayrollForPeriod(periodStart, periodEnd);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not read saved payroll for " + periodStart + " to " + periodEnd
+                    + ", recalculating", e);
+            return Map.of();
+        }
+    }
+
+    private Collection<Integer> allEmployeeIds() {
+        List<Employee> employees = employeeDAO.getAllEmployees();
+        List<Integer> ids = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            ids.add(employee.getEmployeeId());
+        }
+        return ids;
+    }
+
+    private synchronized void countRecordLoads(int count) {
+        recordLoads += count;
+    }
+
+    private synchronized void countCalculations(int count) {
+        calculations += count;
+    }
+
+    private static final class Key {
+        private final int employeeId;
+        private final LocalDate periodStart;
+        private final LocalDate periodEnd;
+
+        Key(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+            this.employeeId = employeeId;
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return employeeId == other.employeeId
+                    && Objects.equals(periodStart, other.periodStart)
+                    && Objects.equals(periodEnd, other.periodEnd);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(employeeId, periodStart, periodEnd);
+        }
+    }
+
+    /**
+     * Snapshot of cache counters
+     */
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+        private final long recordLoads;
+        private final long calculations;
+        private final int size;
+        private final int maxEntries;
+
+        Stats(long hits, long misses, long evictions, long invalidations, long recordLoads, long calculations,
+              int size, int maxEntries) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+            this.recordLoads = recordLoads;
+            this.calculations = calculations;
+            this.size = size;
+            this.maxEntries = maxEntries;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getInvalidations() { return invalidations; }
+        public long getRecordLoads() { return recordLoads; }
+        public long getCalculations() { return calculations; }
+        public int getSize() { return size; }
+        public int getMaxEntries() { return maxEntries; }
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("PayrollResultCache{hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, " +
+                            "invalidations=%d, recordLoads=%d, calculations=%d, size=%d/%d}",
+                    hits, misses, getHitRate() * 100, evictions, invalidations, recordLoads, calculations,
+                    size, maxEntries);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package service;
+
+import dao.DataChangeBus;
+import dao.EmployeeDAO;
+import dao.PositionDAO;
+import model.Employee;
+import model.Position;
+import util.Metrics;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Shared in-memory copy of the employee roster (with position details and supervisor names) and
+ * the positions table, for screens and services that read them far more often than they change.
+ * <p>
+ * Everything is loaded on first use; concurrent first reads wait for the one load. Employee writes
+ * published on the DataChangeBus mark that employee stale, and the next read re-reads it, along with
+ * its subordinates when its name changed. Deletions, position changes and changes not tied to one
+ * employee reload everything. Writes made outside this process are picked up once the refresh
+ * interval has passed: employees by their updated_at watermark, positions, which have no
+ * updated_at, by re-reading the small table whole.
+ * <p>
+ * Employees and positions are handed out as copies, so a screen editing one does not change what
+ * other readers see; edits reach the cache once they are saved through the DAOs.
+ */
+public class ReferenceDataCache {
+    private static final Logger LOGGER = Logger.getLogger(ReferenceDataCache.class.getName());
+
+    public static final long DEFAULT_REFRESH_INTERVAL_MILLIS =
+            Long.getLong("motorph.referenceData.refreshIntervalMillis", 30_000L);
+
+    // A load that races with this many writes in a row is returned without being kept
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private static final Metrics.Counter FULL_LOADS = Metrics.counter("referenceData.fullLoads");
+    private static final Metrics.Counter REFRESHES = Metrics.counter("referenceData.refreshes");
+    private static final Metrics.Counter EMPLOYEE_RELOADS = Metrics.counter("referenceData.employeeReloads");
+
+    private static final Comparator<Employee> NAME_ORDER = Comparator
+            .comparing(Employee::getLastName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(Employee::getFirstName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparingInt(Employee::getEmployeeId);
+
+    private static ReferenceDataCache instance;
+
+    private final EmployeeDAO employeeDAO;
+    private final PositionDAO positionDAO;
+    private final long refreshIntervalNanos;
+    private final DataChangeBus.Listener listener = this::onDataChange;
+
+    // Held while reading from the database, so callers arriving during a load share its result
+    private final Object loadLock = new Object();
+
+    // Replaced whole, never modified; null until loaded
+    private volatile Snapshot snapshot;
+    // Set by the change listener so readers skip the lock while nothing has changed
+    private volatile boolean changed;
+
+    // Guarded by this
+    private final Set<Integer> staleEmployees = new HashSet<>();
+    private boolean reloadAll;
+    // Bumped on every change so a load that raced with one is not kept
+    private long generation;
+
+    public ReferenceDataCache(EmployeeDAO employeeDAO, PositionDAO positionDAO, long refreshIntervalMillis) {
+        if (employeeDAO == null || positionDAO == null) {
+            throw new IllegalArgumentException("DAOs cannot be null");
+        }
+        if (refreshIntervalMillis < 0) {
+            throw new IllegalArgumentException("Refresh interval cannot be negative");
+        }
+        this.employeeDAO = employeeDAO;
+        this.positionDAO = positionDAO;
+        this.refreshIntervalNanos = TimeUnit.MILLISECONDS.toNanos(refreshIntervalMillis);
+        DataChangeBus.addListener(listener);
+    }
+
+    /**
+     * Shared cache used by the dashboards, reports and payroll
+     */
+    public static synchronized ReferenceDataCache getInstance() {
+        if (instance == null) {
+            instance = new ReferenceDataCache(new EmployeeDAO(), new PositionDAO(), DEFAULT_REFRESH_INTERVAL_MILLIS);
+        }
+        return instance;
+    }
+
+    /**
+     * Every employee ordered by last name, then first name; the list and employees are the caller's own
+     */
+    public List<Employee> getAllEmployees() {
+        List<Employee> roster = current().roster;
+        List<Employee> copies = new ArrayList<>(roster.size());
+        for (Employee employee : roster) {
+            copies.add(employee.copy());
+        }
+        return copies;
+    }
+
+    /**
+     * One employee, or null if there is no such employee
+     */
+    public Employee getEmployee(int employeeId) {
+        Employee employee = current().employees.get(employeeId);
+        if (employee == null) {
+            // Possibly added by another process since the last refresh; not kept until then
+            return employeeDAO.getEmployeeById(employeeId);
+        }
+        return employee.copy();
+    }
+
+    /**
+     * Display name ("Last, First") of the employee's immediate supervisor; null if none
+     */
+    public String getSupervisorName(int employeeId) {
+        Employee employee = current().employees.get(employeeId);
+        if (employee == null) {
+            employee = employeeDAO.getEmployeeById(employeeId);
+        }
+        return employee != null ? employee.getImmediateSupervisor() : null;
+    }
+
+    /**
+     * Every position ordered by title, as PositionDAO.getAllPositions returns them; the caller's own copies
+     */
+    public List<Position> getAllPositions() {
+        List<Position> positionList = current().positionList;
+        List<Position> copies = new ArrayList<>(positionList.size());
+        for (Position position : positionList) {
+            copies.add(position.copy());
+        }
+        return copies;
+    }
+
+    /**
+     * One position, or null if there is no such position
+     */
+    public Position getPosition(int positionId) {
+        if (positionId <= 0) {
+            throw new IllegalArgumentException("Position ID must be positive");
+        }
+        Position position = current().positions.get(positionId);
+        if (position == null) {
+            return positionDAO.getPositionById(positionId);
+        }
+        return position.copy();
+    }
+
+    /**
+     * Drop everything; the next read loads it again
+     */
+    public synchronized void clear() {
+        generation++;
+        reloadAll = true;
+        staleEmployees.clear();
+        changed = true;
+    }
+
+    /**
+     * Stop listening for data changes; for caches that are no longer used
+     */
+    public void close() {
+        DataChangeBus.removeListener(listener);
+        clear();
+    }
+
+    private void onDataChange(DataChangeBus.DataChange change) {
+        DataChangeBus.Entity entity = change.getEntity();
+        if (entity != DataChangeBus.Entity.EMPLOYEE && entity != DataChangeBus.Entity.POSITION) {
+            return;
+        }
+        synchronized (this) {
+            generation++;
+            // Employee rows carry their position's title and pay, so a position change reloads them too
+            if (entity == DataChangeBus.Entity.POSITION || change.affectsAllEmployees()) {
+                reloadAll = true;
+                staleEmployees.clear();
+            } else if (!reloadAll) {
+                staleEmployees.add(change.getEmployeeId());
+            }
+            changed = true;
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null && !changed && !isDue(s)) {
+            return s;
+        }
+
+        synchronized (loadLock) {
+            for (int attempt = 1; ; attempt++) {
+                Snapshot base;
+                List<Integer> staleIds;
+                long loadGeneration;
+                synchronized (this) {
+                    base = reloadAll ? null : snapshot;
+                    staleIds = new ArrayList<>(staleEmployees);
+                    loadGeneration = generation;
+                    if (base != null && staleIds.isEmpty() && !isDue(base)) {
+                        changed = false;
+                        return base; // Brought up to date by the caller we waited for
+                    }
+                }
+
+                Snapshot loaded = base == null ? loadAll() : update(base, staleIds);
+
+                synchronized (this) {
+                    if (loadGeneration == generation) {
+                        snapshot = loaded;
+                        reloadAll = false;
+                        staleEmployees.clear();
+                        changed = false;
+                        return loaded;
+                    }
+                }
+                if (attempt >= MAX_LOAD_ATTEMPTS) {
+                    return loaded; // Still correct for this caller; the next read tries again
+                }
+            }
+        }
+    }
+
+    private boolean isDue(Snapshot s) {
+        return System.nanoTime() - s.checkedAtNanos >= refreshIntervalNanos;
+    }
+
+    private Snapshot loadAll() {
+        List<Employee> roster = employeeDAO.getAllEmployees();
+        List<Position> positionList = positionDAO.getAllPositions();
+        FULL_LOADS.increment();
+
+        Map<Integer, Employee> employees = new HashMap<>();
+        LocalDateTime watermark = null;
+        for (Employee employee : roster) {
+            employees.put(employee.getEmployeeId(), employee);
+            LocalDateTime updatedAt = employee.getUpdatedAt();
+            if (updatedAt != null && (watermark == null || updatedAt.isAfter(watermark))) {
+                watermark = updatedAt;
+            }
+        }
+        LOGGER.fine("Reference data loaded " + employees.size() + " employees and " + positionList.size() + " positions");
+        return new Snapshot(employees, positionList, watermark, System.nanoTime());
+    }
+
+    /**
+     * Apply published changes to the base and, when the interval has passed, writes made elsewhere
+     */
+    private Snapshot update(Snapshot base, List<Integer> staleIds) {
+        Map<Integer, Employee> employees = new HashMap<>(base.employees);
+        List<Position> positionList = base.positionList;
+        LocalDateTime watermark = base.watermark;
+        long checkedAtNanos = base.checkedAtNanos;
+
+        for (Integer employeeId : staleIds) {
+            Employee employee = employeeDAO.getEmployeeById(employeeId);
+            EMPLOYEE_RELOADS.increment();
+            if (employee == null) {
+                if (employees.containsKey(employeeId)) {
+                    // Deleting a supervisor clears supervisor_id on their subordinates without touching updated_at
+                    return loadAll();
+                }
+                continue;
+            }
+            merge(employees, employee);
+        }
+
+        if (isDue(base)) {
+            checkedAtNanos = System.nanoTime();
+            EmployeeDAO.RosterVersion version = employeeDAO.getRosterVersion();
+            if (watermark != null && version.getLastUpdated() != null) {
+                for (Employee employee : employeeDAO.getEmployeesUpdatedSince(watermark)) {
+                    merge(employees, employee);
+                }
+                watermark = version.getLastUpdated();
+            }
+            if (watermark == null || employees.size() != version.getEmployeeCount()) {
+                // Rows deleted or added without a newer updated_at; the watermark cannot tell which
+                return loadAll();
+            }
+            positionList = positionDAO.getAllPositions();
+            REFRESHES.increment();
+        }
+        return new Snapshot(employees, positionList, watermark, checkedAtNanos);
+    }
+
+    /**
+     * Put a re-read employee in the map; a renamed employee's subordinates are re-read for their supervisor name
+     */
+    private void merge(Map<Integer, Employee> employees, Employee employee) {
+        Employee previous = employees.put(employee.getEmployeeId(), employee);
+        boolean renamed = previous != null
+                && (!Objects.equals(previous.getLastName(), employee.getLastName())
+                || !Objects.equals(previous.getFirstName(), employee.getFirstName()));
+        if (renamed) {
+            for (Employee subordinate : employeeDAO.getEmployeesBySupervisor(employee.getEmployeeId())) {
+                employees.put(subordinate.getEmployeeId(), subordinate);
+            }
+        }
+    }
+
+    /**
+     * One consistent version of the reference data
+     */
+    private static final class Snapshot {
+        final Map<Integer, Employee> employees;
+        final List<Employee> roster;
+        final Map<Integer, Position> positions;
+        final List<Position> positionList;
+        final LocalDateTime watermark;
+        final long checkedAtNanos;
+
+        Snapshot(Map<Integer, Employee> employees, List<Position> positionList, LocalDateTime watermark,
+                 long checkedAtNanos) {
+            List<Employee> roster = new ArrayList<>(employees.values());
+            roster.sort(NAME_ORDER);
+            Map<Integer, Position> positions = new HashMap<>();
+            for (Position position : positionList) {
+                positions.put(position.getPositionId(), position);
+            }
+
+            this.employees = Collections.unmodifiableMap(employees);
+            this.roster = Collections.unmodifiableList(roster);
+            this.positions = Collections.unmodifiableMap(positions);
+            this.positionList = Collections.unmodifiableList(new ArrayList<>(positionList));
+            this.watermark = watermark;
+            this.checkedAtNanos = checkedAtNanos;
+        }
+    }
+}
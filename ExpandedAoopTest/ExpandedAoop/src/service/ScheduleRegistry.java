@@ -0,0 +1,322 @@
+package service;
+
+import dao.DataChangeBus;
+import model.ContributionSchedule;
+import model.StatutorySchedule;
+import model.TaxSchedule;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Versioned contribution and tax schedules loaded from *.properties files in a directory.
+ * Each file declares the dates it is in force; a period uses the schedule in force on its last day,
+ * and the built-in tables cover any date no file does.
+ * <p>
+ * A reload parses and validates every file before swapping the whole set in with one volatile write,
+ * so lookups never block and a pay run that already resolved its schedule finishes on it.
+ * A file that fails to parse leaves the previous set in force. A schedule whose file did not change
+ * keeps its instance across reloads, so callers holding it can tell nothing changed for them.
+ */
+public class ScheduleRegistry {
+    private static final Logger LOGGER = Logger.getLogger(ScheduleRegistry.class.getName());
+
+    public static final String DIRECTORY_PROPERTY = "motorph.schedules.dir";
+
+    // Editors often save in several steps; reload once the directory has been quiet this long
+    private static final long RELOAD_QUIET_MILLIS = 250;
+
+    private static ScheduleRegistry instance;
+
+    private final Path directory;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private Thread watcher;
+
+    public ScheduleRegistry(Path directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Schedule directory cannot be null");
+        }
+        this.directory = directory;
+        reload();
+    }
+
+    /**
+     * Shared registry reading the directory named by motorph.schedules.dir, by default ./schedules
+     */
+    public static synchronized ScheduleRegistry getInstance() {
+        if (instance == null) {
+            instance = new ScheduleRegistry(Paths.get(System.getProperty(DIRECTORY_PROPERTY, "schedules")));
+        }
+        return instance;
+    }
+
+    /**
+     * Schedule in force on a date
+     */
+    public StatutorySchedule forDate(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        Map.Entry<LocalDate, StatutorySchedule> entry = snapshot.byStart.floorEntry(date);
+        if (entry != null && entry.getValue().isEffectiveOn(date)) {
+            return entry.getValue();
+        }
+        return StatutorySchedule.builtIn();
+    }
+
+    /**
+     * Schedule for a pay period: the one in force on the period's last day
+     */
+    public StatutorySchedule forPeriod(LocalDate periodStart, LocalDate periodEnd) {
+        return forDate(periodEnd != null ? periodEnd : periodStart);
+    }
+
+    /**
+     * Schedules loaded from files, ordered by effective date
+     */
+    public List<StatutorySchedule> getSchedules() {
+        return new ArrayList<>(snapshot.byStart.values());
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Re-read every schedule file and swap the new set in.
+     * Cached payroll for dates whose schedule changed is invalidated through the DataChangeBus.
+     *
+     * @return false if a file could not be loaded and the previous schedules were kept
+     */
+    public synchronized boolean reload() {
+        Snapshot previous = snapshot;
+        Snapshot loaded;
+        try {
+            loaded = load(previous);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Could not load schedules from " + directory + ", keeping the previous ones", e);
+            return false;
+        }
+
+        snapshot = loaded;
+
+        LocalDate changedFrom = earliestChange(previous, loaded);
+        if (changedFrom != null) {
+            LOGGER.info("Loaded " + loaded.byStart.size() + " schedule(s) from " + directory
+                    + "; changes take effect from " + changedFrom);
+            DataChangeBus.publish(new DataChangeBus.DataChange(DataChangeBus.Entity.SCHEDULE, null,
+                    changedFrom, LocalDate.MAX));
+        }
+        return true;
+    }
+
+    /**
+     * Reload automatically when files in the directory change
+     */
+    public synchronized void startWatching() {
+        if (watcher != null) {
+            return;
+        }
+        if (!Files.isDirectory(directory)) {
+            LOGGER.info("Schedule directory " + directory + " not found; using built-in schedules");
+            return;
+        }
+        WatchService watchService;
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not watch " + directory + " for schedule changes", e);
+            return;
+        }
+        watcher = new Thread(() -> watch(watchService), "schedule-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.interrupt();
+            watcher = null;
+        }
+    }
+
+    private void watch(WatchService watchService) {
+        try (watchService) {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                while (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                    key = watchService.poll(RELOAD_QUIET_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                reload();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | ClosedWatchServiceException e) {
+            LOGGER.log(Level.WARNING, "Stopped watching " + directory + " for schedule changes", e);
+        }
+    }
+
+    /**
+     * Parse every file; a schedule whose file is unchanged keeps its instance from {@code previous}
+     */
+    private Snapshot load(Snapshot previous) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Snapshot.EMPTY;
+        }
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.properties")) {
+            stream.forEach(files::add);
+        }
+        Collections.sort(files);
+
+        NavigableMap<LocalDate, StatutorySchedule> byStart = new TreeMap<>();
+        Map<LocalDate, Properties> contents = new TreeMap<>();
+        for (Path file : files) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            StatutorySchedule schedule = parse(properties, file.getFileName().toString());
+            if (properties.equals(previous.contents.get(schedule.getEffectiveFrom()))) {
+                schedule = previous.byStart.get(schedule.getEffectiveFrom());
+            }
+            StatutorySchedule clash = byStart.put(schedule.getEffectiveFrom(), schedule);
+            if (clash != null) {
+                throw new IllegalArgumentException("Schedules " + clash.getVersion() + " and " + schedule.getVersion()
+                        + " both take effect on " + schedule.getEffectiveFrom());
+            }
+            contents.put(schedule.getEffectiveFrom(), properties);
+        }
+
+        StatutorySchedule earlier = null;
+        for (StatutorySchedule schedule : byStart.values()) {
+            if (earlier != null && earlier.getEffectiveTo() != null) {
+                if (!earlier.getEffectiveTo().isBefore(schedule.getEffectiveFrom())) {
+                    throw new IllegalArgumentException("Schedule " + earlier.getVersion() + " overlaps "
+                            + schedule.getVersion());
+                }
+                if (earlier.getEffectiveTo().plusDays(1).isBefore(schedule.getEffectiveFrom())) {
+                    LOGGER.warning("No schedule file covers " + earlier.getEffectiveTo().plusDays(1) + " to "
+                            + schedule.getEffectiveFrom().minusDays(1) + "; built-in tables apply");
+                }
+            }
+            earlier = schedule;
+        }
+        return new Snapshot(Collections.unmodifiableNavigableMap(byStart), contents);
+    }
+
+    /**
+     * Earliest effective date whose schedule differs between two snapshots, or null if none does
+     */
+    private static LocalDate earliestChange(Snapshot before, Snapshot after) {
+        TreeSet<LocalDate> starts = new TreeSet<>(before.contents.keySet());
+        starts.addAll(after.contents.keySet());
+        for (LocalDate start : starts) {
+            Properties old = before.contents.get(start);
+            if (old == null || !old.equals(after.contents.get(start))) {
+                return start;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Build a schedule from one file's properties; {@code source} names the file in error messages
+     */
+    static StatutorySchedule parse(Properties properties, String source) {
+        try {
+            String effectiveTo = properties.getProperty("effectiveTo", "").trim();
+            return new StatutorySchedule(
+                    required(properties, "version"),
+                    LocalDate.parse(required(properties, "effectiveFrom")),
+                    effectiveTo.isEmpty() ? null : LocalDate.parse(effectiveTo),
+                    new ContributionSchedule(
+                            table(properties, "sss.brackets", 4),
+                            table(properties, "philhealth.brackets", 4),
+                            number(properties, "pagibig.lowRateCeiling"),
+                            number(properties, "pagibig.lowEmployeeRate"),
+                            number(properties, "pagibig.employeeRate"),
+                            number(properties, "pagibig.employerRate"),
+                            number(properties, "pagibig.maxContributorySalary")),
+                    new TaxSchedule(table(properties, "tax.brackets", 3)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException(source + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("missing " + key);
+        }
+        return value.trim();
+    }
+
+    private static double number(Properties properties, String key) {
+        return Double.parseDouble(required(properties, key));
+    }
+
+    /**
+     * Brackets separated by ';', values within a bracket by ','
+     */
+    private static double[][] table(Properties properties, String key, int columns) {
+        String[] rows = required(properties, key).split(";");
+        List<double[]> table = new ArrayList<>(rows.length);
+        for (String row : rows) {
+            if (row.trim().isEmpty()) {
+                continue;
+            }
+            String[] values = row.split(",");
+            if (values.length != columns) {
+                throw new IllegalArgumentException(key + " bracket '" + row.trim() + "' needs "
+                        + columns + " values");
+            }
+            double[] bracket = new double[columns];
+            for (int i = 0; i < columns; i++) {
+                bracket[i] = Double.parseDouble(values[i].trim());
+            }
+            table.add(bracket);
+        }
+        return table.toArray(new double[0][]);
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyNavigableMap(), Collections.emptyMap());
+
+        final NavigableMap<LocalDate, StatutorySchedule> byStart;
+        // Raw file contents per effective date, to tell which schedules a reload changed
+        final Map<LocalDate, Properties> contents;
+
+        Snapshot(NavigableMap<LocalDate, StatutorySchedule> byStart, Map<LocalDate, Properties> contents) {
+            this.byStart = byStart;
+            this.contents = contents;
+        }
+    }
+}
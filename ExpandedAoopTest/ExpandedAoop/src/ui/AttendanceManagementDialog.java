@@ -5,18 +5,25 @@ import dao.AttendanceDAO;
 import dao.EmployeeDAO;
 import model.Employee;
 import model.Attendance;
+import service.AttendanceImportService;
+import service.ReferenceDataCache;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.nio.file.Path;
 import java.sql.Date;
 import java.sql.Time;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Dialog for managing employee attendance records
@@ -26,6 +33,8 @@ public class AttendanceManagementDialog extends JDialog {
     private Employee currentUser;
     private AttendanceDAO attendanceDAO;
     private EmployeeDAO employeeDAO;
+    private ReferenceDataCache referenceData;
+    private AttendanceImportService importService;
 
     // UI Components
     private JTable attendanceTable;
@@ -39,8 +48,13 @@ public class AttendanceManagementDialog extends JDialog {
     private JButton deleteButton;
     private JButton refreshButton;
     private JButton clearButton;
+    private JButton importButton;
     private JLabel statusLabel;
 
+    // Background loads; reloading supersedes a load still in flight
+    private BackgroundTasks.Slot employeeLoads;
+    private BackgroundTasks.Slot recordLoads;
+
     // Form state
     private boolean isEditMode = false;
     private int editingAttendanceId = -1;
@@ -50,10 +64,21 @@ public class AttendanceManagementDialog extends JDialog {
         this.currentUser = currentUser;
         this.attendanceDAO = new AttendanceDAO();
         this.employeeDAO = new EmployeeDAO();
+        this.referenceData = ReferenceDataCache.getInstance();
+        this.importService = new AttendanceImportService(attendanceDAO, employeeDAO);
 
         initializeComponents();
         setupLayout();
         setupEventHandlers();
+
+        BackgroundTasks tasks = BackgroundTasks.getInstance();
+        employeeLoads = tasks.newSlot(BackgroundTasks.busyCursor(employeeComboBox));
+        recordLoads = tasks.newSlot(loading -> {
+            BackgroundTasks.busyCursor(attendanceTable).accept(loading);
+            if (loading) {
+                setStatus("Loading attendance records...");
+            }
+        });
         loadEmployees();
         loadAttendanceRecords();
         updateButtonStates();
@@ -143,6 +168,7 @@ public class AttendanceManagementDialog extends JDialog {
         deleteButton = createStyledButton("Delete", new Color(220, 20, 60), Color.WHITE);
         refreshButton = createStyledButton("Refresh", new Color(128, 128, 128), Color.WHITE);
         clearButton = createStyledButton("Clear Form", new Color(255, 140, 0), Color.WHITE);
+        importButton = createStyledButton("Import CSV", new Color(72, 61, 139), Color.WHITE);
 
         // Set button sizes
         Dimension buttonSize = new Dimension(100, 30);
@@ -151,6 +177,7 @@ public class AttendanceManagementDialog extends JDialog {
         deleteButton.setPreferredSize(buttonSize);
         refreshButton.setPreferredSize(buttonSize);
         clearButton.setPreferredSize(buttonSize);
+        importButton.setPreferredSize(buttonSize);
     }
 
     private JButton createStyledButton(String text, Color backgroundColor, Color foregroundColor) {
@@ -276,6 +303,7 @@ public class AttendanceManagementDialog extends JDialog {
         buttonPanel.add(Box.createHorizontalStrut(20));
         buttonPanel.add(clearButton);
         buttonPanel.add(refreshButton);
+        buttonPanel.add(importButton);
 
         return buttonPanel;
     }
@@ -293,10 +321,8 @@ public class AttendanceManagementDialog extends JDialog {
         addButton.addActionListener(e -> addAttendanceRecord());
         updateButton.addActionListener(e -> updateAttendanceRecord());
         deleteButton.addActionListener(e -> deleteAttendanceRecord());
-        refreshButton.addActionListener(e -> {
-            loadAttendanceRecords();
-            setStatus("Records refreshed");
-        });
+        refreshButton.addActionListener(e -> loadAttendanceRecords());
+        importButton.addActionListener(e -> importAttendance());
         clearButton.addActionListener(e -> clearForm());
 
         // Table selection listener
@@ -312,55 +338,114 @@ public class AttendanceManagementDialog extends JDialog {
     }
 
     private void loadEmployees() {
-        employeeComboBox.removeAllItems();
-        try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
+        employeeLoads.submit(null, task -> referenceData.getAllEmployees(), employees -> {
+            employeeComboBox.removeAllItems();
             for (Employee emp : employees) {
                 employeeComboBox.addItem(emp);
             }
             setStatus("Loaded " + employees.size() + " employees");
-        } catch (Exception e) {
-            showError("Error loading employees: " + e.getMessage());
-        }
+        }, e -> showError("Error loading employees: " + e.getMessage()));
     }
 
     private void loadAttendanceRecords() {
-        tableModel.setRowCount(0);
-
-        try {
+        recordLoads.submit(null, task -> {
             // Load recent attendance records (last 30 days)
             LocalDate endDate = LocalDate.now();
             LocalDate startDate = endDate.minusDays(30);
 
-            List<Employee> employees = employeeDAO.getAllEmployees();
-            int totalRecords = 0;
+            Map<Integer, String> names = new HashMap<>();
+            for (Employee emp : referenceData.getAllEmployees()) {
+                names.put(emp.getEmployeeId(), emp.getFullName());
+            }
 
-            for (Employee emp : employees) {
-                List<Attendance> records = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
-                        emp.getEmployeeId(), startDate, endDate);
-
-                for (Attendance attendance : records) {
-                    String status = determineAttendanceStatus(attendance);
-
-                    Object[] row = {
-                            attendance.getId(),
-                            emp.getFullName(),
-                            attendance.getDate(),
-                            attendance.getLogIn(),
-                            attendance.getLogOut(),
-                            String.format("%.2f", attendance.getWorkHours()),
-                            status
-                    };
-                    tableModel.addRow(row);
-                    totalRecords++;
-                }
+            // Every employee's records in one query rather than one per employee
+            List<Object[]> rows = new ArrayList<>();
+            attendanceDAO.forEachAttendanceBetweenDates(startDate, endDate, attendance -> {
+                String status = determineAttendanceStatus(attendance);
+
+                Object[] row = {
+                        attendance.getId(),
+                        names.getOrDefault(attendance.getEmployeeId(), "Employee #" + attendance.getEmployeeId()),
+                        attendance.getDate(),
+                        attendance.getLogIn(),
+                        attendance.getLogOut(),
+                        String.format("%.2f", attendance.getWorkHours()),
+                        status
+                };
+                rows.add(row);
+            });
+            return rows;
+        }, rows -> {
+            tableModel.setRowCount(0);
+            for (Object[] row : rows) {
+                tableModel.addRow(row);
             }
+            setStatus("Loaded " + rows.size() + " attendance records");
+        }, e -> showError("Error loading attendance records: " + e.getMessage()));
+    }
 
-            setStatus("Loaded " + totalRecords + " attendance records");
+    /**
+     * Import a timeclock or spreadsheet CSV export in the background
+     */
+    private void importAttendance() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import Attendance");
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV files (*.csv, *.txt)", "csv", "txt"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
 
-        } catch (Exception e) {
-            showError("Error loading attendance records: " + e.getMessage());
+        int choice = JOptionPane.showConfirmDialog(this,
+                "Replace attendance already recorded for the same employee and date?\n" +
+                        "Choose No to keep the recorded times and skip those lines.",
+                "Import Attendance", JOptionPane.YES_NO_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE);
+        if (choice != JOptionPane.YES_OPTION && choice != JOptionPane.NO_OPTION) {
+            return;
+        }
+        AttendanceImportService.DuplicatePolicy policy = choice == JOptionPane.YES_OPTION
+                ? AttendanceImportService.DuplicatePolicy.REPLACE : AttendanceImportService.DuplicatePolicy.SKIP;
+
+        Path file = chooser.getSelectedFile().toPath();
+        importButton.setEnabled(false);
+        setStatus("Importing " + file.getFileName() + "...");
+        BackgroundTasks.getInstance().submit(
+                task -> importService.importFile(file, policy, linesRead -> task.progress(linesRead, 0)),
+                result -> {
+                    importButton.setEnabled(true);
+                    showImportResult(result);
+                    loadAttendanceRecords();
+                },
+                e -> {
+                    importButton.setEnabled(true);
+                    showError("Error importing attendance: " + e.getMessage());
+                })
+                .onProgress((linesRead, total) -> setStatus("Importing " + file.getFileName() + "... " + linesRead + " lines read"));
+    }
+
+    private void showImportResult(AttendanceImportService.ImportResult result) {
+        StringBuilder message = new StringBuilder();
+        message.append("Imported: ").append(result.getImported()).append("\n");
+        message.append("Replaced: ").append(result.getReplaced()).append("\n");
+        message.append("Rejected: ").append(result.getRejectedCount()).append("\n");
+
+        List<AttendanceImportService.RejectedLine> rejected = result.getRejected();
+        int shown = Math.min(rejected.size(), 20);
+        if (shown > 0) {
+            message.append("\n");
+            for (int i = 0; i < shown; i++) {
+                message.append(rejected.get(i)).append("\n");
+            }
+            if (result.getRejectedCount() > shown) {
+                message.append("... and ").append(result.getRejectedCount() - shown).append(" more\n");
+            }
         }
+
+        setStatus("Imported " + (result.getImported() + result.getReplaced()) + " attendance records, rejected "
+                + result.getRejectedCount());
+        JTextArea text = new JTextArea(message.toString(), Math.min(shown + 5, 25), 60);
+        text.setEditable(false);
+        JOptionPane.showMessageDialog(this, new JScrollPane(text), "Import Complete",
+                result.getRejectedCount() > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
     }
 
     private String determineAttendanceStatus(Attendance attendance) {
@@ -0,0 +1,270 @@
+package ui;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import java.awt.Cursor;
+import java.util.Objects;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs blocking DAO and service calls on a small shared pool and hands the results back
+ * on the Event Dispatch Thread.
+ * <p>
+ * Each panel owns a {@link Slot} per kind of load (its table, its report). Submitting to a slot
+ * supersedes whatever it was running: a superseded task that has not started never runs, and
+ * the result of one already running is dropped. Submitting the same request again while it is
+ * still loading is coalesced into the running task. The slot reports when it starts and stops
+ * loading so the panel can show it.
+ * <p>
+ * Slots and tasks are created, submitted and cancelled on the EDT.
+ */
+public final class BackgroundTasks {
+    private static final Logger LOGGER = Logger.getLogger(BackgroundTasks.class.getName());
+
+    /**
+     * Worker threads in the shared pool; DAO calls each hold a pooled connection while they run
+     */
+    public static final int DEFAULT_THREADS = 4;
+
+    private static final BackgroundTasks INSTANCE = new BackgroundTasks(DEFAULT_THREADS);
+
+    private final ThreadPoolExecutor executor;
+
+    public BackgroundTasks(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "ui-task-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static BackgroundTasks getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Blocking work run off the EDT. It may poll {@link Task#isCancelled()} and report
+     * {@link Task#progress(int, int)}.
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T run(Task task) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        void progress(int completed, int total);
+    }
+
+    /**
+     * A slot for one panel's loads
+     *
+     * @param loadingListener told true when the slot starts loading and false when it is idle; may be null
+     */
+    public Slot newSlot(Consumer<Boolean> loadingListener) {
+        return new Slot(loadingListener);
+    }
+
+    /**
+     * Run a one-off task that nothing supersedes
+     */
+    public <T> Task submit(Work<T> work, Consumer<? super T> onSuccess, Consumer<? super Exception> onFailure) {
+        return newSlot(null).submit(null, work, onSuccess, onFailure);
+    }
+
+    /**
+     * Loading listener that shows the wait cursor over a component while its slot is loading
+     */
+    public static Consumer<Boolean> busyCursor(JComponent component) {
+        return loading -> component.setCursor(loading
+                ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+
+    private static void checkEventDispatchThread() {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            throw new IllegalStateException("Background tasks must be managed on the Event Dispatch Thread");
+        }
+    }
+
+    /**
+     * The latest load of one panel; a new submission supersedes the one before it
+     */
+    public final class Slot {
+        private final Consumer<Boolean> loadingListener;
+        private Task current;
+
+        private Slot(Consumer<Boolean> loadingListener) {
+            this.loadingListener = loadingListener;
+        }
+
+        /**
+         * Start loading, superseding the slot's current task.
+         * If the current task is still loading an equal, non-null request, it is returned instead
+         * and these callbacks are not used.
+         *
+         * @param request what is being loaded, e.g. the selected period; null never coalesces
+         * @param onFailure called with the exception the work threw; failures are logged when null
+         */
+        public <T> Task submit(Object request, Work<T> work, Consumer<? super T> onSuccess,
+                               Consumer<? super Exception> onFailure) {
+            checkEventDispatchThread();
+            Objects.requireNonNull(work, "work");
+
+            Task previous = current;
+            if (previous != null && request != null && request.equals(previous.request)) {
+                return previous;
+            }
+            if (previous != null) {
+                previous.cancel();
+            }
+
+            Task task = new Task(this, request, work, result -> {
+                if (onSuccess != null) {
+                    @SuppressWarnings("unchecked")
+                    T value = (T) result;
+                    onSuccess.accept(value);
+                }
+            }, onFailure);
+            current = task;
+            if (previous == null) {
+                loadingChanged(true);
+            }
+            task.future = executor.submit(task::execute);
+            return task;
+        }
+
+        /**
+         * Cancel the current task, if any, and go idle
+         */
+        public void cancel() {
+            checkEventDispatchThread();
+            if (current != null) {
+                current.cancel();
+                current = null;
+                loadingChanged(false);
+            }
+        }
+
+        public boolean isLoading() {
+            return current != null;
+        }
+
+        private void finished(Task task, Object result, Exception failure) {
+            if (task != current) {
+                return; // Superseded; the newer task owns the loading state
+            }
+            current = null;
+            loadingChanged(false);
+            if (task.isCancelled()) {
+                return;
+            }
+            if (failure == null) {
+                task.onSuccess.accept(result);
+            } else if (task.onFailure != null) {
+                task.onFailure.accept(failure);
+            } else {
+                LOGGER.log(Level.WARNING, "Background task failed", failure);
+            }
+        }
+
+        private void loadingChanged(boolean loading) {
+            if (loadingListener != null) {
+                loadingListener.accept(loading);
+            }
+        }
+    }
+
+    /**
+     * A submitted piece of work
+     */
+    public static final class Task {
+        private final Slot slot;
+        private final Object request;
+        private final Work<?> work;
+        private final Consumer<Object> onSuccess;
+        private final Consumer<? super Exception> onFailure;
+        private volatile boolean cancelled;
+        private volatile Future<?> future;
+
+        // Latest progress, delivered to the EDT at most once per pending repaint
+        private volatile ProgressListener progressListener;
+        private volatile int completed;
+        private volatile int total;
+        private final AtomicBoolean progressScheduled = new AtomicBoolean();
+
+        private Task(Slot slot, Object request, Work<?> work, Consumer<Object> onSuccess,
+                     Consumer<? super Exception> onFailure) {
+            this.slot = slot;
+            this.request = request;
+            this.work = work;
+            this.onSuccess = onSuccess;
+            this.onFailure = onFailure;
+        }
+
+        private void execute() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                Object result = work.run(this);
+                SwingUtilities.invokeLater(() -> slot.finished(this, result, null));
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(() -> slot.finished(this, null, e));
+            }
+        }
+
+        /**
+         * Stop the task. It is not interrupted if already running, since that would abort its
+         * JDBC call mid-statement, but its callbacks will not run.
+         */
+        public void cancel() {
+            cancelled = true;
+            Future<?> f = future;
+            if (f != null) {
+                f.cancel(false);
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Receive progress on the EDT; set it right after submitting
+         */
+        public Task onProgress(ProgressListener listener) {
+            this.progressListener = listener;
+            return this;
+        }
+
+        /**
+         * Report progress from the work. Updates are coalesced so a fast loop does not flood the EDT.
+         */
+        public void progress(int completed, int total) {
+            this.completed = completed;
+            this.total = total;
+            if (progressScheduled.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(() -> {
+                    progressScheduled.set(false);
+                    ProgressListener listener = progressListener;
+                    if (!cancelled && listener != null) {
+                        listener.progress(this.completed, this.total);
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package ui;
+
+import util.DBConnection;
+import util.Metrics;
+import util.QueryStatistics;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Live view of the application metrics (DAO calls, payroll stages, report timings), the
+ * statements ranked by total time and connection pool statistics, with export of the current
+ * snapshot to a text file.
+ */
+public class DiagnosticsDialog extends JDialog {
+    private static final int REFRESH_INTERVAL_MS = 2000;
+    private static final int TOP_QUERY_COUNT = 50;
+
+    private final MetricsTableModel tableModel = new MetricsTableModel();
+    private final JTextArea topQueriesArea = new JTextArea();
+    private final JLabel poolLabel = new JLabel();
+    private final Timer refreshTimer;
+
+    public DiagnosticsDialog(Frame parent) {
+        super(parent, "Diagnostics", false);
+
+        setupLayout();
+        refresh();
+
+        // Only refreshes while the dialog is open
+        refreshTimer = new Timer(REFRESH_INTERVAL_MS, e -> refresh());
+        refreshTimer.start();
+
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setSize(1000, 600);
+        setLocationRelativeTo(parent);
+    }
+
+    private void setupLayout() {
+        setLayout(new BorderLayout());
+
+        JTable table = new JTable(tableModel);
+        table.setAutoCreateRowSorter(true);
+        table.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        table.getColumnModel().getColumn(0).setPreferredWidth(360);
+
+        topQueriesArea.setEditable(false);
+        topQueriesArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Metrics", new JScrollPane(table));
+        tabs.addTab("Top Queries", new JScrollPane(topQueriesArea));
+        add(tabs, BorderLayout.CENTER);
+
+        poolLabel.setFont(new Font("Arial", Font.PLAIN, 11));
+        poolLabel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
+        add(poolLabel, BorderLayout.NORTH);
+
+        JButton refreshButton = new JButton("🔄 Refresh");
+        JButton resetButton = new JButton("Reset");
+        JButton exportButton = new JButton("📤 Export...");
+        JButton closeButton = new JButton("Close");
+
+        refreshButton.addActionListener(e -> refresh());
+        resetButton.addActionListener(e -> {
+            Metrics.reset();
+            QueryStatistics.reset();
+            refresh();
+        });
+        exportButton.addActionListener(e -> exportSnapshot());
+        closeButton.addActionListener(e -> dispose());
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttonPanel.add(refreshButton);
+        buttonPanel.add(resetButton);
+        buttonPanel.add(exportButton);
+        buttonPanel.add(closeButton);
+        add(buttonPanel, BorderLayout.SOUTH);
+    }
+
+    private void refresh() {
+        tableModel.setSnapshots(Metrics.snapshot());
+        int caret = topQueriesArea.getCaretPosition();
+        topQueriesArea.setText(QueryStatistics.report(TOP_QUERY_COUNT));
+        topQueriesArea.setCaretPosition(Math.min(caret, topQueriesArea.getDocument().getLength()));
+        poolLabel.setText("Connection pool: " + (DBConnection.isPoolStarted()
+                ? DBConnection.getPoolStats().toString() : "not started")
+                + "   |   Slow-query threshold: " + QueryStatistics.getSlowQueryThresholdMillis() + " ms"
+                + (Metrics.isEnabled() ? "" : "   (metrics recording is disabled)"));
+    }
+
+    private void exportSnapshot() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("motorph-metrics.txt"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        try {
+            Metrics.writeReport(file.toPath());
+            JOptionPane.showMessageDialog(this, "Metrics exported to:\n" + file.getAbsolutePath(),
+                    "Export Complete", JOptionPane.INFORMATION_MESSAGE);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Failed to export metrics: " + e.getMessage(),
+                    "Export Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        refreshTimer.stop();
+        super.dispose();
+    }
+
+    /**
+     * One row per metric; timer columns are milliseconds
+     */
+    private static final class MetricsTableModel extends AbstractTableModel {
+        private static final String[] COLUMNS = {"Name", "Type", "Count", "Total", "Mean", "p50", "p95", "p99", "Max"};
+
+        private List<Metrics.MetricSnapshot> snapshots = new ArrayList<>();
+
+        void setSnapshots(List<Metrics.MetricSnapshot> snapshots) {
+            this.snapshots = snapshots;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() { return snapshots.size(); }
+
+        @Override
+        public int getColumnCount() { return COLUMNS.length; }
+
+        @Override
+        public String getColumnName(int column) { return COLUMNS[column]; }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            switch (column) {
+                case 0:
+                case 1:
+                    return String.class;
+                case 2:
+                    return Long.class;
+                default:
+                    return Double.class;
+            }
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            Metrics.MetricSnapshot snapshot = snapshots.get(row);
+            switch (column) {
+                case 0: return snapshot.getName();
+                case 1: return snapshot.getType().name();
+                case 2: return snapshot.getCount();
+                case 3: return round(snapshot.getTotal());
+                case 4: return round(snapshot.getMean());
+                case 5: return round(snapshot.getP50());
+                case 6: return round(snapshot.getP95());
+                case 7: return round(snapshot.getP99());
+                default: return round(snapshot.getMax());
+            }
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000) / 1000.0;
+        }
+    }
+}
@@ -4,7 +4,9 @@ import dao.AttendanceDAO;
 import model.Employee;
 import model.Attendance;
 import model.Payroll;
+import model.RegularEmployee;
 import service.PayrollCalculator;
+import service.PayrollResultCache;
 import ui.PayrollDetailsDialog;
 import ui.LoginForm;
 import ui.LeaveRequestDialog;
@@ -37,7 +39,11 @@ public class EmployeeDashboard extends JFrame {
 
     // Services
     private AttendanceDAO attendanceDAO;
-    private PayrollCalculator payrollCalculator;
+    private PayrollResultCache payrollCache;
+
+    // Background loads, one slot per panel so a newer request supersedes an older one
+    private BackgroundTasks.Slot attendanceLoads;
+    private BackgroundTasks.Slot payrollLoads;
 
     public EmployeeDashboard(Employee user) {
         this.currentUser = user;
@@ -45,7 +51,7 @@ public class EmployeeDashboard extends JFrame {
         try {
             // Initialize DAOs and services
             this.attendanceDAO = new AttendanceDAO();
-            this.payrollCalculator = new PayrollCalculator();
+            this.payrollCache = PayrollResultCache.getInstance();
 
             // Initialize UI components
             initializeComponents();
@@ -420,7 +426,7 @@ public class EmployeeDashboard extends JFrame {
             LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
             LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
 
-            PayrollCalculator.PayrollData payrollData = payrollCalculator.calculatePayroll(currentUser.getEmployeeId(), periodStart, periodEnd);
+            PayrollCalculator.PayrollData payrollData = payrollCache.get(currentUser.getEmployeeId(), periodStart, periodEnd);
             
             // Convert PayrollData to Payroll for dialog
             Payroll payroll = new Payroll();
@@ -512,6 +518,10 @@ public class EmployeeDashboard extends JFrame {
     }
 
     private void setupEventHandlers() {
+        BackgroundTasks tasks = BackgroundTasks.getInstance();
+        attendanceLoads = tasks.newSlot(BackgroundTasks.busyCursor(attendanceTable));
+        payrollLoads = tasks.newSlot(BackgroundTasks.busyCursor(payrollTable));
+
         monthComboBox.addActionListener(e -> loadPayrollData());
         yearComboBox.addActionListener(e -> loadPayrollData());
     }
@@ -534,93 +544,91 @@ public class EmployeeDashboard extends JFrame {
     }
 
     private void loadAttendanceData() {
+        attendanceLoads.submit(null, task -> attendanceDAO.getAttendanceByEmployeeId(currentUser.getEmployeeId()),
+                this::showAttendance, e -> {
+                    JOptionPane.showMessageDialog(this, "Error loading attendance data: " + e.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                    e.printStackTrace();
+                });
+    }
+
+    private void showAttendance(List<Attendance> attendanceList) {
         attendanceTableModel.setRowCount(0);
 
-        try {
-            List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeId(currentUser.getEmployeeId());
-
-            double totalHours = 0;
-            int totalDays = attendanceList.size();
-
-            for (Attendance att : attendanceList) {
-                double workHours = att.getWorkHours();
-                totalHours += workHours;
-
-                String status = "Present";
-                if (att.isLate() && att.hasUndertime()) {
-                    status = "Late & Undertime";
-                } else if (att.isLate()) {
-                    status = "Late";
-                } else if (att.hasUndertime()) {
-                    status = "Undertime";
-                } else if (att.isFullDay()) {
-                    status = "Full Day";
-                }
-
-                Object[] row = {
-                        att.getDate(),
-                        att.getLogIn() != null ? att.getLogIn() : "N/A",
-                        att.getLogOut() != null ? att.getLogOut() : "N/A",
-                        String.format("%.2f hrs", workHours),
-                        status
-                };
-                attendanceTableModel.addRow(row);
+        double totalHours = 0;
+        int totalDays = attendanceList.size();
+
+        for (Attendance att : attendanceList) {
+            double workHours = att.getWorkHours();
+            totalHours += workHours;
+
+            String status = "Present";
+            if (att.isLate() && att.hasUndertime()) {
+                status = "Late & Undertime";
+            } else if (att.isLate()) {
+                status = "Late";
+            } else if (att.hasUndertime()) {
+                status = "Undertime";
+            } else if (att.isFullDay()) {
+                status = "Full Day";
             }
 
-            // Update summary labels
-            totalDaysLabel.setText("Total Days: " + totalDays);
-            if (totalDays > 0) {
-                double avgHours = totalHours / totalDays;
-                averageHoursLabel.setText(String.format("Average Hours: %.2f", avgHours));
-            } else {
-                averageHoursLabel.setText("Average Hours: 0.00");
-            }
+            Object[] row = {
+                    att.getDate(),
+                    att.getLogIn() != null ? att.getLogIn() : "N/A",
+                    att.getLogOut() != null ? att.getLogOut() : "N/A",
+                    String.format("%.2f hrs", workHours),
+                    status
+            };
+            attendanceTableModel.addRow(row);
+        }
 
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading attendance data: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+        // Update summary labels
+        totalDaysLabel.setText("Total Days: " + totalDays);
+        if (totalDays > 0) {
+            double avgHours = totalHours / totalDays;
+            averageHoursLabel.setText(String.format("Average Hours: %.2f", avgHours));
+        } else {
+            averageHoursLabel.setText("Average Hours: 0.00");
         }
     }
 
     private void loadPayrollData() {
-        payrollTableModel.setRowCount(0);
-
-        try {
-            // Get selected period
-            int selectedMonth = monthComboBox.getSelectedIndex() + 1;
-            int selectedYear = Integer.parseInt((String) yearComboBox.getSelectedItem());
-
-            LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
-            LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
-
-            PayrollCalculator.PayrollData payrollData = payrollCalculator.calculatePayroll(currentUser.getEmployeeId(), periodStart, periodEnd);
-
-            Object[] row = {
-                    periodStart.format(DateTimeFormatter.ofPattern("MMM yyyy")),
-                    payrollData.getDaysWorked(),
-                    String.format("₱%.2f", payrollData.getGrossPay()),
-                    String.format("₱%.2f", payrollData.getTotalDeductions()),
-                    String.format("₱%.2f", payrollData.getNetPay()),
-                    "View Payslip"
-            };
-            payrollTableModel.addRow(row);
-
-        } catch (Exception e) {
-            Object[] row = {
-                    "Error calculating payroll",
-                    "Error",
-                    "Error",
-                    "Error",
-                    "Error",
-                    "View Error"
-            };
-            payrollTableModel.addRow(row);
-
-            JOptionPane.showMessageDialog(this, "Error loading payroll data: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+        // Get selected period
+        int selectedMonth = monthComboBox.getSelectedIndex() + 1;
+        int selectedYear = Integer.parseInt((String) yearComboBox.getSelectedItem());
+
+        LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
+        LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
+
+        payrollLoads.submit(periodStart, task -> payrollCache.get(currentUser.getEmployeeId(), periodStart, periodEnd),
+                payrollData -> {
+                    payrollTableModel.setRowCount(0);
+                    Object[] row = {
+                            periodStart.format(DateTimeFormatter.ofPattern("MMM yyyy")),
+                            payrollData.getDaysWorked(),
+                            String.format("₱%.2f", payrollData.getGrossPay()),
+                            String.format("₱%.2f", payrollData.getTotalDeductions()),
+                            String.format("₱%.2f", payrollData.getNetPay()),
+                            "View Payslip"
+                    };
+                    payrollTableModel.addRow(row);
+                }, e -> {
+                    payrollTableModel.setRowCount(0);
+                    Object[] row = {
+                            "Error calculating payroll",
+                            "Error",
+                            "Error",
+                            "Error",
+                            "Error",
+                            "View Error"
+                    };
+                    payrollTableModel.addRow(row);
+
+                    JOptionPane.showMessageDialog(this, "Error loading payroll data: " + e.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                    e.printStackTrace();
+                });
     }
 
     private void calculatePayroll() {
@@ -631,7 +639,7 @@ public class EmployeeDashboard extends JFrame {
             LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
             LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
 
-            PayrollCalculator.PayrollData payrollData = payrollCalculator.calculatePayroll(currentUser.getEmployeeId(), periodStart, periodEnd);
+            PayrollCalculator.PayrollData payrollData = payrollCache.get(currentUser.getEmployeeId(), periodStart, periodEnd);
             
             // Convert to Payroll object for dialog
             Payroll payroll = new Payroll();
@@ -676,7 +684,7 @@ public class EmployeeDashboard extends JFrame {
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
             // Create a dummy user for testing
-            Employee testUser = new Employee();
+            Employee testUser = new RegularEmployee();
             testUser.setEmployeeId(10001);
             testUser.setFirstName("Test");
             testUser.setLastName("Employee");
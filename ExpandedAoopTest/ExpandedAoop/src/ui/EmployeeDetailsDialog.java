@@ -3,6 +3,7 @@ package ui;
 import dao.EmployeeDAO;
 import dao.CredentialsDAO;
 import model.Employee;
+import model.RegularEmployee;
 import ui.PasswordChangeDialog;
 
 import javax.swing.*;
@@ -47,7 +48,7 @@ public class EmployeeDetailsDialog extends JDialog {
 
     public EmployeeDetailsDialog(Frame parent, Employee employee, boolean isNewEmployee) {
         super(parent, isNewEmployee ? "Add New Employee" : "Employee Details", true);
-        this.employee = employee != null ? employee : new Employee();
+        this.employee = employee != null ? employee : new RegularEmployee();
         this.isNewEmployee = isNewEmployee;
         this.isEditMode = isNewEmployee;
         this.employeeDAO = new EmployeeDAO();
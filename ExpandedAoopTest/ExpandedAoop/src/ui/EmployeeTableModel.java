@@ -0,0 +1,477 @@
+package ui;
+
+import dao.EmployeeDAO;
+import model.Employee;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Employee list for the HR dashboard, loaded a page at a time with keyset queries.
+ * <p>
+ * A page is fetched on a background thread the first time one of its rows is painted, and
+ * the page after it is prefetched. Only the most recently painted pages are kept; the keys
+ * where pages start are remembered, so an evicted page is reloaded with a single query.
+ * Sorting and searching are done by the query, so the table must use {@link QuerySorter}
+ * rather than a TableRowSorter, which would read every row to sort them in memory.
+ * <p>
+ * Search results already held in memory can be shown instead with {@link #showEmployees};
+ * they are sorted in place and no pages are fetched until the next reload.
+ * <p>
+ * Apart from the loader thread, every method must be called on the Event Dispatch Thread.
+ */
+public class EmployeeTableModel extends AbstractTableModel {
+    private static final Logger LOGGER = Logger.getLogger(EmployeeTableModel.class.getName());
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int DEFAULT_MAX_PAGES = 5;
+
+    public static final int ACTIONS_COLUMN = 6;
+
+    private static final String[] COLUMNS = {"ID", "Name", "Position", "Status", "Basic Salary", "Phone", "Actions"};
+    private static final String LOADING = "Loading...";
+
+    private final EmployeeDAO employeeDAO;
+    private final int pageSize;
+    private final Consumer<RuntimeException> errorHandler;
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "employee-table-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Loaded pages by index, least recently painted first
+    private final Map<Integer, List<Employee>> pages;
+    // pageKeys.get(i) is the key page i starts after; null for the first page
+    private final List<EmployeeDAO.PageKey> pageKeys = new ArrayList<>();
+    // Pages being fetched, and pages whose fetch failed (retried on the next reload)
+    private final Set<Integer> pending = new HashSet<>();
+
+    private EmployeeDAO.SortKey sortKey = EmployeeDAO.SortKey.ID;
+    private boolean ascending = true;
+    private String searchTerm;
+    private int rowCount;
+    // Employees shown by showEmployees, in display order; null while paging from the database
+    private List<Employee> results;
+    // Bumped on every reload so results of superseded queries are dropped
+    private int generation;
+
+    public EmployeeTableModel(EmployeeDAO employeeDAO, Consumer<RuntimeException> errorHandler) {
+        this(employeeDAO, errorHandler, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES);
+    }
+
+    public EmployeeTableModel(EmployeeDAO employeeDAO, Consumer<RuntimeException> errorHandler,
+                              int pageSize, int maxPages) {
+        if (employeeDAO == null) {
+            throw new IllegalArgumentException("EmployeeDAO cannot be null");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        // A screenful can straddle two pages, plus the one being prefetched
+        if (maxPages < 3) {
+            throw new IllegalArgumentException("At least 3 pages must be kept");
+        }
+        this.employeeDAO = employeeDAO;
+        this.errorHandler = errorHandler;
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<Integer, List<Employee>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Employee>> eldest) {
+                return size() > maxPages;
+            }
+        };
+    }
+
+    /**
+     * Drop every loaded page and load the row count and the first page again
+     *
+     * @param onLoaded receives the row count once it is known; may be null
+     */
+    public void reload(IntConsumer onLoaded) {
+        int loadGeneration = ++generation;
+        results = null;
+        pages.clear();
+        pageKeys.clear();
+        pageKeys.add(null);
+        pending.clear();
+        pending.add(0);
+
+        String term = searchTerm;
+        EmployeeDAO.SortKey key = sortKey;
+        boolean asc = ascending;
+        loader.execute(() -> {
+            try {
+                int count = employeeDAO.countEmployees(term);
+                EmployeeDAO.EmployeePage first = employeeDAO.getEmployeePage(term, key, asc, null, pageSize);
+                SwingUtilities.invokeLater(() -> {
+                    if (loadGeneration != generation) {
+                        return;
+                    }
+                    rowCount = count;
+                    pagesLoaded(0, List.of(first));
+                    fireTableDataChanged();
+                    if (onLoaded != null) {
+                        onLoaded.accept(rowCount);
+                    }
+                });
+            } catch (RuntimeException e) {
+                loadFailed(loadGeneration, e);
+            }
+        });
+    }
+
+    /**
+     * Show only employees matching the term, or everyone when it is null or blank
+     */
+    public void setSearchTerm(String searchTerm, IntConsumer onLoaded) {
+        this.searchTerm = searchTerm == null || searchTerm.trim().isEmpty() ? null : searchTerm.trim();
+        reload(onLoaded);
+    }
+
+    public void setSort(EmployeeDAO.SortKey sortKey, boolean ascending) {
+        if (sortKey == null) {
+            throw new IllegalArgumentException("Sort key cannot be null");
+        }
+        if (sortKey == this.sortKey && ascending == this.ascending) {
+            return;
+        }
+        this.sortKey = sortKey;
+        this.ascending = ascending;
+        if (results != null) {
+            results.sort(comparator(sortKey, ascending));
+            fireTableDataChanged();
+        } else {
+            reload(null);
+        }
+    }
+
+    /**
+     * Show a list of employees already in memory, such as search index results,
+     * in the current sort order instead of paging from the database
+     *
+     * @param onLoaded receives the row count; may be null
+     */
+    public void showEmployees(List<Employee> employees, IntConsumer onLoaded) {
+        if (employees == null) {
+            throw new IllegalArgumentException("Employees cannot be null");
+        }
+        // Drop any page load still in flight
+        generation++;
+        pages.clear();
+        pageKeys.clear();
+        pending.clear();
+
+        results = new ArrayList<>(employees);
+        results.sort(comparator(sortKey, ascending));
+        rowCount = results.size();
+        fireTableDataChanged();
+        if (onLoaded != null) {
+            onLoaded.accept(rowCount);
+        }
+    }
+
+    /**
+     * The employee shown in a row, or null if its page is not loaded
+     */
+    public Employee getEmployeeAt(int row) {
+        if (results != null) {
+            return row < results.size() ? results.get(row) : null;
+        }
+        List<Employee> page = pages.get(row / pageSize);
+        int index = row % pageSize;
+        return page != null && index < page.size() ? page.get(index) : null;
+    }
+
+    /**
+     * Sort order for a column, or null if the column cannot be sorted
+     */
+    static EmployeeDAO.SortKey sortKeyForColumn(int column) {
+        switch (column) {
+            case 0:
+                return EmployeeDAO.SortKey.ID;
+            case 1:
+                return EmployeeDAO.SortKey.NAME;
+            case 2:
+                return EmployeeDAO.SortKey.POSITION;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * In-memory equivalent of the ORDER BY the query uses for a sort key
+     */
+    static Comparator<Employee> comparator(EmployeeDAO.SortKey sortKey, boolean ascending) {
+        Comparator<String> text = Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER);
+        Comparator<Employee> byName = Comparator.comparing(Employee::getLastName, text)
+                .thenComparing(Employee::getFirstName, text);
+        Comparator<Employee> order;
+        switch (sortKey) {
+            case NAME:
+                order = byName;
+                break;
+            case POSITION:
+                order = Comparator.comparing(Employee::getPosition, text).thenComparing(byName);
+                break;
+            default:
+                order = (a, b) -> 0;
+                break;
+        }
+        order = order.thenComparingInt(Employee::getEmployeeId);
+        return ascending ? order : order.reversed();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return columnIndex == 0 ? Integer.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Employee emp = getEmployeeAt(row);
+        if (results == null) {
+            int pageIndex = row / pageSize;
+            if ((pageIndex + 1) * pageSize < rowCount) {
+                requestPage(pageIndex + 1);
+            }
+            if (emp == null) {
+                requestPage(pageIndex);
+                return column == 0 ? null : LOADING;
+            }
+        }
+
+        switch (column) {
+            case 0:
+                return emp.getEmployeeId();
+            case 1:
+                return emp.getFullName();
+            case 2:
+                return emp.getPosition();
+            case 3:
+                return emp.getStatus();
+            case 4:
+                return String.format("₱%.2f", emp.getBasicSalary());
+            case 5:
+                return emp.getPhoneNumber() != null ? emp.getPhoneNumber() : "N/A";
+            default:
+                return "Actions";
+        }
+    }
+
+    /**
+     * Fetch a page unless it is loaded or on its way. A page whose start key is not known yet
+     * is reached by walking forward from the last known key.
+     */
+    private void requestPage(int pageIndex) {
+        if (pages.containsKey(pageIndex) || pending.contains(pageIndex)) {
+            return;
+        }
+        int from = Math.min(pageIndex, pageKeys.size() - 1);
+        for (int i = from; i <= pageIndex; i++) {
+            // The walk already in flight will record the keys; the repaint after it retries
+            if (pending.contains(i)) {
+                return;
+            }
+        }
+        for (int i = from; i <= pageIndex; i++) {
+            pending.add(i);
+        }
+
+        int loadGeneration = generation;
+        String term = searchTerm;
+        EmployeeDAO.SortKey key = sortKey;
+        boolean asc = ascending;
+        EmployeeDAO.PageKey start = pageKeys.get(from);
+        loader.execute(() -> {
+            try {
+                List<EmployeeDAO.EmployeePage> fetched = new ArrayList<>();
+                EmployeeDAO.PageKey after = start;
+                for (int i = from; i <= pageIndex; i++) {
+                    EmployeeDAO.EmployeePage page = employeeDAO.getEmployeePage(term, key, asc, after, pageSize);
+                    fetched.add(page);
+                    if (!page.hasMore()) {
+                        break;
+                    }
+                    after = page.getNextKey();
+                }
+                SwingUtilities.invokeLater(() -> {
+                    if (loadGeneration != generation) {
+                        return;
+                    }
+                    for (int i = from; i <= pageIndex; i++) {
+                        pending.remove(i);
+                    }
+                    pagesLoaded(from, fetched);
+                    // Repaint rather than fireTableDataChanged, which would clear the selection
+                    if (rowCount > 0) {
+                        fireTableChanged(new TableModelEvent(this, 0, rowCount - 1));
+                    }
+                });
+            } catch (RuntimeException e) {
+                loadFailed(loadGeneration, e);
+            }
+        });
+    }
+
+    private void pagesLoaded(int firstIndex, List<EmployeeDAO.EmployeePage> fetched) {
+        for (int i = 0; i < fetched.size(); i++) {
+            int pageIndex = firstIndex + i;
+            EmployeeDAO.EmployeePage page = fetched.get(i);
+            pages.put(pageIndex, page.getEmployees());
+            pending.remove(pageIndex);
+            if (page.hasMore()) {
+                if (pageKeys.size() == pageIndex + 1) {
+                    pageKeys.add(page.getNextKey());
+                }
+            } else if (rowCount != pageIndex * pageSize + page.getEmployees().size()) {
+                // Employees were added or removed since the count; trust the last page
+                rowCount = pageIndex * pageSize + page.getEmployees().size();
+                fireTableDataChanged();
+            }
+        }
+    }
+
+    private void loadFailed(int loadGeneration, RuntimeException e) {
+        LOGGER.log(Level.WARNING, "Failed to load employee page", e);
+        SwingUtilities.invokeLater(() -> {
+            // Failed pages stay pending so scrolling does not retry them in a loop
+            if (loadGeneration == generation && errorHandler != null) {
+                errorHandler.accept(e);
+            }
+        });
+    }
+
+    /**
+     * Row sorter for {@link EmployeeTableModel} that hands sorting to the query.
+     * Rows are already in sorted order, so view and model indexes are the same.
+     */
+    public static class QuerySorter extends RowSorter<EmployeeTableModel> {
+        private final EmployeeTableModel model;
+        private List<SortKey> sortKeys = List.of(new SortKey(0, SortOrder.ASCENDING));
+
+        public QuerySorter(EmployeeTableModel model) {
+            this.model = model;
+        }
+
+        @Override
+        public EmployeeTableModel getModel() {
+            return model;
+        }
+
+        @Override
+        public void toggleSortOrder(int column) {
+            if (sortKeyForColumn(column) == null) {
+                return;
+            }
+            SortKey current = sortKeys.isEmpty() ? null : sortKeys.get(0);
+            SortOrder order = current != null && current.getColumn() == column
+                    && current.getSortOrder() == SortOrder.ASCENDING ? SortOrder.DESCENDING : SortOrder.ASCENDING;
+            setSortKeys(List.of(new SortKey(column, order)));
+        }
+
+        /**
+         * Only the first key is used; columns that cannot be sorted are ignored
+         */
+        @Override
+        public void setSortKeys(List<? extends SortKey> keys) {
+            if (keys == null || keys.isEmpty()) {
+                return;
+            }
+            SortKey key = keys.get(0);
+            EmployeeDAO.SortKey sortKey = sortKeyForColumn(key.getColumn());
+            if (sortKey == null || key.getSortOrder() == SortOrder.UNSORTED || List.of(key).equals(sortKeys)) {
+                return;
+            }
+            sortKeys = List.of(key);
+            fireSortOrderChanged();
+            model.setSort(sortKey, key.getSortOrder() == SortOrder.ASCENDING);
+        }
+
+        @Override
+        public List<? extends SortKey> getSortKeys() {
+            return Collections.unmodifiableList(sortKeys);
+        }
+
+        @Override
+        public int convertRowIndexToModel(int index) {
+            return index;
+        }
+
+        @Override
+        public int convertRowIndexToView(int index) {
+            return index;
+        }
+
+        @Override
+        public int getViewRowCount() {
+            return model.getRowCount();
+        }
+
+        @Override
+        public int getModelRowCount() {
+            return model.getRowCount();
+        }
+
+        @Override
+        public void modelStructureChanged() {
+        }
+
+        @Override
+        public void allRowsChanged() {
+        }
+
+        @Override
+        public void rowsInserted(int firstRow, int endRow) {
+        }
+
+        @Override
+        public void rowsDeleted(int firstRow, int endRow) {
+        }
+
+        @Override
+        public void rowsUpdated(int firstRow, int endRow) {
+        }
+
+        @Override
+        public void rowsUpdated(int firstRow, int endRow, int column) {
+        }
+    }
+}
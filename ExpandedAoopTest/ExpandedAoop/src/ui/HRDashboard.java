@@ -2,10 +2,16 @@ package ui;
 
 import dao.EmployeeDAO;
 import dao.AttendanceDAO;
+import dao.PayrollDAO;
 import model.Employee;
 import model.Attendance;
 import model.Payroll;
+import model.RegularEmployee;
 import service.PayrollCalculator;
+import service.PayRunExecutor;
+import service.PayrollResultCache;
+import service.EmployeeSearchIndex;
+import service.ReferenceDataCache;
 import ui.LoginForm;
 import ui.EmployeeDetailsDialog;
 import ui.PasswordChangeDialog;
@@ -15,29 +21,35 @@ import ui.ReportsDialog;
 import ui.PayrollDetailsDialog;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Comparator;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class HRDashboard extends JFrame {
+    private static final Logger LOGGER = Logger.getLogger(HRDashboard.class.getName());
+
     private Employee currentUser;
     private JTabbedPane tabbedPane;
 
     // Employee Management Tab
     private JTable employeeTable;
-    private DefaultTableModel employeeTableModel;
-    private TableRowSorter<DefaultTableModel> tableSorter;
+    private EmployeeTableModel employeeTableModel;
+    private EmployeeTableModel.QuerySorter tableSorter;
     private JTextField searchField;
     private JComboBox<String> sortOrderComboBox;
     private JButton sortButton;
-    private boolean isAscendingSort = true;
 
     // Payroll Tab
     private JTable payrollTable;
@@ -53,7 +65,21 @@ public class HRDashboard extends JFrame {
     // Services
     private EmployeeDAO employeeDAO;
     private AttendanceDAO attendanceDAO;
+    private PayrollDAO payrollDAO;
     private PayrollCalculator payrollCalculator;
+    private PayRunExecutor payRunExecutor;
+    private PayrollResultCache payrollCache;
+    private EmployeeSearchIndex searchIndex;
+    private ReferenceDataCache referenceData;
+
+    // Pause in typing after which the search field is applied
+    private static final int SEARCH_DEBOUNCE_MS = 200;
+    private Timer searchDebounce;
+
+    // Background loads, one slot per panel so a newer request supersedes an older one
+    private BackgroundTasks.Slot employeeComboLoads;
+    private BackgroundTasks.Slot payrollLoads;
+    private BackgroundTasks.Slot attendanceLoads;
 
     public HRDashboard(Employee user) {
         this.currentUser = user;
@@ -62,7 +88,15 @@ public class HRDashboard extends JFrame {
             // Initialize DAOs and services
             this.employeeDAO = new EmployeeDAO();
             this.attendanceDAO = new AttendanceDAO();
+            this.payrollDAO = new PayrollDAO();
             this.payrollCalculator = new PayrollCalculator();
+            this.payRunExecutor = new PayRunExecutor(payrollCalculator, employeeDAO,
+                    PayRunExecutor.Mode.FORK_JOIN, 0, PayRunExecutor.DEFAULT_CHUNK_SIZE);
+            this.payrollCache = PayrollResultCache.getInstance();
+            this.searchIndex = EmployeeSearchIndex.getInstance();
+            searchIndex.warmUp();
+            // Roster for the employee combo box and payroll table, loaded once for both
+            this.referenceData = ReferenceDataCache.getInstance();
 
             // Initialize UI components
             initializeComponents();
@@ -161,38 +195,19 @@ public class HRDashboard extends JFrame {
     private void initializeComponents() {
         tabbedPane = new JTabbedPane();
 
-        // Initialize Employee Management components with Actions column
-        String[] employeeColumns = {"ID", "Name", "Position", "Status", "Basic Salary", "Phone", "Actions"};
-        employeeTableModel = new DefaultTableModel(employeeColumns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make all cells non-editable
-            }
-
-            @Override
-            public Class<?> getColumnClass(int columnIndex) {
-                // Return Integer for ID column to enable proper numeric sorting
-                if (columnIndex == 0) {
-                    return Integer.class;
-                }
-                return String.class;
-            }
-        };
+        // Employee Management table pages rows in from the database as they are scrolled into view
+        employeeTableModel = new EmployeeTableModel(employeeDAO, e -> {
+            JOptionPane.showMessageDialog(this, "Error loading employee data: " + e.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            showStatus("Error loading employee data");
+        });
 
         employeeTable = new JTable(employeeTableModel);
 
-        // Initialize table sorter with custom comparator for ID column
-        tableSorter = new TableRowSorter<>(employeeTableModel);
+        // Sorting is pushed down into the query's ORDER BY
+        tableSorter = new EmployeeTableModel.QuerySorter(employeeTableModel);
         employeeTable.setRowSorter(tableSorter);
 
-        // Set custom comparator for ID column (column 0) to ensure proper numeric sorting
-        tableSorter.setComparator(0, new Comparator<Integer>() {
-            @Override
-            public int compare(Integer o1, Integer o2) {
-                return Integer.compare(o1, o2);
-            }
-        });
-
         searchField = new JTextField(20);
 
         // Enhanced: Add sort order combo box
@@ -217,6 +232,11 @@ public class HRDashboard extends JFrame {
 
         // Setup custom renderers for action buttons
         setupActionRenderers();
+
+        BackgroundTasks tasks = BackgroundTasks.getInstance();
+        employeeComboLoads = tasks.newSlot(BackgroundTasks.busyCursor(employeeComboBox));
+        payrollLoads = tasks.newSlot(BackgroundTasks.busyCursor(payrollTable));
+        attendanceLoads = tasks.newSlot(BackgroundTasks.busyCursor(attendanceTable));
     }
 
     private void initializeOtherComponents() {
@@ -254,7 +274,7 @@ public class HRDashboard extends JFrame {
 
     private void setupActionRenderers() {
         // Employee table action column renderer
-        employeeTable.getColumnModel().getColumn(6).setCellRenderer(new ActionButtonRenderer());
+        employeeTable.getColumnModel().getColumn(EmployeeTableModel.ACTIONS_COLUMN).setCellRenderer(new ActionButtonRenderer());
 
         // Payroll table action column renderer
         payrollTable.getColumnModel().getColumn(7).setCellRenderer(new ActionButtonRenderer());
@@ -315,6 +335,13 @@ public class HRDashboard extends JFrame {
         logoutButton.setFont(new Font("Arial", Font.BOLD, 12));
         logoutButton.addActionListener(e -> logout());
 
+        JButton diagnosticsButton = new JButton("Diagnostics");
+        diagnosticsButton.setBackground(Color.WHITE);
+        diagnosticsButton.setForeground(new Color(25, 25, 112));
+        diagnosticsButton.setFont(new Font("Arial", Font.BOLD, 12));
+        diagnosticsButton.addActionListener(e -> new DiagnosticsDialog(this).setVisible(true));
+
+        buttonPanel.add(diagnosticsButton);
         buttonPanel.add(logoutButton);
 
         headerPanel.add(titleLabel, BorderLayout.WEST);
@@ -648,7 +675,24 @@ public class HRDashboard extends JFrame {
     }
 
     private void setupEventHandlers() {
-        // Search field enter key
+        // Search as the user types, once typing pauses; Enter searches immediately
+        searchDebounce = new Timer(SEARCH_DEBOUNCE_MS, e -> searchEmployees());
+        searchDebounce.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchDebounce.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchDebounce.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
         searchField.addActionListener(e -> searchEmployees());
 
         // Enhanced: Sort button and combo box handlers
@@ -694,11 +738,9 @@ public class HRDashboard extends JFrame {
             public void mouseClicked(MouseEvent e) {
                 int column = employeeTable.columnAtPoint(e.getPoint());
                 if (column == 0) { // ID column
-                    // Toggle between ascending and descending for ID column
-                    isAscendingSort = !isAscendingSort;
-                    String sortType = isAscendingSort ? "ID: Ascending" : "ID: Descending";
-                    sortOrderComboBox.setSelectedItem(sortType);
-                    applySorting();
+                    // The sorter has already toggled the order; keep the sort selector in step
+                    boolean ascending = tableSorter.getSortKeys().get(0).getSortOrder() == SortOrder.ASCENDING;
+                    sortOrderComboBox.setSelectedItem(ascending ? "ID: Ascending" : "ID: Descending");
                 }
             }
         });
@@ -707,9 +749,10 @@ public class HRDashboard extends JFrame {
     private void handleEmployeeAction(int row, MouseEvent e) {
         // Convert view row to model row due to sorting
         int modelRow = employeeTable.convertRowIndexToModel(row);
-        int employeeId = (Integer) employeeTableModel.getValueAt(modelRow, 0);
+        Employee listed = employeeTableModel.getEmployeeAt(modelRow);
+        if (listed == null) return; // Row still loading
 
-        Employee employee = employeeDAO.getEmployeeById(employeeId);
+        Employee employee = employeeDAO.getEmployeeById(listed.getEmployeeId());
 
         if (employee == null) return;
 
@@ -847,107 +890,101 @@ public class HRDashboard extends JFrame {
     }
 
     private void loadEmployeeData() {
-        employeeTableModel.setRowCount(0);
-
-        try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
-
-            for (Employee emp : employees) {
-                Object[] row = {
-                        emp.getEmployeeId(), // This will be treated as Integer for proper sorting
-                        emp.getFullName(),
-                        emp.getPosition(),
-                        emp.getStatus(),
-                        String.format("₱%.2f", emp.getBasicSalary()),
-                        emp.getPhoneNumber() != null ? emp.getPhoneNumber() : "N/A",
-                        "Actions" // This will be rendered as a button
-                };
-                employeeTableModel.addRow(row);
-            }
-
-            // Update status after loading
-            showStatus("Loaded " + employees.size() + " employees");
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading employee data: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-            showStatus("Error loading employee data");
-        }
+        // Loads the count and first page in the background; later pages load as they are scrolled to
+        employeeTableModel.setSearchTerm(null, count -> showStatus("Loaded " + count + " employees"));
     }
 
     private void loadEmployeeComboBox() {
-        employeeComboBox.removeAllItems();
-
-        try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
+        employeeComboLoads.submit(null, task -> referenceData.getAllEmployees(), employees -> {
+            employeeComboBox.removeAllItems();
             for (Employee emp : employees) {
                 employeeComboBox.addItem(emp);
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        }, e -> LOGGER.log(Level.WARNING, "Error loading employee list", e));
     }
 
-    private void loadPayrollData() {
-        payrollTableModel.setRowCount(0);
+    /**
+     * Payroll rows for every employee in a period, computed off the EDT
+     */
+    private static class PayrollRows {
+        private final List<Employee> employees;
+        private final Map<Integer, PayrollCalculator.PayrollData> payrollByEmployee;
 
-        try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
+        PayrollRows(List<Employee> employees, Map<Integer, PayrollCalculator.PayrollData> payrollByEmployee) {
+            this.employees = employees;
+            this.payrollByEmployee = payrollByEmployee;
+        }
+    }
 
-            // Get selected period
-            int selectedMonth = monthComboBox.getSelectedIndex() + 1;
-            int selectedYear = Integer.parseInt((String) yearComboBox.getSelectedItem());
+    private void loadPayrollData() {
+        // Get selected period
+        int selectedMonth = monthComboBox.getSelectedIndex() + 1;
+        int selectedYear = Integer.parseInt((String) yearComboBox.getSelectedItem());
 
-            LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
-            LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
+        LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
+        LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
 
+        payrollLoads.submit(periodStart, task -> {
+            List<Employee> employees = referenceData.getAllEmployees();
+            List<Integer> employeeIds = new ArrayList<>(employees.size());
             for (Employee emp : employees) {
-                try {
-                    PayrollCalculator.PayrollData payrollData = payrollCalculator.calculatePayroll(emp.getEmployeeId(), periodStart, periodEnd);
-
-                    Object[] row = {
-                            emp.getEmployeeId(),
-                            emp.getFullName(),
-                            periodStart.format(DateTimeFormatter.ofPattern("MMM yyyy")),
-                            payrollData.getDaysWorked(),
-                            String.format("₱%.2f", payrollData.getGrossPay()),
-                            String.format("₱%.2f", payrollData.getTotalDeductions()),
-                            String.format("₱%.2f", payrollData.getNetPay()),
-                            "View Payslip" // This will be rendered as a button
-                    };
-                    payrollTableModel.addRow(row);
-                } catch (Exception e) {
-                    // Add row with error status
-                    Object[] row = {
-                            emp.getEmployeeId(),
-                            emp.getFullName(),
-                            periodStart.format(DateTimeFormatter.ofPattern("MMM yyyy")),
-                            "Error",
-                            "Error",
-                            "Error",
-                            "Error",
-                            "View Error"
-                    };
-                    payrollTableModel.addRow(row);
-                }
+                employeeIds.add(emp.getEmployeeId());
             }
-        } catch (Exception e) {
+            return new PayrollRows(employees, payrollCache.getAll(periodStart, periodEnd, employeeIds));
+        }, rows -> showPayrollRows(periodStart, rows), e -> {
+            payrollTableModel.setRowCount(0);
+            LOGGER.log(Level.SEVERE, "Error loading payroll data", e);
             JOptionPane.showMessageDialog(this, "Error loading payroll data: " + e.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+        });
+    }
+
+    private void showPayrollRows(LocalDate periodStart, PayrollRows rows) {
+        payrollTableModel.setRowCount(0);
+        String period = periodStart.format(DateTimeFormatter.ofPattern("MMM yyyy"));
+
+        for (Employee emp : rows.employees) {
+            PayrollCalculator.PayrollData payrollData = rows.payrollByEmployee.get(emp.getEmployeeId());
+            if (payrollData != null) {
+                Object[] row = {
+                        emp.getEmployeeId(),
+                        emp.getFullName(),
+                        period,
+                        payrollData.getDaysWorked(),
+                        String.format("₱%.2f", payrollData.getGrossPay()),
+                        String.format("₱%.2f", payrollData.getTotalDeductions()),
+                        String.format("₱%.2f", payrollData.getNetPay()),
+                        "View Payslip" // This will be rendered as a button
+                };
+                payrollTableModel.addRow(row);
+            } else {
+                // Add row with error status
+                Object[] row = {
+                        emp.getEmployeeId(),
+                        emp.getFullName(),
+                        period,
+                        "Error",
+                        "Error",
+                        "Error",
+                        "Error",
+                        "View Error"
+                };
+                payrollTableModel.addRow(row);
+            }
         }
     }
 
     private void loadAttendanceData() {
-        attendanceTableModel.setRowCount(0);
-
         Employee selectedEmployee = (Employee) employeeComboBox.getSelectedItem();
-        if (selectedEmployee == null) return;
-
-        try {
-            List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeId(selectedEmployee.getEmployeeId());
+        if (selectedEmployee == null) {
+            attendanceLoads.cancel();
+            attendanceTableModel.setRowCount(0);
+            return;
+        }
 
+        int employeeId = selectedEmployee.getEmployeeId();
+        attendanceLoads.submit(employeeId, task -> attendanceDAO.getAttendanceByEmployeeId(employeeId), attendanceList -> {
+            attendanceTableModel.setRowCount(0);
             for (Attendance att : attendanceList) {
                 Object[] row = {
                         att.getDate(),
@@ -960,14 +997,18 @@ public class HRDashboard extends JFrame {
                 };
                 attendanceTableModel.addRow(row);
             }
-        } catch (Exception e) {
+        }, e -> {
+            attendanceTableModel.setRowCount(0);
+            LOGGER.log(Level.SEVERE, "Error loading attendance data", e);
             JOptionPane.showMessageDialog(this, "Error loading attendance data: " + e.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+        });
     }
 
     private void searchEmployees() {
+        if (searchDebounce != null) {
+            searchDebounce.stop();
+        }
         String searchTerm = searchField.getText().trim();
         if (searchTerm.isEmpty()) {
             loadEmployeeData();
@@ -975,31 +1016,12 @@ public class HRDashboard extends JFrame {
             return;
         }
 
-        employeeTableModel.setRowCount(0);
-
-        try {
-            List<Employee> employees = employeeDAO.searchEmployees(searchTerm);
-
-            for (Employee emp : employees) {
-                Object[] row = {
-                        emp.getEmployeeId(),
-                        emp.getFullName(),
-                        emp.getPosition(),
-                        emp.getStatus(),
-                        String.format("₱%.2f", emp.getBasicSalary()),
-                        emp.getPhoneNumber() != null ? emp.getPhoneNumber() : "N/A",
-                        "Actions"
-                };
-                employeeTableModel.addRow(row);
-            }
-
-            showStatus("Found " + employees.size() + " employees matching '" + searchTerm + "'");
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error searching employees: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-            showStatus("Error searching employees");
+        IntConsumer onFound = count -> showStatus("Found " + count + " employees matching '" + searchTerm + "'");
+        if (searchIndex.isReady()) {
+            employeeTableModel.showEmployees(searchIndex.search(searchTerm), onFound);
+        } else {
+            // Index still loading; let the database answer
+            employeeTableModel.setSearchTerm(searchTerm, onFound);
         }
     }
 
@@ -1021,8 +1043,13 @@ public class HRDashboard extends JFrame {
                 "Confirm Calculation", JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
+            int selectedMonth = monthComboBox.getSelectedIndex() + 1;
+            int selectedYear = Integer.parseInt((String) yearComboBox.getSelectedItem());
+            LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
+            LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
+
             // Show progress dialog
-            JProgressBar progressBar = new JProgressBar(0, employeeTableModel.getRowCount());
+            JProgressBar progressBar = new JProgressBar(0, Math.max(1, employeeTableModel.getRowCount()));
             progressBar.setStringPainted(true);
 
             JDialog progressDialog = new JDialog(this, "Calculating Payrolls", true);
@@ -1031,41 +1058,46 @@ public class HRDashboard extends JFrame {
             progressDialog.setSize(400, 100);
             progressDialog.setLocationRelativeTo(this);
 
-            SwingWorker<Void, Integer> worker = new SwingWorker<Void, Integer>() {
-                @Override
-                protected Void doInBackground() throws Exception {
-                    List<Employee> employees = employeeDAO.getAllEmployees();
-
-                    for (int i = 0; i < employees.size(); i++) {
-                        // Simulate calculation time
-                        Thread.sleep(100);
-                        publish(i + 1);
-                    }
-                    return null;
-                }
-
-                @Override
-                protected void process(java.util.List<Integer> chunks) {
-                    int latest = chunks.get(chunks.size() - 1);
-                    progressBar.setValue(latest);
-                    progressBar.setString(latest + " / " + employeeTableModel.getRowCount() + " completed");
-                }
+            BackgroundTasks.getInstance().submit(
+                    task -> payRunExecutor.run(periodStart, periodEnd,
+                            (employeeId, success, completed, total) -> task.progress(completed, total)),
+                    summary -> {
+                        progressDialog.dispose();
+                        loadPayrollData();
+                        int save = JOptionPane.showConfirmDialog(HRDashboard.this,
+                                summary.toReport() + "\nSave " + summary.getSucceededCount() + " payroll records for this period?",
+                                summary.hasFailures() ? "Completed with Errors" : "Success",
+                                JOptionPane.YES_NO_OPTION,
+                                summary.hasFailures() ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+                        if (save == JOptionPane.YES_OPTION) {
+                            savePayRun(summary);
+                        }
+                    },
+                    e -> {
+                        progressDialog.dispose();
+                        JOptionPane.showMessageDialog(HRDashboard.this,
+                                "Error calculating payrolls: " + e.getMessage(),
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                    })
+                    .onProgress((completed, total) -> {
+                        progressBar.setMaximum(total);
+                        progressBar.setValue(completed);
+                        progressBar.setString(completed + " / " + total + " completed");
+                    });
 
-                @Override
-                protected void done() {
-                    progressDialog.dispose();
-                    loadPayrollData();
-                    JOptionPane.showMessageDialog(HRDashboard.this,
-                            "Payroll calculation completed for all employees!",
-                            "Success", JOptionPane.INFORMATION_MESSAGE);
-                }
-            };
-
-            worker.execute();
             progressDialog.setVisible(true);
         }
     }
 
+    private void savePayRun(PayRunExecutor.PayRunSummary summary) {
+        BackgroundTasks.getInstance().submit(
+                task -> payrollDAO.savePayrollBatch(summary.toPayrolls()),
+                saved -> showStatus("Saved " + saved + " payroll records"),
+                e -> JOptionPane.showMessageDialog(HRDashboard.this,
+                        "Error saving payroll records: " + e.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE));
+    }
+
     private void exportPayrollData() {
         try {
             ReportsDialog dialog = new ReportsDialog(this, currentUser);
@@ -1086,7 +1118,7 @@ public class HRDashboard extends JFrame {
             LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
             LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
 
-            PayrollCalculator.PayrollData payrollData = payrollCalculator.calculatePayroll(employeeId, periodStart, periodEnd);
+            PayrollCalculator.PayrollData payrollData = payrollCache.get(employeeId, periodStart, periodEnd);
             
             // Convert to Payroll object for dialog
             Payroll payroll = new Payroll();
@@ -1152,7 +1184,7 @@ public class HRDashboard extends JFrame {
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
             // Create a dummy user for testing
-            Employee testUser = new Employee();
+            Employee testUser = new RegularEmployee();
             testUser.setEmployeeId(10001);
             testUser.setFirstName("Test");
             testUser.setLastName("User");
@@ -10,7 +10,12 @@ import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class LeaveManagementDialog extends JDialog {
     private Employee currentUser;
@@ -25,6 +30,9 @@ public class LeaveManagementDialog extends JDialog {
     private JButton refreshButton;
     private JButton closeButton;
 
+    // Changing the filter supersedes a load still in flight
+    private BackgroundTasks.Slot requestLoads;
+
     public LeaveManagementDialog(Frame parent, Employee currentUser) {
         super(parent, "Leave Request Management", true);
         this.currentUser = currentUser;
@@ -34,6 +42,7 @@ public class LeaveManagementDialog extends JDialog {
         initializeComponents();
         setupLayout();
         setupEventHandlers();
+        requestLoads = BackgroundTasks.getInstance().newSlot(BackgroundTasks.busyCursor(leaveRequestTable));
         loadLeaveRequests();
 
         setSize(800, 600);
@@ -136,10 +145,9 @@ public class LeaveManagementDialog extends JDialog {
     }
 
     private void loadLeaveRequests() {
-        tableModel.setRowCount(0);
+        String selectedStatus = (String) statusFilter.getSelectedItem();
 
-        try {
-            String selectedStatus = (String) statusFilter.getSelectedItem();
+        requestLoads.submit(null, task -> {
             List<LeaveRequest> requests;
 
             if ("All".equals(selectedStatus)) {
@@ -151,13 +159,21 @@ public class LeaveManagementDialog extends JDialog {
                 requests = leaveRequestDAO.getLeaveRequestsByStatus(selectedStatus);
             }
 
+            // Look up every requester's name in one query
+            Set<Integer> employeeIds = new LinkedHashSet<>();
             for (LeaveRequest request : requests) {
-                Employee emp = employeeDAO.getEmployeeById(request.getEmployeeId());
-                String employeeName = emp != null ? emp.getFullName() : "Unknown";
+                employeeIds.add(request.getEmployeeId());
+            }
+            Map<Integer, String> names = new HashMap<>();
+            for (Employee emp : employeeDAO.getEmployeesByIds(employeeIds)) {
+                names.put(emp.getEmployeeId(), emp.getFullName());
+            }
 
+            List<Object[]> rows = new ArrayList<>(requests.size());
+            for (LeaveRequest request : requests) {
                 Object[] row = {
                         request.getLeaveId(),
-                        employeeName,
+                        names.getOrDefault(request.getEmployeeId(), "Unknown"),
                         request.getLeaveType(),
                         request.getStartDate(),
                         request.getEndDate(),
@@ -165,15 +181,21 @@ public class LeaveManagementDialog extends JDialog {
                         request.getStatus(),
                         "N/A" // You might want to add created_at to the model
                 };
+                rows.add(row);
+            }
+            return rows;
+        }, rows -> {
+            tableModel.setRowCount(0);
+            for (Object[] row : rows) {
                 tableModel.addRow(row);
             }
-
-        } catch (Exception e) {
+        }, e -> {
+            tableModel.setRowCount(0);
             JOptionPane.showMessageDialog(this,
                     "Error loading leave requests: " + e.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
             e.printStackTrace();
-        }
+        });
     }
 
     private void updateLeaveStatus(String newStatus) {
@@ -203,18 +225,25 @@ public class LeaveManagementDialog extends JDialog {
                     "Confirm Action", JOptionPane.YES_NO_OPTION);
 
             if (confirm == JOptionPane.YES_OPTION) {
-                boolean updated = leaveRequestDAO.updateLeaveStatus(leaveId, newStatus);
-
-                if (updated) {
-                    JOptionPane.showMessageDialog(this,
-                            "Leave request " + actionText + "d successfully!",
-                            "Success", JOptionPane.INFORMATION_MESSAGE);
-                    loadLeaveRequests(); // Refresh the table
-                } else {
-                    JOptionPane.showMessageDialog(this,
-                            "Failed to update leave request status.",
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                BackgroundTasks.getInstance().submit(task -> leaveRequestDAO.updateLeaveStatus(leaveId, newStatus),
+                        updated -> {
+                            if (updated) {
+                                JOptionPane.showMessageDialog(this,
+                                        "Leave request " + actionText + "d successfully!",
+                                        "Success", JOptionPane.INFORMATION_MESSAGE);
+                                loadLeaveRequests(); // Refresh the table
+                            } else {
+                                JOptionPane.showMessageDialog(this,
+                                        "Failed to update leave request status.",
+                                        "Error", JOptionPane.ERROR_MESSAGE);
+                            }
+                        },
+                        e -> {
+                            JOptionPane.showMessageDialog(this,
+                                    "Error updating leave request: " + e.getMessage(),
+                                    "Error", JOptionPane.ERROR_MESSAGE);
+                            e.printStackTrace();
+                        });
             }
 
         } catch (Exception e) {
@@ -3,6 +3,7 @@ package ui;
 import dao.LeaveRequestDAO;
 import model.Employee;
 import model.LeaveRequest;
+import service.LeaveIntervalIndex;
 
 import javax.swing.*;
 import java.awt.*;
@@ -14,6 +15,7 @@ import java.time.LocalDate;
 public class LeaveRequestDialog extends JDialog {
     private Employee employee;
     private LeaveRequestDAO leaveRequestDAO;
+    private LeaveIntervalIndex leaveIndex;
 
     private JComboBox<String> leaveTypeComboBox;
     private JSpinner startDateSpinner;
@@ -26,6 +28,7 @@ public class LeaveRequestDialog extends JDialog {
         super(parent, "Submit Leave Request", true);
         this.employee = employee;
         this.leaveRequestDAO = new LeaveRequestDAO();
+        this.leaveIndex = LeaveIntervalIndex.getInstance();
 
         initializeComponents();
         setupLayout();
@@ -269,10 +272,10 @@ public class LeaveRequestDialog extends JDialog {
 
             // Check for overlapping leave requests
             try {
-                if (leaveRequestDAO.hasOverlappingLeave(employee.getEmployeeId(),
+                if (leaveIndex.hasOverlappingLeave(employee.getEmployeeId(),
                         startDate.toLocalDate(), endDate.toLocalDate(), null)) {
                     JOptionPane.showMessageDialog(this,
-                            "You already have an approved leave request for this period.\n" +
+                            "You already have an approved or pending leave request for this period.\n" +
                                     "Please choose different dates or check your existing leave requests.",
                             "Overlapping Leave", JOptionPane.WARNING_MESSAGE);
                     return;
@@ -28,8 +28,16 @@ public class LoginForm extends JFrame {
     private JCheckBox showPasswordCheckBox;
     private JLabel connectionStatusLabel;
 
+    // Authentication; the login button is disabled while it runs
+    private BackgroundTasks.Slot loginTasks;
+
     public LoginForm() {
         initializeComponents();
+        loginTasks = BackgroundTasks.getInstance().newSlot(loading -> {
+            loginButton.setEnabled(!loading);
+            loginButton.setText(loading ? "Logging in..." : "Login");
+            setCursor(loading ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+        });
         setupLayout();
         setupEventHandlers();
         checkDatabaseConnection();
@@ -263,33 +271,21 @@ public class LoginForm extends JFrame {
     }
 
     private void checkDatabaseConnection() {
-        SwingWorker<Boolean, Void> connectionChecker = new SwingWorker<Boolean, Void>() {
-            @Override
-            protected Boolean doInBackground() throws Exception {
-                return DBConnection.testConnection();
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    boolean connected = get();
-                    if (connected) {
-                        connectionStatusLabel.setText("🟢 Database Connected");
-                        connectionStatusLabel.setForeground(new Color(0, 128, 0));
-                        LOGGER.info("Database connection verified successfully");
-                    } else {
-                        connectionStatusLabel.setText("🔴 Database Connection Failed");
-                        connectionStatusLabel.setForeground(Color.RED);
-                        LOGGER.warning("Database connection failed during startup");
-                    }
-                } catch (Exception e) {
-                    connectionStatusLabel.setText("🔴 Database Error");
-                    connectionStatusLabel.setForeground(Color.RED);
-                    LOGGER.log(Level.SEVERE, "Database connection check failed", e);
-                }
+        BackgroundTasks.getInstance().submit(task -> DBConnection.testConnection(), connected -> {
+            if (connected) {
+                connectionStatusLabel.setText("🟢 Database Connected");
+                connectionStatusLabel.setForeground(new Color(0, 128, 0));
+                LOGGER.info("Database connection verified successfully");
+            } else {
+                connectionStatusLabel.setText("🔴 Database Connection Failed");
+                connectionStatusLabel.setForeground(Color.RED);
+                LOGGER.warning("Database connection failed during startup");
             }
-        };
-        connectionChecker.execute();
+        }, e -> {
+            connectionStatusLabel.setText("🔴 Database Error");
+            connectionStatusLabel.setForeground(Color.RED);
+            LOGGER.log(Level.SEVERE, "Database connection check failed", e);
+        });
     }
 
     private void performLogin() {
@@ -331,48 +327,17 @@ public class LoginForm extends JFrame {
             return;
         }
 
-        // Disable login button during authentication
-        loginButton.setEnabled(false);
-        loginButton.setText("Logging in...");
-
-        // Show loading cursor
-        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
-
-        // Perform authentication in background thread
-        SwingWorker<LoginResult, Void> authWorker = new SwingWorker<LoginResult, Void>() {
-            @Override
-            protected LoginResult doInBackground() throws Exception {
-                return performAuthentication(employeeId, password);
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    LoginResult result = get();
-
-                    // Reset UI state
-                    loginButton.setEnabled(true);
-                    loginButton.setText("Login");
-                    setCursor(Cursor.getDefaultCursor());
-
-                    if (result.isSuccess()) {
-                        handleSuccessfulLogin(result.getEmployee());
-                    } else {
-                        handleFailedLogin(result.getErrorMessage());
-                    }
-                } catch (Exception e) {
-                    // Reset UI state
-                    loginButton.setEnabled(true);
-                    loginButton.setText("Login");
-                    setCursor(Cursor.getDefaultCursor());
-
-                    showStatus("❌ Login error: " + e.getMessage(), Color.RED);
-                    LOGGER.log(Level.SEVERE, "Login process failed", e);
-                }
+        // Perform authentication in background thread; the button and cursor show it is running
+        loginTasks.submit(null, task -> performAuthentication(employeeId, password), result -> {
+            if (result.isSuccess()) {
+                handleSuccessfulLogin(result.getEmployee());
+            } else {
+                handleFailedLogin(result.getErrorMessage());
             }
-        };
-
-        authWorker.execute();
+        }, e -> {
+            showStatus("❌ Login error: " + e.getMessage(), Color.RED);
+            LOGGER.log(Level.SEVERE, "Login process failed", e);
+        });
     }
 
     private LoginResult performAuthentication(int employeeId, String password) {
@@ -1,5 +1,7 @@
 package ui;
 
+import service.JasperPayslipService;
+import service.ScheduleRegistry;
 import util.DBConnection;
 import ui.LoginForm;
 import javax.swing.*;
@@ -22,6 +24,12 @@ public class MainApplication {
             System.out.println("Could not set system look and feel, using default");
         }
 
+        // Compile report templates in the background so the first payslip is not delayed
+        JasperPayslipService.warmUp();
+
+        // Pick up contribution and tax schedule changes without a restart
+        ScheduleRegistry.getInstance().startWatching();
+
         // Test database connection first
         SwingUtilities.invokeLater(() -> {
             showSplashScreen();
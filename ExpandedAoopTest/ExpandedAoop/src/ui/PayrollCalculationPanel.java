@@ -11,7 +11,6 @@ import javax.swing.border.TitledBorder;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.sql.SQLException;
 import java.text.DecimalFormat;
 
 public class PayrollCalculationPanel extends JPanel {
@@ -174,7 +173,8 @@ public class PayrollCalculationPanel extends JPanel {
             
         } catch (NumberFormatException e) {
             showErrorMessage("Please enter valid numeric values.");
-        } catch (SQLException e) {
+        } catch (RuntimeException e) {
+            // DAOs wrap SQLException in RuntimeException
             showErrorMessage("Database error: " + e.getMessage());
         } catch (Exception e) {
             showErrorMessage("Unexpected error: " + e.getMessage());
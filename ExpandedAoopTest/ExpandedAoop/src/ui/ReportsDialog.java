@@ -4,9 +4,8 @@ import dao.EmployeeDAO;
 import dao.PayrollDAO;
 import dao.AttendanceDAO;
 import model.Employee;
-import model.Payroll;
-import model.Attendance;
 import service.PayrollCalculator;
+import service.ReferenceDataCache;
 
 import javax.swing.*;
 import java.awt.*;
@@ -14,15 +13,25 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.PrintWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 public class ReportsDialog extends JDialog {
+    // Records shown by the attendance history preview; exports write them all
+    private static final int ATTENDANCE_HISTORY_PREVIEW_ROWS = 50;
+
     private Employee currentUser;
     private EmployeeDAO employeeDAO;
+    private ReferenceDataCache referenceData;
     private PayrollDAO payrollDAO;
     private AttendanceDAO attendanceDAO;
     private PayrollCalculator payrollCalculator;
@@ -42,10 +51,14 @@ public class ReportsDialog extends JDialog {
     private JCheckBox includeJobInfoCheckBox;
     private JCheckBox includeCompensationCheckBox;
 
+    // Report generation; the Generate button is disabled while one is running
+    private BackgroundTasks.Slot reportTasks;
+
     public ReportsDialog(Frame parent, Employee currentUser) {
         super(parent, "Generate Reports", true);
         this.currentUser = currentUser;
         this.employeeDAO = new EmployeeDAO();
+        this.referenceData = ReferenceDataCache.getInstance();
         this.payrollDAO = new PayrollDAO();
         this.attendanceDAO = new AttendanceDAO();
         this.payrollCalculator = new PayrollCalculator();
@@ -54,6 +67,12 @@ public class ReportsDialog extends JDialog {
         setupLayout();
         setupEventHandlers();
 
+        reportTasks = BackgroundTasks.getInstance().newSlot(loading -> {
+            BackgroundTasks.busyCursor(previewArea).accept(loading);
+            generateButton.setEnabled(!loading);
+            generateButton.setText(loading ? "Generating..." : "Generate Report");
+        });
+
         setSize(700, 650);
         setLocationRelativeTo(parent);
     }
@@ -64,6 +83,7 @@ public class ReportsDialog extends JDialog {
                 "Monthly Payroll Report",
                 "Employee Directory Report",
                 "Attendance Summary Report",
+                "Attendance History Report",
                 "Government Contributions Report"
         };
         reportTypeComboBox = new JComboBox<>(reportTypes);
@@ -187,12 +207,13 @@ public class ReportsDialog extends JDialog {
         reportTypeComboBox.addActionListener(e -> {
             String selectedType = (String) reportTypeComboBox.getSelectedItem();
             boolean isEmployeeDirectory = "Employee Directory Report".equals(selectedType);
+            boolean isAttendanceHistory = "Attendance History Report".equals(selectedType);
 
             // Show/hide directory options
             directoryOptionsPanel.setVisible(isEmployeeDirectory);
 
             // Show/hide month/year selectors for reports that don't need them
-            monthComboBox.setEnabled(!isEmployeeDirectory);
+            monthComboBox.setEnabled(!isEmployeeDirectory && !isAttendanceHistory);
             yearComboBox.setEnabled(!isEmployeeDirectory);
 
             revalidate();
@@ -215,50 +236,63 @@ public class ReportsDialog extends JDialog {
     }
 
     private void generateReport() {
-        try {
-            generateButton.setEnabled(false);
-            generateButton.setText("Generating...");
-
-            String reportType = (String) reportTypeComboBox.getSelectedItem();
-            String format = (String) formatComboBox.getSelectedItem();
-
-            switch (reportType) {
-                case "Monthly Payroll Report":
-                    generatePayrollReport(format);
-                    break;
-                case "Employee Directory Report":
-                    generateEmployeeDirectoryReport(format);
-                    break;
-                case "Government Contributions Report":
-                    generateGovernmentContributionsReport(format);
-                    break;
-                case "Attendance Summary Report":
-                    generateAttendanceReport(format);
-                    break;
-                default:
-                    JOptionPane.showMessageDialog(this, "Selected report type not yet implemented.",
-                            "Feature Coming Soon", JOptionPane.INFORMATION_MESSAGE);
-                    return;
+        String reportType = (String) reportTypeComboBox.getSelectedItem();
+        String format = (String) formatComboBox.getSelectedItem();
+
+        int selectedMonth = monthComboBox.getSelectedIndex() + 1;
+        int selectedYear = Integer.parseInt((String) yearComboBox.getSelectedItem());
+        LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
+        LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
+        String periodSuffix = "_" + selectedMonth + "_" + selectedYear;
+
+        // Queries and payroll math run in the background; preview and export happen back on the EDT
+        switch (reportType) {
+            case "Monthly Payroll Report":
+                generateTextReport(() -> buildPayrollReport(periodStart, periodEnd),
+                        "Payroll_Report" + periodSuffix, format);
+                break;
+            case "Employee Directory Report":
+                generateEmployeeDirectoryReport(format);
+                break;
+            case "Government Contributions Report":
+                generateTextReport(() -> buildGovernmentContributionsReport(periodStart, periodEnd),
+                        "Government_Contributions" + periodSuffix, format);
+                break;
+            case "Attendance Summary Report":
+                generateTextReport(() -> buildAttendanceReport(periodStart, periodEnd),
+                        "Attendance_Summary" + periodSuffix, format);
+                break;
+            case "Attendance History Report":
+                // The whole selected year, streamed row by row
+                generateAttendanceHistoryReport(selectedYear, format);
+                break;
+            default:
+                JOptionPane.showMessageDialog(this, "Selected report type not yet implemented.",
+                        "Feature Coming Soon", JOptionPane.INFORMATION_MESSAGE);
+        }
+    }
+
+    private void generateTextReport(Callable<String> builder, String baseFileName, String format) {
+        reportTasks.submit(null, task -> builder.call(), report -> {
+            if ("Preview Only".equals(format)) {
+                previewArea.setText(report);
+            } else {
+                exportTextReport(report, baseFileName, format);
             }
+        }, this::showReportError);
+    }
 
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error generating report: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        } finally {
-            generateButton.setEnabled(true);
-            generateButton.setText("Generate Report");
-        }
+    private void showReportError(Exception e) {
+        JOptionPane.showMessageDialog(this, "Error generating report: " + e.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE);
+        e.printStackTrace();
     }
 
-    private void generatePayrollReport(String format) {
+    private String buildPayrollReport(LocalDate periodStart, LocalDate periodEnd) {
         try {
-            int selectedMonth = monthComboBox.getSelectedIndex() + 1;
-            int selectedYear = Integer.parseInt((String) yearComboBox.getSelectedItem());
-            LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
-            LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
-
-            List<Employee> employees = employeeDAO.getAllEmployees();
+            List<Employee> employees = referenceData.getAllEmployees();
+            Map<Integer, PayrollCalculator.PayrollData> payrollByEmployee =
+                    payrollCalculator.calculatePayrollForPeriod(periodStart, periodEnd);
             StringBuilder report = new StringBuilder();
 
             // Build payroll report
@@ -276,7 +310,7 @@ public class ReportsDialog extends JDialog {
 
             for (Employee emp : employees) {
                 try {
-                    Payroll payroll = payrollCalculator.calculatePayroll(emp.getEmployeeId(), periodStart, periodEnd);
+                    PayrollCalculator.PayrollData payroll = requirePayroll(payrollByEmployee, emp);
 
                     double grossPay = payroll.getGrossPay();
                     double deductions = payroll.getTotalDeductions();
@@ -290,8 +324,8 @@ public class ReportsDialog extends JDialog {
                     if (name.length() > 25) name = name.substring(0, 22) + "...";
 
                     report.append(String.format("%-6d %-25s ₱%-11.2f ₱%-11.2f ₱%-11.2f ₱%-11.2f%n",
-                            emp.getEmployeeId(), name, payroll.getGrossEarnings(),
-                            payroll.getRiceSubsidy() + payroll.getPhoneAllowance() + payroll.getClothingAllowance(),
+                            emp.getEmployeeId(), name, payroll.getBasicPay(),
+                            payroll.getTotalAllowances(),
                             deductions, netPay));
                 } catch (Exception e) {
                     report.append(String.format("%-6d %-25s %-12s %-12s %-12s %-12s%n",
@@ -303,20 +337,32 @@ public class ReportsDialog extends JDialog {
             report.append(String.format("%-31s ₱%-11.2f ₱%-11.2f ₱%-11.2f ₱%-11.2f%n",
                     "TOTALS:", totalGross - totalDeductions, 0.0, totalDeductions, totalNet));
 
-            if ("Preview Only".equals(format)) {
-                previewArea.setText(report.toString());
-            } else {
-                exportTextReport(report.toString(), "Payroll_Report_" + selectedMonth + "_" + selectedYear, format);
-            }
+            return report.toString();
 
         } catch (Exception e) {
             throw new RuntimeException("Error generating payroll report: " + e.getMessage(), e);
         }
     }
 
+    private PayrollCalculator.PayrollData requirePayroll(Map<Integer, PayrollCalculator.PayrollData> payrollByEmployee,
+                                                         Employee emp) throws PayrollCalculator.PayrollCalculationException {
+        PayrollCalculator.PayrollData payroll = payrollByEmployee.get(emp.getEmployeeId());
+        if (payroll == null) {
+            throw new PayrollCalculator.PayrollCalculationException(
+                    "No payroll calculated for employee " + emp.getEmployeeId());
+        }
+        return payroll;
+    }
+
     private void generateEmployeeDirectoryReport(String format) {
-        try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
+        if (!"Preview Only".equals(format)) {
+            // Exports stream rows straight to the file instead of loading the directory first
+            exportEmployeeDirectory(format);
+            return;
+        }
+
+        reportTasks.submit(null, task -> {
+            List<Employee> employees = referenceData.getAllEmployees();
 
             // Sort employees by last name, then first name
             employees.sort((e1, e2) -> {
@@ -324,25 +370,15 @@ public class ReportsDialog extends JDialog {
                 if (lastNameCompare != 0) return lastNameCompare;
                 return e1.getFirstName().compareToIgnoreCase(e2.getFirstName());
             });
-
-            if ("Preview Only".equals(format)) {
-                showEmployeeDirectoryPreview(employees);
-            } else {
-                exportEmployeeDirectory(employees, format);
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Error generating employee directory: " + e.getMessage(), e);
-        }
+            return employees;
+        }, this::showEmployeeDirectoryPreview, this::showReportError);
     }
 
-    private void generateGovernmentContributionsReport(String format) {
+    private String buildGovernmentContributionsReport(LocalDate periodStart, LocalDate periodEnd) {
         try {
-            int selectedMonth = monthComboBox.getSelectedIndex() + 1;
-            int selectedYear = Integer.parseInt((String) yearComboBox.getSelectedItem());
-            LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
-            LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
-
-            List<Employee> employees = employeeDAO.getAllEmployees();
+            List<Employee> employees = referenceData.getAllEmployees();
+            Map<Integer, PayrollCalculator.PayrollData> payrollByEmployee =
+                    payrollCalculator.calculatePayrollForPeriod(periodStart, periodEnd);
             StringBuilder report = new StringBuilder();
 
             report.append("GOVERNMENT CONTRIBUTIONS REPORT\n");
@@ -358,7 +394,7 @@ public class ReportsDialog extends JDialog {
 
             for (Employee emp : employees) {
                 try {
-                    Payroll payroll = payrollCalculator.calculatePayroll(emp.getEmployeeId(), periodStart, periodEnd);
+                    PayrollCalculator.PayrollData payroll = requirePayroll(payrollByEmployee, emp);
 
                     totalSSS += payroll.getSss();
                     totalPhilHealth += payroll.getPhilhealth();
@@ -381,25 +417,16 @@ public class ReportsDialog extends JDialog {
             report.append(String.format("%-26s ₱%-9.2f ₱%-11.2f ₱%-9.2f ₱%-9.2f%n",
                     "TOTALS:", totalSSS, totalPhilHealth, totalPagIBIG, totalTax));
 
-            if ("Preview Only".equals(format)) {
-                previewArea.setText(report.toString());
-            } else {
-                exportTextReport(report.toString(), "Government_Contributions_" + selectedMonth + "_" + selectedYear, format);
-            }
+            return report.toString();
 
         } catch (Exception e) {
             throw new RuntimeException("Error generating government contributions report: " + e.getMessage(), e);
         }
     }
 
-    private void generateAttendanceReport(String format) {
+    private String buildAttendanceReport(LocalDate startDate, LocalDate endDate) {
         try {
-            int selectedMonth = monthComboBox.getSelectedIndex() + 1;
-            int selectedYear = Integer.parseInt((String) yearComboBox.getSelectedItem());
-            LocalDate startDate = LocalDate.of(selectedYear, selectedMonth, 1);
-            LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-
-            List<Employee> employees = employeeDAO.getAllEmployees();
+            List<Employee> employees = referenceData.getAllEmployees();
             StringBuilder report = new StringBuilder();
 
             report.append("ATTENDANCE SUMMARY REPORT\n");
@@ -416,44 +443,33 @@ public class ReportsDialog extends JDialog {
             int totalDaysPresent = 0;
             double totalHours = 0;
 
-            for (Employee emp : employees) {
-                try {
-                    List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
-                            emp.getEmployeeId(), startDate, endDate);
-
-                    int daysPresent = attendanceList.size();
-                    double empTotalHours = 0;
+            // Totals for every employee, summed by the database in one query
+            Map<Integer, AttendanceDAO.AttendanceSummary> summaries =
+                    attendanceDAO.getAttendanceSummariesBetweenDates(startDate, endDate);
 
-                    for (Attendance att : attendanceList) {
-                        empTotalHours += att.getWorkHours();
-                    }
+            for (Employee emp : employees) {
+                AttendanceDAO.AttendanceSummary summary = summaries.get(emp.getEmployeeId());
+                int daysPresent = summary != null ? summary.getDays() : 0;
+                double empTotalHours = summary != null ? summary.getTotalHours() : 0;
 
-                    double avgHours = daysPresent > 0 ? empTotalHours / daysPresent : 0;
+                double avgHours = daysPresent > 0 ? empTotalHours / daysPresent : 0;
 
-                    totalEmployees++;
-                    totalDaysPresent += daysPresent;
-                    totalHours += empTotalHours;
+                totalEmployees++;
+                totalDaysPresent += daysPresent;
+                totalHours += empTotalHours;
 
-                    String name = emp.getFullName();
-                    if (name.length() > 25) name = name.substring(0, 22) + "...";
+                String name = emp.getFullName();
+                if (name.length() > 25) name = name.substring(0, 22) + "...";
 
-                    report.append(String.format("%-6d %-25s %-12d %-12.2f %-12.2f%n",
-                            emp.getEmployeeId(), name, daysPresent, empTotalHours, avgHours));
-                } catch (Exception e) {
-                    report.append(String.format("%-6d %-25s %-12s %-12s %-12s%n",
-                            emp.getEmployeeId(), emp.getFullName(), "Error", "Error", "Error"));
-                }
+                report.append(String.format("%-6d %-25s %-12d %-12.2f %-12.2f%n",
+                        emp.getEmployeeId(), name, daysPresent, empTotalHours, avgHours));
             }
 
             report.append("-".repeat(80)).append("\n");
             report.append(String.format("TOTALS: %d employees, %d total days present, %.2f total hours%n",
                     totalEmployees, totalDaysPresent, totalHours));
 
-            if ("Preview Only".equals(format)) {
-                previewArea.setText(report.toString());
-            } else {
-                exportTextReport(report.toString(), "Attendance_Summary_" + selectedMonth + "_" + selectedYear, format);
-            }
+            return report.toString();
 
         } catch (Exception e) {
             throw new RuntimeException("Error generating attendance report: " + e.getMessage(), e);
@@ -545,73 +561,69 @@ public class ReportsDialog extends JDialog {
         previewArea.setText(preview.toString());
     }
 
-    private void exportEmployeeDirectory(List<Employee> employees, String format) {
-        JFileChooser fileChooser = new JFileChooser();
-        fileChooser.setDialogTitle("Save Employee Directory");
-
+    /**
+     * Ask for the file on the EDT, then stream the directory to it in the background
+     */
+    private void exportEmployeeDirectory(String format) {
         String extension = format.toLowerCase().replace(" export", "");
         String fileName = "Employee_Directory_" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy_MM_dd")) + "." + extension;
-        fileChooser.setSelectedFile(new File(fileName));
-
-        int userSelection = fileChooser.showSaveDialog(this);
-        if (userSelection == JFileChooser.APPROVE_OPTION) {
-            File fileToSave = fileChooser.getSelectedFile();
-
-            try {
-                if ("csv".equals(extension)) {
-                    exportEmployeeDirectoryToCSV(employees, fileToSave.getAbsolutePath());
-                } else if ("html".equals(extension)) {
-                    exportEmployeeDirectoryToHTML(employees, fileToSave.getAbsolutePath());
-                }
+        File fileToSave = chooseExportFile("Save Employee Directory", fileName);
+        if (fileToSave == null) {
+            return;
+        }
 
-                JOptionPane.showMessageDialog(this,
-                        "Employee directory exported successfully to:\n" + fileToSave.getAbsolutePath(),
-                        "Export Successful", JOptionPane.INFORMATION_MESSAGE);
+        // The checkboxes are read here, not from the export task
+        DirectoryOptions options = new DirectoryOptions(includePersonalInfoCheckBox.isSelected(),
+                includeContactInfoCheckBox.isSelected(), includeJobInfoCheckBox.isSelected(),
+                includeCompensationCheckBox.isSelected());
 
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(this,
-                        "Error exporting employee directory: " + e.getMessage(),
-                        "Export Error", JOptionPane.ERROR_MESSAGE);
-                e.printStackTrace();
+        reportTasks.submit(null, task -> {
+            if ("csv".equals(extension)) {
+                exportEmployeeDirectoryToCSV(fileToSave.toPath(), options);
+            } else {
+                exportEmployeeDirectoryToHTML(fileToSave.toPath(), options);
             }
-        }
+            return fileToSave;
+        }, file -> showExportSuccess("Employee directory", file),
+                e -> showExportError("employee directory", e));
     }
 
-    private void exportEmployeeDirectoryToCSV(List<Employee> employees, String filePath) throws Exception {
-        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(filePath)))) {
+    private void exportEmployeeDirectoryToCSV(Path filePath, DirectoryOptions options) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
             // Build CSV header
             StringBuilder header = new StringBuilder();
             header.append("Employee ID,Last Name,First Name,Full Name");
 
-            if (includeContactInfoCheckBox.isSelected()) {
+            if (options.contactInfo) {
                 header.append(",Phone Number,Address");
             }
-            if (includeJobInfoCheckBox.isSelected()) {
+            if (options.jobInfo) {
                 header.append(",Position,Status,Supervisor,SSS Number,PhilHealth Number,TIN Number,Pag-IBIG Number");
             }
-            if (includePersonalInfoCheckBox.isSelected()) {
+            if (options.personalInfo) {
                 header.append(",Birthday,Age");
             }
-            if (includeCompensationCheckBox.isSelected()) {
+            if (options.compensation) {
                 header.append(",Basic Salary,Rice Subsidy,Phone Allowance,Clothing Allowance,Total Compensation");
             }
 
-            writer.println(header.toString());
+            writeLine(writer, header.toString());
 
-            // Write employee data
-            for (Employee emp : employees) {
+            // Write employee data as it is read
+            DirectorySummary summary = new DirectorySummary();
+            employeeDAO.forEachEmployee(emp -> {
                 StringBuilder row = new StringBuilder();
                 row.append(emp.getEmployeeId()).append(",");
                 row.append(csvEscape(emp.getLastName())).append(",");
                 row.append(csvEscape(emp.getFirstName())).append(",");
                 row.append(csvEscape(emp.getFullName()));
 
-                if (includeContactInfoCheckBox.isSelected()) {
+                if (options.contactInfo) {
                     row.append(",").append(csvEscape(emp.getPhoneNumber()));
                     row.append(",").append(csvEscape(emp.getAddress()));
                 }
 
-                if (includeJobInfoCheckBox.isSelected()) {
+                if (options.jobInfo) {
                     row.append(",").append(csvEscape(emp.getPosition()));
                     row.append(",").append(csvEscape(emp.getStatus()));
                     row.append(",").append(csvEscape(emp.getImmediateSupervisor()));
@@ -621,12 +633,12 @@ public class ReportsDialog extends JDialog {
                     row.append(",").append(csvEscape(emp.getPagibigNumber()));
                 }
 
-                if (includePersonalInfoCheckBox.isSelected()) {
+                if (options.personalInfo) {
                     row.append(",").append(emp.getBirthday() != null ? emp.getBirthday().toString() : "");
                     row.append(",").append(emp.getAge());
                 }
 
-                if (includeCompensationCheckBox.isSelected()) {
+                if (options.compensation) {
                     row.append(",").append(String.format("%.2f", emp.getBasicSalary()));
                     row.append(",").append(String.format("%.2f", emp.getRiceSubsidy()));
                     row.append(",").append(String.format("%.2f", emp.getPhoneAllowance()));
@@ -634,142 +646,378 @@ public class ReportsDialog extends JDialog {
                     row.append(",").append(String.format("%.2f", emp.getBasicSalary() + emp.getTotalAllowances()));
                 }
 
-                writer.println(row.toString());
-            }
+                writeLine(writer, row.toString());
+                summary.add(emp);
+            });
 
             // Summary
-            writer.println();
-            writer.println("SUMMARY");
-            writer.println("Total Employees," + employees.size());
+            writer.newLine();
+            writeLine(writer, "SUMMARY");
+            writeLine(writer, "Total Employees," + summary.total);
+            writeLine(writer, "Regular Employees," + summary.regular);
+            writeLine(writer, "Probationary Employees," + summary.probationary);
+
+            if (options.compensation) {
+                writeLine(writer, "Average Salary," + String.format("%.2f", summary.getAverageSalary()));
+            }
+        }
+    }
 
-            long regularCount = employees.stream().filter(e -> "Regular".equals(e.getStatus())).count();
-            long probationaryCount = employees.stream().filter(e -> "Probationary".equals(e.getStatus())).count();
+    private void exportEmployeeDirectoryToHTML(Path filePath, DirectoryOptions options) throws IOException {
+        try (BufferedWriter html = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
+            // HTML structure
+            html.append("<!DOCTYPE html><html><head>");
+            html.append("<title>Employee Directory</title>");
+            html.append("<meta charset='UTF-8'>");
+            html.append("<style>");
+            html.append("body { font-family: 'Segoe UI', Arial, sans-serif; margin: 20px; background-color: #f5f5f5; }");
+            html.append(".header { background: linear-gradient(135deg, #667eea 0%, #764ba2 100%); color: white; padding: 30px; border-radius: 10px; margin-bottom: 30px; }");
+            html.append(".header h1 { margin: 0; font-size: 2.5em; }");
+            html.append(".summary { background: white; padding: 25px; border-radius: 10px; margin-top: 30px; box-shadow: 0 2px 10px rgba(0,0,0,0.1); }");
+            html.append("table { width: 100%; border-collapse: collapse; background: white; border-radius: 10px; overflow: hidden; box-shadow: 0 2px 10px rgba(0,0,0,0.1); }");
+            html.append("th { background: #495057; color: white; padding: 15px 12px; text-align: left; }");
+            html.append("td { padding: 12px; border-bottom: 1px solid #dee2e6; }");
+            html.append("tr:nth-child(even) { background-color: #f8f9fa; }");
+            html.append("tr:hover { background-color: #e9ecef; }");
+            html.append(".footer { margin-top: 30px; text-align: center; color: #6c757d; }");
+            html.append("</style></head><body>");
+
+            // Header
+            html.append("<div class='header'>");
+            html.append("<h1>Employee Directory</h1>");
+            html.append("<p>Generated on: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy"))).append("</p>");
+            html.append("<p>Generated by: ").append(htmlEscape(currentUser.getFullName())).append("</p>");
+            html.append("</div>");
+
+            // Table
+            html.append("<table>");
+            html.append("<thead><tr>");
+            html.append("<th>Employee ID</th>");
+            html.append("<th>Full Name</th>");
+
+            if (options.contactInfo) {
+                html.append("<th>Phone</th>");
+                html.append("<th>Address</th>");
+            }
 
-            writer.println("Regular Employees," + regularCount);
-            writer.println("Probationary Employees," + probationaryCount);
+            if (options.jobInfo) {
+                html.append("<th>Position</th>");
+                html.append("<th>Status</th>");
+                html.append("<th>Supervisor</th>");
+            }
 
-            if (includeCompensationCheckBox.isSelected()) {
-                double avgSalary = employees.stream().mapToDouble(Employee::getBasicSalary).average().orElse(0.0);
-                writer.println("Average Salary," + String.format("%.2f", avgSalary));
+            if (options.personalInfo) {
+                html.append("<th>Birthday</th>");
+                html.append("<th>Age</th>");
             }
-        }
-    }
 
-    private void exportEmployeeDirectoryToHTML(List<Employee> employees, String filePath) throws Exception {
-        StringBuilder html = new StringBuilder();
+            if (options.compensation) {
+                html.append("<th>Basic Salary</th>");
+                html.append("<th>Allowances</th>");
+                html.append("<th>Total Compensation</th>");
+            }
 
-        // HTML structure
-        html.append("<!DOCTYPE html><html><head>");
-        html.append("<title>Employee Directory</title>");
-        html.append("<meta charset='UTF-8'>");
-        html.append("<style>");
-        html.append("body { font-family: 'Segoe UI', Arial, sans-serif; margin: 20px; background-color: #f5f5f5; }");
-        html.append(".header { background: linear-gradient(135deg, #667eea 0%, #764ba2 100%); color: white; padding: 30px; border-radius: 10px; margin-bottom: 30px; }");
-        html.append(".header h1 { margin: 0; font-size: 2.5em; }");
-        html.append(".summary { background: white; padding: 25px; border-radius: 10px; margin-bottom: 30px; box-shadow: 0 2px 10px rgba(0,0,0,0.1); }");
-        html.append("table { width: 100%; border-collapse: collapse; background: white; border-radius: 10px; overflow: hidden; box-shadow: 0 2px 10px rgba(0,0,0,0.1); }");
-        html.append("th { background: #495057; color: white; padding: 15px 12px; text-align: left; }");
-        html.append("td { padding: 12px; border-bottom: 1px solid #dee2e6; }");
-        html.append("tr:nth-child(even) { background-color: #f8f9fa; }");
-        html.append("tr:hover { background-color: #e9ecef; }");
-        html.append(".footer { margin-top: 30px; text-align: center; color: #6c757d; }");
-        html.append("</style></head><body>");
+            html.append("</tr></thead><tbody>");
 
-        // Header
-        html.append("<div class='header'>");
-        html.append("<h1>Employee Directory</h1>");
-        html.append("<p>Generated on: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy"))).append("</p>");
-        html.append("<p>Generated by: ").append(currentUser.getFullName()).append("</p>");
-        html.append("</div>");
+            // Employee rows, written as they are read
+            DirectorySummary summary = new DirectorySummary();
+            employeeDAO.forEachEmployee(emp -> {
+                StringBuilder row = new StringBuilder();
+                row.append("<tr>");
+                row.append("<td>").append(emp.getEmployeeId()).append("</td>");
+                row.append("<td>").append(htmlEscape(emp.getFullName())).append("</td>");
 
-        // Summary
-        html.append("<div class='summary'>");
-        html.append("<h2>Summary</h2>");
-        html.append("<p><strong>Total Employees:</strong> ").append(employees.size()).append("</p>");
+                if (options.contactInfo) {
+                    row.append("<td>").append(htmlEscape(emp.getPhoneNumber())).append("</td>");
+                    row.append("<td>").append(htmlEscape(emp.getAddress())).append("</td>");
+                }
 
-        long regularCount = employees.stream().filter(e -> "Regular".equals(e.getStatus())).count();
-        long probationaryCount = employees.stream().filter(e -> "Probationary".equals(e.getStatus())).count();
+                if (options.jobInfo) {
+                    row.append("<td>").append(htmlEscape(emp.getPosition())).append("</td>");
+                    row.append("<td>").append(htmlEscape(emp.getStatus())).append("</td>");
+                    row.append("<td>").append(htmlEscape(emp.getImmediateSupervisor())).append("</td>");
+                }
 
-        html.append("<p><strong>Regular Employees:</strong> ").append(regularCount).append("</p>");
-        html.append("<p><strong>Probationary Employees:</strong> ").append(probationaryCount).append("</p>");
+                if (options.personalInfo) {
+                    row.append("<td>").append(emp.getBirthday() != null ? emp.getBirthday().toString() : "N/A").append("</td>");
+                    row.append("<td>").append(emp.getAge()).append("</td>");
+                }
 
-        if (includeCompensationCheckBox.isSelected()) {
-            double avgSalary = employees.stream().mapToDouble(Employee::getBasicSalary).average().orElse(0.0);
-            html.append("<p><strong>Average Salary:</strong> ₱").append(String.format("%.2f", avgSalary)).append("</p>");
+                if (options.compensation) {
+                    row.append("<td>₱").append(String.format("%.2f", emp.getBasicSalary())).append("</td>");
+                    row.append("<td>₱").append(String.format("%.2f", emp.getTotalAllowances())).append("</td>");
+                    row.append("<td>₱").append(String.format("%.2f", emp.getBasicSalary() + emp.getTotalAllowances())).append("</td>");
+                }
+
+                row.append("</tr>");
+                writeLine(html, row.toString());
+                summary.add(emp);
+            });
+
+            html.append("</tbody></table>");
+
+            // Summary; the totals are only known once every row has been written
+            html.append("<div class='summary'>");
+            html.append("<h2>Summary</h2>");
+            html.append("<p><strong>Total Employees:</strong> ").append(String.valueOf(summary.total)).append("</p>");
+            html.append("<p><strong>Regular Employees:</strong> ").append(String.valueOf(summary.regular)).append("</p>");
+            html.append("<p><strong>Probationary Employees:</strong> ").append(String.valueOf(summary.probationary)).append("</p>");
+
+            if (options.compensation) {
+                html.append("<p><strong>Average Salary:</strong> ₱").append(String.format("%.2f", summary.getAverageSalary())).append("</p>");
+            }
+            html.append("</div>");
+
+            // Footer
+            html.append("<div class='footer'>");
+            html.append("<p>Generated by MotorPH Payroll System</p>");
+            html.append("</div>");
+
+            html.append("</body></html>");
         }
-        html.append("</div>");
+    }
 
-        // Table
-        html.append("<table>");
-        html.append("<thead><tr>");
-        html.append("<th>Employee ID</th>");
-        html.append("<th>Full Name</th>");
+    private void generateAttendanceHistoryReport(int year, String format) {
+        LocalDate startDate = LocalDate.of(year, 1, 1);
+        LocalDate endDate = LocalDate.of(year, 12, 31);
 
-        if (includeContactInfoCheckBox.isSelected()) {
-            html.append("<th>Phone</th>");
-            html.append("<th>Address</th>");
+        if ("Preview Only".equals(format)) {
+            reportTasks.submit(null, task -> buildAttendanceHistoryPreview(startDate, endDate),
+                    previewArea::setText, this::showReportError);
+            return;
         }
 
-        if (includeJobInfoCheckBox.isSelected()) {
-            html.append("<th>Position</th>");
-            html.append("<th>Status</th>");
-            html.append("<th>Supervisor</th>");
+        String extension = format.toLowerCase().replace(" export", "");
+        File fileToSave = chooseExportFile("Save Attendance History", "Attendance_History_" + year + "." + extension);
+        if (fileToSave == null) {
+            return;
         }
 
-        if (includePersonalInfoCheckBox.isSelected()) {
-            html.append("<th>Birthday</th>");
-            html.append("<th>Age</th>");
+        reportTasks.submit(null, task -> {
+            if ("csv".equals(extension)) {
+                exportAttendanceHistoryToCSV(fileToSave.toPath(), startDate, endDate);
+            } else {
+                exportAttendanceHistoryToHTML(fileToSave.toPath(), startDate, endDate);
+            }
+            return fileToSave;
+        }, file -> showExportSuccess("Attendance history", file),
+                e -> showExportError("attendance history", e));
+    }
+
+    /**
+     * The first rows of the history and its totals; every row is read, but only the first few are kept
+     */
+    private String buildAttendanceHistoryPreview(LocalDate startDate, LocalDate endDate) {
+        Map<Integer, String> names = getEmployeeNames();
+        StringBuilder rows = new StringBuilder();
+        double[] totalHours = new double[1];
+        int[] shown = new int[1];
+
+        int recordCount = attendanceDAO.forEachAttendanceBetweenDates(startDate, endDate, attendance -> {
+            totalHours[0] += attendance.getWorkHours();
+            if (shown[0] < ATTENDANCE_HISTORY_PREVIEW_ROWS) {
+                shown[0]++;
+                String name = names.getOrDefault(attendance.getEmployeeId(), "Unknown");
+                if (name.length() > 25) name = name.substring(0, 22) + "...";
+                rows.append(String.format("%-6d %-25s %-12s %-10s %-10s %-8.2f%n",
+                        attendance.getEmployeeId(), name, attendance.getDate(),
+                        formatTime(attendance.getLogIn()), formatTime(attendance.getLogOut()),
+                        attendance.getWorkHours()));
+            }
+        });
+
+        StringBuilder report = new StringBuilder();
+        report.append("ATTENDANCE HISTORY REPORT\n");
+        report.append("Period: ").append(startDate.format(DateTimeFormatter.ofPattern("MMMM dd, yyyy")))
+                .append(" - ").append(endDate.format(DateTimeFormatter.ofPattern("MMMM dd, yyyy"))).append("\n");
+        report.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy"))).append("\n");
+        report.append("=".repeat(80)).append("\n\n");
+
+        report.append(String.format("%-6s %-25s %-12s %-10s %-10s %-8s%n",
+                "ID", "Name", "Date", "Log In", "Log Out", "Hours"));
+        report.append("-".repeat(80)).append("\n");
+        report.append(rows);
+        if (recordCount > ATTENDANCE_HISTORY_PREVIEW_ROWS) {
+            report.append("... and ").append(recordCount - ATTENDANCE_HISTORY_PREVIEW_ROWS)
+                    .append(" more records; export to CSV or HTML for the full history\n");
         }
 
-        if (includeCompensationCheckBox.isSelected()) {
-            html.append("<th>Basic Salary</th>");
-            html.append("<th>Allowances</th>");
-            html.append("<th>Total Compensation</th>");
+        report.append("-".repeat(80)).append("\n");
+        report.append(String.format("TOTALS: %d records, %.2f total hours%n", recordCount, totalHours[0]));
+        return report.toString();
+    }
+
+    private void exportAttendanceHistoryToCSV(Path filePath, LocalDate startDate, LocalDate endDate) throws IOException {
+        Map<Integer, String> names = getEmployeeNames();
+
+        try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
+            writeLine(writer, "Employee ID,Employee Name,Date,Log In,Log Out,Hours Worked,Late,Undertime");
+
+            double[] totalHours = new double[1];
+            int recordCount = attendanceDAO.forEachAttendanceBetweenDates(startDate, endDate, attendance -> {
+                totalHours[0] += attendance.getWorkHours();
+                writeLine(writer, attendance.getEmployeeId() + "," +
+                        csvEscape(names.get(attendance.getEmployeeId())) + "," +
+                        attendance.getDate() + "," +
+                        formatTime(attendance.getLogIn()) + "," +
+                        formatTime(attendance.getLogOut()) + "," +
+                        String.format("%.2f", attendance.getWorkHours()) + "," +
+                        (attendance.isLate() ? "Yes" : "No") + "," +
+                        (attendance.hasUndertime() ? "Yes" : "No"));
+            });
+
+            // Summary
+            writer.newLine();
+            writeLine(writer, "SUMMARY");
+            writeLine(writer, "Period," + startDate + " to " + endDate);
+            writeLine(writer, "Total Records," + recordCount);
+            writeLine(writer, "Total Hours," + String.format("%.2f", totalHours[0]));
         }
+    }
 
-        html.append("</tr></thead><tbody>");
+    private void exportAttendanceHistoryToHTML(Path filePath, LocalDate startDate, LocalDate endDate) throws IOException {
+        Map<Integer, String> names = getEmployeeNames();
+
+        try (BufferedWriter html = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
+            html.append("<!DOCTYPE html><html><head>");
+            html.append("<title>Attendance History</title>");
+            html.append("<meta charset='UTF-8'>");
+            html.append("<style>");
+            html.append("body { font-family: 'Segoe UI', Arial, sans-serif; margin: 20px; background-color: #f5f5f5; }");
+            html.append("h1 { margin-bottom: 5px; }");
+            html.append("table { width: 100%; border-collapse: collapse; background: white; }");
+            html.append("th { background: #495057; color: white; padding: 10px; text-align: left; }");
+            html.append("td { padding: 8px 10px; border-bottom: 1px solid #dee2e6; }");
+            html.append(".summary { background: white; padding: 20px; margin-top: 20px; }");
+            html.append("</style></head><body>");
+
+            html.append("<h1>Attendance History</h1>");
+            html.append("<p>Period: ").append(startDate.format(DateTimeFormatter.ofPattern("MMMM dd, yyyy")))
+                    .append(" - ").append(endDate.format(DateTimeFormatter.ofPattern("MMMM dd, yyyy"))).append("</p>");
+            html.append("<p>Generated on: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy"))).append("</p>");
+
+            html.append("<table><thead><tr>");
+            html.append("<th>Employee ID</th><th>Employee Name</th><th>Date</th><th>Log In</th><th>Log Out</th>");
+            html.append("<th>Hours Worked</th><th>Late</th><th>Undertime</th>");
+            html.append("</tr></thead><tbody>");
+
+            double[] totalHours = new double[1];
+            int recordCount = attendanceDAO.forEachAttendanceBetweenDates(startDate, endDate, attendance -> {
+                totalHours[0] += attendance.getWorkHours();
+                writeLine(html, "<tr><td>" + attendance.getEmployeeId() + "</td>" +
+                        "<td>" + htmlEscape(names.get(attendance.getEmployeeId())) + "</td>" +
+                        "<td>" + attendance.getDate() + "</td>" +
+                        "<td>" + formatTime(attendance.getLogIn()) + "</td>" +
+                        "<td>" + formatTime(attendance.getLogOut()) + "</td>" +
+                        "<td>" + String.format("%.2f", attendance.getWorkHours()) + "</td>" +
+                        "<td>" + (attendance.isLate() ? "Yes" : "No") + "</td>" +
+                        "<td>" + (attendance.hasUndertime() ? "Yes" : "No") + "</td></tr>");
+            });
 
-        // Employee rows
-        for (Employee emp : employees) {
-            html.append("<tr>");
-            html.append("<td>").append(emp.getEmployeeId()).append("</td>");
-            html.append("<td>").append(htmlEscape(emp.getFullName())).append("</td>");
+            html.append("</tbody></table>");
 
-            if (includeContactInfoCheckBox.isSelected()) {
-                html.append("<td>").append(htmlEscape(emp.getPhoneNumber())).append("</td>");
-                html.append("<td>").append(htmlEscape(emp.getAddress())).append("</td>");
-            }
+            html.append("<div class='summary'>");
+            html.append("<p><strong>Total Records:</strong> ").append(String.valueOf(recordCount)).append("</p>");
+            html.append("<p><strong>Total Hours:</strong> ").append(String.format("%.2f", totalHours[0])).append("</p>");
+            html.append("</div>");
 
-            if (includeJobInfoCheckBox.isSelected()) {
-                html.append("<td>").append(htmlEscape(emp.getPosition())).append("</td>");
-                html.append("<td>").append(htmlEscape(emp.getStatus())).append("</td>");
-                html.append("<td>").append(htmlEscape(emp.getImmediateSupervisor())).append("</td>");
-            }
+            html.append("</body></html>");
+        }
+    }
 
-            if (includePersonalInfoCheckBox.isSelected()) {
-                html.append("<td>").append(emp.getBirthday() != null ? emp.getBirthday().toString() : "N/A").append("</td>");
-                html.append("<td>").append(emp.getAge()).append("</td>");
-            }
+    /**
+     * Display names by employee ID; the roster is small next to the attendance it labels
+     */
+    private Map<Integer, String> getEmployeeNames() {
+        Map<Integer, String> names = new HashMap<>();
+        for (Employee emp : referenceData.getAllEmployees()) {
+            names.put(emp.getEmployeeId(), emp.getFullName());
+        }
+        return names;
+    }
 
-            if (includeCompensationCheckBox.isSelected()) {
-                html.append("<td>₱").append(String.format("%.2f", emp.getBasicSalary())).append("</td>");
-                html.append("<td>₱").append(String.format("%.2f", emp.getTotalAllowances())).append("</td>");
-                html.append("<td>₱").append(String.format("%.2f", emp.getBasicSalary() + emp.getTotalAllowances())).append("</td>");
-            }
+    private static String formatTime(java.sql.Time time) {
+        return time != null ? time.toString() : "";
+    }
 
-            html.append("</tr>");
+    /**
+     * Write one line from inside a row consumer, which cannot throw IOException
+     */
+    private static void writeLine(BufferedWriter writer, String line) {
+        try {
+            writer.write(line);
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
-        html.append("</tbody></table>");
+    /**
+     * Show a save dialog suggesting the file name; null if the user cancelled
+     */
+    private File chooseExportFile(String title, String fileName) {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle(title);
+        fileChooser.setSelectedFile(new File(fileName));
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return null;
+        }
+        return fileChooser.getSelectedFile();
+    }
 
-        // Footer
-        html.append("<div class='footer'>");
-        html.append("<p>Generated by MotorPH Payroll System</p>");
-        html.append("</div>");
+    private void showExportSuccess(String what, File file) {
+        JOptionPane.showMessageDialog(this,
+                what + " exported successfully to:\n" + file.getAbsolutePath(),
+                "Export Successful", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    private void showExportError(String what, Exception e) {
+        Throwable cause = e instanceof UncheckedIOException ? e.getCause() : e;
+        JOptionPane.showMessageDialog(this,
+                "Error exporting " + what + ": " + cause.getMessage(),
+                "Export Error", JOptionPane.ERROR_MESSAGE);
+        e.printStackTrace();
+    }
 
-        html.append("</body></html>");
+    /**
+     * Directory columns chosen in the dialog, captured on the EDT for the export task
+     */
+    private static final class DirectoryOptions {
+        final boolean personalInfo;
+        final boolean contactInfo;
+        final boolean jobInfo;
+        final boolean compensation;
+
+        DirectoryOptions(boolean personalInfo, boolean contactInfo, boolean jobInfo, boolean compensation) {
+            this.personalInfo = personalInfo;
+            this.contactInfo = contactInfo;
+            this.jobInfo = jobInfo;
+            this.compensation = compensation;
+        }
+    }
 
-        Files.write(Paths.get(filePath), html.toString().getBytes());
+    /**
+     * Status counts and salary total, accumulated while the directory rows are written
+     */
+    private static final class DirectorySummary {
+        int total;
+        int regular;
+        int probationary;
+        double totalSalary;
+
+        void add(Employee emp) {
+            total++;
+            if ("Regular".equals(emp.getStatus())) {
+                regular++;
+            } else if ("Probationary".equals(emp.getStatus())) {
+                probationary++;
+            }
+            totalSalary += emp.getBasicSalary();
+        }
+
+        double getAverageSalary() {
+            return total > 0 ? totalSalary / total : 0.0;
+        }
     }
 
     private void exportTextReport(String reportContent, String baseFileName, String format) {
@@ -790,9 +1038,9 @@ public class ReportsDialog extends JDialog {
                 if ("html".equals(extension)) {
                     // Convert text report to HTML
                     String htmlContent = convertTextToHTML(reportContent, baseFileName);
-                    Files.write(fileToSave.toPath(), htmlContent.getBytes());
+                    Files.write(fileToSave.toPath(), htmlContent.getBytes(StandardCharsets.UTF_8));
                 } else {
-                    Files.write(fileToSave.toPath(), reportContent.getBytes());
+                    Files.write(fileToSave.toPath(), reportContent.getBytes(StandardCharsets.UTF_8));
                 }
 
                 JOptionPane.showMessageDialog(this,
@@ -117,8 +117,8 @@ public class ReportsPanel extends JPanel {
             
             updateStatus("Generating payroll report for period: " + periodName);
             
-            // Get all active employees
-            List<Employee> employees = employeeDAO.getAllActiveEmployees();
+            // Every employee is active; status only distinguishes regular from probationary
+            List<Employee> employees = employeeDAO.getAllEmployees();
             if (employees.isEmpty()) {
                 updateStatus("No active employees found.");
                 return;
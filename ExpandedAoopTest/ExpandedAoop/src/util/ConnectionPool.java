@@ -0,0 +1,634 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded JDBC connection pool used behind {@link DBConnection}.
+ *
+ * Borrowed connections are proxies: calling {@code close()} hands the physical
+ * connection back to the pool instead of closing the socket, so DAO code keeps
+ * its usual try-with-resources pattern. Connections are only validated when they
+ * have been idle longer than the validation interval, idle connections above the
+ * minimum size are evicted, and connections held longer than the leak threshold
+ * are reported together with the stack trace of the code that borrowed them.
+ * When a statement cache size is configured, {@code prepareStatement(sql)} reuses
+ * statements already prepared on the same physical connection (see {@link StatementCache}).
+ */
+public class ConnectionPool {
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    /**
+     * Opens a new physical connection for the pool
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private final String name;
+    private final ConnectionFactory factory;
+    private final PoolConfig config;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private int totalConnections;
+    private int waiters;
+    private boolean closed;
+
+    // Statistics
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowNanos = new LongAdder();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder destroyedCount = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+
+    private final ScheduledExecutorService housekeeper;
+
+    public ConnectionPool(String name, ConnectionFactory factory, PoolConfig config) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Connection factory cannot be null");
+        }
+        if (config == null) {
+            throw new IllegalArgumentException("Pool configuration cannot be null");
+        }
+        config.validate();
+
+        this.name = name;
+        this.factory = factory;
+        this.config = config;
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, name + "-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = config.getHousekeepingIntervalMillis();
+        housekeeper.scheduleWithFixedDelay(this::runHousekeeping, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection, waiting up to the configured borrow timeout when the pool is exhausted
+     */
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.getBorrowTimeoutMillis());
+
+        while (true) {
+            PooledConnection candidate = null;
+            boolean createNew = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("Connection pool '" + name + "' has been shut down");
+                    }
+                    if (!idle.isEmpty()) {
+                        candidate = idle.pollFirst();
+                        break;
+                    }
+                    if (totalConnections < config.getMaxSize()) {
+                        totalConnections++;
+                        createNew = true;
+                        break;
+                    }
+
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeoutCount.increment();
+                        throw new SQLTimeoutException(String.format(
+                                "Timed out after %d ms waiting for a connection from pool '%s' (%s)",
+                                config.getBorrowTimeoutMillis(), name, statsLocked()));
+                    }
+
+                    waiters++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waiters--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (createNew) {
+                candidate = openPhysical();
+            } else if (!isUsable(candidate)) {
+                destroy(candidate);
+                continue;
+            }
+
+            return checkOut(candidate, start);
+        }
+    }
+
+    private PooledConnection openPhysical() throws SQLException {
+        try {
+            Connection physical = factory.create();
+            if (physical == null) {
+                throw new SQLException("Connection factory returned null");
+            }
+            createdCount.increment();
+            return new PooledConnection(physical, config.getStatementCacheSize());
+        } catch (SQLException | RuntimeException e) {
+            lock.lock();
+            try {
+                totalConnections--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Validate only connections that have been sitting idle for a while
+     */
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            if (pooled.physical.isClosed()) {
+                return false;
+            }
+            long idleMillis = System.currentTimeMillis() - pooled.lastReturnedAt;
+            if (idleMillis < config.getValidationIntervalMillis()) {
+                return true;
+            }
+            if (pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return true;
+            }
+            validationFailures.increment();
+            return false;
+        } catch (SQLException e) {
+            validationFailures.increment();
+            LOGGER.log(Level.FINE, "Pooled connection failed validation", e);
+            return false;
+        }
+    }
+
+    private Connection checkOut(PooledConnection pooled, long borrowStartNanos) {
+        long waited = System.nanoTime() - borrowStartNanos;
+        borrowCount.increment();
+        borrowNanos.add(waited);
+        maxBorrowNanos.accumulateAndGet(waited, Math::max);
+
+        pooled.borrowedAt = System.currentTimeMillis();
+        pooled.borrowSite = config.getLeakThresholdMillis() > 0
+                ? new Throwable("Connection borrowed from pool '" + name + "' here")
+                : null;
+        pooled.leakReported = false;
+        borrowed.add(pooled);
+
+        return pooled.newHandle();
+    }
+
+    /**
+     * Return a physical connection to the pool, resetting any per-borrow state
+     */
+    private void release(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        if (pooled.statements != null) {
+            pooled.statements.releaseAll();
+        }
+
+        boolean reusable;
+        try {
+            reusable = !pooled.physical.isClosed() && resetState(pooled.physical);
+        } catch (SQLException e) {
+            reusable = false;
+        }
+
+        lock.lock();
+        try {
+            if (reusable && !closed) {
+                pooled.lastReturnedAt = System.currentTimeMillis();
+                idle.addFirst(pooled);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        destroy(pooled);
+    }
+
+    private boolean resetState(Connection physical) {
+        try {
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (physical.isReadOnly()) {
+                physical.setReadOnly(false);
+            }
+            physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Discarding pooled connection that could not be reset", e);
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        lock.lock();
+        try {
+            totalConnections--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        destroyedCount.increment();
+        if (pooled.statements != null) {
+            pooled.statements.clear();
+        }
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error closing physical connection", e);
+        }
+    }
+
+    /**
+     * Periodic eviction of idle connections, leak reporting and minimum-size top-up
+     */
+    void runHousekeeping() {
+        try {
+            evictIdle();
+            reportLeaks();
+            fillToMinimum();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Connection pool housekeeping failed", e);
+        }
+    }
+
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        Deque<PooledConnection> evicted = new ArrayDeque<>();
+
+        lock.lock();
+        try {
+            // Oldest idle connections sit at the tail of the deque
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && totalConnections - evicted.size() > config.getMinSize()) {
+                PooledConnection pooled = it.next();
+                if (now - pooled.lastReturnedAt >= config.getIdleTimeoutMillis()) {
+                    it.remove();
+                    evicted.add(pooled);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (PooledConnection pooled : evicted) {
+            destroy(pooled);
+        }
+        if (!evicted.isEmpty()) {
+            LOGGER.fine(() -> "Evicted " + evicted.size() + " idle connection(s) from pool '" + name + "'");
+        }
+    }
+
+    private void reportLeaks() {
+        long threshold = config.getLeakThresholdMillis();
+        if (threshold <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (PooledConnection pooled : borrowed) {
+            if (!pooled.leakReported && now - pooled.borrowedAt > threshold) {
+                pooled.leakReported = true;
+                leakCount.increment();
+                LOGGER.log(Level.WARNING, "Possible connection leak: connection from pool '" + name
+                        + "' has been held for " + (now - pooled.borrowedAt) + " ms", pooled.borrowSite);
+            }
+        }
+    }
+
+    private void fillToMinimum() {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || totalConnections >= config.getMinSize()) {
+                    return;
+                }
+                totalConnections++;
+            } finally {
+                lock.unlock();
+            }
+
+            PooledConnection pooled;
+            try {
+                pooled = openPhysical();
+            } catch (SQLException | RuntimeException e) {
+                LOGGER.log(Level.FINE, "Could not pre-open pooled connection", e);
+                return;
+            }
+            pooled.lastReturnedAt = System.currentTimeMillis();
+
+            lock.lock();
+            try {
+                idle.addLast(pooled);
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Close all idle connections and refuse further borrows; borrowed connections are closed when returned
+     */
+    public void shutdown() {
+        Deque<PooledConnection> toClose;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayDeque<>(idle);
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        housekeeper.shutdownNow();
+        for (PooledConnection pooled : toClose) {
+            destroy(pooled);
+        }
+        LOGGER.info("Connection pool '" + name + "' shut down. " + getStats());
+    }
+
+    public boolean isShutdown() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() { return name; }
+    public PoolConfig getConfig() { return config; }
+
+    /**
+     * Snapshot of the pool counters for sizing under load
+     */
+    public PoolStats getStats() {
+        lock.lock();
+        try {
+            return statsLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private PoolStats statsLocked() {
+        long borrows = borrowCount.sum();
+        return new PoolStats(
+                totalConnections - idle.size(),
+                idle.size(),
+                totalConnections,
+                waiters,
+                config.getMaxSize(),
+                borrows,
+                borrows == 0 ? 0.0 : borrowNanos.sum() / (double) borrows / 1_000_000.0,
+                maxBorrowNanos.get() / 1_000_000.0,
+                timeoutCount.sum(),
+                createdCount.sum(),
+                destroyedCount.sum(),
+                validationFailures.sum(),
+                leakCount.sum());
+    }
+
+    /**
+     * A physical connection owned by the pool
+     */
+    private final class PooledConnection {
+        final Connection physical;
+        final StatementCache statements;
+        volatile long lastReturnedAt;
+        volatile long borrowedAt;
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+
+        PooledConnection(Connection physical, int statementCacheSize) {
+            this.physical = physical;
+            this.statements = statementCacheSize > 0 ? new StatementCache(physical, statementCacheSize) : null;
+            this.lastReturnedAt = System.currentTimeMillis();
+        }
+
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new HandleInvocationHandler(this));
+        }
+    }
+
+    /**
+     * Borrow-scoped view of a pooled connection; close() returns it to the pool exactly once
+     */
+    private final class HandleInvocationHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned;
+
+        HandleInvocationHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + name + (returned ? ", returned" : "") + "]";
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (pooled.statements != null && args != null && args.length == 1
+                    && method.getName().equals("prepareStatement")) {
+                return pooled.statements.prepare((String) args[0], (Connection) proxy);
+            }
+
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Pool sizing and timing settings
+     */
+    public static class PoolConfig {
+        private int minSize = 2;
+        private int maxSize = 10;
+        private long borrowTimeoutMillis = 30_000;
+        private long idleTimeoutMillis = 10 * 60_000;
+        private long validationIntervalMillis = 30_000;
+        private long leakThresholdMillis = 60_000;
+        private long housekeepingIntervalMillis = 30_000;
+        private int statementCacheSize = 0;
+
+        public int getMinSize() { return minSize; }
+        public PoolConfig setMinSize(int minSize) { this.minSize = minSize; return this; }
+
+        public int getMaxSize() { return maxSize; }
+        public PoolConfig setMaxSize(int maxSize) { this.maxSize = maxSize; return this; }
+
+        public long getBorrowTimeoutMillis() { return borrowTimeoutMillis; }
+        public PoolConfig setBorrowTimeoutMillis(long millis) { this.borrowTimeoutMillis = millis; return this; }
+
+        public long getIdleTimeoutMillis() { return idleTimeoutMillis; }
+        public PoolConfig setIdleTimeoutMillis(long millis) { this.idleTimeoutMillis = millis; return this; }
+
+        public long getValidationIntervalMillis() { return validationIntervalMillis; }
+        public PoolConfig setValidationIntervalMillis(long millis) { this.validationIntervalMillis = millis; return this; }
+
+        /** A value of zero disables leak detection */
+        public long getLeakThresholdMillis() { return leakThresholdMillis; }
+        public PoolConfig setLeakThresholdMillis(long millis) { this.leakThresholdMillis = millis; return this; }
+
+        public long getHousekeepingIntervalMillis() { return housekeepingIntervalMillis; }
+        public PoolConfig setHousekeepingIntervalMillis(long millis) { this.housekeepingIntervalMillis = millis; return this; }
+
+        /** Prepared statements kept open per physical connection; zero disables the cache */
+        public int getStatementCacheSize() { return statementCacheSize; }
+        public PoolConfig setStatementCacheSize(int size) { this.statementCacheSize = size; return this; }
+
+        void validate() {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("Maximum pool size must be positive");
+            }
+            if (minSize < 0 || minSize > maxSize) {
+                throw new IllegalArgumentException("Minimum pool size must be between 0 and " + maxSize);
+            }
+            if (borrowTimeoutMillis < 0 || idleTimeoutMillis <= 0 || validationIntervalMillis < 0
+                    || leakThresholdMillis < 0 || housekeepingIntervalMillis <= 0) {
+                throw new IllegalArgumentException("Pool timeouts must not be negative");
+            }
+            if (statementCacheSize < 0) {
+                throw new IllegalArgumentException("Statement cache size must not be negative");
+            }
+        }
+    }
+
+    /**
+     * Immutable snapshot of pool statistics
+     */
+    public static class PoolStats {
+        private final int active;
+        private final int idle;
+        private final int total;
+        private final int waiters;
+        private final int maxSize;
+        private final long borrowCount;
+        private final double averageBorrowMillis;
+        private final double maxBorrowMillis;
+        private final long timeouts;
+        private final long created;
+        private final long destroyed;
+        private final long validationFailures;
+        private final long leaks;
+
+        PoolStats(int active, int idle, int total, int waiters, int maxSize, long borrowCount,
+                  double averageBorrowMillis, double maxBorrowMillis, long timeouts, long created,
+                  long destroyed, long validationFailures, long leaks) {
+            this.active = active;
+            this.idle = idle;
+            this.total = total;
+            this.waiters = waiters;
+            this.maxSize = maxSize;
+            this.borrowCount = borrowCount;
+            this.averageBorrowMillis = averageBorrowMillis;
+            this.maxBorrowMillis = maxBorrowMillis;
+            this.timeouts = timeouts;
+            this.created = created;
+            this.destroyed = destroyed;
+            this.validationFailures = validationFailures;
+            this.leaks = leaks;
+        }
+
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public int getTotal() { return total; }
+        public int getWaiters() { return waiters; }
+        public int getMaxSize() { return maxSize; }
+        public long getBorrowCount() { return borrowCount; }
+        public double getAverageBorrowMillis() { return averageBorrowMillis; }
+        public double getMaxBorrowMillis() { return maxBorrowMillis; }
+        public long getTimeouts() { return timeouts; }
+        public long getCreated() { return created; }
+        public long getDestroyed() { return destroyed; }
+        public long getValidationFailures() { return validationFailures; }
+        public long getLeaks() { return leaks; }
+
+        @Override
+        public String toString() {
+            return String.format("active=%d, idle=%d, total=%d/%d, waiters=%d, borrows=%d, " +
+                            "avgBorrow=%.3fms, maxBorrow=%.3fms, timeouts=%d, created=%d, destroyed=%d, " +
+                            "validationFailures=%d, leaks=%d",
+                    active, idle, total, maxSize, waiters, borrowCount, averageBorrowMillis, maxBorrowMillis,
+                    timeouts, created, destroyed, validationFailures, leaks);
+        }
+    }
+}
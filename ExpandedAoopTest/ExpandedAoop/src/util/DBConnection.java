@@ -3,6 +3,7 @@ package util;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.sql.Statement;
 import java.sql.ResultSet;
 import java.util.Properties;
@@ -23,8 +24,11 @@ public class DBConnection {
     private static final String DRIVER = "com.mysql.cj.jdbc.Driver";
 
     // Connection properties for better performance and compatibility
+    // (rewriteBatchedStatements turns executeBatch into multi-row inserts; useCursorFetch makes
+    // statements with a fetch size read through a server-side cursor instead of buffering every row)
     private static final String CONNECTION_PROPERTIES =
-            "?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&useUnicode=true&characterEncoding=UTF-8&autoReconnect=true&failOverReadOnly=false&maxReconnects=3&initialTimeout=2";
+            "?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&useUnicode=true&characterEncoding=UTF-8&autoReconnect=true&failOverReadOnly=false&maxReconnects=3&initialTimeout=2" +
+            "&rewriteBatchedStatements=true&useCursorFetch=true";
 
     // Error message constants
     private static final String DRIVER_NOT_FOUND_ERROR =
@@ -71,36 +75,170 @@ public class DBConnection {
                     "   4. 🔄 Restart MySQL service\n" +
                     "   5. 💻 Check if another application is using port %s";
 
+    // Connection pool sizing, overridable with -Dmotorph.db.pool.* system properties
+    private static final int POOL_MIN_SIZE = Integer.getInteger("motorph.db.pool.minSize", 2);
+    private static final int POOL_MAX_SIZE = Integer.getInteger("motorph.db.pool.maxSize", 10);
+    private static final long POOL_BORROW_TIMEOUT_MS = Long.getLong("motorph.db.pool.borrowTimeoutMs", 30_000L);
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("motorph.db.pool.idleTimeoutMs", 600_000L);
+    private static final long POOL_VALIDATION_INTERVAL_MS = Long.getLong("motorph.db.pool.validationIntervalMs", 30_000L);
+    private static final long POOL_LEAK_THRESHOLD_MS = Long.getLong("motorph.db.pool.leakThresholdMs", 60_000L);
+
+    // Prepared statement caching. The DAOs issue about 75 distinct statements, so 100 per connection
+    // keeps all of them prepared plus a few chunked IN (...) variants.
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("motorph.db.statementCacheSize", 100);
+
+    private static final Object POOL_LOCK = new Object();
+    private static volatile ConnectionPool pool;
+    private static volatile boolean driverLoaded;
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
     /**
-     * Get database connection with enhanced error handling
+     * Get a pooled database connection with enhanced error handling.
+     * Closing the returned connection hands it back to the pool; the time it was held is
+     * recorded in {@link Metrics} under the calling DAO method, e.g. {@code dao.EmployeeDAO.getEmployeeById},
+     * and its statements are timed in {@link QueryStatistics}. Statements prepared on it are reused
+     * from the pooled connection's {@link StatementCache}, so DAOs should keep closing them as usual.
      * @return Connection object
      * @throws SQLException if connection fails with detailed error information
      */
     public static Connection getConnection() throws SQLException {
         try {
-            // Load MySQL JDBC Driver with better error handling
-            loadJDBCDriver();
+            Connection connection = getPool().borrow();
+            return Metrics.isEnabled() ? timed(connection, callerOperation()) : connection;
+        } catch (SQLTimeoutException e) {
+            // Pool exhausted - the message already carries the pool statistics
+            LOGGER.log(Level.SEVERE, "Timed out waiting for a pooled database connection", e);
+            throw e;
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Database connection failed", e);
+            throw new SQLException(generateDetailedErrorMessage(e), e);
+        }
+    }
+
+    /**
+     * Metric name for the code borrowing a connection: the DAO method that was called, or the first
+     * caller outside this class. Private helpers inside the same DAO are skipped, so a lookup that
+     * goes through e.g. EmployeeDAO.querySingleEmployee is recorded under the public method.
+     */
+    private static String callerOperation() {
+        return STACK_WALKER.walk(frames -> {
+            StackWalker.StackFrame entry = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (className.equals(DBConnection.class.getName())) {
+                    continue;
+                }
+                if (entry == null) {
+                    entry = frame;
+                    if (!className.startsWith("dao.")) {
+                        break;
+                    }
+                } else if (className.equals(entry.getClassName())) {
+                    entry = frame;
+                } else {
+                    break;
+                }
+            }
+            if (entry == null) {
+                return "db.unknown";
+            }
+            String className = entry.getClassName();
+            String simpleName = className.substring(className.lastIndexOf('.') + 1);
+            return (className.startsWith("dao.") ? "dao." : "db.") + simpleName + "." + entry.getMethodName();
+        });
+    }
 
-            // Create connection properties
-            Properties props = createConnectionProperties();
+    /**
+     * Record how long the connection is held, from borrow to close, under the operation's timer,
+     * and per-statement statistics for everything executed on it
+     */
+    private static Connection timed(Connection connection, String operation) {
+        return QueryStatistics.instrument(connection, operation, Metrics.timer(operation).start());
+    }
 
-            // Attempt to establish connection
-            Connection conn = DriverManager.getConnection(URL + CONNECTION_PROPERTIES, props);
+    /**
+     * Whether the shared pool has been created
+     */
+    public static boolean isPoolStarted() {
+        return pool != null;
+    }
 
-            // Validate connection
-            if (conn == null || !conn.isValid(5)) {
-                throw new SQLException("Connection established but validation failed");
+    /**
+     * Get the shared connection pool, creating it on first use
+     */
+    private static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (POOL_LOCK) {
+                current = pool;
+                if (current == null) {
+                    current = new ConnectionPool("motorph-db", DBConnection::openPhysicalConnection, createPoolConfig());
+                    pool = current;
+                    Runtime.getRuntime().addShutdownHook(new Thread(DBConnection::shutdownPool, "motorph-db-shutdown"));
+                    LOGGER.info("Database connection pool created for: " + URL);
+                }
             }
+        }
+        return current;
+    }
 
-            LOGGER.info("✅ Database connection established successfully to: " + URL);
-            return conn;
+    private static ConnectionPool.PoolConfig createPoolConfig() {
+        return new ConnectionPool.PoolConfig()
+                .setMinSize(POOL_MIN_SIZE)
+                .setMaxSize(POOL_MAX_SIZE)
+                .setBorrowTimeoutMillis(POOL_BORROW_TIMEOUT_MS)
+                .setIdleTimeoutMillis(POOL_IDLE_TIMEOUT_MS)
+                .setValidationIntervalMillis(POOL_VALIDATION_INTERVAL_MS)
+                .setLeakThresholdMillis(POOL_LEAK_THRESHOLD_MS)
+                .setStatementCacheSize(STATEMENT_CACHE_SIZE);
+    }
 
+    /**
+     * Replace the pool with one backed by a different connection source,
+     * e.g. an embedded database for tests and headless tools
+     */
+    public static void useConnectionFactory(ConnectionPool.ConnectionFactory factory, ConnectionPool.PoolConfig config) {
+        synchronized (POOL_LOCK) {
+            ConnectionPool previous = pool;
+            pool = new ConnectionPool("motorph-db", factory, config != null ? config : createPoolConfig());
+            if (previous != null) {
+                previous.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Close all pooled connections; the pool is recreated on the next getConnection()
+     */
+    public static void shutdownPool() {
+        synchronized (POOL_LOCK) {
+            if (pool != null) {
+                pool.shutdown();
+                pool = null;
+            }
+        }
+    }
+
+    /**
+     * Current pool statistics (active, idle, waiters, borrow latency)
+     */
+    public static ConnectionPool.PoolStats getPoolStats() {
+        return getPool().getStats();
+    }
+
+    /**
+     * Open a new physical connection; only called by the pool
+     */
+    private static Connection openPhysicalConnection() throws SQLException {
+        try {
+            loadJDBCDriver();
+            Connection conn = DriverManager.getConnection(URL + CONNECTION_PROPERTIES, createConnectionProperties());
+            LOGGER.fine("Opened new physical database connection to: " + URL);
+            return conn;
         } catch (ClassNotFoundException e) {
             LOGGER.log(Level.SEVERE, "JDBC Driver not found", e);
             throw new SQLException(DRIVER_NOT_FOUND_ERROR, e);
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Database connection failed", e);
-            throw new SQLException(generateDetailedErrorMessage(e), e);
         }
     }
 
@@ -108,8 +246,12 @@ public class DBConnection {
      * Load JDBC driver with specific error handling
      */
     private static void loadJDBCDriver() throws ClassNotFoundException {
+        if (driverLoaded) {
+            return;
+        }
         try {
             Class.forName(DRIVER);
+            driverLoaded = true;
             LOGGER.info("✅ MySQL JDBC Driver loaded successfully");
         } catch (ClassNotFoundException e) {
             LOGGER.severe("❌ MySQL JDBC Driver not found: " + DRIVER);
@@ -135,6 +277,8 @@ public class DBConnection {
         props.setProperty("initialTimeout", "2");
         props.setProperty("connectTimeout", "10000");
         props.setProperty("socketTimeout", "30000");
+        // Prepare on the server; the pool's StatementCache keeps statements open, so each is parsed once per connection
+        props.setProperty("useServerPrepStmts", "true");
         return props;
     }
 
@@ -403,10 +547,12 @@ public class DBConnection {
                         "   🗄️ Database: %s\n" +
                         "   👤 User: %s\n" +
                         "   🔑 Password: %s\n" +
-                        "   📡 URL: %s",
+                        "   📡 URL: %s\n" +
+                        "   🏊 Pool: %s",
                 HOST, PORT, DATABASE_NAME, USER,
                 PASSWORD.replaceAll(".", "*"), // Mask password
-                URL
+                URL,
+                pool != null ? pool.getStats() : "not started (min " + POOL_MIN_SIZE + ", max " + POOL_MAX_SIZE + ")"
         );
     }
 
@@ -0,0 +1,362 @@
+package util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Process-wide counters, timers and histograms for the hot paths: DAO calls (recorded by
+ * {@link DBConnection} under the calling DAO method), payroll calculation stages, statutory
+ * contribution lookups and report compile/fill/export.
+ *
+ * Recording is lock-free: counters are {@link LongAdder}s and histograms keep
+ * fixed log-scale buckets (eight per power of two, so percentiles are within 12.5%). Look metrics
+ * up once and keep them in a static field where a call is frequent. Recording can be switched off
+ * with {@code -Dmotorph.metrics.disabled=true} or {@link #setEnabled(boolean)}.
+ */
+public final class Metrics {
+
+    private static final int TOP_QUERIES_IN_REPORT = 25;
+
+    private static final ConcurrentMap<String, Metric> METRICS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = !Boolean.getBoolean("motorph.metrics.disabled");
+
+    private Metrics() {
+    }
+
+    /**
+     * Kinds of metric in a snapshot
+     */
+    public enum Type { COUNTER, TIMER, HISTOGRAM }
+
+    public static Counter counter(String name) {
+        return register(name, Counter.class, Counter::new);
+    }
+
+    public static Timer timer(String name) {
+        return register(name, Timer.class, Timer::new);
+    }
+
+    public static Histogram histogram(String name) {
+        return register(name, Histogram.class, Histogram::new);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    /**
+     * Current values of every metric that has recorded anything, by name
+     */
+    public static List<MetricSnapshot> snapshot() {
+        List<MetricSnapshot> snapshots = new ArrayList<>();
+        for (Metric metric : METRICS.values()) {
+            MetricSnapshot snapshot = metric.snapshot();
+            if (snapshot.getCount() > 0) {
+                snapshots.add(snapshot);
+            }
+        }
+        snapshots.sort(Comparator.comparing(MetricSnapshot::getName));
+        return snapshots;
+    }
+
+    /**
+     * Zero every metric; instances already held by callers keep working
+     */
+    public static void reset() {
+        for (Metric metric : METRICS.values()) {
+            metric.reset();
+        }
+    }
+
+    /**
+     * Plain-text table of the current snapshot, timers in milliseconds, followed by the top queries
+     */
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("MotorPH metrics at ").append(LocalDateTime.now().withNano(0)).append('\n');
+        sb.append(String.format("%-60s %-9s %10s %12s %10s %10s %10s %10s %10s%n",
+                "Name", "Type", "Count", "Total", "Mean", "p50", "p95", "p99", "Max"));
+        for (MetricSnapshot snapshot : snapshot()) {
+            sb.append(snapshot.toString()).append('\n');
+        }
+        sb.append("Connection pool: ").append(DBConnection.isPoolStarted()
+                ? DBConnection.getPoolStats().toString() : "not started").append('\n');
+        sb.append('\n').append("Top queries by total time").append('\n');
+        sb.append(QueryStatistics.report(TOP_QUERIES_IN_REPORT));
+        return sb.toString();
+    }
+
+    /**
+     * Write the current report to a file, replacing it
+     */
+    public static void writeReport(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Report file cannot be null");
+        }
+        Files.write(file, report().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static <T extends Metric> T register(String name, Class<T> type, Function<String, T> factory) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Metric name cannot be empty");
+        }
+        Metric metric = METRICS.get(name);
+        if (metric == null) {
+            metric = METRICS.computeIfAbsent(name, factory);
+        }
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric " + name + " is a " + metric.getClass().getSimpleName()
+                    + ", not a " + type.getSimpleName());
+        }
+        return type.cast(metric);
+    }
+
+    abstract static class Metric {
+        final String name;
+
+        Metric(String name) {
+            this.name = name;
+        }
+
+        public String getName() { return name; }
+
+        abstract MetricSnapshot snapshot();
+
+        abstract void reset();
+    }
+
+    /**
+     * Monotonic count of events
+     */
+    public static final class Counter extends Metric {
+        private final LongAdder count = new LongAdder();
+
+        Counter(String name) {
+            super(name);
+        }
+
+        public void increment() {
+            if (enabled) {
+                count.increment();
+            }
+        }
+
+        public void add(long amount) {
+            if (enabled) {
+                count.add(amount);
+            }
+        }
+
+        public long getCount() { return count.sum(); }
+
+        @Override
+        MetricSnapshot snapshot() {
+            long value = count.sum();
+            return new MetricSnapshot(name, Type.COUNTER, value, value, 0, 0, 0, 0, 0);
+        }
+
+        @Override
+        void reset() {
+            count.reset();
+        }
+    }
+
+    /**
+     * Distribution of non-negative values in log-scale buckets
+     */
+    public static class Histogram extends Metric {
+        // Values below SUB_BUCKETS get their own bucket; above, each power of two is split in eight
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        Histogram(String name) {
+            super(name);
+        }
+
+        public void record(long value) {
+            if (!enabled) {
+                return;
+            }
+            long v = Math.max(0, value);
+            buckets.incrementAndGet(bucketIndex(v));
+            count.increment();
+            sum.add(v);
+            if (v > max.get()) {
+                max.accumulateAndGet(v, Math::max);
+            }
+        }
+
+        public long getCount() { return count.sum(); }
+        public long getSum() { return sum.sum(); }
+        public long getMax() { return max.get(); }
+
+        /**
+         * Value at or below which the given fraction of recordings fall, e.g. 0.95
+         */
+        public long percentile(double fraction) {
+            if (fraction < 0 || fraction > 1) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 1, got: " + fraction);
+            }
+            long total = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                total += buckets.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(fraction * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), max.get());
+                }
+            }
+            return max.get();
+        }
+
+        static int bucketIndex(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        static long bucketUpperBound(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long subBucket = index % SUB_BUCKETS;
+            return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+        }
+
+        @Override
+        MetricSnapshot snapshot() {
+            long n = count.sum();
+            long total = sum.sum();
+            return new MetricSnapshot(name, Type.HISTOGRAM, n, total, n == 0 ? 0 : (double) total / n,
+                    percentile(0.50), percentile(0.95), percentile(0.99), max.get());
+        }
+
+        @Override
+        void reset() {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets.set(i, 0);
+            }
+            count.reset();
+            sum.reset();
+            max.set(0);
+        }
+    }
+
+    /**
+     * Histogram of elapsed nanoseconds, reported in milliseconds
+     */
+    public static final class Timer extends Histogram {
+        private static final Sample NOT_RECORDED = () -> { };
+
+        Timer(String name) {
+            super(name);
+        }
+
+        /**
+         * Start timing; close the sample in a finally block to record it
+         */
+        public Sample start() {
+            if (!enabled) {
+                return NOT_RECORDED;
+            }
+            long startNanos = System.nanoTime();
+            return () -> record(System.nanoTime() - startNanos);
+        }
+
+        @Override
+        MetricSnapshot snapshot() {
+            MetricSnapshot nanos = super.snapshot();
+            return new MetricSnapshot(name, Type.TIMER, nanos.getCount(), nanos.getTotal() / 1e6,
+                    nanos.getMean() / 1e6, nanos.getP50() / 1e6, nanos.getP95() / 1e6, nanos.getP99() / 1e6,
+                    nanos.getMax() / 1e6);
+        }
+    }
+
+    /**
+     * A running timer measurement
+     */
+    @FunctionalInterface
+    public interface Sample extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Immutable view of one metric; timer values are in milliseconds
+     */
+    public static final class MetricSnapshot {
+        private final String name;
+        private final Type type;
+        private final long count;
+        private final double total;
+        private final double mean;
+        private final double p50;
+        private final double p95;
+        private final double p99;
+        private final double max;
+
+        MetricSnapshot(String name, Type type, long count, double total, double mean,
+                       double p50, double p95, double p99, double max) {
+            this.name = name;
+            this.type = type;
+            this.count = count;
+            this.total = total;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        public String getName() { return name; }
+        public Type getType() { return type; }
+        public long getCount() { return count; }
+        public double getTotal() { return total; }
+        public double getMean() { return mean; }
+        public double getP50() { return p50; }
+        public double getP95() { return p95; }
+        public double getP99() { return p99; }
+        public double getMax() { return max; }
+
+        @Override
+        public String toString() {
+            if (type == Type.COUNTER) {
+                return String.format("%-60s %-9s %10d", name, type, count);
+            }
+            return String.format("%-60s %-9s %10d %12.3f %10.3f %10.3f %10.3f %10.3f %10.3f",
+                    name, type, count, total, mean, p50, p95, p99, max);
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package util;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.FileHandler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.regex.Pattern;
+
+/**
+ * Per-statement latency, row and byte counts keyed by normalized SQL, plus the slow-query log.
+ *
+ * Connections handed out by {@link DBConnection} while metrics are enabled wrap every statement
+ * they create. Executions are timed and recorded under the SQL with whitespace collapsed,
+ * literals replaced by {@code ?} and IN lists folded to {@code IN (?...)}, so the same query with
+ * different inputs or list sizes shares one entry. Rows are those fetched from result sets or
+ * reported as affected; bytes are estimated from the values read through the result set getters.
+ *
+ * Statements slower than the threshold ({@code -Dmotorph.db.slowQueryMs}, default 500) are
+ * written to the {@code motorph.slowquery} logger with bind parameter types only, never values.
+ * {@code -Dmotorph.db.slowQueryLog=<file>} additionally appends that log to a file.
+ */
+public final class QueryStatistics {
+    private static final Logger LOGGER = Logger.getLogger(QueryStatistics.class.getName());
+    private static final Logger SLOW_QUERY_LOG = Logger.getLogger("motorph.slowquery");
+
+    // Normalized forms of raw SQL strings; DAO SQL is mostly constant so this stays small
+    private static final int MAX_NORMALIZED_CACHE = 10_000;
+    // Distinct statements tracked; anything beyond is counted under OTHER_STATEMENTS
+    private static final int MAX_TRACKED_STATEMENTS = 2_000;
+    private static final String OTHER_STATEMENTS = "<other statements>";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+    private static final ConcurrentMap<String, String> NORMALIZED = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, QueryStats> STATS = new ConcurrentHashMap<>();
+
+    private static volatile long slowQueryThresholdNanos =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("motorph.db.slowQueryMs", 500L));
+
+    static {
+        String slowQueryFile = System.getProperty("motorph.db.slowQueryLog");
+        if (slowQueryFile != null && !slowQueryFile.trim().isEmpty()) {
+            try {
+                FileHandler handler = new FileHandler(slowQueryFile, true);
+                handler.setFormatter(new SimpleFormatter());
+                SLOW_QUERY_LOG.addHandler(handler);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Cannot open slow-query log " + slowQueryFile, e);
+            }
+        }
+    }
+
+    private QueryStatistics() {
+    }
+
+    public static long getSlowQueryThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowQueryThresholdNanos);
+    }
+
+    public static void setSlowQueryThresholdMillis(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Slow-query threshold cannot be negative: " + millis);
+        }
+        slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Statements ranked by total execution time, highest first
+     */
+    public static List<QueryStats> topQueries(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive, got: " + limit);
+        }
+        List<QueryStats> ranked = new ArrayList<>();
+        for (QueryStats stats : STATS.values()) {
+            if (stats.getExecutions() > 0 || stats.getErrors() > 0) {
+                ranked.add(stats);
+            }
+        }
+        ranked.sort(Comparator.comparingLong(QueryStats::getTotalNanos).reversed());
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+    }
+
+    /**
+     * Plain-text "top queries by total time" table
+     */
+    public static String report(int limit) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%4s %12s %8s %10s %10s %10s %10s %10s %6s %6s  %s%n",
+                "Rank", "Total ms", "Execs", "Mean ms", "p95 ms", "Max ms", "Rows", "KB", "Slow", "Errors", "SQL"));
+        int rank = 1;
+        for (QueryStats stats : topQueries(limit)) {
+            sb.append(String.format("%4d %12.1f %8d %10.3f %10.3f %10.3f %10d %10.1f %6d %6d  %s%n",
+                    rank++, stats.getTotalMillis(), stats.getExecutions(), stats.getMeanMillis(),
+                    stats.getP95Millis(), stats.getMaxMillis(), stats.getRows(), stats.getBytes() / 1024.0,
+                    stats.getSlowExecutions(), stats.getErrors(), stats.getSql()));
+        }
+        return sb.toString();
+    }
+
+    public static void reset() {
+        STATS.clear();
+    }
+
+    /**
+     * SQL with whitespace collapsed, literals replaced by ? and IN lists folded
+     */
+    public static String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String normalized = NORMALIZED.get(sql);
+        if (normalized == null) {
+            normalized = computeNormalized(sql);
+            if (NORMALIZED.size() < MAX_NORMALIZED_CACHE) {
+                NORMALIZED.put(sql, normalized);
+            }
+        }
+        return normalized;
+    }
+
+    private static String computeNormalized(String sql) {
+        StringBuilder sb = new StringBuilder(sql.length());
+        int length = sql.length();
+        for (int i = 0; i < length; i++) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"') {
+                // Quoted literal; a doubled quote is an escaped quote
+                int j = i + 1;
+                while (j < length) {
+                    if (sql.charAt(j) == '\\') {
+                        j += 2;
+                    } else if (sql.charAt(j) == c && j + 1 < length && sql.charAt(j + 1) == c) {
+                        j += 2;
+                    } else if (sql.charAt(j) == c) {
+                        break;
+                    } else {
+                        j++;
+                    }
+                }
+                sb.append('?');
+                i = Math.min(j, length);
+            } else if (Character.isDigit(c) && (i == 0 || !isIdentifierPart(sql.charAt(i - 1)))) {
+                int j = i;
+                while (j + 1 < length && (Character.isLetterOrDigit(sql.charAt(j + 1)) || sql.charAt(j + 1) == '.')) {
+                    j++;
+                }
+                sb.append('?');
+                i = j;
+            } else {
+                sb.append(c);
+            }
+        }
+        String collapsed = WHITESPACE.matcher(sb).replaceAll(" ").trim();
+        return IN_LIST.matcher(collapsed).replaceAll("IN (?...)");
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '`';
+    }
+
+    private static QueryStats statsFor(String sql) {
+        String normalized = normalize(sql);
+        QueryStats stats = STATS.get(normalized);
+        if (stats == null) {
+            String key = STATS.size() < MAX_TRACKED_STATEMENTS ? normalized : OTHER_STATEMENTS;
+            stats = STATS.computeIfAbsent(key, QueryStats::new);
+        }
+        return stats;
+    }
+
+    /**
+     * Wrap a connection so its statements record statistics; closing it also closes the held-time sample
+     */
+    static Connection instrument(Connection connection, String operation, Metrics.Sample heldTime) {
+        return (Connection) Proxy.newProxyInstance(QueryStatistics.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection, operation, heldTime));
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final String operation;
+        private final Metrics.Sample heldTime;
+        private boolean closed;
+
+        ConnectionHandler(Connection target, String operation, Metrics.Sample heldTime) {
+            this.target = target;
+            this.operation = operation;
+            this.heldTime = heldTime;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close") && !closed) {
+                closed = true;
+                heldTime.close();
+            }
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement) {
+                String sql = (name.equals("prepareStatement") || name.equals("prepareCall")) ? (String) args[0] : null;
+                return wrapStatement((Statement) result, sql);
+            }
+            return result;
+        }
+
+        private Object wrapStatement(Statement statement, String sql) {
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+            return Proxy.newProxyInstance(QueryStatistics.class.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler(statement, sql, operation));
+        }
+    }
+
+    /**
+     * Times executions and remembers bind parameter types (not values) for the slow-query log
+     */
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private final String operation;
+        private final Map<Integer, String> parameterTypes = new TreeMap<>();
+        private int batchSize;
+
+        StatementHandler(Statement target, String preparedSql, String operation) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.operation = operation;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parameterTypes.put((Integer) args[0], describe(name, args[1]));
+            } else if (name.equals("clearParameters")) {
+                parameterTypes.clear();
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            }
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof ResultSet && name.equals("getResultSet")) {
+                return wrapResultSet((ResultSet) result, statsFor(sqlFor(args)));
+            }
+            return result;
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            QueryStats stats = statsFor(sqlFor(args));
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invokeTarget(target, method, args);
+            } catch (Throwable t) {
+                stats.errors.increment();
+                throw t;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            stats.latency.record(elapsed);
+            stats.rows.add(affectedRows(result));
+            if (elapsed >= slowQueryThresholdNanos) {
+                stats.slow.increment();
+                logSlowQuery(stats.getSql(), elapsed);
+            }
+            if (method.getName().equals("executeBatch")) {
+                batchSize = 0;
+            }
+            return result instanceof ResultSet ? wrapResultSet((ResultSet) result, stats) : result;
+        }
+
+        private String sqlFor(Object[] args) {
+            if (preparedSql != null) {
+                return preparedSql;
+            }
+            return args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : "<batch>";
+        }
+
+        private void logSlowQuery(String sql, long elapsedNanos) {
+            SLOW_QUERY_LOG.warning(() -> String.format("Slow query: %d ms in %s%s: %s parameters %s",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), operation,
+                    batchSize > 0 ? " (batch of " + batchSize + ")" : "", sql, parameterTypes));
+        }
+
+        private Object wrapResultSet(ResultSet resultSet, QueryStats stats) {
+            return Proxy.newProxyInstance(QueryStatistics.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                    new ResultSetHandler(resultSet, stats));
+        }
+
+        private static long affectedRows(Object result) {
+            if (result instanceof Integer) {
+                return Math.max(0, (Integer) result);
+            }
+            if (result instanceof Long) {
+                return Math.max(0, (Long) result);
+            }
+            if (result instanceof int[]) {
+                long total = 0;
+                for (int count : (int[]) result) {
+                    total += Math.max(0, count);
+                }
+                return total;
+            }
+            return 0;
+        }
+
+        /**
+         * Type of a bound value, e.g. "int" for setInt or "null" for setNull; the value itself is never kept
+         */
+        private static String describe(String setter, Object value) {
+            if (setter.equals("setNull") || value == null) {
+                return "null";
+            }
+            if (setter.equals("setObject")) {
+                return value.getClass().getSimpleName();
+            }
+            String type = setter.substring(3);
+            return type.isEmpty() ? "?" : Character.toLowerCase(type.charAt(0)) + type.substring(1);
+        }
+    }
+
+    /**
+     * Counts fetched rows and estimates bytes read; totals are added to the statement when closed
+     */
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final QueryStats stats;
+        private long rows;
+        private long bytes;
+        private boolean flushed;
+
+        ResultSetHandler(ResultSet target, QueryStats stats) {
+            this.target = target;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close")) {
+                flush();
+                return invokeTarget(target, method, args);
+            }
+            Object result = invokeTarget(target, method, args);
+            if (name.equals("next")) {
+                if (Boolean.TRUE.equals(result)) {
+                    rows++;
+                } else {
+                    flush();
+                }
+            } else if (name.startsWith("get") && args != null && args.length >= 1) {
+                bytes += estimateSize(result);
+            }
+            return result;
+        }
+
+        private void flush() {
+            if (!flushed) {
+                flushed = true;
+                stats.rows.add(rows);
+                stats.bytes.add(bytes);
+            }
+        }
+
+        private static long estimateSize(Object value) {
+            if (value == null) {
+                return 0;
+            }
+            if (value instanceof String) {
+                return ((String) value).length();
+            }
+            if (value instanceof byte[]) {
+                return ((byte[]) value).length;
+            }
+            if (value instanceof Integer || value instanceof Float) {
+                return 4;
+            }
+            if (value instanceof Boolean || value instanceof Byte) {
+                return 1;
+            }
+            if (value instanceof Short) {
+                return 2;
+            }
+            if (value instanceof BigDecimal) {
+                return ((BigDecimal) value).unscaledValue().bitLength() / 8 + 1;
+            }
+            return 8;
+        }
+    }
+
+    /**
+     * Accumulated statistics for one normalized statement
+     */
+    public static final class QueryStats {
+        private final String sql;
+        private final Metrics.Histogram latency;
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        QueryStats(String sql) {
+            this.sql = sql;
+            this.latency = new Metrics.Histogram(sql);
+        }
+
+        public String getSql() { return sql; }
+        public long getExecutions() { return latency.getCount(); }
+        public long getTotalNanos() { return latency.getSum(); }
+        public double getTotalMillis() { return latency.getSum() / 1e6; }
+        public double getMeanMillis() { return getExecutions() == 0 ? 0 : getTotalMillis() / getExecutions(); }
+        public double getP95Millis() { return latency.percentile(0.95) / 1e6; }
+        public double getMaxMillis() { return latency.getMax() / 1e6; }
+        public long getRows() { return rows.sum(); }
+        public long getBytes() { return bytes.sum(); }
+        public long getSlowExecutions() { return slow.sum(); }
+        public long getErrors() { return errors.sum(); }
+    }
+}
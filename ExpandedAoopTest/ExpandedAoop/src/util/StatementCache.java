@@ -0,0 +1,246 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * LRU of prepared statements kept open on one pooled physical connection.
+ *
+ * {@code prepareStatement(sql)} on a borrowed connection hands out a cached statement when the same
+ * SQL was prepared before on that connection, skipping the network prepare and the server-side parse.
+ * Closing the handed-out statement clears its parameters and returns it to the cache. Statements whose
+ * fetch size, limits or timeouts were changed are closed for real, so the next borrower never inherits
+ * them. A statement that is still open when the same SQL is prepared again (nested use) is not shared.
+ * Handed-out statements report the borrower's connection handle from {@code getConnection()}, so closing
+ * it returns the connection to the pool rather than closing the physical connection.
+ */
+final class StatementCache {
+    private static final Logger LOGGER = Logger.getLogger(StatementCache.class.getName());
+
+    private static final Metrics.Counter HITS = Metrics.counter("db.statementCache.hits");
+    private static final Metrics.Counter MISSES = Metrics.counter("db.statementCache.misses");
+    private static final Metrics.Counter EVICTIONS = Metrics.counter("db.statementCache.evictions");
+
+    // Statement settings that would leak into the next caller if the statement were reused
+    private static final Set<String> STICKY_SETTINGS = Set.of("setFetchSize", "setFetchDirection", "setMaxRows",
+            "setLargeMaxRows", "setMaxFieldSize", "setQueryTimeout", "setEscapeProcessing", "setPoolable",
+            "setCursorName", "closeOnCompletion");
+
+    private final Connection physical;
+    private final int maxSize;
+    // Access-ordered: the eldest entry is the least recently prepared
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    StatementCache(Connection physical, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Statement cache size must be positive");
+        }
+        this.physical = physical;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * A cached statement for the SQL, or a newly prepared one that is cached once it is closed
+     *
+     * @param connection the borrower's handle, returned by the statement's getConnection()
+     */
+    synchronized PreparedStatement prepare(String sql, Connection connection) throws SQLException {
+        Entry entry = entries.get(sql);
+        if (entry != null) {
+            if (!entry.inUse) {
+                HITS.increment();
+                return entry.checkOut(connection);
+            }
+            // Same SQL still open on this connection; hand out a private statement, closed when it is
+            MISSES.increment();
+            return new Entry(sql, physical.prepareStatement(sql)).checkOut(connection);
+        }
+
+        MISSES.increment();
+        entry = new Entry(sql, physical.prepareStatement(sql));
+        entries.put(sql, entry);
+        evictOverflow();
+        return entry.checkOut(connection);
+    }
+
+    /**
+     * Close statements the borrower left open; called when the connection goes back to the pool
+     */
+    synchronized void releaseAll() {
+        List<Entry> abandoned = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.inUse) {
+                abandoned.add(entry);
+            }
+        }
+        for (Entry entry : abandoned) {
+            entry.handle.closed = true;
+            discard(entry);
+        }
+    }
+
+    /**
+     * Forget every statement; the physical connection is about to be closed, which closes them
+     */
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    private synchronized void checkIn(Entry entry, boolean reusable) {
+        if (!reusable || entries.get(entry.sql) != entry) {
+            discard(entry);
+            return;
+        }
+        entry.inUse = false;
+        evictOverflow();
+    }
+
+    private void evictOverflow() {
+        // Statements in use are skipped, so the cache may briefly exceed its size
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            Entry eldest = it.next();
+            if (!eldest.inUse) {
+                it.remove();
+                EVICTIONS.increment();
+                closeQuietly(eldest.statement);
+            }
+        }
+    }
+
+    private void discard(Entry entry) {
+        if (entries.get(entry.sql) == entry) {
+            entries.remove(entry.sql);
+        }
+        closeQuietly(entry.statement);
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error closing cached prepared statement", e);
+        }
+    }
+
+    /**
+     * A physical statement and whether a borrower currently holds it
+     */
+    private final class Entry {
+        final String sql;
+        final PreparedStatement statement;
+        boolean inUse;
+        Handle handle;
+
+        Entry(String sql, PreparedStatement statement) {
+            this.sql = sql;
+            this.statement = statement;
+        }
+
+        PreparedStatement checkOut(Connection connection) {
+            inUse = true;
+            handle = new Handle(this, connection);
+            return (PreparedStatement) Proxy.newProxyInstance(StatementCache.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, handle);
+        }
+    }
+
+    /**
+     * One borrower's view of a cached statement; close() returns it to the cache exactly once
+     */
+    private final class Handle implements InvocationHandler {
+        private final Entry entry;
+        private final Connection connection;
+        private final List<ResultSet> results = new ArrayList<>(1);
+        private boolean closed;
+        private boolean batched;
+        private boolean sticky;
+
+        Handle(Entry entry, Connection connection) {
+            this.entry = entry;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        checkIn(entry, reset());
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || entry.statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedPreparedStatement[" + entry.sql + (closed ? ", closed" : "") + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement has already been closed");
+            }
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            if (STICKY_SETTINGS.contains(name)) {
+                sticky = true;
+            } else if (name.equals("addBatch")) {
+                batched = true;
+            }
+
+            Object result;
+            try {
+                result = method.invoke(entry.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet) {
+                results.add((ResultSet) result);
+            }
+            return result;
+        }
+
+        /**
+         * Put the statement back in its freshly prepared state; false if it cannot be reused
+         */
+        private boolean reset() {
+            try {
+                for (ResultSet rs : results) {
+                    rs.close();
+                }
+                if (sticky || entry.statement.isClosed()) {
+                    return false;
+                }
+                if (batched) {
+                    entry.statement.clearBatch();
+                }
+                entry.statement.clearParameters();
+                entry.statement.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Discarding cached statement that could not be reset", e);
+                return false;
+            }
+        }
+    }
+}
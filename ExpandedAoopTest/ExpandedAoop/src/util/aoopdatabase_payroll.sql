@@ -45,6 +45,7 @@ SET SESSION sql_mode = 'STRICT_TRANS_TABLES,NO_ZERO_IN_DATE,NO_ZERO_DATE,ERROR_F
 -- Purpose: Achieves 3NF by storing position-related data separately.
 -- This removes transitive dependencies from the employees table.
 -- =============================================
+DROP TABLE IF EXISTS payroll_records;
 DROP TABLE IF EXISTS attendance;
 DROP TABLE IF EXISTS leave_requests;
 DROP TABLE IF EXISTS credentials;
@@ -129,6 +130,41 @@ CREATE TABLE attendance (
     FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
 );
 
+-- =============================================
+-- Table: payroll_records
+-- Purpose: Frozen results of a pay run. One row per employee per pay period;
+-- re-saving a period overwrites the row through the unique key.
+-- Databases created before basic_pay was added:
+--   ALTER TABLE payroll_records ADD COLUMN basic_pay DECIMAL(12,2) NOT NULL DEFAULT 0 AFTER overtime_hours;
+-- =============================================
+CREATE TABLE payroll_records (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    employee_id INT NOT NULL,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    monthly_rate DECIMAL(10,2) NOT NULL,
+    days_worked INT NOT NULL DEFAULT 0,
+    overtime_hours DECIMAL(6,2) NOT NULL DEFAULT 0,
+    basic_pay DECIMAL(12,2) NOT NULL DEFAULT 0,
+    gross_pay DECIMAL(12,2) NOT NULL,
+    total_deductions DECIMAL(12,2) NOT NULL,
+    net_pay DECIMAL(12,2) NOT NULL,
+    rice_subsidy DECIMAL(8,2) NOT NULL DEFAULT 0,
+    phone_allowance DECIMAL(8,2) NOT NULL DEFAULT 0,
+    clothing_allowance DECIMAL(8,2) NOT NULL DEFAULT 0,
+    sss DECIMAL(10,2) NOT NULL DEFAULT 0,
+    philhealth DECIMAL(10,2) NOT NULL DEFAULT 0,
+    pagibig DECIMAL(10,2) NOT NULL DEFAULT 0,
+    tax DECIMAL(12,2) NOT NULL DEFAULT 0,
+    late_deduction DECIMAL(10,2) NOT NULL DEFAULT 0,
+    undertime_deduction DECIMAL(10,2) NOT NULL DEFAULT 0,
+    unpaid_leave_deduction DECIMAL(10,2) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uq_payroll_employee_period (employee_id, period_start, period_end),
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
 
 -- =============================================
 -- Data Insertion (Normalized)
@@ -372,6 +408,7 @@ CREATE INDEX idx_employees_position ON employees(position_id);
 CREATE INDEX idx_employees_status ON employees(status);
 CREATE INDEX idx_leave_requests_employee_date ON leave_requests(employee_id, start_date, end_date);
 CREATE INDEX idx_attendance_employee_date ON attendance(employee_id, attendance_date);
+CREATE INDEX idx_payroll_records_period ON payroll_records(period_start, period_end);
 
 
 -- =============================================
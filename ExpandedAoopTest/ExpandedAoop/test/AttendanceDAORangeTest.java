@@ -0,0 +1,109 @@
+package test;
+
+import dao.AttendanceDAO;
+import model.Attendance;
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for the single-query attendance range APIs.
+ */
+@DisplayName("AttendanceDAO Range Query Tests")
+class AttendanceDAORangeTest {
+
+    private static final int EMPLOYEE_COUNT = 4;
+    private static final LocalDate JUNE_START = LocalDate.of(2024, 6, 1);
+    private static final LocalDate JUNE_END = LocalDate.of(2024, 6, 30);
+
+    private EmbeddedDatabase database;
+    private AttendanceDAO attendanceDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = EmbeddedDatabase.install();
+        database.insertPosition(1, "Account Rank and File", 22500, 1500, 500, 500);
+        for (int i = 1; i <= EMPLOYEE_COUNT; i++) {
+            database.insertEmployee(10000 + i, "Employee" + i, "Test", "Regular", 1, null);
+        }
+
+        // 10001: three on-time days; 10002: one late (08:15:30 - 17:00), one undertime (08:00 - 16:30:45)
+        for (int day = 3; day <= 5; day++) {
+            database.insertAttendance(10001, LocalDate.of(2024, 6, day), LocalTime.of(8, 0), LocalTime.of(17, 0));
+        }
+        database.insertAttendance(10002, LocalDate.of(2024, 6, 3), LocalTime.of(8, 15, 30), LocalTime.of(17, 0));
+        database.insertAttendance(10002, LocalDate.of(2024, 6, 4), LocalTime.of(8, 0), LocalTime.of(16, 30, 45));
+        // 10003: no log out yet
+        database.insertAttendance(10003, LocalDate.of(2024, 6, 5), LocalTime.of(9, 0), null);
+        // Outside the period
+        database.insertAttendance(10004, LocalDate.of(2024, 7, 1), LocalTime.of(8, 0), LocalTime.of(17, 0));
+
+        attendanceDAO = new AttendanceDAO();
+        database.resetExecutedStatements();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        database.uninstall();
+    }
+
+    @Test
+    @DisplayName("Streaming visits every record in the period with one query")
+    void testStreamPeriod() {
+        List<Attendance> streamed = new ArrayList<>();
+
+        int count = attendanceDAO.forEachAttendanceBetweenDates(JUNE_START, JUNE_END, streamed::add);
+
+        assertEquals(1, database.getExecutedStatements());
+        assertEquals(6, count);
+        assertEquals(6, streamed.size());
+        assertTrue(streamed.stream().noneMatch(a -> a.getEmployeeId() == 10004));
+        // Grouped by employee, most recent first
+        assertEquals(10001, streamed.get(0).getEmployeeId());
+        assertEquals(LocalDate.of(2024, 6, 5), streamed.get(0).getDate().toLocalDate());
+        assertEquals(10003, streamed.get(5).getEmployeeId());
+    }
+
+    @Test
+    @DisplayName("Summaries match the per-record calculations")
+    void testSummariesMatchRecords() {
+        Map<Integer, AttendanceDAO.AttendanceSummary> summaries =
+                attendanceDAO.getAttendanceSummariesBetweenDates(JUNE_START, JUNE_END);
+
+        assertEquals(1, database.getExecutedStatements());
+        assertEquals(3, summaries.size());
+        assertFalse(summaries.containsKey(10004));
+
+        for (int employeeId = 10001; employeeId <= 10003; employeeId++) {
+            List<Attendance> records = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(employeeId, JUNE_START, JUNE_END);
+            AttendanceDAO.AttendanceSummary summary = summaries.get(employeeId);
+
+            assertEquals(records.size(), summary.getDays());
+            assertEquals(records.stream().mapToDouble(Attendance::getWorkHours).sum(), summary.getTotalHours(), 1e-9);
+            assertEquals(records.stream().filter(Attendance::isLate).count(), summary.getLateCount());
+            assertEquals(records.stream().filter(Attendance::hasUndertime).count(), summary.getUndertimeCount());
+        }
+
+        AttendanceDAO.AttendanceSummary mixed = summaries.get(10002);
+        assertEquals(1, mixed.getLateCount());
+        assertEquals(1, mixed.getUndertimeCount());
+        // 8:44 truncated from 8:44:30, plus 8:30 truncated from 8:30:45
+        assertEquals(524 + 510, mixed.getTotalMinutes());
+        assertEquals(0, summaries.get(10003).getTotalMinutes());
+    }
+
+    @Test
+    @DisplayName("Invalid periods are rejected")
+    void testInvalidPeriod() {
+        assertThrows(IllegalArgumentException.class,
+                () -> attendanceDAO.getAttendanceSummariesBetweenDates(JUNE_END, JUNE_START));
+        assertThrows(IllegalArgumentException.class,
+                () -> attendanceDAO.forEachAttendanceBetweenDates(JUNE_START, null, a -> { }));
+    }
+}
@@ -0,0 +1,118 @@
+package test;
+
+import dao.AttendanceDAO;
+import dao.EmployeeDAO;
+import model.Attendance;
+import org.junit.jupiter.api.*;
+import service.AttendanceImportService;
+import service.AttendanceImportService.DuplicatePolicy;
+import service.AttendanceImportService.ImportResult;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for bulk attendance import from CSV exports.
+ */
+@DisplayName("Attendance Import Service Tests")
+class AttendanceImportServiceTest {
+
+    private static final String HEADER = "Employee #,Last Name,First Name,Date,Log In,Log Out\n";
+
+    private EmbeddedDatabase database;
+    private AttendanceDAO attendanceDAO;
+    private AttendanceImportService importService;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = EmbeddedDatabase.install();
+        database.insertPosition(1, "Account Rank and File", 22500, 1500, 500, 500);
+        database.insertEmployee(10001, "Garcia", "Manuel III", "Regular", 1, null);
+        database.insertEmployee(10002, "Lim", "Antonio", "Regular", 1, 10001);
+        database.insertAttendance(10001, LocalDate.of(2024, 6, 4), LocalTime.of(8, 0), LocalTime.of(17, 0));
+
+        attendanceDAO = new AttendanceDAO();
+        importService = new AttendanceImportService(attendanceDAO, new EmployeeDAO());
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        database.uninstall();
+    }
+
+    private ImportResult importCsv(String csv, DuplicatePolicy policy) throws IOException {
+        return importService.importCsv(new StringReader(csv), policy, null);
+    }
+
+    @Test
+    @DisplayName("Valid lines are saved and invalid ones are reported with reasons")
+    void testImportAndRejections() throws IOException {
+        String csv = HEADER +
+                "10001,\"Garcia, III\",Manuel,06/03/2024,8:59,18:31\n" +
+                "10002,Lim,Antonio,2024-06-03,08:05:00,\n" +
+                "99999,Unknown,Person,06/03/2024,8:00,17:00\n" +
+                "10002,Lim,Antonio,06/03/2024,8:00,17:00\n" +
+                "10002,Lim,Antonio,13/45/2024,8:00,17:00\n" +
+                "10002,Lim,Antonio,06/05/2024,9:00,8:00\n";
+
+        ImportResult result = importCsv(csv, DuplicatePolicy.SKIP);
+
+        assertEquals(2, result.getImported());
+        assertEquals(0, result.getReplaced());
+        assertEquals(4, result.getRejectedCount());
+        List<Integer> rejectedLines = result.getRejected().stream()
+                .map(AttendanceImportService.RejectedLine::getLineNumber).collect(Collectors.toList());
+        assertEquals(List.of(4, 5, 6, 7), rejectedLines);
+        assertTrue(result.getRejected().get(0).getReason().contains("Unknown employee ID 99999"));
+        assertTrue(result.getRejected().get(1).getReason().contains("Duplicate of line 3"));
+
+        Attendance saved = attendanceDAO.getAttendanceByEmployeeAndDate(10001, LocalDate.of(2024, 6, 3));
+        assertEquals(LocalTime.of(8, 59), saved.getLogIn().toLocalTime());
+        assertEquals(LocalTime.of(18, 31), saved.getLogOut().toLocalTime());
+        assertNull(attendanceDAO.getAttendanceByEmployeeAndDate(10002, LocalDate.of(2024, 6, 3)).getLogOut());
+    }
+
+    @Test
+    @DisplayName("Recorded dates are skipped or replaced according to the policy")
+    void testDuplicatePolicy() throws IOException {
+        String csv = HEADER + "10001,Garcia,Manuel,06/04/2024,9:30,18:00\n";
+
+        ImportResult skipped = importCsv(csv, DuplicatePolicy.SKIP);
+        assertEquals(0, skipped.getImported());
+        assertEquals(1, skipped.getRejectedCount());
+        assertEquals(LocalTime.of(8, 0),
+                attendanceDAO.getAttendanceByEmployeeAndDate(10001, LocalDate.of(2024, 6, 4)).getLogIn().toLocalTime());
+
+        ImportResult replaced = importCsv(csv, DuplicatePolicy.REPLACE);
+        assertEquals(0, replaced.getImported());
+        assertEquals(1, replaced.getReplaced());
+        assertEquals(LocalTime.of(9, 30),
+                attendanceDAO.getAttendanceByEmployeeAndDate(10001, LocalDate.of(2024, 6, 4)).getLogIn().toLocalTime());
+    }
+
+    @Test
+    @DisplayName("Large imports cost a fixed number of queries per batch")
+    void testBatchedQueries() throws IOException {
+        StringBuilder csv = new StringBuilder("employee_id,date,log_in,log_out\n");
+        int rows = AttendanceDAO.BATCH_SIZE * 2 + 10;
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            csv.append(10001 + i % 2).append(',').append(start.plusDays(i / 2)).append(",08:00,17:00\n");
+        }
+        database.resetExecutedStatements();
+
+        ImportResult result = importCsv(csv.toString(), DuplicatePolicy.REPLACE);
+
+        assertEquals(rows, result.getImported());
+        // ID set, then per batch one duplicate query and one batched upsert
+        assertEquals(1 + 3 * 2, database.getExecutedStatements());
+        assertEquals(rows + 1, attendanceDAO.getAttendanceDates(List.of(10001, 10002),
+                start, LocalDate.of(2024, 12, 31)).values().stream().mapToInt(java.util.Set::size).sum());
+    }
+}
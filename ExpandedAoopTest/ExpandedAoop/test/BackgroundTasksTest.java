@@ -0,0 +1,158 @@
+package test;
+
+import org.junit.jupiter.api.*;
+import ui.BackgroundTasks;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for the Swing background task framework.
+ */
+@DisplayName("Background Tasks Tests")
+class BackgroundTasksTest {
+
+    private BackgroundTasks tasks;
+
+    @BeforeEach
+    void setUp() {
+        tasks = new BackgroundTasks(2);
+    }
+
+    private static <T> T onEdt(java.util.concurrent.Callable<T> action) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                result.set(action.call());
+            } catch (Exception e) {
+                failure.set(e);
+            }
+        });
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return result.get();
+    }
+
+    /**
+     * Wait until every callback already queued on the EDT has run
+     */
+    private static void flushEdt() throws Exception {
+        SwingUtilities.invokeAndWait(() -> { });
+    }
+
+    @Test
+    @DisplayName("Results are delivered on the EDT and loading state is reported")
+    void testResultOnEdt() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<Boolean> onEdt = new AtomicReference<>();
+        List<Boolean> loading = Collections.synchronizedList(new ArrayList<>());
+
+        onEdt(() -> tasks.newSlot(loading::add).submit(null, task -> 42, value -> {
+            onEdt.set(SwingUtilities.isEventDispatchThread() && value == 42);
+            done.countDown();
+        }, null));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(onEdt.get());
+        assertEquals(List.of(true, false), loading);
+    }
+
+    @Test
+    @DisplayName("A newer submission supersedes the running one")
+    void testSupersede() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        List<Boolean> loading = Collections.synchronizedList(new ArrayList<>());
+
+        BackgroundTasks.Slot slot = onEdt(() -> tasks.newSlot(loading::add));
+        onEdt(() -> slot.submit("January", task -> {
+            release.await();
+            return "January";
+        }, delivered::add, null));
+        onEdt(() -> slot.submit("February", task -> "February", value -> {
+            delivered.add(value);
+            done.countDown();
+        }, null));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        Thread.sleep(100);
+        flushEdt();
+
+        assertEquals(List.of("February"), delivered);
+        assertEquals(List.of(true, false), loading);
+    }
+
+    @Test
+    @DisplayName("The same request while loading is coalesced into one run")
+    void testCoalesce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        BackgroundTasks.Slot slot = onEdt(() -> tasks.newSlot(null));
+        BackgroundTasks.Task first = onEdt(() -> slot.submit("March", task -> {
+            runs.incrementAndGet();
+            release.await();
+            return "March";
+        }, value -> done.countDown(), null));
+        BackgroundTasks.Task second = onEdt(() -> slot.submit("March", task -> {
+            runs.incrementAndGet();
+            return "March";
+        }, value -> fail("Coalesced callbacks must not run"), null));
+
+        assertSame(first, second);
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    @DisplayName("Cancelled tasks report nothing and failures reach the failure callback")
+    void testCancelAndFailure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        List<Object> delivered = Collections.synchronizedList(new ArrayList<>());
+
+        BackgroundTasks.Slot slot = onEdt(() -> tasks.newSlot(null));
+        onEdt(() -> slot.submit(null, task -> {
+            release.await();
+            return "cancelled";
+        }, delivered::add, failure::set));
+        onEdt(() -> {
+            slot.cancel();
+            return null;
+        });
+        assertFalse(onEdt(slot::isLoading));
+        release.countDown();
+
+        onEdt(() -> tasks.submit(task -> {
+            throw new IllegalStateException("Database unavailable");
+        }, delivered::add, e -> {
+            failure.set(e);
+            failed.countDown();
+        }));
+
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        flushEdt();
+        assertTrue(delivered.isEmpty());
+        assertEquals("Database unavailable", failure.get().getMessage());
+    }
+
+    @Test
+    @DisplayName("Tasks must be submitted on the EDT")
+    void testRequiresEdt() {
+        assertThrows(IllegalStateException.class, () -> tasks.submit(task -> 1, value -> { }, null));
+    }
+}
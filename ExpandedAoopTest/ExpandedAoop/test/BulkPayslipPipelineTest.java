@@ -0,0 +1,113 @@
+package test;
+
+import dao.EmployeeDAO;
+import dao.PayrollDAO;
+import org.junit.jupiter.api.*;
+import service.BulkPayslipPipeline;
+import service.BulkPayslipPipeline.BulkResult;
+import service.JasperPayslipService;
+import service.PayrollCalculator;
+import service.PayrollResultCache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for bulk payslip generation against the embedded database.
+ */
+@DisplayName("Bulk Payslip Pipeline Tests")
+class BulkPayslipPipelineTest {
+
+    private static final int EMPLOYEE_COUNT = 12;
+    private static final LocalDate PERIOD_START = LocalDate.of(2024, 6, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2024, 6, 30);
+
+    private EmbeddedDatabase database;
+    private PayrollResultCache cache;
+    private BulkPayslipPipeline pipeline;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = EmbeddedDatabase.install();
+        database.insertPosition(1, "Account Rank and File", 22500, 1500, 500, 500);
+        for (int i = 1; i <= EMPLOYEE_COUNT; i++) {
+            database.insertEmployee(10000 + i, "Employee" + i, "Test", "Regular", 1, null);
+            for (int day = 3; day <= 7; day++) {
+                database.insertAttendance(10000 + i, LocalDate.of(2024, 6, day), LocalTime.of(8, 0), LocalTime.of(17, 0));
+            }
+        }
+        cache = new PayrollResultCache(new PayrollCalculator(), new PayrollDAO(), new EmployeeDAO(), 100);
+        pipeline = new BulkPayslipPipeline(new JasperPayslipService(), cache, new EmployeeDAO(), 3, 4);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        cache.close();
+        database.uninstall();
+    }
+
+    @Test
+    @DisplayName("ZIP output holds one PDF per employee in employee order")
+    void testZipOutput() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkResult result = pipeline.writeZip(PERIOD_START, PERIOD_END, null,
+                JasperPayslipService.ExportFormat.PDF, out);
+
+        assertEquals(EMPLOYEE_COUNT, result.getGeneratedCount());
+        assertFalse(result.hasFailures());
+        assertEquals(out.size(), result.getBytesWritten());
+
+        List<String> names = readPdfEntries(out.toByteArray());
+        assertEquals(EMPLOYEE_COUNT, names.size());
+        assertTrue(names.get(0).contains("10001"), "Entries follow employee order: " + names);
+    }
+
+    @Test
+    @DisplayName("Combined output is a single PDF covering every employee")
+    void testCombinedPdf() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkResult result = pipeline.writeCombined(PERIOD_START, PERIOD_END, null,
+                JasperPayslipService.ExportFormat.PDF, out);
+
+        assertEquals(EMPLOYEE_COUNT, result.getGeneratedCount());
+        assertTrue(new String(out.toByteArray(), 0, 5, StandardCharsets.US_ASCII).startsWith("%PDF"));
+        assertTrue(result.getPayslipsPerSecond() > 0);
+    }
+
+    @Test
+    @DisplayName("Selecting unknown employees produces an empty run")
+    void testEmptySelection() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkResult result = pipeline.writeCombined(PERIOD_START, PERIOD_END, List.of(99999),
+                JasperPayslipService.ExportFormat.PDF, out);
+
+        assertEquals(0, result.getGeneratedCount());
+        assertEquals(0, out.size());
+    }
+
+    private static List<String> readPdfEntries(byte[] zipBytes) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(zipBytes))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                byte[] content = zip.readAllBytes();
+                assertTrue(new String(content, 0, 4, StandardCharsets.US_ASCII).startsWith("%PDF"), entry.getName());
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,57 @@
+package test;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperReport;
+import org.junit.jupiter.api.*;
+import reports.CompiledReportCache;
+
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for the compiled report template cache.
+ */
+@DisplayName("Compiled Report Cache Tests")
+class CompiledReportCacheTest {
+
+    private static final String PAYSLIP_TEMPLATE = "/motorph_payslip.jrxml";
+
+    @BeforeEach
+    void setUp() {
+        CompiledReportCache.clear();
+    }
+
+    @Test
+    @DisplayName("A template is compiled once and reused")
+    void testTemplateIsCompiledOnce() throws JRException {
+        JasperReport first = CompiledReportCache.get(PAYSLIP_TEMPLATE);
+        JasperReport second = CompiledReportCache.get(PAYSLIP_TEMPLATE);
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(1, CompiledReportCache.size());
+    }
+
+    @Test
+    @DisplayName("Warm-up fills the cache in the background")
+    void testWarmUp() throws Exception {
+        CompiledReportCache.warmUp(PAYSLIP_TEMPLATE).get(60, TimeUnit.SECONDS);
+
+        assertEquals(1, CompiledReportCache.size());
+    }
+
+    @Test
+    @DisplayName("A missing template is reported and not cached")
+    void testMissingTemplate() {
+        assertThrows(JRException.class, () -> CompiledReportCache.get("/no_such_template.jrxml"));
+        assertEquals(0, CompiledReportCache.size());
+    }
+
+    @Test
+    @DisplayName("Precompiled reports live under /reports")
+    void testCompiledResourceLocation() {
+        assertEquals("/reports/motorph_payslip.jasper", CompiledReportCache.compiledResource(PAYSLIP_TEMPLATE));
+        assertEquals("/reports/motorph_payroll_template.jasper",
+                CompiledReportCache.compiledResource("/reports/templates/motorph_payroll_template.jrxml"));
+    }
+}
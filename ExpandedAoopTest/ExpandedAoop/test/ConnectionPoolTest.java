@@ -0,0 +1,308 @@
+package test;
+
+import util.ConnectionPool;
+import util.Metrics;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for the pooled connection manager behind DBConnection.
+ * Uses stub connections so no MySQL server is required.
+ */
+@DisplayName("Connection Pool Tests")
+class ConnectionPoolTest {
+
+    private AtomicInteger physicalConnectionsOpened;
+    private AtomicInteger physicalConnectionsClosed;
+    private AtomicInteger statementsPrepared;
+    private AtomicInteger statementsClosed;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        physicalConnectionsOpened = new AtomicInteger();
+        physicalConnectionsClosed = new AtomicInteger();
+        statementsPrepared = new AtomicInteger();
+        statementsClosed = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private ConnectionPool createPool(int minSize, int maxSize, long borrowTimeoutMillis) {
+        return createPool(minSize, maxSize, borrowTimeoutMillis, 0);
+    }
+
+    private ConnectionPool createPool(int minSize, int maxSize, long borrowTimeoutMillis, int statementCacheSize) {
+        ConnectionPool.PoolConfig config = new ConnectionPool.PoolConfig()
+                .setMinSize(minSize)
+                .setMaxSize(maxSize)
+                .setBorrowTimeoutMillis(borrowTimeoutMillis)
+                .setLeakThresholdMillis(0)
+                .setStatementCacheSize(statementCacheSize);
+        pool = new ConnectionPool("test-pool", this::openStubConnection, config);
+        return pool;
+    }
+
+    private Connection openStubConnection() {
+        physicalConnectionsOpened.incrementAndGet();
+        boolean[] closed = {false};
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            closed[0] = true;
+                            physicalConnectionsClosed.incrementAndGet();
+                            return null;
+                        case "isClosed":
+                            return closed[0];
+                        case "isValid":
+                        case "getAutoCommit":
+                            return true;
+                        case "isReadOnly":
+                            return false;
+                        case "prepareStatement":
+                            return openStubStatement();
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private PreparedStatement openStubStatement() {
+        statementsPrepared.incrementAndGet();
+        boolean[] closed = {false};
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!closed[0]) {
+                                closed[0] = true;
+                                statementsClosed.incrementAndGet();
+                            }
+                            return null;
+                        case "isClosed":
+                            return closed[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    @Test
+    @DisplayName("Closing a borrowed connection returns it to the pool")
+    void testCloseReturnsConnectionToPool() throws SQLException {
+        createPool(0, 5, 1000);
+
+        for (int i = 0; i < 100; i++) {
+            try (Connection conn = pool.borrow()) {
+                assertFalse(conn.isClosed(), "Borrowed connection should be open");
+            }
+        }
+
+        assertEquals(1, physicalConnectionsOpened.get(), "Sequential borrows should reuse one physical connection");
+        assertEquals(0, physicalConnectionsClosed.get(), "Returning a connection must not close the socket");
+        assertEquals(100, pool.getStats().getBorrowCount());
+        assertEquals(1, pool.getStats().getIdle());
+        assertEquals(0, pool.getStats().getActive());
+    }
+
+    @Test
+    @DisplayName("A returned handle cannot be used again")
+    void testReturnedHandleIsClosed() throws SQLException {
+        createPool(0, 1, 1000);
+
+        Connection conn = pool.borrow();
+        conn.close();
+        conn.close(); // second close is a no-op
+
+        assertTrue(conn.isClosed(), "Handle should report closed after being returned");
+        assertThrows(SQLException.class, conn::createStatement, "Returned handle must reject further use");
+        assertEquals(1, pool.getStats().getIdle(), "Double close must not return the connection twice");
+    }
+
+    @Test
+    @DisplayName("Pool never exceeds its maximum size and times out waiting borrowers")
+    void testMaxSizeAndBorrowTimeout() throws SQLException {
+        createPool(0, 2, 50);
+
+        Connection first = pool.borrow();
+        Connection second = pool.borrow();
+
+        assertThrows(SQLTimeoutException.class, pool::borrow, "Third borrow should time out");
+        assertEquals(2, physicalConnectionsOpened.get());
+        assertEquals(1, pool.getStats().getTimeouts());
+        assertEquals(2, pool.getStats().getActive());
+
+        first.close();
+        try (Connection third = pool.borrow()) {
+            assertNotNull(third, "Borrow should succeed once a connection is returned");
+        }
+        second.close();
+    }
+
+    @Test
+    @DisplayName("Waiting borrower is handed a connection as soon as one is returned")
+    void testWaiterIsSignalled() throws Exception {
+        createPool(0, 1, 5000);
+
+        Connection held = pool.borrow();
+        Thread waiter = new Thread(() -> {
+            try (Connection conn = pool.borrow()) {
+                assertNotNull(conn);
+            } catch (SQLException e) {
+                fail("Waiter should have received a connection: " + e.getMessage());
+            }
+        });
+        waiter.start();
+
+        // Wait until the second borrower is parked on the pool
+        long deadline = System.currentTimeMillis() + 2000;
+        while (pool.getStats().getWaiters() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, pool.getStats().getWaiters(), "Second borrower should be waiting");
+
+        held.close();
+        waiter.join(2000);
+
+        assertFalse(waiter.isAlive(), "Waiter should finish after the connection is returned");
+        assertEquals(1, physicalConnectionsOpened.get());
+    }
+
+    @Test
+    @DisplayName("Shutdown closes idle physical connections")
+    void testShutdownClosesIdleConnections() throws SQLException {
+        createPool(0, 3, 1000);
+
+        Connection a = pool.borrow();
+        Connection b = pool.borrow();
+        a.close();
+        b.close();
+
+        pool.shutdown();
+
+        assertEquals(2, physicalConnectionsClosed.get(), "Idle connections should be closed on shutdown");
+        assertThrows(SQLException.class, pool::borrow, "Borrowing from a shut down pool should fail");
+    }
+
+    @Test
+    @DisplayName("Prepared statements are reused across borrows of the same connection")
+    void testStatementCacheReusesStatements() throws SQLException {
+        createPool(0, 1, 1000, 10);
+        long hitsBefore = Metrics.counter("db.statementCache.hits").getCount();
+
+        for (int i = 0; i < 50; i++) {
+            try (Connection conn = pool.borrow();
+                 PreparedStatement stmt = conn.prepareStatement("SELECT * FROM employees WHERE employee_id = ?")) {
+                stmt.setInt(1, i);
+                assertFalse(stmt.isClosed());
+            }
+        }
+
+        assertEquals(1, statementsPrepared.get(), "Identical SQL should be prepared once per connection");
+        assertEquals(0, statementsClosed.get(), "Cached statements stay open between borrows");
+        assertEquals(49, Metrics.counter("db.statementCache.hits").getCount() - hitsBefore);
+    }
+
+    @Test
+    @DisplayName("Nested and reconfigured statements are never shared")
+    void testStatementCacheDoesNotShareStatements() throws SQLException {
+        createPool(0, 1, 1000, 10);
+        String sql = "SELECT * FROM attendance WHERE employee_id = ?";
+
+        try (Connection conn = pool.borrow()) {
+            PreparedStatement outer = conn.prepareStatement(sql);
+            PreparedStatement inner = conn.prepareStatement(sql);
+            assertNotSame(outer, inner);
+            assertEquals(2, statementsPrepared.get(), "A statement still in use must not be handed out twice");
+
+            outer.setFetchSize(500);
+            inner.close();
+            outer.close();
+            assertTrue(outer.isClosed());
+            assertThrows(SQLException.class, () -> outer.setInt(1, 1), "Closed handle must reject further use");
+            assertEquals(2, statementsClosed.get(), "A statement with a changed fetch size is not kept");
+
+            conn.prepareStatement(sql).close();
+            conn.prepareStatement(sql).close();
+        }
+        assertEquals(3, statementsPrepared.get());
+    }
+
+    @Test
+    @DisplayName("The least recently used statement is evicted when the cache is full")
+    void testStatementCacheEvictsLeastRecentlyUsed() throws SQLException {
+        createPool(0, 1, 1000, 2);
+
+        try (Connection conn = pool.borrow()) {
+            conn.prepareStatement("SELECT 1").close();
+            conn.prepareStatement("SELECT 2").close();
+            conn.prepareStatement("SELECT 1").close();
+            conn.prepareStatement("SELECT 3").close();   // evicts SELECT 2
+            assertEquals(1, statementsClosed.get());
+
+            conn.prepareStatement("SELECT 1").close();
+            assertEquals(3, statementsPrepared.get(), "SELECT 1 was used recently and should still be cached");
+            conn.prepareStatement("SELECT 2").close();
+            assertEquals(4, statementsPrepared.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Statements left open are closed when the connection is returned")
+    void testStatementCacheClosesAbandonedStatements() throws SQLException {
+        createPool(0, 1, 1000, 10);
+
+        Connection conn = pool.borrow();
+        PreparedStatement leaked = conn.prepareStatement("SELECT 1");
+        conn.close();
+
+        assertTrue(leaked.isClosed());
+        assertEquals(1, statementsClosed.get());
+        try (Connection next = pool.borrow()) {
+            next.prepareStatement("SELECT 1").close();
+        }
+        assertEquals(2, statementsPrepared.get(), "An abandoned statement must not be reused");
+    }
+
+    @Test
+    @DisplayName("Cached statements hand back the pooled handle, not the physical connection")
+    void testStatementCacheReturnsPooledHandle() throws SQLException {
+        createPool(0, 1, 1000, 10);
+
+        Connection conn = pool.borrow();
+        PreparedStatement stmt = conn.prepareStatement("SELECT 1");
+        assertSame(conn, stmt.getConnection());
+        stmt.close();
+
+        conn.prepareStatement("SELECT 1").getConnection().close();
+        assertTrue(conn.isClosed(), "Closing through the statement returns the connection");
+        assertEquals(0, physicalConnectionsClosed.get(), "The physical connection must stay open");
+
+        try (Connection next = pool.borrow()) {
+            assertFalse(next.isClosed());
+        }
+        assertEquals(1, physicalConnectionsOpened.get(), "The returned connection is borrowed again");
+    }
+
+    @Test
+    @DisplayName("Invalid pool configuration is rejected")
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> createPool(5, 2, 1000));
+        assertThrows(IllegalArgumentException.class, () -> createPool(0, 0, 1000));
+        assertThrows(IllegalArgumentException.class, () -> createPool(0, 2, 1000, -1));
+    }
+}
@@ -0,0 +1,95 @@
+package test;
+
+import model.ContributionSchedule;
+import model.GovernmentContribution;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for the precomputed government contribution schedule.
+ */
+@DisplayName("Contribution Schedule Tests")
+class ContributionScheduleTest {
+
+    private final ContributionSchedule schedule = ContributionSchedule.getDefault();
+
+    @Test
+    @DisplayName("SSS brackets switch exactly at their lower bound")
+    void testSssBracketBoundaries() {
+        assertTrue(schedule.isSssTableRegular());
+        assertEquals(61, schedule.getSssBracketCount());
+
+        assertEquals(5000.00, schedule.sssSalaryCredit(0));
+        assertEquals(5000.00, schedule.sssSalaryCredit(5249.99));
+        assertEquals(5500.00, schedule.sssSalaryCredit(5250.00));
+        assertEquals(22500.00, schedule.sssSalaryCredit(22500.00));
+        assertEquals(1125.00, schedule.sssEmployeeShare(22500.00));
+        assertEquals(2250.00, schedule.sssEmployerShare(22500.00));
+        assertEquals(34500.00, schedule.sssSalaryCredit(34749.99));
+        assertEquals(35000.00, schedule.sssSalaryCredit(34750.00));
+        assertEquals(1750.00, schedule.sssEmployeeShare(1_000_000));
+    }
+
+    @Test
+    @DisplayName("Irregular SSS tables fall back to binary search")
+    void testIrregularTable() {
+        ContributionSchedule custom = new ContributionSchedule(
+                new double[][]{
+                        {0, 4000, 180, 380},
+                        {4250, 4500, 202.5, 427.5},
+                        {5000, 6000, 270, 570},
+                        {8000, 9000, 405, 855}
+                },
+                new double[][]{{0, 400, 200, 200}, {10000, 500, 250, 250}},
+                1500, 0.01, 0.02, 0.02, 5000);
+
+        assertFalse(custom.isSssTableRegular());
+        assertEquals(4000, custom.sssSalaryCredit(4249.99));
+        assertEquals(4500, custom.sssSalaryCredit(4250));
+        assertEquals(6000, custom.sssSalaryCredit(7999.99));
+        assertEquals(9000, custom.sssSalaryCredit(8000));
+        assertEquals(9000, custom.sssSalaryCredit(50000));
+    }
+
+    @Test
+    @DisplayName("PhilHealth and Pag-IBIG follow their tiers and caps")
+    void testPhilHealthAndPagIbig() {
+        assertEquals(250.00, schedule.philHealthEmployeeShare(10000.00));
+        assertEquals(1250.00, schedule.philHealthEmployeeShare(10000.01));
+        assertEquals(2500.00, schedule.philHealthEmployeeShare(100000.00));
+        assertEquals(5000.00, schedule.philHealthMonthlyPremium(150000.00));
+
+        assertEquals(0.01, schedule.pagIbigEmployeeRate(1500.00));
+        assertEquals(0.02, schedule.pagIbigEmployeeRate(1500.01));
+        assertEquals(15.00, schedule.pagIbigEmployeeShare(1500.00), 0.0001);
+        assertEquals(100.00, schedule.pagIbigEmployeeShare(90000.00), 0.0001);
+        assertEquals(100.00, schedule.pagIbigEmployerShare(90000.00), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Employee share is the sum of the three contributions")
+    void testEmployeeShare() {
+        for (double salary : new double[]{0, 1200, 9999.99, 22500, 60000, 120000}) {
+            double expected = GovernmentContribution.createSSS(1, salary).getAmount()
+                    + GovernmentContribution.createPhilHealth(1, salary).getAmount()
+                    + GovernmentContribution.createPagIBIG(1, salary).getAmount();
+            assertEquals(expected, schedule.employeeShare(salary), 0.0001, "salary " + salary);
+        }
+    }
+
+    @Test
+    @DisplayName("Factory descriptions are built on first read")
+    void testLazyDescriptions() {
+        assertEquals("Social Security System contribution - Salary Credit: ₱22500.00",
+                GovernmentContribution.createSSS(1, 22500).getDescription());
+        assertEquals("Philippine Health Insurance Corporation contribution - Monthly Premium: ₱2500.00",
+                GovernmentContribution.createPhilHealth(1, 22500).getDescription());
+        assertEquals("Home Development Mutual Fund contribution - Rate: 2.0% (Max contributory: ₱5000.00)",
+                GovernmentContribution.createPagIBIG(1, 22500).getDescription());
+
+        GovernmentContribution sss = GovernmentContribution.createSSS(1, 22500);
+        sss.setDescription("Adjusted");
+        assertEquals("Adjusted", sss.getDescription());
+    }
+}
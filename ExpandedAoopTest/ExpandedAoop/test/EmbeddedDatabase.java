@@ -0,0 +1,238 @@
+package test;
+
+import dao.DataChangeBus;
+import util.ConnectionPool;
+import util.DBConnection;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded H2 (MySQL mode) stand-in for the MotorPH schema.
+ * Installs itself behind DBConnection and counts every statement the DAOs execute,
+ * so tests can assert on database round trips.
+ */
+final class EmbeddedDatabase {
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE positions (" +
+                    "position_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "position_title VARCHAR(100) NOT NULL UNIQUE, " +
+                    "basic_salary DECIMAL(10,2) NOT NULL, " +
+                    "rice_subsidy DECIMAL(8,2) NOT NULL, " +
+                    "phone_allowance DECIMAL(8,2) NOT NULL, " +
+                    "clothing_allowance DECIMAL(8,2) NOT NULL, " +
+                    "gross_semi_monthly_rate DECIMAL(10,2) NOT NULL, " +
+                    "hourly_rate DECIMAL(8,2) NOT NULL)",
+            "CREATE TABLE employees (" +
+                    "employee_id INT PRIMARY KEY, " +
+                    "last_name VARCHAR(50) NOT NULL, " +
+                    "first_name VARCHAR(50) NOT NULL, " +
+                    "birthday DATE, " +
+                    "address VARCHAR(255), " +
+                    "phone_number VARCHAR(20), " +
+                    "sss_number VARCHAR(20), " +
+                    "philhealth_number VARCHAR(20), " +
+                    "tin_number VARCHAR(20), " +
+                    "pagibig_number VARCHAR(20), " +
+                    "status ENUM('Regular', 'Probationary') NOT NULL, " +
+                    "position_id INT NOT NULL, " +
+                    "supervisor_id INT, " +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "FOREIGN KEY (position_id) REFERENCES positions(position_id), " +
+                    "FOREIGN KEY (supervisor_id) REFERENCES employees(employee_id) ON DELETE SET NULL)",
+            "CREATE TABLE leave_requests (" +
+                    "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "employee_id INT NOT NULL, " +
+                    "leave_type VARCHAR(50), " +
+                    "start_date DATE, " +
+                    "end_date DATE, " +
+                    "status ENUM('Pending', 'Approved', 'Rejected') DEFAULT 'Pending', " +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE)",
+            "CREATE TABLE attendance (" +
+                    "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "employee_id INT NOT NULL, " +
+                    "attendance_date DATE NOT NULL, " +
+                    "log_in TIME, " +
+                    "log_out TIME, " +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "CONSTRAINT uq_employee_date UNIQUE (employee_id, attendance_date), " +
+                    "FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE)",
+            "CREATE TABLE payroll_records (" +
+                    "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "employee_id INT NOT NULL, " +
+                    "period_start DATE NOT NULL, " +
+                    "period_end DATE NOT NULL, " +
+                    "monthly_rate DECIMAL(10,2) NOT NULL, " +
+                    "days_worked INT NOT NULL DEFAULT 0, " +
+                    "overtime_hours DECIMAL(6,2) NOT NULL DEFAULT 0, " +
+                    "basic_pay DECIMAL(12,2) NOT NULL DEFAULT 0, " +
+                    "gross_pay DECIMAL(12,2) NOT NULL, " +
+                    "total_deductions DECIMAL(12,2) NOT NULL, " +
+                    "net_pay DECIMAL(12,2) NOT NULL, " +
+                    "rice_subsidy DECIMAL(8,2) NOT NULL DEFAULT 0, " +
+                    "phone_allowance DECIMAL(8,2) NOT NULL DEFAULT 0, " +
+                    "clothing_allowance DECIMAL(8,2) NOT NULL DEFAULT 0, " +
+                    "sss DECIMAL(10,2) NOT NULL DEFAULT 0, " +
+                    "philhealth DECIMAL(10,2) NOT NULL DEFAULT 0, " +
+                    "pagibig DECIMAL(10,2) NOT NULL DEFAULT 0, " +
+                    "tax DECIMAL(12,2) NOT NULL DEFAULT 0, " +
+                    "late_deduction DECIMAL(10,2) NOT NULL DEFAULT 0, " +
+                    "undertime_deduction DECIMAL(10,2) NOT NULL DEFAULT 0, " +
+                    "unpaid_leave_deduction DECIMAL(10,2) NOT NULL DEFAULT 0, " +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "CONSTRAINT uq_payroll_employee_period UNIQUE (employee_id, period_start, period_end), " +
+                    "FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE)"
+    };
+
+    private static final AtomicInteger DATABASE_SEQUENCE = new AtomicInteger();
+
+    private final String url;
+    private final AtomicInteger executedStatements = new AtomicInteger();
+    private final Connection keepAlive;
+
+    private EmbeddedDatabase(String url) throws SQLException {
+        this.url = url;
+        // Hold one connection open so the in-memory database survives pool eviction
+        this.keepAlive = DriverManager.getConnection(url, "sa", "");
+        try (Statement stmt = keepAlive.createStatement()) {
+            for (String ddl : SCHEMA) {
+                stmt.execute(ddl);
+            }
+        }
+    }
+
+    /**
+     * Create a fresh database and route DBConnection to it
+     */
+    static EmbeddedDatabase install() throws SQLException {
+        String url = "jdbc:h2:mem:motorph_" + DATABASE_SEQUENCE.incrementAndGet()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        EmbeddedDatabase database = new EmbeddedDatabase(url);
+        DBConnection.useConnectionFactory(database::openCountingConnection,
+                new ConnectionPool.PoolConfig().setMinSize(0).setMaxSize(8).setLeakThresholdMillis(0)
+                        .setStatementCacheSize(64));
+        // Shared caches and indexes may still hold rows from the previous database
+        for (DataChangeBus.Entity entity : DataChangeBus.Entity.values()) {
+            DataChangeBus.publish(new DataChangeBus.DataChange(entity, null, null, null));
+        }
+        return database;
+    }
+
+    void uninstall() throws SQLException {
+        DBConnection.shutdownPool();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        }
+        keepAlive.close();
+    }
+
+    /**
+     * Run setup SQL directly, bypassing the statement counter
+     */
+    void execute(String sql, Object... params) throws SQLException {
+        try (PreparedStatement stmt = keepAlive.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            stmt.execute();
+        }
+    }
+
+    void insertPosition(int id, String title, double basicSalary, double rice, double phone, double clothing)
+            throws SQLException {
+        execute("INSERT INTO positions (position_id, position_title, basic_salary, rice_subsidy, phone_allowance, " +
+                        "clothing_allowance, gross_semi_monthly_rate, hourly_rate) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                id, title, basicSalary, rice, phone, clothing, basicSalary / 2, basicSalary / 21.75 / 8);
+    }
+
+    void insertEmployee(int id, String lastName, String firstName, String status, int positionId, Integer supervisorId)
+            throws SQLException {
+        execute("INSERT INTO employees (employee_id, last_name, first_name, birthday, status, position_id, supervisor_id) " +
+                        "VALUES (?, ?, ?, DATE '1990-01-15', ?, ?, ?)",
+                id, lastName, firstName, status, positionId, supervisorId);
+    }
+
+    void insertAttendance(int employeeId, LocalDate date, LocalTime logIn, LocalTime logOut) throws SQLException {
+        execute("INSERT INTO attendance (employee_id, attendance_date, log_in, log_out) VALUES (?, ?, ?, ?)",
+                employeeId, date, logIn, logOut);
+    }
+
+    void insertLeaveRequest(int employeeId, String leaveType, LocalDate startDate, LocalDate endDate, String status)
+            throws SQLException {
+        execute("INSERT INTO leave_requests (employee_id, leave_type, start_date, end_date, status) VALUES (?, ?, ?, ?, ?)",
+                employeeId, leaveType, startDate, endDate, status);
+        DataChangeBus.publish(new DataChangeBus.DataChange(
+                DataChangeBus.Entity.LEAVE_REQUEST, employeeId, startDate, endDate));
+    }
+
+    /**
+     * Count rows with a query that bypasses the statement counter
+     */
+    int countRows(String sql, Object... params) throws SQLException {
+        try (PreparedStatement stmt = keepAlive.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    int getExecutedStatements() {
+        return executedStatements.get();
+    }
+
+    void resetExecutedStatements() {
+        executedStatements.set(0);
+    }
+
+    private Connection openCountingConnection() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, "sa", "");
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(physical, method, args);
+                    if (result instanceof Statement) {
+                        return countingStatement((Statement) result);
+                    }
+                    return result;
+                });
+    }
+
+    private Object countingStatement(Statement statement) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute")) {
+                        executedStatements.incrementAndGet();
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package test;
+
+import dao.EmployeeDAO;
+import model.Employee;
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for keyset-paged employee listing.
+ */
+@DisplayName("EmployeeDAO Paging Tests")
+class EmployeeDAOPagingTest {
+
+    private static final int EMPLOYEE_COUNT = 23;
+    private static final int PAGE_SIZE = 5;
+
+    private EmbeddedDatabase database;
+    private EmployeeDAO employeeDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = EmbeddedDatabase.install();
+        database.insertPosition(1, "Chief Executive Officer", 90000, 1500, 2000, 1000);
+        database.insertPosition(2, "Account Rank and File", 22500, 1500, 500, 500);
+
+        database.insertEmployee(10001, "Garcia", "Manuel III", "Regular", 1, null);
+        for (int i = 2; i <= EMPLOYEE_COUNT; i++) {
+            // Pairs of employees share a last name so the name order needs its tie-breakers
+            database.insertEmployee(10000 + i, "Employee" + (i / 2), "Test" + (EMPLOYEE_COUNT - i),
+                    "Regular", i % 3 == 0 ? 1 : 2, 10001);
+        }
+
+        employeeDAO = new EmployeeDAO();
+        database.resetExecutedStatements();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        database.uninstall();
+    }
+
+    private List<Integer> readAllPages(String searchTerm, EmployeeDAO.SortKey sortKey, boolean ascending) {
+        List<Integer> ids = new ArrayList<>();
+        EmployeeDAO.PageKey after = null;
+        do {
+            EmployeeDAO.EmployeePage page = employeeDAO.getEmployeePage(searchTerm, sortKey, ascending, after, PAGE_SIZE);
+            assertTrue(page.getEmployees().size() <= PAGE_SIZE);
+            page.getEmployees().forEach(e -> ids.add(e.getEmployeeId()));
+            after = page.getNextKey();
+        } while (after != null);
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Name pages concatenate to the full name ordering, one query per page")
+    void testNamePagesMatchFullListing() {
+        List<Integer> expected = employeeDAO.getAllEmployees().stream()
+                .sorted((a, b) -> {
+                    int byLast = a.getLastName().compareTo(b.getLastName());
+                    int byFirst = a.getFirstName().compareTo(b.getFirstName());
+                    return byLast != 0 ? byLast : byFirst != 0 ? byFirst : Integer.compare(a.getEmployeeId(), b.getEmployeeId());
+                })
+                .map(Employee::getEmployeeId)
+                .collect(Collectors.toList());
+        database.resetExecutedStatements();
+
+        List<Integer> paged = readAllPages(null, EmployeeDAO.SortKey.NAME, true);
+
+        assertEquals(expected, paged);
+        assertEquals((EMPLOYEE_COUNT + PAGE_SIZE - 1) / PAGE_SIZE, database.getExecutedStatements());
+    }
+
+    @Test
+    @DisplayName("Descending ID pages visit every employee once, highest first")
+    void testDescendingIdPages() {
+        List<Integer> paged = readAllPages(null, EmployeeDAO.SortKey.ID, false);
+
+        assertEquals(EMPLOYEE_COUNT, paged.size());
+        for (int i = 0; i < paged.size(); i++) {
+            assertEquals(10000 + EMPLOYEE_COUNT - i, paged.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Position pages keep employees with the same title in name order")
+    void testPositionPages() {
+        List<Integer> paged = readAllPages(null, EmployeeDAO.SortKey.POSITION, true);
+
+        assertEquals(EMPLOYEE_COUNT, paged.size());
+        assertEquals(EMPLOYEE_COUNT, paged.stream().distinct().count());
+        List<String> titles = paged.stream()
+                .map(id -> employeeDAO.getEmployeeById(id).getPosition())
+                .collect(Collectors.toList());
+        List<String> sortedTitles = new ArrayList<>(titles);
+        sortedTitles.sort(String::compareTo);
+        assertEquals(sortedTitles, titles);
+    }
+
+    @Test
+    @DisplayName("Search filter applies to pages and count alike")
+    void testSearchPages() {
+        int count = employeeDAO.countEmployees("Chief");
+        List<Integer> paged = readAllPages("Chief", EmployeeDAO.SortKey.NAME, true);
+
+        assertEquals(employeeDAO.searchEmployees("Chief").size(), count);
+        assertEquals(count, paged.size());
+        assertEquals(EMPLOYEE_COUNT, employeeDAO.countEmployees(null));
+        assertEquals(EMPLOYEE_COUNT, employeeDAO.countEmployees("  "));
+    }
+
+    @Test
+    @DisplayName("Last page reports no next key")
+    void testLastPage() {
+        EmployeeDAO.EmployeePage page = employeeDAO.getEmployeePage(null, EmployeeDAO.SortKey.ID, true, null, EMPLOYEE_COUNT);
+
+        assertEquals(EMPLOYEE_COUNT, page.getEmployees().size());
+        assertFalse(page.hasMore());
+        assertNull(page.getNextKey());
+        assertThrows(IllegalArgumentException.class,
+                () -> employeeDAO.getEmployeePage(null, EmployeeDAO.SortKey.ID, true, null, 0));
+    }
+}
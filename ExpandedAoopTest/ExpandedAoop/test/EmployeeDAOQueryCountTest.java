@@ -0,0 +1,116 @@
+package test;
+
+import dao.EmployeeDAO;
+import model.Employee;
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regression tests for N+1 queries in EmployeeDAO.
+ * Every list read must be answered by one statement no matter how many employees it returns.
+ */
+@DisplayName("EmployeeDAO Query Count Tests")
+class EmployeeDAOQueryCountTest {
+
+    private static final int EMPLOYEE_COUNT = 50;
+
+    private EmbeddedDatabase database;
+    private EmployeeDAO employeeDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = EmbeddedDatabase.install();
+        database.insertPosition(1, "Chief Executive Officer", 90000, 1500, 2000, 1000);
+        database.insertPosition(2, "Account Rank and File", 22500, 1500, 500, 500);
+
+        database.insertEmployee(10001, "Garcia", "Manuel III", "Regular", 1, null);
+        for (int i = 2; i <= EMPLOYEE_COUNT; i++) {
+            database.insertEmployee(10000 + i, "Employee" + i, "Test", i % 2 == 0 ? "Regular" : "Probationary", 2, 10001);
+        }
+
+        employeeDAO = new EmployeeDAO();
+        database.resetExecutedStatements();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        database.uninstall();
+    }
+
+    @Test
+    @DisplayName("getAllEmployees loads positions and supervisors in one query")
+    void testGetAllEmployeesSingleQuery() {
+        List<Employee> employees = employeeDAO.getAllEmployees();
+
+        assertEquals(EMPLOYEE_COUNT, employees.size());
+        assertEquals(1, database.getExecutedStatements(), "Listing employees must not query per row");
+
+        Employee subordinate = employees.stream()
+                .filter(e -> e.getEmployeeId() == 10002)
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Account Rank and File", subordinate.getPosition());
+        assertEquals(2, subordinate.getPositionId());
+        assertEquals(22500, subordinate.getBasicSalary(), 0.01);
+        assertEquals("Garcia, Manuel III", subordinate.getImmediateSupervisor());
+    }
+
+    @Test
+    @DisplayName("Filtered reads each run a single query")
+    void testFilteredReadsSingleQuery() {
+        // The CEO plus every even id
+        assertEquals(EMPLOYEE_COUNT / 2 + 1, employeeDAO.getEmployeesByStatus("Regular").size());
+        assertEquals(1, database.getExecutedStatements());
+
+        database.resetExecutedStatements();
+        assertEquals(EMPLOYEE_COUNT - 1, employeeDAO.getEmployeesByPositionId(2).size());
+        assertEquals(1, database.getExecutedStatements());
+
+        database.resetExecutedStatements();
+        assertEquals(EMPLOYEE_COUNT - 1, employeeDAO.getEmployeesBySupervisor(10001).size());
+        assertEquals(1, database.getExecutedStatements());
+
+        database.resetExecutedStatements();
+        assertEquals(EMPLOYEE_COUNT - 1, employeeDAO.searchEmployees("Rank and File").size());
+        assertEquals(1, database.getExecutedStatements());
+    }
+
+    @Test
+    @DisplayName("Single employee lookup includes position details without extra queries")
+    void testEmployeeWithPositionDetailsSingleQuery() {
+        Employee ceo = employeeDAO.getEmployeeWithPositionDetails(10001);
+
+        assertNotNull(ceo);
+        assertEquals(1, database.getExecutedStatements());
+        assertEquals(10001, ceo.getEmployeeId());
+        assertEquals(1, ceo.getPositionId());
+        assertEquals("Chief Executive Officer", ceo.getPosition());
+        assertNull(ceo.getImmediateSupervisor(), "Top-level employee has no supervisor");
+    }
+
+    @Test
+    @DisplayName("forEachEmployee streams the same rows as getAllEmployees in one query")
+    void testForEachEmployeeSingleQuery() {
+        List<Employee> streamed = new ArrayList<>();
+        int count = employeeDAO.forEachEmployee(streamed::add);
+
+        assertEquals(EMPLOYEE_COUNT, count);
+        assertEquals(1, database.getExecutedStatements(), "Streaming employees must not query per row");
+
+        List<Employee> listed = employeeDAO.getAllEmployees();
+        for (int i = 0; i < EMPLOYEE_COUNT; i++) {
+            assertEquals(listed.get(i).getEmployeeId(), streamed.get(i).getEmployeeId());
+        }
+        assertEquals("Garcia, Manuel III", streamed.stream()
+                .filter(e -> e.getEmployeeId() == 10002)
+                .findFirst()
+                .orElseThrow()
+                .getImmediateSupervisor());
+
+        assertThrows(IllegalArgumentException.class, () -> employeeDAO.forEachEmployee(null));
+    }
+}
@@ -0,0 +1,104 @@
+package test;
+
+import dao.EmployeeDAO;
+import model.Employee;
+import model.RegularEmployee;
+import org.junit.jupiter.api.*;
+import service.EmployeeSearchIndex;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for the in-memory employee search index.
+ */
+@DisplayName("Employee Search Index Tests")
+class EmployeeSearchIndexTest {
+
+    private EmbeddedDatabase database;
+    private EmployeeDAO employeeDAO;
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = EmbeddedDatabase.install();
+        database.insertPosition(1, "Chief Executive Officer", 90000, 1500, 2000, 1000);
+        database.insertPosition(2, "Account Rank and File", 22500, 1500, 500, 500);
+        database.insertEmployee(10001, "Garcia", "Manuel III", "Regular", 1, null);
+        database.insertEmployee(10002, "Lim", "Antonio", "Regular", 2, 10001);
+        database.insertEmployee(10003, "Aquino", "Bianca Sofia", "Regular", 2, 10001);
+
+        employeeDAO = new EmployeeDAO();
+        index = new EmployeeSearchIndex(employeeDAO);
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        index.close();
+        database.uninstall();
+    }
+
+    private List<Integer> ids(String term) {
+        return index.search(term).stream().map(Employee::getEmployeeId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Matches substrings of names, IDs and positions, ignoring case")
+    void testSubstringMatches() {
+        assertTrue(index.isReady());
+        assertEquals(3, index.size());
+
+        assertEquals(List.of(10001), ids("iii garcia"));
+        assertEquals(List.of(10003, 10002), ids("RANK AND"));
+        assertEquals(List.of(10002), ids("002"));
+        assertEquals(List.of(10003, 10001), ids("ia"));
+        assertTrue(ids("zzz").isEmpty());
+        assertTrue(ids("executive assistant").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Results agree with the database search")
+    void testMatchesDatabaseSearch() {
+        for (String term : new String[]{"an", "Officer", "1000", "ia"}) {
+            List<Integer> expected = employeeDAO.searchEmployees(term).stream()
+                    .map(Employee::getEmployeeId).sorted().collect(Collectors.toList());
+            List<Integer> actual = ids(term);
+            actual.sort(Integer::compareTo);
+            assertEquals(expected, actual, "term: " + term);
+        }
+    }
+
+    @Test
+    @DisplayName("Blank terms return everyone in name order")
+    void testBlankTerm() {
+        assertEquals(List.of(10003, 10001, 10002), ids("  "));
+        assertEquals(List.of(10003, 10001, 10002), ids(null));
+    }
+
+    @Test
+    @DisplayName("Replacing and removing employees updates the postings")
+    void testPutAndRemove() {
+        index.put(new RegularEmployee(10002, "Antonio", "Reyes", "Chief Finance Officer", 60000));
+        assertEquals(List.of(10002), ids("reyes"));
+        assertTrue(ids("lim").isEmpty());
+        assertEquals(List.of(10001, 10002), ids("chief"));
+
+        index.remove(10002);
+        assertTrue(ids("reyes").isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Employee deletes through the DAO reach the index")
+    void testDaoDeleteUpdatesIndex() {
+        assertEquals(List.of(10003), ids("bianca"));
+
+        assertTrue(employeeDAO.deleteEmployee(10003));
+
+        assertTrue(ids("bianca").isEmpty());
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,118 @@
+package test;
+
+import dao.LeaveRequestDAO;
+import model.LeaveRequest;
+import org.junit.jupiter.api.*;
+import service.LeaveIntervalIndex;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for leave overlap and period lookups served from the interval index.
+ */
+@DisplayName("Leave Interval Index Tests")
+class LeaveIntervalIndexTest {
+
+    private static final LocalDate JUNE_START = LocalDate.of(2024, 6, 1);
+    private static final LocalDate JUNE_END = LocalDate.of(2024, 6, 30);
+
+    private EmbeddedDatabase database;
+    private LeaveRequestDAO leaveDAO;
+    private LeaveIntervalIndex index;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = EmbeddedDatabase.install();
+        database.insertPosition(1, "Account Rank and File", 22500, 1500, 500, 500);
+        database.insertEmployee(10001, "Garcia", "Manuel III", "Regular", 1, null);
+        database.insertEmployee(10002, "Lim", "Antonio", "Regular", 1, 10001);
+        database.insertLeaveRequest(10001, "Vacation", LocalDate.of(2024, 5, 28), LocalDate.of(2024, 6, 3), "Approved");
+        database.insertLeaveRequest(10001, "Unpaid", LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12), "Approved");
+        database.insertLeaveRequest(10001, "Sick", LocalDate.of(2024, 6, 11), LocalDate.of(2024, 6, 14), "Approved");
+        database.insertLeaveRequest(10001, "Vacation", LocalDate.of(2024, 6, 20), LocalDate.of(2024, 6, 21), "Pending");
+        database.insertLeaveRequest(10001, "Vacation", LocalDate.of(2024, 6, 24), LocalDate.of(2024, 6, 25), "Rejected");
+
+        leaveDAO = new LeaveRequestDAO();
+        index = new LeaveIntervalIndex(leaveDAO);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        index.close();
+        database.uninstall();
+    }
+
+    @Test
+    @DisplayName("Approved and pending leave overlap; rejected leave does not")
+    void testOverlap() {
+        assertTrue(index.hasOverlappingLeave(10001, LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 3), null));
+        assertTrue(index.hasOverlappingLeave(10001, LocalDate.of(2024, 6, 14), LocalDate.of(2024, 6, 18), null));
+        assertTrue(index.hasOverlappingLeave(10001, LocalDate.of(2024, 6, 19), LocalDate.of(2024, 6, 20), null));
+        assertFalse(index.hasOverlappingLeave(10001, LocalDate.of(2024, 6, 4), LocalDate.of(2024, 6, 9), null));
+        assertFalse(index.hasOverlappingLeave(10001, LocalDate.of(2024, 6, 24), LocalDate.of(2024, 6, 25), null));
+        assertFalse(index.hasOverlappingLeave(10002, JUNE_START, JUNE_END, null));
+    }
+
+    @Test
+    @DisplayName("The request being edited does not overlap itself")
+    void testExcludedRequest() {
+        int pendingId = leaveDAO.getLeaveRequestsByEmployeeId(10001).stream()
+                .filter(LeaveRequest::isPending).findFirst().orElseThrow().getLeaveId();
+
+        assertFalse(index.hasOverlappingLeave(10001, LocalDate.of(2024, 6, 19), LocalDate.of(2024, 6, 22), pendingId));
+        assertTrue(index.hasOverlappingLeave(10001, LocalDate.of(2024, 6, 12), LocalDate.of(2024, 6, 22), pendingId));
+    }
+
+    @Test
+    @DisplayName("Approved leave days are clipped to the period and counted once")
+    void testApprovedLeaveInPeriod() {
+        assertEquals(3, index.getApprovedLeaves(10001, JUNE_START, JUNE_END).size());
+        assertEquals(3 + 5, index.getApprovedLeaveDaysWithin(10001, JUNE_START, JUNE_END));
+
+        Map<Integer, List<LeaveRequest>> byEmployee = index.getApprovedLeaves(List.of(10001, 10002),
+                LocalDate.of(2024, 6, 13), LocalDate.of(2024, 6, 30));
+        assertEquals(1, byEmployee.size());
+        assertEquals("Sick", byEmployee.get(10001).get(0).getLeaveType());
+    }
+
+    @Test
+    @DisplayName("Lookups after the first load run no queries until leave changes")
+    void testQueriesAndInvalidation() {
+        index.hasOverlappingLeave(10001, JUNE_START, JUNE_END, null);
+        database.resetExecutedStatements();
+
+        for (int day = 1; day <= 30; day++) {
+            LocalDate date = JUNE_START.withDayOfMonth(day);
+            index.hasOverlappingLeave(10001, date, date, null);
+            index.hasOverlappingLeave(10002, date, date, null);
+        }
+        assertEquals(0, database.getExecutedStatements());
+
+        LeaveRequest leave = new LeaveRequest();
+        leave.setEmployeeId(10002);
+        leave.setLeaveType("Vacation");
+        leave.setStartDate(java.sql.Date.valueOf(LocalDate.of(2024, 6, 5)));
+        leave.setEndDate(java.sql.Date.valueOf(LocalDate.of(2024, 6, 6)));
+        assertTrue(leaveDAO.insertLeaveRequest(leave) > 0);
+        database.resetExecutedStatements();
+
+        assertTrue(index.hasOverlappingLeave(10002, LocalDate.of(2024, 6, 6), LocalDate.of(2024, 6, 8), null));
+        assertFalse(index.hasOverlappingLeave(10001, LocalDate.of(2024, 6, 5), LocalDate.of(2024, 6, 6), null));
+        assertEquals(1, database.getExecutedStatements());
+    }
+
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> index.hasOverlappingLeave(10001, JUNE_END, JUNE_START, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> index.getApprovedLeaves(0, JUNE_START, JUNE_END));
+        assertThrows(IllegalArgumentException.class,
+                () -> index.getApprovedLeaves(null, JUNE_START, JUNE_END));
+    }
+}
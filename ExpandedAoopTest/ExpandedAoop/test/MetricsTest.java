@@ -0,0 +1,126 @@
+package test;
+
+import dao.EmployeeDAO;
+import dao.PositionDAO;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import util.Metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for the metrics registry and the DAO timings recorded through DBConnection.
+ */
+@DisplayName("Metrics Tests")
+class MetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        Metrics.setEnabled(true);
+        Metrics.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.setEnabled(true);
+    }
+
+    @Test
+    @DisplayName("Counters add up and are zeroed by reset")
+    void testCounter() {
+        Metrics.Counter counter = Metrics.counter("test.counter");
+        counter.increment();
+        counter.add(4);
+
+        assertEquals(5, counter.getCount());
+        assertSame(counter, Metrics.counter("test.counter"));
+
+        Metrics.reset();
+        assertEquals(0, counter.getCount());
+    }
+
+    @Test
+    @DisplayName("Histogram percentiles are within one bucket of the exact value")
+    void testHistogramPercentiles() {
+        Metrics.Histogram histogram = Metrics.histogram("test.histogram");
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_500, histogram.getSum());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(500, histogram.percentile(0.50), 500 * 0.125);
+        assertEquals(950, histogram.percentile(0.95), 950 * 0.125);
+        assertEquals(1000, histogram.percentile(1.0));
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(1.5));
+    }
+
+    @Test
+    @DisplayName("Timer samples record elapsed time unless recording is disabled")
+    void testTimer() throws InterruptedException {
+        Metrics.Timer timer = Metrics.timer("test.timer");
+        Metrics.Sample sample = timer.start();
+        Thread.sleep(5);
+        sample.close();
+        assertEquals(1, timer.getCount());
+        assertTrue(timer.getMax() >= 5_000_000L);
+
+        Metrics.setEnabled(false);
+        sample = timer.start();
+        Thread.sleep(1);
+        sample.close();
+        assertEquals(1, timer.getCount());
+    }
+
+    @Test
+    @DisplayName("A name cannot be reused for a different kind of metric")
+    void testTypeClash() {
+        Metrics.counter("test.clash");
+        assertThrows(IllegalArgumentException.class, () -> Metrics.timer("test.clash"));
+        assertThrows(IllegalArgumentException.class, () -> Metrics.counter(" "));
+    }
+
+    @Test
+    @DisplayName("DAO calls are timed under the calling DAO method")
+    void testDaoTimings() throws SQLException {
+        EmbeddedDatabase database = EmbeddedDatabase.install();
+        try {
+            database.insertPosition(1, "Account Rank and File", 22500, 1500, 500, 500);
+            database.insertEmployee(10001, "Garcia", "Manuel III", "Regular", 1, null);
+
+            new EmployeeDAO().getEmployeeById(10001);
+            new EmployeeDAO().getEmployeeById(10001);
+            new PositionDAO().getAllPositions();
+
+            assertEquals(2, Metrics.timer("dao.EmployeeDAO.getEmployeeById").getCount());
+            assertEquals(1, Metrics.timer("dao.PositionDAO.getAllPositions").getCount());
+        } finally {
+            database.uninstall();
+        }
+    }
+
+    @Test
+    @DisplayName("The report lists every metric that recorded something")
+    void testWriteReport() throws IOException {
+        Metrics.counter("test.report.counter").increment();
+        Metrics.timer("test.report.timer").record(2_000_000L);
+        Metrics.counter("test.report.unused");
+
+        Path file = tempDir.resolve("metrics.txt");
+        Metrics.writeReport(file);
+        String report = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+
+        assertTrue(report.contains("test.report.counter"));
+        assertTrue(report.contains("test.report.timer"));
+        assertFalse(report.contains("test.report.unused"));
+    }
+}
@@ -0,0 +1,75 @@
+package test;
+
+import model.Money;
+import org.junit.jupiter.api.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for fixed-point peso amounts.
+ */
+@DisplayName("Money Tests")
+class MoneyTest {
+
+    @Test
+    @DisplayName("Peso amounts round to centavos as the decimal they print as")
+    void testCentavosFromPesos() {
+        assertEquals(2250000, Money.centavos(22500.00));
+        assertEquals(101, Money.centavos(1.005));
+        assertEquals(100, Money.centavos(1.005, RoundingMode.HALF_EVEN));
+        assertEquals(-101, Money.centavos(-1.005));
+        assertEquals(1439583, Money.centavos(14395.833333));
+        assertEquals(1439584, Money.centavos(14395.831, RoundingMode.CEILING));
+    }
+
+    @Test
+    @DisplayName("Rational multiplication is exact and rounded once")
+    void testMultiplyRational() {
+        // 22,500 a month for 21 of 22 days: 21,477.2727... rounds to 21,477.27
+        assertEquals(2147727, Money.multiply(2250000, 21, 22, RoundingMode.HALF_UP));
+        // One minute late on 22,500 a month: 22,500 / (22 * 8 * 60) = 2.1306...
+        assertEquals(213, Money.multiply(2250000, 1, 22 * 8 * 60, RoundingMode.HALF_UP));
+        assertEquals(3, Money.multiply(5, 1, 2, RoundingMode.HALF_UP));
+        assertEquals(2, Money.multiply(5, 1, 2, RoundingMode.HALF_EVEN));
+        assertEquals(-3, Money.multiply(-5, 1, 2, RoundingMode.HALF_UP));
+        assertEquals(-3, Money.multiply(-5, 1, 2, RoundingMode.FLOOR));
+        assertThrows(ArithmeticException.class, () -> Money.multiply(5, 1, 2, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    @DisplayName("Rate multiplication rounds ties in decimal")
+    void testMultiplyRate() {
+        assertEquals(10000, Money.multiply(500000, 0.02, RoundingMode.HALF_UP));
+        assertEquals(2, Money.multiply(5, 0.3, RoundingMode.HALF_UP));
+        assertEquals(1, Money.multiply(5, 0.3, RoundingMode.HALF_DOWN));
+    }
+
+    @Test
+    @DisplayName("Sums of many amounts are exact")
+    void testExactSums() {
+        Money total = Money.ZERO;
+        double doubleTotal = 0;
+        for (int i = 0; i < 1000; i++) {
+            total = total.plus(Money.ofPesos(0.10));
+            doubleTotal += 0.10;
+        }
+
+        assertEquals(Money.ofCentavos(10000), total);
+        assertEquals(new BigDecimal("100.00"), total.toBigDecimal());
+        assertNotEquals(100.0, doubleTotal);
+    }
+
+    @Test
+    @DisplayName("Values convert to BigDecimal with two decimal places")
+    void testConversions() {
+        Money amount = Money.of(new BigDecimal("1234.565"));
+
+        assertEquals(123457, amount.getCentavos());
+        assertEquals("1234.57", amount.toString());
+        assertEquals(1234.57, amount.toDouble());
+        assertEquals(new BigDecimal("-1234.57"), amount.negate().toBigDecimal());
+        assertTrue(amount.compareTo(Money.ofPesos(1234.56)) > 0);
+    }
+}
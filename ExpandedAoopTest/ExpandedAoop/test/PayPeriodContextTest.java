@@ -0,0 +1,91 @@
+package test;
+
+import model.Attendance;
+import model.LeaveRequest;
+import model.Position;
+import model.StatutorySchedule;
+import org.junit.jupiter.api.*;
+import service.PayPeriodContext;
+import service.PayrollCalculator;
+import service.PayrollCalculator.PayrollData;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for the single-pass pay period context.
+ */
+@DisplayName("Pay Period Context Tests")
+class PayPeriodContextTest {
+
+    private static final int EMPLOYEE_ID = 10001;
+    private static final LocalDate PERIOD_START = LocalDate.of(2024, 6, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2024, 6, 30);
+
+    private Position position;
+
+    @BeforeEach
+    void setUp() {
+        position = new Position(1, "Account Rank and File", 22000);
+        position.setRiceSubsidy(1500);
+        position.setPhoneAllowance(500);
+        position.setClothingAllowance(500);
+    }
+
+    @Test
+    @DisplayName("Days, hours, late and undertime are totalled in one pass")
+    void testAttendanceTotals() {
+        List<Attendance> attendance = List.of(
+                day(3, "08:00:00", "17:00:00"),   // on time
+                day(4, "08:10:00", "17:00:00"),   // within the grace period
+                day(5, "08:30:00", "16:30:00"),   // 30 late, 30 undertime
+                day(6, "09:00:00", null),         // 60 late, no logout
+                day(7, null, "15:00:00"));        // no login, 120 undertime
+
+        PayPeriodContext context = new PayPeriodContext(EMPLOYEE_ID, position, PERIOD_START, PERIOD_END,
+                attendance, List.of(), StatutorySchedule.builtIn());
+
+        assertEquals(4, context.getDaysWorked());
+        assertEquals(9 + (8 + 50 / 60.0) + 8, context.getTotalHours(), 0.0001);
+        assertEquals(90, context.getLateMinutes());
+        assertEquals(150, context.getUndertimeMinutes());
+    }
+
+    @Test
+    @DisplayName("Only unpaid leave is counted")
+    void testUnpaidLeaveDays() {
+        LeaveRequest unpaid = new LeaveRequest(EMPLOYEE_ID, Date.valueOf("2024-06-10"), Date.valueOf("2024-06-12"), "Unpaid");
+        LeaveRequest sick = new LeaveRequest(EMPLOYEE_ID, Date.valueOf("2024-06-20"), Date.valueOf("2024-06-20"), "Sick");
+
+        PayPeriodContext context = new PayPeriodContext(EMPLOYEE_ID, position, PERIOD_START, PERIOD_END,
+                List.of(), List.of(unpaid, sick), StatutorySchedule.builtIn());
+
+        assertEquals(3, context.getUnpaidLeaveDays());
+        assertEquals(0, context.getDaysWorked());
+    }
+
+    @Test
+    @DisplayName("Payroll is calculated from the context without database access")
+    void testCalculateFromContext() {
+        PayPeriodContext context = new PayPeriodContext(EMPLOYEE_ID, position, PERIOD_START, PERIOD_END,
+                List.of(day(3, "08:30:00", "16:30:00"), day(4, "08:00:00", "17:00:00")), List.of(),
+                StatutorySchedule.builtIn());
+
+        PayrollData data = new PayrollCalculator().calculatePayroll(context);
+
+        double hourlyRate = position.getDailyRate() / 8;
+        assertEquals(2, data.getDaysWorked());
+        assertEquals(2 * position.getDailyRate(), data.getBasicPay(), 0.0001);
+        assertEquals(0.5 * hourlyRate, data.getLateDeduction(), 0.0001);
+        assertEquals(0.5 * hourlyRate, data.getUndertimeDeduction(), 0.0001);
+        assertEquals(1100.00, data.getSss(), 0.0001);
+    }
+
+    private static Attendance day(int dayOfMonth, String logIn, String logOut) {
+        return new Attendance(EMPLOYEE_ID, Date.valueOf(LocalDate.of(2024, 6, dayOfMonth)),
+                logIn != null ? Time.valueOf(logIn) : null, logOut != null ? Time.valueOf(logOut) : null);
+    }
+}
@@ -0,0 +1,177 @@
+package test;
+
+import dao.EmployeeDAO;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import service.PayRunExecutor;
+import service.PayRunExecutor.PayRunSummary;
+import service.PayrollCalculator;
+import service.PayrollCalculator.PayrollData;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for the parallel pay-run executor against the embedded database.
+ */
+@DisplayName("Pay Run Executor Tests")
+class PayRunExecutorTest {
+
+    private static final int EMPLOYEE_COUNT = 60;
+    private static final int FAILING_EMPLOYEE = 10013;
+    private static final LocalDate PERIOD_START = LocalDate.of(2024, 6, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2024, 6, 30);
+
+    private EmbeddedDatabase database;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = EmbeddedDatabase.install();
+        database.insertPosition(1, "Chief Executive Officer", 90000, 1500, 2000, 1000);
+        database.insertPosition(2, "Account Rank and File", 22500, 1500, 500, 500);
+
+        database.insertEmployee(10001, "Garcia", "Manuel III", "Regular", 1, null);
+        for (int i = 2; i <= EMPLOYEE_COUNT; i++) {
+            database.insertEmployee(10000 + i, "Employee" + i, "Test", "Regular", 2, 10001);
+        }
+        for (int i = 1; i <= EMPLOYEE_COUNT; i++) {
+            for (int day = 3; day <= 7; day++) {
+                database.insertAttendance(10000 + i, LocalDate.of(2024, 6, day),
+                        LocalTime.of(8, i % 30), LocalTime.of(17, 0).minusMinutes(i % 20));
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        database.uninstall();
+    }
+
+    @ParameterizedTest
+    @EnumSource(PayRunExecutor.Mode.class)
+    @DisplayName("Parallel run matches sequential results and reports every employee")
+    void testRunMatchesSequentialCalculation(PayRunExecutor.Mode mode) throws Exception {
+        PayrollCalculator calculator = new PayrollCalculator();
+        PayRunExecutor executor = new PayRunExecutor(calculator, new EmployeeDAO(), mode, 4, 7);
+
+        Set<Integer> reported = ConcurrentHashMap.newKeySet();
+        AtomicInteger lastCompleted = new AtomicInteger();
+        PayRunSummary summary = executor.run(PERIOD_START, PERIOD_END, (employeeId, success, completed, total) -> {
+            assertTrue(reported.add(employeeId), "Employee reported twice: " + employeeId);
+            assertEquals(EMPLOYEE_COUNT, total);
+            lastCompleted.accumulateAndGet(completed, Math::max);
+        });
+
+        assertEquals(EMPLOYEE_COUNT, summary.getRequestedCount());
+        assertEquals(EMPLOYEE_COUNT, summary.getSucceededCount());
+        assertFalse(summary.hasFailures());
+        assertEquals(EMPLOYEE_COUNT, reported.size());
+        assertEquals(EMPLOYEE_COUNT, lastCompleted.get());
+
+        double expectedNet = 0;
+        for (Map.Entry<Integer, PayrollData> entry : summary.getResults().entrySet()) {
+            PayrollData expected = calculator.calculatePayroll(entry.getKey(), PERIOD_START, PERIOD_END);
+            assertEquals(expected.getNetPay(), entry.getValue().getNetPay(), "Net pay for " + entry.getKey());
+            expectedNet += expected.getNetPay();
+        }
+        assertEquals(expectedNet, summary.getTotalNetPay(), 0.001);
+    }
+
+    @Test
+    @DisplayName("A failing employee is reported without aborting the run")
+    void testPartialFailureIsCollected() {
+        PayRunExecutor executor = new PayRunExecutor(new FailingCalculator(), new EmployeeDAO(),
+                PayRunExecutor.Mode.FORK_JOIN, 3, 5);
+
+        AtomicInteger failureEvents = new AtomicInteger();
+        PayRunSummary summary = executor.run(PERIOD_START, PERIOD_END, (employeeId, success, completed, total) -> {
+            if (!success) {
+                failureEvents.incrementAndGet();
+            }
+        });
+
+        assertEquals(EMPLOYEE_COUNT - 1, summary.getSucceededCount(), "Other employees in the failed chunk still succeed");
+        assertEquals(1, summary.getFailedCount());
+        assertTrue(summary.getFailures().containsKey(FAILING_EMPLOYEE));
+        assertEquals(1, failureEvents.get());
+        assertTrue(summary.toReport().contains("FAILED " + FAILING_EMPLOYEE));
+    }
+
+    @Test
+    @DisplayName("Concurrency never exceeds the configured budget")
+    void testConcurrencyIsBounded() {
+        ConcurrencyTrackingCalculator calculator = new ConcurrencyTrackingCalculator();
+        PayRunExecutor executor = new PayRunExecutor(calculator, new EmployeeDAO(),
+                PayRunExecutor.Mode.VIRTUAL_THREADS, 2, 1);
+
+        PayRunSummary summary = executor.run(PERIOD_START, PERIOD_END, null);
+
+        assertEquals(EMPLOYEE_COUNT, summary.getSucceededCount());
+        assertTrue(calculator.maxInFlight.get() <= 2, "At most two chunks may run at once, saw " + calculator.maxInFlight.get());
+    }
+
+    @Test
+    @DisplayName("Requested concurrency is capped at the connection pool size")
+    void testConcurrencyCappedAtPoolSize() {
+        PayRunExecutor executor = new PayRunExecutor(new PayrollCalculator(), new EmployeeDAO(),
+                PayRunExecutor.Mode.FORK_JOIN, 1000, 10);
+
+        assertEquals(8, executor.getConcurrency(), "Embedded pool allows eight connections");
+        assertThrows(IllegalArgumentException.class, () -> new PayRunExecutor(new PayrollCalculator(),
+                new EmployeeDAO(), PayRunExecutor.Mode.FORK_JOIN, 1, 0));
+    }
+
+    /**
+     * Calculator whose batch path fails for any chunk containing one employee, as does that employee's single path
+     */
+    private static class FailingCalculator extends PayrollCalculator {
+        @Override
+        public Map<Integer, PayrollData> calculatePayrollForPeriod(LocalDate periodStart, LocalDate periodEnd,
+                                                                   Collection<Integer> employeeIds)
+                throws PayrollCalculationException {
+            if (employeeIds.contains(FAILING_EMPLOYEE)) {
+                throw new PayrollCalculationException("Simulated batch failure");
+            }
+            return super.calculatePayrollForPeriod(periodStart, periodEnd, employeeIds);
+        }
+
+        @Override
+        public PayrollData calculatePayroll(int employeeId, LocalDate periodStart, LocalDate periodEnd)
+                throws PayrollCalculationException {
+            if (employeeId == FAILING_EMPLOYEE) {
+                throw new PayrollCalculationException("Simulated failure for employee " + employeeId);
+            }
+            return super.calculatePayroll(employeeId, periodStart, periodEnd);
+        }
+    }
+
+    private static class ConcurrencyTrackingCalculator extends PayrollCalculator {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        public Map<Integer, PayrollData> calculatePayrollForPeriod(LocalDate periodStart, LocalDate periodEnd,
+                                                                   Collection<Integer> employeeIds)
+                throws PayrollCalculationException {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+                return super.calculatePayrollForPeriod(periodStart, periodEnd, List.copyOf(employeeIds));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PayrollCalculationException("Interrupted", e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package test;
+
+import dao.PayrollDAO;
+import model.Payroll;
+import org.junit.jupiter.api.*;
+import service.PayrollCalculator;
+import service.PayrollCalculator.PayrollData;
+
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Differential tests for the set-based payroll engine.
+ * Every employee's batch result must match the per-employee calculation field for field.
+ */
+@DisplayName("Batch Payroll Calculation Tests")
+class PayrollCalculatorBatchTest {
+
+    private static final int EMPLOYEE_COUNT = 40;
+    private static final LocalDate PERIOD_START = LocalDate.of(2024, 6, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2024, 6, 30);
+
+    private EmbeddedDatabase database;
+    private PayrollCalculator calculator;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = EmbeddedDatabase.install();
+        database.insertPosition(1, "Chief Executive Officer", 90000, 1500, 2000, 1000);
+        database.insertPosition(2, "HR Manager", 62670, 1500, 1000, 1000);
+        database.insertPosition(3, "Account Rank and File", 22500, 1500, 500, 500);
+        database.insertPosition(4, "Customer Service", 52670, 1500, 1000, 1000);
+
+        Random random = new Random(42);
+        database.insertEmployee(10001, "Garcia", "Manuel III", "Regular", 1, null);
+        for (int i = 2; i <= EMPLOYEE_COUNT; i++) {
+            database.insertEmployee(10000 + i, "Employee" + i, "Test", "Regular", 2 + random.nextInt(3), 10001);
+        }
+
+        // Attendance from the week before the period to the week after, with late, undertime and open logs
+        for (int i = 1; i <= EMPLOYEE_COUNT; i++) {
+            for (LocalDate date = PERIOD_START.minusDays(7); !date.isAfter(PERIOD_END.plusDays(7)); date = date.plusDays(1)) {
+                if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY
+                        || random.nextInt(10) == 0) {
+                    continue;
+                }
+                LocalTime logIn = LocalTime.of(7, 30).plusMinutes(random.nextInt(90));
+                LocalTime logOut = random.nextInt(15) == 0 ? null : LocalTime.of(16, 0).plusMinutes(random.nextInt(120));
+                database.insertAttendance(10000 + i, date, logIn, logOut);
+            }
+        }
+
+        // Leave overlapping the period in every way the range query distinguishes
+        database.insertLeaveRequest(10002, "Unpaid", LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 12), "Approved");
+        database.insertLeaveRequest(10003, "Unpaid", LocalDate.of(2024, 5, 29), LocalDate.of(2024, 6, 3), "Approved");
+        database.insertLeaveRequest(10004, "Unpaid", LocalDate.of(2024, 6, 28), LocalDate.of(2024, 7, 2), "Approved");
+        database.insertLeaveRequest(10005, "unpaid", LocalDate.of(2024, 5, 20), LocalDate.of(2024, 7, 10), "Approved");
+        database.insertLeaveRequest(10006, "Sick", LocalDate.of(2024, 6, 4), LocalDate.of(2024, 6, 5), "Approved");
+        database.insertLeaveRequest(10007, "Unpaid", LocalDate.of(2024, 6, 17), LocalDate.of(2024, 6, 18), "Rejected");
+        database.insertLeaveRequest(10008, "Unpaid", LocalDate.of(2024, 6, 20), LocalDate.of(2024, 6, 21), "Pending");
+        database.insertLeaveRequest(10002, "Unpaid", LocalDate.of(2024, 7, 5), LocalDate.of(2024, 7, 6), "Approved");
+
+        calculator = new PayrollCalculator();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        database.uninstall();
+    }
+
+    @Test
+    @DisplayName("Batch results match the per-employee path exactly")
+    void testBatchMatchesPerEmployeeCalculation() throws Exception {
+        Map<Integer, PayrollData> batch = calculator.calculatePayrollForPeriod(PERIOD_START, PERIOD_END);
+
+        assertEquals(EMPLOYEE_COUNT, batch.size());
+        for (int i = 1; i <= EMPLOYEE_COUNT; i++) {
+            int employeeId = 10000 + i;
+            PayrollData expected = calculator.calculatePayroll(employeeId, PERIOD_START, PERIOD_END);
+            assertPayrollEquals(expected, batch.get(employeeId));
+        }
+    }
+
+    @Test
+    @DisplayName("Unpaid leave is deducted identically in both paths")
+    void testUnpaidLeaveDeduction() throws Exception {
+        Map<Integer, PayrollData> batch = calculator.calculatePayrollForPeriod(PERIOD_START, PERIOD_END,
+                Arrays.asList(10002, 10005, 10006, 10007));
+
+        assertTrue(batch.get(10002).getUnpaidLeaveDeduction() > 0, "Approved unpaid leave should be deducted");
+        assertTrue(batch.get(10005).getUnpaidLeaveDeduction() > 0, "Leave spanning the period should be deducted");
+        assertEquals(0.0, batch.get(10006).getUnpaidLeaveDeduction(), "Paid leave types are not deducted");
+        assertEquals(0.0, batch.get(10007).getUnpaidLeaveDeduction(), "Rejected leave is not deducted");
+
+        for (int employeeId : batch.keySet()) {
+            assertPayrollEquals(calculator.calculatePayroll(employeeId, PERIOD_START, PERIOD_END), batch.get(employeeId));
+        }
+    }
+
+    @Test
+    @DisplayName("Batch calculation uses a fixed number of queries")
+    void testBatchQueryCountIsConstant() throws Exception {
+        database.resetExecutedStatements();
+        calculator.calculatePayrollForPeriod(PERIOD_START, PERIOD_END);
+        int allEmployeesStatements = database.getExecutedStatements();
+
+        database.resetExecutedStatements();
+        calculator.calculatePayrollForPeriod(PERIOD_START, PERIOD_END, List.of(10001, 10002));
+        int twoEmployeesStatements = database.getExecutedStatements();
+
+        assertEquals(4, allEmployeesStatements, "Employees, positions, attendance and leave: one query each");
+        // Leave comes from the interval index, which the first run loaded
+        assertEquals(allEmployeesStatements - 1, twoEmployeesStatements, "Query count must not grow with headcount");
+    }
+
+    @Test
+    @DisplayName("Unknown employees are skipped and invalid IDs are rejected")
+    void testUnknownAndInvalidEmployees() throws Exception {
+        Map<Integer, PayrollData> batch = calculator.calculatePayrollForPeriod(PERIOD_START, PERIOD_END,
+                List.of(10001, 99999));
+
+        assertEquals(1, batch.size());
+        assertTrue(batch.containsKey(10001));
+
+        assertThrows(PayrollCalculator.PayrollCalculationException.class,
+                () -> calculator.calculatePayrollForPeriod(PERIOD_START, PERIOD_END, List.of(0)));
+        assertThrows(PayrollCalculator.PayrollCalculationException.class,
+                () -> calculator.calculatePayrollForPeriod(PERIOD_END, PERIOD_START, List.of(10001)));
+    }
+
+    @Test
+    @DisplayName("Saved payroll records convert back to the same amounts")
+    void testPayrollRoundTrip() throws Exception {
+        Map<Integer, PayrollData> batch = calculator.calculatePayrollForPeriod(PERIOD_START, PERIOD_END);
+
+        Payroll ceo = batch.get(10001).toPayroll();
+        assertEquals(90000.0, ceo.getMonthlyRate(), "Payroll records are in pesos, not centavos");
+        assertEquals(batch.get(10001).getNetPay(), ceo.getNetPay());
+
+        List<Payroll> records = new ArrayList<>();
+        for (PayrollData data : batch.values()) {
+            records.add(data.toPayroll());
+        }
+        PayrollDAO payrollDAO = new PayrollDAO();
+        assertEquals(EMPLOYEE_COUNT, payrollDAO.savePayrollBatch(records));
+
+        Map<Integer, Payroll> saved = payrollDAO.getPayrollForPeriod(PERIOD_START, PERIOD_END);
+        assertEquals(EMPLOYEE_COUNT, saved.size());
+        for (PayrollData data : batch.values()) {
+            Payroll record = saved.get(data.getEmployeeId());
+            assertNotNull(record, "Missing saved record for employee " + data.getEmployeeId());
+            PayrollData restored = PayrollData.fromPayroll(record);
+            restored.setTotalHours(data.getTotalHours()); // Not persisted
+            assertPayrollEquals(data, restored);
+        }
+    }
+
+    private static void assertPayrollEquals(PayrollData expected, PayrollData actual) {
+        assertNotNull(actual, "Missing batch result for employee " + expected.getEmployeeId());
+        String id = "employee " + expected.getEmployeeId() + ": ";
+        assertEquals(expected.getEmployeeId(), actual.getEmployeeId());
+        assertEquals(expected.getPeriodStart(), actual.getPeriodStart());
+        assertEquals(expected.getPeriodEnd(), actual.getPeriodEnd());
+        assertEquals(expected.getMonthlyRate(), actual.getMonthlyRate(), id + "monthly rate");
+        assertEquals(expected.getDailyRate(), actual.getDailyRate(), id + "daily rate");
+        assertEquals(expected.getDaysWorked(), actual.getDaysWorked(), id + "days worked");
+        assertEquals(expected.getTotalHours(), actual.getTotalHours(), id + "total hours");
+        assertEquals(expected.getBasicPay(), actual.getBasicPay(), id + "basic pay");
+        assertEquals(expected.getTotalAllowances(), actual.getTotalAllowances(), id + "allowances");
+        assertEquals(expected.getGrossPay(), actual.getGrossPay(), id + "gross pay");
+        assertEquals(expected.getLateDeduction(), actual.getLateDeduction(), id + "late deduction");
+        assertEquals(expected.getUndertimeDeduction(), actual.getUndertimeDeduction(), id + "undertime deduction");
+        assertEquals(expected.getUnpaidLeaveDeduction(), actual.getUnpaidLeaveDeduction(), id + "unpaid leave");
+        assertEquals(expected.getSss(), actual.getSss(), id + "SSS");
+        assertEquals(expected.getPhilhealth(), actual.getPhilhealth(), id + "PhilHealth");
+        assertEquals(expected.getPagibig(), actual.getPagibig(), id + "Pag-IBIG");
+        assertEquals(expected.getTax(), actual.getTax(), id + "tax");
+        assertEquals(expected.getTotalDeductions(), actual.getTotalDeductions(), id + "total deductions");
+        assertEquals(expected.getNetPay(), actual.getNetPay(), id + "net pay");
+    }
+}
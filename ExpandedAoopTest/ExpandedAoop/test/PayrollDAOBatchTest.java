@@ -0,0 +1,148 @@
+package test;
+
+import dao.PayrollDAO;
+import model.Payroll;
+import org.junit.jupiter.api.*;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for batched, idempotent payroll persistence.
+ */
+@DisplayName("PayrollDAO Batch Write Tests")
+class PayrollDAOBatchTest {
+
+    private static final int EMPLOYEE_COUNT = 40;
+    private static final int PERIOD_COUNT = 30;
+
+    private EmbeddedDatabase database;
+    private PayrollDAO payrollDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = EmbeddedDatabase.install();
+        database.insertPosition(1, "Account Rank and File", 22500, 1500, 500, 500);
+        for (int i = 1; i <= EMPLOYEE_COUNT; i++) {
+            database.insertEmployee(10000 + i, "Employee" + i, "Test", "Regular", 1, null);
+        }
+        payrollDAO = new PayrollDAO();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        database.uninstall();
+    }
+
+    private static Payroll createPayroll(int employeeId, LocalDate periodStart, double netPay) {
+        Payroll payroll = new Payroll(employeeId, Date.valueOf(periodStart), Date.valueOf(periodStart.plusDays(14)));
+        payroll.setMonthlyRate(22500);
+        payroll.setDaysWorked(10);
+        payroll.setGrossEarnings(10227.27);
+        payroll.setGrossPay(netPay + 2000);
+        payroll.setTotalDeductions(2000);
+        payroll.setNetPay(netPay);
+        payroll.setRiceSubsidy(1500);
+        payroll.setSss(1125);
+        payroll.setPhilhealth(337.5);
+        payroll.setPagibig(100);
+        payroll.setTax(0);
+        payroll.setLateDeduction(150.25);
+        payroll.setUndertimeDeduction(75.5);
+        payroll.setUnpaidLeaveDeduction(0);
+        return payroll;
+    }
+
+    private static List<Payroll> createPayRuns(double netPay) {
+        List<Payroll> payrolls = new ArrayList<>();
+        for (int period = 0; period < PERIOD_COUNT; period++) {
+            LocalDate periodStart = LocalDate.of(2023, 1, 1).plusDays(15L * period);
+            for (int i = 1; i <= EMPLOYEE_COUNT; i++) {
+                payrolls.add(createPayroll(10000 + i, periodStart, netPay + i));
+            }
+        }
+        return payrolls;
+    }
+
+    @Test
+    @DisplayName("Batch save writes every record with one statement per chunk")
+    void testBatchSaveUsesOneStatementPerChunk() throws SQLException {
+        List<Payroll> payrolls = createPayRuns(10000);
+        int expectedChunks = (payrolls.size() + PayrollDAO.BATCH_SIZE - 1) / PayrollDAO.BATCH_SIZE;
+
+        database.resetExecutedStatements();
+        int saved = payrollDAO.savePayrollBatch(payrolls);
+
+        assertEquals(payrolls.size(), saved);
+        assertEquals(expectedChunks, database.getExecutedStatements(), "One executeBatch per chunk");
+        assertEquals(payrolls.size(), database.countRows("SELECT COUNT(*) FROM payroll_records"));
+    }
+
+    @Test
+    @DisplayName("Saving the same pay run again updates rows instead of duplicating them")
+    void testUpsertIsIdempotent() throws SQLException {
+        payrollDAO.savePayrollBatch(createPayRuns(10000));
+        payrollDAO.savePayrollBatch(createPayRuns(12000));
+
+        assertEquals(EMPLOYEE_COUNT * PERIOD_COUNT, database.countRows("SELECT COUNT(*) FROM payroll_records"));
+
+        LocalDate periodStart = LocalDate.of(2023, 1, 1);
+        Payroll reloaded = payrollDAO.getPayrollByEmployeeAndPeriod(10005, periodStart, periodStart.plusDays(14));
+        assertNotNull(reloaded);
+        assertEquals(12005, reloaded.getNetPay(), 0.001, "Second save should overwrite the first");
+    }
+
+    @Test
+    @DisplayName("Saved records round-trip through period reads")
+    void testPeriodReadRoundTrip() {
+        LocalDate periodStart = LocalDate.of(2024, 6, 1);
+        LocalDate periodEnd = periodStart.plusDays(14);
+        List<Payroll> payrolls = new ArrayList<>();
+        for (int i = 1; i <= EMPLOYEE_COUNT; i++) {
+            payrolls.add(createPayroll(10000 + i, periodStart, 15000 + i));
+        }
+        payrollDAO.savePayrollBatch(payrolls);
+
+        Map<Integer, Payroll> saved = payrollDAO.getPayrollForPeriod(periodStart, periodEnd);
+
+        assertEquals(EMPLOYEE_COUNT, saved.size());
+        Payroll first = saved.get(10001);
+        assertEquals(15001, first.getNetPay(), 0.001);
+        assertEquals(10227.27, first.getGrossEarnings(), 0.001, "Basic pay must be saved");
+        assertEquals(150.25, first.getLateDeduction(), 0.001);
+        assertEquals(75.5, first.getUndertimeDeduction(), 0.001);
+        assertEquals(Date.valueOf(periodStart), first.getPeriodStart());
+        assertTrue(payrollDAO.getPayrollForPeriod(periodStart, periodEnd.plusDays(1)).isEmpty(),
+                "Only exact period matches are returned");
+    }
+
+    @Test
+    @DisplayName("A failing chunk is rolled back while earlier chunks stay committed")
+    void testFailedChunkIsRolledBack() throws SQLException {
+        List<Payroll> payrolls = createPayRuns(10000).subList(0, PayrollDAO.BATCH_SIZE + 10);
+        payrolls = new ArrayList<>(payrolls);
+        payrolls.add(createPayroll(99999, LocalDate.of(2024, 1, 1), 1000)); // violates the employee foreign key
+
+        List<Payroll> batch = payrolls;
+        assertThrows(RuntimeException.class, () -> payrollDAO.savePayrollBatch(batch));
+
+        assertEquals(PayrollDAO.BATCH_SIZE, database.countRows("SELECT COUNT(*) FROM payroll_records"),
+                "Only the first, fully successful chunk should be committed");
+    }
+
+    @Test
+    @DisplayName("Invalid batch input is rejected")
+    void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> payrollDAO.savePayrollBatch(null));
+        assertEquals(0, payrollDAO.savePayrollBatch(new ArrayList<>()));
+
+        List<Payroll> withNull = new ArrayList<>();
+        withNull.add(null);
+        assertThrows(IllegalArgumentException.class, () -> payrollDAO.savePayrollBatch(withNull));
+    }
+}
@@ -0,0 +1,195 @@
+package test;
+
+import dao.AttendanceDAO;
+import dao.EmployeeDAO;
+import dao.PayrollDAO;
+import model.Attendance;
+import model.Payroll;
+import org.junit.jupiter.api.*;
+import service.PayrollCalculator;
+import service.PayrollCalculator.PayrollData;
+import service.PayrollResultCache;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for the payroll result cache and its invalidation through DAO writes.
+ */
+@DisplayName("Payroll Result Cache Tests")
+class PayrollResultCacheTest {
+
+    private static final int EMPLOYEE_COUNT = 5;
+    private static final LocalDate JUNE_START = LocalDate.of(2024, 6, 1);
+    private static final LocalDate JUNE_END = LocalDate.of(2024, 6, 30);
+    private static final LocalDate JULY_START = LocalDate.of(2024, 7, 1);
+    private static final LocalDate JULY_END = LocalDate.of(2024, 7, 31);
+
+    private EmbeddedDatabase database;
+    private PayrollResultCache cache;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = EmbeddedDatabase.install();
+        database.insertPosition(1, "Account Rank and File", 22500, 1500, 500, 500);
+        for (int i = 1; i <= EMPLOYEE_COUNT; i++) {
+            database.insertEmployee(10000 + i, "Employee" + i, "Test", "Regular", 1, null);
+            for (int day = 3; day <= 7; day++) {
+                database.insertAttendance(10000 + i, LocalDate.of(2024, 6, day), LocalTime.of(8, 0), LocalTime.of(17, 0));
+                database.insertAttendance(10000 + i, LocalDate.of(2024, 7, day), LocalTime.of(8, 0), LocalTime.of(17, 0));
+            }
+        }
+        cache = createCache(100);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        cache.close();
+        database.uninstall();
+    }
+
+    private static PayrollResultCache createCache(int maxEntries) {
+        return new PayrollResultCache(new PayrollCalculator(), new PayrollDAO(), new EmployeeDAO(), maxEntries);
+    }
+
+    @Test
+    @DisplayName("A repeated lookup is served without touching the database")
+    void testRepeatedLookupIsCached() throws Exception {
+        PayrollData first = cache.get(10001, JUNE_START, JUNE_END);
+
+        database.resetExecutedStatements();
+        PayrollData second = cache.get(10001, JUNE_START, JUNE_END);
+
+        assertEquals(first.getNetPayCentavos(), second.getNetPayCentavos());
+        assertEquals(0, database.getExecutedStatements());
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(1, cache.getStats().getMisses());
+    }
+
+    @Test
+    @DisplayName("An attendance write drops only the affected employee and period")
+    void testAttendanceWriteInvalidatesAffectedEntry() throws Exception {
+        PayrollData before = cache.get(10001, JUNE_START, JUNE_END);
+        cache.get(10001, JULY_START, JULY_END);
+        cache.get(10002, JUNE_START, JUNE_END);
+
+        Attendance extraDay = new Attendance(10001, Date.valueOf(LocalDate.of(2024, 6, 10)),
+                Time.valueOf(LocalTime.of(8, 0)), Time.valueOf(LocalTime.of(17, 0)));
+        new AttendanceDAO().insertAttendance(extraDay);
+
+        assertEquals(1, cache.getStats().getInvalidations());
+        assertEquals(2, cache.getStats().getSize());
+
+        database.resetExecutedStatements();
+        cache.get(10001, JULY_START, JULY_END);
+        cache.get(10002, JUNE_START, JUNE_END);
+        assertEquals(0, database.getExecutedStatements(), "Unaffected entries stay cached");
+
+        PayrollData after = cache.get(10001, JUNE_START, JUNE_END);
+        assertEquals(before.getDaysWorked() + 1, after.getDaysWorked());
+    }
+
+    @Test
+    @DisplayName("The least recently used entry is evicted at capacity")
+    void testLeastRecentlyUsedEviction() throws Exception {
+        cache.close();
+        cache = createCache(2);
+
+        cache.get(10001, JUNE_START, JUNE_END);
+        cache.get(10002, JUNE_START, JUNE_END);
+        cache.get(10001, JUNE_START, JUNE_END);
+        cache.get(10003, JUNE_START, JUNE_END);
+
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(2, cache.getStats().getSize());
+
+        database.resetExecutedStatements();
+        cache.get(10001, JUNE_START, JUNE_END);
+        assertEquals(0, database.getExecutedStatements(), "Recently used entry survives eviction");
+    }
+
+    @Test
+    @DisplayName("A closed period with a saved record is not recalculated")
+    void testClosedPeriodServedFromSavedRecord() throws Exception {
+        Payroll saved = new Payroll(10001, Date.valueOf(JUNE_START), Date.valueOf(JUNE_END));
+        saved.setMonthlyRate(22500);
+        saved.setDaysWorked(5);
+        saved.setGrossPay(9000);
+        saved.setTotalDeductions(1000);
+        saved.setNetPay(8000);
+        new PayrollDAO().savePayroll(saved);
+
+        PayrollData data = cache.get(10001, JUNE_START, JUNE_END);
+
+        assertEquals(8000, data.getNetPay(), 0.001);
+        assertEquals(1, cache.getStats().getRecordLoads());
+        assertEquals(0, cache.getStats().getCalculations());
+    }
+
+    @Test
+    @DisplayName("A closed period saved through the batch writer comes back with every amount")
+    void testClosedPeriodBatchSaveRoundTrip() throws Exception {
+        PayrollData calculated = new PayrollCalculator().calculatePayroll(10001, JUNE_START, JUNE_END);
+        new PayrollDAO().savePayrollBatch(List.of(calculated.toPayroll()));
+
+        PayrollData data = cache.get(10001, JUNE_START, JUNE_END);
+
+        assertEquals(1, cache.getStats().getRecordLoads());
+        assertEquals(0, cache.getStats().getCalculations());
+        assertEquals(calculated.getDaysWorked(), data.getDaysWorked());
+        assertEquals(calculated.getMonthlyRateCentavos(), data.getMonthlyRateCentavos());
+        assertEquals(calculated.getDailyRateCentavos(), data.getDailyRateCentavos());
+        assertEquals(calculated.getBasicPayCentavos(), data.getBasicPayCentavos());
+        assertEquals(calculated.getRiceSubsidyCentavos(), data.getRiceSubsidyCentavos());
+        assertEquals(calculated.getPhoneAllowanceCentavos(), data.getPhoneAllowanceCentavos());
+        assertEquals(calculated.getClothingAllowanceCentavos(), data.getClothingAllowanceCentavos());
+        assertEquals(calculated.getTotalAllowancesCentavos(), data.getTotalAllowancesCentavos());
+        assertEquals(calculated.getGrossPayCentavos(), data.getGrossPayCentavos());
+        assertEquals(calculated.getLateDeductionCentavos(), data.getLateDeductionCentavos());
+        assertEquals(calculated.getUndertimeDeductionCentavos(), data.getUndertimeDeductionCentavos());
+        assertEquals(calculated.getUnpaidLeaveDeductionCentavos(), data.getUnpaidLeaveDeductionCentavos());
+        assertEquals(calculated.getSssCentavos(), data.getSssCentavos());
+        assertEquals(calculated.getPhilhealthCentavos(), data.getPhilhealthCentavos());
+        assertEquals(calculated.getPagibigCentavos(), data.getPagibigCentavos());
+        assertEquals(calculated.getTaxCentavos(), data.getTaxCentavos());
+        assertEquals(calculated.getTotalDeductionsCentavos(), data.getTotalDeductionsCentavos());
+        assertEquals(calculated.getNetPayCentavos(), data.getNetPayCentavos());
+        assertTrue(data.getBasicPayCentavos() > 0, "Basic pay is saved with the record");
+    }
+
+    @Test
+    @DisplayName("Changing a returned result does not change the cached entry")
+    void testReturnedResultsAreCopies() throws Exception {
+        PayrollData first = cache.get(10001, JUNE_START, JUNE_END);
+        long netPay = first.getNetPayCentavos();
+        first.setNetPay(0);
+
+        Map<Integer, PayrollData> all = cache.getAll(JUNE_START, JUNE_END, List.of(10001));
+        all.get(10001).setNetPay(0);
+
+        assertEquals(netPay, cache.get(10001, JUNE_START, JUNE_END).getNetPayCentavos());
+        assertEquals(1, cache.getStats().getMisses(), "Later lookups are served from the cache");
+    }
+
+    @Test
+    @DisplayName("Bulk lookup calculates only employees that are not cached")
+    void testBulkLookupReusesCachedEntries() throws Exception {
+        PayrollData cached = cache.get(10003, JUNE_START, JUNE_END);
+
+        Map<Integer, PayrollData> all = cache.getAll(JUNE_START, JUNE_END, null);
+
+        assertEquals(EMPLOYEE_COUNT, all.size());
+        assertEquals(cached.getNetPayCentavos(), all.get(10003).getNetPayCentavos());
+        assertEquals(EMPLOYEE_COUNT, cache.getStats().getCalculations());
+
+        database.resetExecutedStatements();
+        cache.getAll(JUNE_START, JUNE_END, all.keySet());
+        assertEquals(0, database.getExecutedStatements());
+    }
+}
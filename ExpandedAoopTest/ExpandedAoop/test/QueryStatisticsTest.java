@@ -0,0 +1,115 @@
+package test;
+
+import dao.EmployeeDAO;
+import org.junit.jupiter.api.*;
+import util.Metrics;
+import util.QueryStatistics;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for per-statement statistics and the slow-query log behind DBConnection.
+ */
+@DisplayName("Query Statistics Tests")
+class QueryStatisticsTest {
+
+    private EmbeddedDatabase database;
+    private long originalThreshold;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Metrics.setEnabled(true);
+        QueryStatistics.reset();
+        originalThreshold = QueryStatistics.getSlowQueryThresholdMillis();
+
+        database = EmbeddedDatabase.install();
+        database.insertPosition(1, "Account Rank and File", 22500, 1500, 500, 500);
+        database.insertEmployee(10001, "Garcia", "Manuel III", "Regular", 1, null);
+        database.insertEmployee(10002, "Lim", "Antonio", "Regular", 1, 10001);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        QueryStatistics.setSlowQueryThresholdMillis(originalThreshold);
+        database.uninstall();
+    }
+
+    @Test
+    @DisplayName("SQL is normalized so different inputs share one entry")
+    void testNormalize() {
+        assertEquals("SELECT * FROM employees WHERE employee_id IN (?...) AND last_name = ?",
+                QueryStatistics.normalize("SELECT *\n  FROM employees WHERE employee_id IN (?, ?, ?) AND last_name = 'O''Neil'"));
+        assertEquals("SELECT a FROM t1 WHERE b = ? LIMIT ?",
+                QueryStatistics.normalize("SELECT a FROM t1 WHERE b = 42 LIMIT 10"));
+        assertEquals(QueryStatistics.normalize("SELECT x FROM t WHERE id IN (?)"),
+                QueryStatistics.normalize("SELECT x FROM t WHERE id IN (?, ?)"));
+    }
+
+    @Test
+    @DisplayName("Executions, rows and bytes are recorded per statement and ranked by total time")
+    void testStatementStatistics() {
+        EmployeeDAO employeeDAO = new EmployeeDAO();
+        employeeDAO.getEmployeeById(10001);
+        employeeDAO.getEmployeeById(10002);
+        employeeDAO.getAllEmployees();
+
+        List<QueryStatistics.QueryStats> top = QueryStatistics.topQueries(10);
+        QueryStatistics.QueryStats byId = top.stream()
+                .filter(stats -> stats.getSql().endsWith("WHERE e.employee_id = ?"))
+                .findFirst().orElseThrow();
+        assertEquals(2, byId.getExecutions());
+        assertEquals(2, byId.getRows());
+        assertTrue(byId.getBytes() > 0);
+
+        for (int i = 1; i < top.size(); i++) {
+            assertTrue(top.get(i - 1).getTotalNanos() >= top.get(i).getTotalNanos());
+        }
+        assertTrue(QueryStatistics.report(10).contains("WHERE e.employee_id = ?"));
+    }
+
+    @Test
+    @DisplayName("Slow statements are logged with parameter types but not values")
+    void testSlowQueryLogIsRedacted() {
+        List<String> messages = new ArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                messages.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Logger slowQueryLog = Logger.getLogger("motorph.slowquery");
+        slowQueryLog.addHandler(handler);
+        try {
+            QueryStatistics.setSlowQueryThresholdMillis(0);
+            new EmployeeDAO().getEmployeeById(10002);
+        } finally {
+            slowQueryLog.removeHandler(handler);
+        }
+
+        String message = messages.stream().filter(m -> m.contains("employee_id = ?")).findFirst().orElseThrow();
+        assertTrue(message.contains("dao.EmployeeDAO.getEmployeeById"));
+        assertTrue(message.contains("1=int"));
+        assertFalse(message.contains("10002"));
+    }
+
+    @Test
+    @DisplayName("Invalid settings are rejected")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> QueryStatistics.setSlowQueryThresholdMillis(-1));
+        assertThrows(IllegalArgumentException.class, () -> QueryStatistics.topQueries(0));
+    }
+}
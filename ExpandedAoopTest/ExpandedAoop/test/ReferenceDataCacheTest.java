@@ -0,0 +1,148 @@
+package test;
+
+import dao.EmployeeDAO;
+import dao.PositionDAO;
+import model.Employee;
+import model.Position;
+import org.junit.jupiter.api.*;
+import service.ReferenceDataCache;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for the employee and position reference-data cache: loading once, invalidation
+ * through DAO writes and incremental refresh of writes made outside the DAOs.
+ */
+@DisplayName("Reference Data Cache Tests")
+class ReferenceDataCacheTest {
+
+    private static final long NEVER_REFRESH = TimeUnit.DAYS.toMillis(1);
+
+    private EmbeddedDatabase database;
+    private ReferenceDataCache cache;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = EmbeddedDatabase.install();
+        database.insertPosition(1, "Chief Executive Officer", 90000, 1500, 2000, 1000);
+        database.insertPosition(2, "Account Rank and File", 22500, 1500, 500, 500);
+        database.insertEmployee(10001, "Garcia", "Manuel III", "Regular", 1, null);
+        database.insertEmployee(10002, "Lim", "Antonio", "Regular", 2, 10001);
+        database.insertEmployee(10003, "Aquino", "Bianca", "Probationary", 2, 10001);
+
+        cache = new ReferenceDataCache(new EmployeeDAO(), new PositionDAO(), NEVER_REFRESH);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        cache.close();
+        database.uninstall();
+    }
+
+    @Test
+    @DisplayName("Employees and positions are loaded once and then served from memory")
+    void testLoadedOnce() {
+        database.resetExecutedStatements();
+        List<Employee> employees = cache.getAllEmployees();
+        assertEquals(2, database.getExecutedStatements(), "One query for employees, one for positions");
+
+        database.resetExecutedStatements();
+        cache.getAllEmployees();
+        cache.getEmployee(10002);
+        cache.getPosition(2);
+        cache.getAllPositions();
+        assertEquals(0, database.getExecutedStatements());
+
+        assertEquals(List.of(10003, 10001, 10002), employees.stream().map(Employee::getEmployeeId).toList());
+        assertEquals("Garcia, Manuel III", cache.getSupervisorName(10002));
+        assertNull(cache.getSupervisorName(10001));
+        assertEquals(22500, cache.getPosition(2).getMonthlySalary(), 0.01);
+    }
+
+    @Test
+    @DisplayName("An employee write re-reads that employee and the subordinates of a renamed supervisor")
+    void testEmployeeWriteInvalidatesEntry() {
+        cache.getAllEmployees();
+
+        EmployeeDAO employeeDAO = new EmployeeDAO();
+        Employee supervisor = employeeDAO.getEmployeeById(10001);
+        supervisor.setLastName("Santos");
+        assertTrue(employeeDAO.updateEmployee(supervisor));
+
+        database.resetExecutedStatements();
+        assertEquals("Santos", cache.getEmployee(10001).getLastName());
+        assertEquals(2, database.getExecutedStatements(), "The employee, then their subordinates");
+        assertEquals("Santos, Manuel III", cache.getSupervisorName(10002));
+        assertEquals("Santos, Manuel III", cache.getSupervisorName(10003));
+
+        database.resetExecutedStatements();
+        cache.getAllEmployees();
+        assertEquals(0, database.getExecutedStatements());
+    }
+
+    @Test
+    @DisplayName("A position write reloads positions and the employees that carry them")
+    void testPositionWriteReloadsEverything() {
+        cache.getAllEmployees();
+
+        PositionDAO positionDAO = new PositionDAO();
+        Position position = positionDAO.getPositionById(2);
+        position.setMonthlySalary(25000);
+        assertTrue(positionDAO.updatePosition(position));
+
+        database.resetExecutedStatements();
+        assertEquals(25000, cache.getPosition(2).getMonthlySalary(), 0.01);
+        assertEquals(25000, cache.getEmployee(10002).getBasicSalary(), 0.01);
+        assertEquals(2, database.getExecutedStatements());
+    }
+
+    @Test
+    @DisplayName("Writes made outside the DAOs are picked up by the updated_at watermark")
+    void testIncrementalRefresh() throws SQLException {
+        cache.close();
+        cache = new ReferenceDataCache(new EmployeeDAO(), new PositionDAO(), 0);
+        cache.getAllEmployees();
+
+        Timestamp later = Timestamp.valueOf(LocalDateTime.now().plusMinutes(1));
+        database.execute("UPDATE employees SET phone_number = ?, updated_at = ? WHERE employee_id = ?",
+                "0917-555-0102", later, 10002);
+
+        database.resetExecutedStatements();
+        assertEquals("0917-555-0102", cache.getEmployee(10002).getPhoneNumber());
+        assertEquals(3, database.getExecutedStatements(), "Version, changed employees and positions");
+
+        // A deleted row leaves no newer updated_at; the count tells the cache to reload
+        database.execute("DELETE FROM employees WHERE employee_id = ?", 10003);
+        assertEquals(2, cache.getAllEmployees().size());
+    }
+
+    @Test
+    @DisplayName("Edits to returned employees and positions are not seen by other readers")
+    void testReturnedObjectsAreCopies() {
+        Employee employee = cache.getEmployee(10002);
+        employee.setLastName("Edited");
+        cache.getAllEmployees().get(0).setFirstName("Edited");
+        cache.getPosition(2).setMonthlySalary(1);
+        cache.getAllPositions().get(0).setMonthlySalary(1);
+
+        database.resetExecutedStatements();
+        assertEquals("Lim", cache.getEmployee(10002).getLastName());
+        assertEquals("Bianca", cache.getEmployee(10003).getFirstName());
+        assertEquals(22500, cache.getPosition(2).getMonthlySalary(), 0.01);
+        assertEquals(22500, cache.getAllPositions().get(0).getMonthlySalary(), 0.01);
+        assertEquals(0, database.getExecutedStatements());
+    }
+
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ReferenceDataCache(null, new PositionDAO(), 0));
+        assertThrows(IllegalArgumentException.class, () -> new ReferenceDataCache(new EmployeeDAO(), new PositionDAO(), -1));
+        assertThrows(IllegalArgumentException.class, () -> cache.getPosition(0));
+    }
+}
@@ -0,0 +1,137 @@
+package test;
+
+import dao.DataChangeBus;
+import model.StatutorySchedule;
+import model.TaxSchedule;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import service.ScheduleRegistry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 tests for versioned contribution and tax schedules.
+ */
+@DisplayName("Schedule Registry Tests")
+class ScheduleRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<DataChangeBus.DataChange> changes = new ArrayList<>();
+    private final DataChangeBus.Listener listener = changes::add;
+
+    @BeforeEach
+    void setUp() {
+        DataChangeBus.addListener(listener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataChangeBus.removeListener(listener);
+    }
+
+    @Test
+    @DisplayName("Built-in tables apply when no file covers a date")
+    void testBuiltInFallback() {
+        ScheduleRegistry registry = new ScheduleRegistry(directory.resolve("missing"));
+
+        assertTrue(registry.getSchedules().isEmpty());
+        assertSame(StatutorySchedule.builtIn(), registry.forDate(LocalDate.of(2024, 6, 30)));
+    }
+
+    @Test
+    @DisplayName("Each period uses the schedule in force on its last day")
+    void testScheduleByEffectiveDate() throws IOException {
+        write("2023.properties", "2023", "2023-01-01", "", 0.02);
+        write("2025.properties", "2025", "2025-01-01", "", 0.03);
+        ScheduleRegistry registry = new ScheduleRegistry(directory);
+
+        assertEquals(2, registry.getSchedules().size());
+        assertEquals("built-in", registry.forDate(LocalDate.of(2022, 12, 31)).getVersion());
+        assertEquals("2023", registry.forDate(LocalDate.of(2024, 12, 31)).getVersion());
+        assertEquals("2025", registry.forPeriod(LocalDate.of(2024, 12, 16), LocalDate.of(2025, 1, 15)).getVersion());
+        assertEquals(150.00, registry.forDate(LocalDate.of(2025, 6, 30))
+                .getContributions().pagIbigEmployeeShare(20000), 0.0001);
+    }
+
+    @Test
+    @DisplayName("A reload swaps in changed files and invalidates affected dates")
+    void testReload() throws IOException {
+        write("2023.properties", "2023", "2023-01-01", "", 0.02);
+        ScheduleRegistry registry = new ScheduleRegistry(directory);
+        StatutorySchedule before = registry.forDate(LocalDate.of(2024, 6, 30));
+        changes.clear();
+
+        write("2024.properties", "2024", "2024-01-01", "", 0.03);
+        assertTrue(registry.reload());
+
+        assertSame(before, registry.forDate(LocalDate.of(2023, 6, 30)));
+        assertEquals("2024", registry.forDate(LocalDate.of(2024, 6, 30)).getVersion());
+        assertEquals(1, changes.size());
+        assertEquals(DataChangeBus.Entity.SCHEDULE, changes.get(0).getEntity());
+        assertFalse(changes.get(0).affects(10001, LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 31)));
+        assertTrue(changes.get(0).affects(10001, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30)));
+
+        changes.clear();
+        assertTrue(registry.reload());
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    @DisplayName("An invalid file keeps the previous schedules in force")
+    void testInvalidFileKeepsPrevious() throws IOException {
+        write("2023.properties", "2023", "2023-01-01", "", 0.02);
+        ScheduleRegistry registry = new ScheduleRegistry(directory);
+
+        Files.write(directory.resolve("broken.properties"),
+                "version=broken\neffectiveFrom=2024-01-01\n".getBytes(StandardCharsets.UTF_8));
+        assertFalse(registry.reload());
+        assertEquals("2023", registry.forDate(LocalDate.of(2024, 6, 30)).getVersion());
+    }
+
+    @Test
+    @DisplayName("Overlapping schedules are rejected")
+    void testOverlapRejected() throws IOException {
+        write("2023.properties", "2023", "2023-01-01", "2024-03-31", 0.02);
+        write("2024.properties", "2024", "2024-01-01", "", 0.03);
+        ScheduleRegistry registry = new ScheduleRegistry(directory);
+
+        assertTrue(registry.getSchedules().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Default tax table matches the graduated rates")
+    void testDefaultTax() {
+        TaxSchedule tax = TaxSchedule.getDefault();
+
+        assertEquals(0.0, tax.annualTax(250000));
+        assertEquals(22500.0, tax.annualTax(400000), 0.0001);
+        assertEquals(102500.0, tax.annualTax(800000), 0.0001);
+        assertEquals(2202500.0 + 350000.0, tax.annualTax(9000000), 0.0001);
+        assertEquals((22500 + (540000 - 400000) * 0.20) / 12, tax.monthlyTax(45000), 0.0001);
+    }
+
+    private void write(String fileName, String version, String effectiveFrom, String effectiveTo,
+                       double pagIbigRate) throws IOException {
+        String content = "version=" + version + "\n"
+                + "effectiveFrom=" + effectiveFrom + "\n"
+                + "effectiveTo=" + effectiveTo + "\n"
+                + "sss.brackets=0, 5000, 250, 500; 5250, 5500, 275, 550; 5750, 6000, 300, 600\n"
+                + "philhealth.brackets=0, 500, 250, 250; 10000.01, 2500, 1250, 1250\n"
+                + "pagibig.lowRateCeiling=1500\n"
+                + "pagibig.lowEmployeeRate=0.01\n"
+                + "pagibig.employeeRate=" + pagIbigRate + "\n"
+                + "pagibig.employerRate=0.02\n"
+                + "pagibig.maxContributorySalary=5000\n"
+                + "tax.brackets=0, 0, 0; 250000, 0, 0.15\n";
+        Files.write(directory.resolve(fileName), content.getBytes(StandardCharsets.UTF_8));
+    }
+}